@@ -22,6 +22,7 @@ import ch.dfx.reporting.compare.APICompareRunnable;
 import ch.dfx.supervision.DefiManagerRunnable;
 import ch.dfx.transactionserver.database.H2DBManager;
 import ch.dfx.transactionserver.database.H2DBManagerImpl;
+import ch.dfx.transactionserver.database.H2DBManagerPoolImpl;
 import ch.dfx.transactionserver.scheduler.SchedulerProvider;
 
 /**
@@ -80,7 +81,7 @@ public class ReportingMain {
   public ReportingMain(@Nonnull NetworkEnum network) {
     this.network = network;
 
-    this.databaseManager = new H2DBManagerImpl();
+    this.databaseManager = new H2DBManagerPoolImpl(new H2DBManagerImpl());
 
     this.messageEventCollector = new MessageEventCollector();
     this.messageEventProvider = new MessageEventProvider(messageEventCollector);
@@ -112,7 +113,7 @@ public class ReportingMain {
       Date nextHour = DateUtils.ceiling(now, Calendar.HOUR);
       int delayToNextHour = (int) (nextHour.getTime() - now.getTime()) / 1000;
 
-      SchedulerProvider.getInstance().add(reporting, delayToNextHour, runPeriodReport, TimeUnit.SECONDS);
+      SchedulerProvider.getInstance().add(reporting, delayToNextHour, runPeriodReport, TimeUnit.SECONDS, true);
     }
 
     // ...
@@ -129,7 +130,7 @@ public class ReportingMain {
       Date nextDay = DateUtils.ceiling(now, Calendar.DAY_OF_MONTH);
       int delayToNextDay = (int) (nextDay.getTime() - now.getTime()) / 1000;
 
-      SchedulerProvider.getInstance().add(apiCompareRunnable, delayToNextDay, runPeriodApiCompare, TimeUnit.SECONDS);
+      SchedulerProvider.getInstance().add(apiCompareRunnable, delayToNextDay, runPeriodApiCompare, TimeUnit.SECONDS, true);
     }
   }
 }
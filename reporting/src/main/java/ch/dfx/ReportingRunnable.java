@@ -27,12 +27,12 @@ import ch.dfx.reporting.YieldmachineYieldReporting;
 import ch.dfx.reporting.transparency.StakingTransparencyReporting;
 import ch.dfx.reporting.transparency.YieldmachineImpermanentLossReporting;
 import ch.dfx.reporting.transparency.YieldmachineTransparencyReporting3;
-import ch.dfx.statistik.StakingStatistikProvider;
 import ch.dfx.statistik.StatistikReporting;
-import ch.dfx.statistik.YieldmachineStatistikProvider;
+import ch.dfx.transactionserver.database.DatabaseTableCreator;
 import ch.dfx.transactionserver.database.H2DBManager;
 import ch.dfx.transactionserver.database.helper.DatabaseBalanceHelper;
 import ch.dfx.transactionserver.database.helper.DatabaseBlockHelper;
+import ch.dfx.transactionserver.database.helper.DatabaseStatistikHelper;
 import ch.dfx.transactionserver.scheduler.SchedulerProviderRunnable;
 
 /**
@@ -48,6 +48,8 @@ public class ReportingRunnable implements SchedulerProviderRunnable {
   private final DatabaseBlockHelper databaseBlockHelper;
   private final DatabaseBalanceHelper databaseStakingBalanceHelper;
   private final DatabaseBalanceHelper databaseYieldmachineBalanceHelper;
+  private final DatabaseStatistikHelper databaseStakingStatistikHelper;
+  private final DatabaseStatistikHelper databaseYieldmachineStatistikHelper;
 
   private boolean isProcessing = false;
 
@@ -63,6 +65,8 @@ public class ReportingRunnable implements SchedulerProviderRunnable {
     this.databaseBlockHelper = new DatabaseBlockHelper(network);
     this.databaseStakingBalanceHelper = new DatabaseBalanceHelper(network);
     this.databaseYieldmachineBalanceHelper = new DatabaseBalanceHelper(network);
+    this.databaseStakingStatistikHelper = new DatabaseStatistikHelper(network);
+    this.databaseYieldmachineStatistikHelper = new DatabaseStatistikHelper(network);
   }
 
   @Override
@@ -104,6 +108,12 @@ public class ReportingRunnable implements SchedulerProviderRunnable {
       databaseStakingBalanceHelper.openStatements(connection, TOKEN_STAKING_SCHEMA);
       databaseYieldmachineBalanceHelper.openStatements(connection, TOKEN_YIELDMACHINE_SCHEMA);
 
+      DatabaseTableCreator.createStatistikTable(network, connection, TOKEN_STAKING_SCHEMA);
+      DatabaseTableCreator.createStatistikTable(network, connection, TOKEN_YIELDMACHINE_SCHEMA);
+
+      databaseStakingStatistikHelper.openStatements(connection, TOKEN_STAKING_SCHEMA);
+      databaseYieldmachineStatistikHelper.openStatements(connection, TOKEN_YIELDMACHINE_SCHEMA);
+
       List<String> logInfoList = new ArrayList<>();
 
       createStakingBalanceReport(connection, logInfoList);
@@ -116,7 +126,7 @@ public class ReportingRunnable implements SchedulerProviderRunnable {
 
       createYieldmachineYieldReport(connection);
 
-      createStatistikReport(connection);
+      createStatistikReport();
 
       writeLogInfo(logInfoList);
 
@@ -124,6 +134,8 @@ public class ReportingRunnable implements SchedulerProviderRunnable {
       databaseBlockHelper.closeStatements();
       databaseStakingBalanceHelper.closeStatements();
       databaseYieldmachineBalanceHelper.closeStatements();
+      databaseStakingStatistikHelper.closeStatements();
+      databaseYieldmachineStatistikHelper.closeStatements();
     } catch (Exception e) {
       LOGGER.error("doRun", e);
     } finally {
@@ -227,7 +239,7 @@ public class ReportingRunnable implements SchedulerProviderRunnable {
   /**
    * 
    */
-  private void createStatistikReport(@Nonnull Connection connection) {
+  private void createStatistikReport() {
     LOGGER.trace("createStatistikReport() ...");
 
     try {
@@ -241,20 +253,14 @@ public class ReportingRunnable implements SchedulerProviderRunnable {
           && null != statistikDfiDataSheet
           && null != statistikDusdDataSheet) {
         // ...
-        StakingStatistikProvider stakingStatistikProvider =
-            new StakingStatistikProvider(network, databaseBlockHelper, databaseStakingBalanceHelper);
-
         StatistikReporting stakingStatistikReporting =
-            new StatistikReporting(network, databaseBlockHelper, databaseStakingBalanceHelper, stakingStatistikProvider);
-        stakingStatistikReporting.report(connection, TokenEnum.DFI, rootPath, statistikFileName, statistikDfiDataSheet);
+            new StatistikReporting(network, databaseBlockHelper, databaseStakingBalanceHelper, databaseStakingStatistikHelper);
+        stakingStatistikReporting.report(TokenEnum.DFI, rootPath, statistikFileName, statistikDfiDataSheet);
 
         // ...
-        YieldmachineStatistikProvider yieldmachineStatistikProvider =
-            new ch.dfx.statistik.YieldmachineStatistikProvider(network, databaseBlockHelper, databaseYieldmachineBalanceHelper);
-
         StatistikReporting yieldmachineStatistikReporting =
-            new StatistikReporting(network, databaseBlockHelper, databaseYieldmachineBalanceHelper, yieldmachineStatistikProvider);
-        yieldmachineStatistikReporting.report(connection, TokenEnum.DUSD, rootPath, statistikFileName, statistikDusdDataSheet);
+            new StatistikReporting(network, databaseBlockHelper, databaseYieldmachineBalanceHelper, databaseYieldmachineStatistikHelper);
+        yieldmachineStatistikReporting.report(TokenEnum.DUSD, rootPath, statistikFileName, statistikDusdDataSheet);
       }
     } catch (Exception e) {
       LOGGER.error("createStatistikReport", e);
@@ -1,12 +1,8 @@
 package ch.dfx.statistik;
 
 import java.math.BigDecimal;
-import java.sql.Connection;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
 import javax.annotation.Nonnull;
@@ -22,16 +18,18 @@ import ch.dfx.excel.data.CellDataList;
 import ch.dfx.excel.data.RowData;
 import ch.dfx.excel.data.RowDataList;
 import ch.dfx.reporting.Reporting;
+import ch.dfx.transactionserver.data.StatistikDTO;
 import ch.dfx.transactionserver.database.helper.DatabaseBalanceHelper;
 import ch.dfx.transactionserver.database.helper.DatabaseBlockHelper;
+import ch.dfx.transactionserver.database.helper.DatabaseStatistikHelper;
 
 /**
- * 
+ * Daily deposit statistik, read from the statistik table filled by the StatistikBuilder.
  */
 public class StatistikReporting extends Reporting {
   private static final Logger LOGGER = LogManager.getLogger(StatistikReporting.class);
 
-  private final StatistikProvider statistikProvider;
+  private final DatabaseStatistikHelper databaseStatistikHelper;
 
   /**
    * 
@@ -40,10 +38,10 @@ public class StatistikReporting extends Reporting {
       @Nonnull NetworkEnum network,
       @Nonnull DatabaseBlockHelper databaseBlockHelper,
       @Nonnull DatabaseBalanceHelper databaseBalanceHelper,
-      @Nonnull StatistikProvider statistikProvider) {
+      @Nonnull DatabaseStatistikHelper databaseStatistikHelper) {
     super(network, databaseBlockHelper, databaseBalanceHelper);
 
-    this.statistikProvider = statistikProvider;
+    this.databaseStatistikHelper = databaseStatistikHelper;
   }
 
 //  /**
@@ -87,7 +85,6 @@ public class StatistikReporting extends Reporting {
    * 
    */
   public void report(
-      @Nonnull Connection connection,
       @Nonnull TokenEnum token,
       @Nonnull String rootPath,
       @Nonnull String fileName,
@@ -102,11 +99,7 @@ public class StatistikReporting extends Reporting {
     long startTime = System.currentTimeMillis();
 
     try {
-      Map<LocalDate, Integer> dateToCountMap = new HashMap<>();
-      Map<LocalDate, BigDecimal> dateToSumVinMap = new HashMap<>();
-      Map<LocalDate, BigDecimal> dateToSumVoutMap = new HashMap<>();
-
-      statistikProvider.fillDepositStatistikData(connection, token, dateToCountMap, dateToSumVinMap, dateToSumVoutMap);
+      List<StatistikDTO> statistikDTOList = databaseStatistikHelper.getStatistikDTOList(token);
 
       // ...
       int totalCount = 0;
@@ -114,16 +107,14 @@ public class StatistikReporting extends Reporting {
       BigDecimal totalSumVout = BigDecimal.ZERO;
       BigDecimal totalBalance = BigDecimal.ZERO;
 
-      List<LocalDate> sortedLocalDateList = new ArrayList<>(dateToCountMap.keySet());
-      sortedLocalDateList.sort((d1, d2) -> d1.compareTo(d2));
-
       RowDataList rowDataList = new RowDataList(1);
       CellDataList cellDataList = new CellDataList();
 
-      for (LocalDate localDate : sortedLocalDateList) {
-        Integer count = dateToCountMap.get(localDate);
-        BigDecimal sumVin = dateToSumVinMap.get(localDate);
-        BigDecimal sumVout = dateToSumVoutMap.get(localDate);
+      for (StatistikDTO statistikDTO : statistikDTOList) {
+        LocalDate localDate = statistikDTO.getDay();
+        int count = statistikDTO.getDepositCount();
+        BigDecimal sumVin = statistikDTO.getDepositVin();
+        BigDecimal sumVout = statistikDTO.getDepositVout();
         BigDecimal balance = sumVin.subtract(sumVout);
 
         totalCount = totalCount + count;
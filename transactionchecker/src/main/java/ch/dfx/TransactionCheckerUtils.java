@@ -17,6 +17,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -28,9 +29,10 @@ import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.config.RequestConfig;
-import org.apache.http.client.methods.HttpPost;
 import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.LoggerContext;
@@ -47,6 +49,7 @@ import ch.dfx.common.errorhandling.DfxException;
 import ch.dfx.common.provider.TokenProvider;
 import ch.dfx.defichain.data.pool.DefiPoolPairData;
 import ch.dfx.defichain.provider.DefiDataProvider;
+import ch.dfx.defichain.provider.DefiDataProviderCache;
 import ch.dfx.defichain.provider.DefiDataProviderImpl;
 
 /**
@@ -57,6 +60,9 @@ public class TransactionCheckerUtils {
 
   // ...
   private static final int HTTP_CLIENT_TIMEOUT = 30 * 1000;
+  private static final int HTTP_CLIENT_IDLE_TIMEOUT = 10 * 1000;
+
+  private static DefiDataProvider defiDataProvider = null;
 
   public static final SimpleDateFormat LOGFILE_DATE_FORMAT = new SimpleDateFormat("yyyyMMddHHmmss");
 
@@ -205,13 +211,31 @@ public class TransactionCheckerUtils {
   }
 
   /**
-   * 
+   * One shared provider for all threads, based on a pooled HttpClient,
+   * the chain state requests are cached until the next block ...
    */
-  public static DefiDataProvider createDefiDataProvider() {
+  public static synchronized DefiDataProvider createDefiDataProvider() {
     LOGGER.trace("createDefiDataProvider()");
 
+    if (null == defiDataProvider) {
+      DefiDataProvider dataProvider = new DefiDataProviderImpl(createDefiHttpClient());
+
+      boolean isCacheEnabled = ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.DFI_RPC_CACHE, true);
+      defiDataProvider = isCacheEnabled ? new DefiDataProviderCache(dataProvider) : dataProvider;
+    }
+
+    return defiDataProvider;
+  }
+
+  /**
+   * 
+   */
+  private static HttpClient createDefiHttpClient() {
+    LOGGER.trace("createDefiHttpClient()");
+
     String username = ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.DFI_RPC_USERNAME);
     String password = ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.DFI_RPC_PASSWORD);
+    int maxConnectionPerRoute = ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.DFI_RPC_MAX_CONNECTION_PER_ROUTE, 16);
 
     UsernamePasswordCredentials credentials = new UsernamePasswordCredentials(username, password);
 
@@ -225,16 +249,19 @@ public class TransactionCheckerUtils {
             .setSocketTimeout(HTTP_CLIENT_TIMEOUT)
             .build();
 
-    HttpClient httpClient =
-        HttpClientBuilder.create()
-            .setDefaultCredentialsProvider(credentialsProvider)
-            .setDefaultRequestConfig(requestConfig)
-            .build();
-
-    HttpPost httpPost = new HttpPost();
-
     // ...
-    return new DefiDataProviderImpl(httpClient, httpPost);
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(maxConnectionPerRoute);
+    connectionManager.setDefaultMaxPerRoute(maxConnectionPerRoute);
+    connectionManager.setValidateAfterInactivity(HTTP_CLIENT_IDLE_TIMEOUT);
+
+    return HttpClientBuilder.create()
+        .setConnectionManager(connectionManager)
+        .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+        .evictIdleConnections(HTTP_CLIENT_IDLE_TIMEOUT, TimeUnit.MILLISECONDS)
+        .setDefaultCredentialsProvider(credentialsProvider)
+        .setDefaultRequestConfig(requestConfig)
+        .build();
   }
 
   /**
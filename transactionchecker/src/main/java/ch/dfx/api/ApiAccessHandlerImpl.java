@@ -68,8 +68,9 @@ public class ApiAccessHandlerImpl implements ApiAccessHandler {
   private final Gson gson;
 
   // ...
-  private HttpClient httpClient = null;
-  private SignInDTO signInDTO = null;
+  // the verdicts are sent from the worker threads of the OpenTransactionManager ...
+  private volatile HttpClient httpClient = null;
+  private volatile SignInDTO signInDTO = null;
 
   /**
    * 
@@ -336,6 +337,7 @@ public class ApiAccessHandlerImpl implements ApiAccessHandler {
       HttpResponse httpResponse = getHttpClient().execute(httpPut);
 
       int statusCode = httpResponse.getStatusLine().getStatusCode();
+      EntityUtils.consumeQuietly(httpResponse.getEntity());
 
       if (HttpStatus.SC_OK != statusCode) {
         LOGGER.error("[Verified] HTTP Status Code: " + statusCode);
@@ -395,6 +397,7 @@ public class ApiAccessHandlerImpl implements ApiAccessHandler {
       HttpResponse httpResponse = getHttpClient().execute(httpPut);
 
       int statusCode = httpResponse.getStatusLine().getStatusCode();
+      EntityUtils.consumeQuietly(httpResponse.getEntity());
 
       if (HttpStatus.SC_OK != statusCode) {
         LOGGER.error("[Invalidated] HTTP Status Code: " + statusCode);
@@ -409,7 +412,7 @@ public class ApiAccessHandlerImpl implements ApiAccessHandler {
   /**
    * 
    */
-  private void logJSON(
+  private synchronized void logJSON(
       @Nonnull String type,
       @Nonnull String jsonString) {
     LOGGER.trace("logJSON()");
@@ -448,10 +451,12 @@ public class ApiAccessHandlerImpl implements ApiAccessHandler {
   /**
    * 
    */
-  private HttpClient getHttpClient() {
+  private synchronized HttpClient getHttpClient() {
     LOGGER.trace("getHttpClient()");
 
     if (null == httpClient) {
+      int maxConnection = ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.LOCK_VERIFY_WORKER, 4);
+
       RequestConfig requestConfig =
           RequestConfig.custom()
               .setConnectTimeout(HTTP_CLIENT_TIMEOUT)
@@ -461,6 +466,8 @@ public class ApiAccessHandlerImpl implements ApiAccessHandler {
       httpClient =
           HttpClientBuilder.create()
               .setDefaultRequestConfig(requestConfig)
+              .setMaxConnPerRoute(maxConnection)
+              .setMaxConnTotal(maxConnection)
               .build();
     }
 
@@ -25,6 +25,9 @@ public class OpenTransactionDTO {
 
   private String invalidatedReason = null;
 
+  // not part of the API data, only for the time-to-verdict measurement ...
+  private transient long receiveTime = 0;
+
   /**
    * 
    */
@@ -104,6 +107,14 @@ public class OpenTransactionDTO {
     this.invalidatedReason = invalidatedReason;
   }
 
+  public long getReceiveTime() {
+    return receiveTime;
+  }
+
+  public void setReceiveTime(long receiveTime) {
+    this.receiveTime = receiveTime;
+  }
+
   @Override
   public String toString() {
     return TransactionCheckerUtils.toJson(this);
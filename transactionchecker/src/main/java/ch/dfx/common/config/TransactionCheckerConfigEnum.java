@@ -33,10 +33,26 @@ public enum TransactionCheckerConfigEnum implements ConfigEntry {
   LOCK_SIGNATURE("lock.signature"),
   LOCK_API_TEST_TOKEN("lock.api_test_token"),
   LOCK_SIMULATE_SEND("lock.simulate_send"),
+  LOCK_VERIFY_WORKER("lock.verify_worker"),
+  LOCK_SIGNATURE_CHECK_JAVASCRIPT("lock.signature_check_javascript"),
 
   // H2 Database ...
   H2_SYNC_LOOP("database.sync_loop"),
   H2_SYNC_COMMIT("database.sync_commit"),
+  H2_SYNC_FETCH_WORKER("database.sync_fetch_worker"),
+  H2_SYNC_FETCH_DEPTH("database.sync_fetch_depth"),
+  H2_SYNC_UTXO_CACHE_SIZE("database.sync_utxo_cache_size"),
+  H2_SYNC_UTXO_REBUILD_BLOCKS("database.sync_utxo_rebuild_blocks"),
+  H2_SYNC_BATCH_SIZE("database.sync_batch_size"),
+  H2_ADDRESS_CACHE_SIZE("database.address_cache_size"),
+  H2_BALANCE_VERIFY_CYCLES("database.balance_verify_cycles"),
+  H2_BALANCE_SET_BASED("database.balance_set_based"),
+  H2_PARALLEL_PHASES("database.parallel_phases"),
+  H2_POOL_SIZE("database.pool_size"),
+  H2_POOL_TIMEOUT("database.pool_timeout"),
+  H2_POOL_LEAK_DETECTION("database.pool_leak_detection"),
+  H2_POOL_STATEMENT_CACHE_SIZE("database.pool_statement_cache_size"),
+  H2_EMBEDDED("database.embedded"),
 
   H2_DB_DIR("database.[ENVIRONMENT].db_dir"),
   H2_DB_NAME("database.[ENVIRONMENT].db_name"),
@@ -60,12 +76,17 @@ public enum TransactionCheckerConfigEnum implements ConfigEntry {
 
   DFI_RPC_USERNAME("defichain.rpc_username"),
   DFI_RPC_PASSWORD("defichain.rpc_password"),
+  DFI_RPC_BATCH_SIZE("defichain.rpc_batch_size"),
+  DFI_RPC_MAX_CONNECTION_PER_ROUTE("defichain.rpc_max_connection_per_route"),
+  DFI_RPC_CACHE("defichain.rpc_cache"),
+  DFI_LOCAL_DECODER("defichain.local_decoder"),
 
   DFI_WALLET_NAME("defichain.wallet_name"),
   DFI_WALLET_PASSWORD("defichain.wallet_password"),
 
   DFI_WALLET_SIGN_ADDRESS("defichain.wallet_sign_address"),
-  DFI_VERIFY_ADDRESS("defichain.verify_address");
+  DFI_VERIFY_ADDRESS("defichain.verify_address"),
+  DFI_VERIFY_MODE("defichain.verify_mode");
 
   // ...
   private final String absoluteName;
@@ -0,0 +1,107 @@
+package ch.dfx.defichain.crypto;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Base58Check, used by the legacy (P2PKH) and the P2SH addresses.
+ */
+public class Base58 {
+  private static final String ALPHABET = "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz";
+  private static final BigInteger BASE = BigInteger.valueOf(58);
+
+  /**
+   * Base58Check string of the payload (including the version byte) ...
+   */
+  public static String encodeChecked(@Nonnull byte[] payload) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(MessageDigest.getInstance("SHA-256").digest(payload));
+
+      byte[] data = Arrays.copyOf(payload, payload.length + 4);
+      System.arraycopy(hash, 0, data, payload.length, 4);
+
+      StringBuilder encodedBuilder = new StringBuilder();
+
+      BigInteger value = new BigInteger(1, data);
+
+      while (0 < value.signum()) {
+        BigInteger[] divideAndRemainder = value.divideAndRemainder(BASE);
+        encodedBuilder.append(ALPHABET.charAt(divideAndRemainder[1].intValue()));
+        value = divideAndRemainder[0];
+      }
+
+      // leading zero bytes are leading '1' ...
+      for (int i = 0; i < data.length && 0 == data[i]; i++) {
+        encodedBuilder.append(ALPHABET.charAt(0));
+      }
+
+      return encodedBuilder.reverse().toString();
+    } catch (Exception e) {
+      throw new IllegalStateException("encodeChecked", e);
+    }
+  }
+
+  /**
+   * Payload including the version byte, null if the string is no valid Base58Check string.
+   */
+  public static @Nullable byte[] decodeChecked(@Nonnull String input) {
+    try {
+      BigInteger value = BigInteger.ZERO;
+
+      for (int i = 0; i < input.length(); i++) {
+        int digit = ALPHABET.indexOf(input.charAt(i));
+
+        if (-1 == digit) {
+          return null;
+        }
+
+        value = value.multiply(BASE).add(BigInteger.valueOf(digit));
+      }
+
+      // leading '1' are leading zero bytes ...
+      int leadingZeros = 0;
+
+      while (leadingZeros < input.length() && '1' == input.charAt(leadingZeros)) {
+        leadingZeros++;
+      }
+
+      byte[] valueBytes = value.toByteArray();
+      int valueOffset = (1 < valueBytes.length && 0 == valueBytes[0]) ? 1 : 0;
+
+      if (0 == value.signum()) {
+        valueOffset = valueBytes.length;
+      }
+
+      byte[] decoded = new byte[leadingZeros + valueBytes.length - valueOffset];
+      System.arraycopy(valueBytes, valueOffset, decoded, leadingZeros, valueBytes.length - valueOffset);
+
+      if (5 > decoded.length) {
+        return null;
+      }
+
+      // ...
+      byte[] payload = Arrays.copyOfRange(decoded, 0, decoded.length - 4);
+      byte[] checksum = Arrays.copyOfRange(decoded, decoded.length - 4, decoded.length);
+
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(MessageDigest.getInstance("SHA-256").digest(payload));
+
+      if (!Arrays.equals(checksum, Arrays.copyOfRange(hash, 0, 4))) {
+        return null;
+      }
+
+      return payload;
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  /**
+   * 
+   */
+  private Base58() {
+  }
+}
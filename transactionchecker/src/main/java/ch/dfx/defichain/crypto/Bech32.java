@@ -0,0 +1,180 @@
+package ch.dfx.defichain.crypto;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Locale;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Bech32 (BIP173), used by the native segwit addresses (e.g. "df1..." / "tf1...").
+ */
+public class Bech32 {
+  private static final String CHARSET = "qpzry9x8gf2tvdw0s3jn54khce6mua7l";
+  private static final int[] GENERATOR = { 0x3b6a57b2, 0x26508e6d, 0x1ea119fa, 0x3d4233dd, 0x2a1462b3 };
+
+  /**
+   * Witness program of a segwit address, null if the string is no valid bech32 string.
+   */
+  public static @Nullable byte[] decodeWitnessProgram(@Nonnull String input) {
+    String lowerInput = input.toLowerCase(Locale.ROOT);
+
+    if (!lowerInput.equals(input) && !input.toUpperCase(Locale.ROOT).equals(input)) {
+      return null;
+    }
+
+    int separatorIndex = lowerInput.lastIndexOf('1');
+
+    if (1 > separatorIndex
+        || separatorIndex + 7 > lowerInput.length()
+        || 90 < lowerInput.length()) {
+      return null;
+    }
+
+    String hrp = lowerInput.substring(0, separatorIndex);
+
+    int[] data = new int[lowerInput.length() - separatorIndex - 1];
+
+    for (int i = 0; i < data.length; i++) {
+      int value = CHARSET.indexOf(lowerInput.charAt(separatorIndex + 1 + i));
+
+      if (-1 == value) {
+        return null;
+      }
+
+      data[i] = value;
+    }
+
+    if (1 != polymod(hrp, data)) {
+      return null;
+    }
+
+    // first word is the witness version, the last six words are the checksum ...
+    return convertBits(data, 1, data.length - 6);
+  }
+
+  /**
+   * Segwit address of a witness program ...
+   */
+  public static String encodeWitnessAddress(
+      @Nonnull String hrp,
+      int witnessVersion,
+      @Nonnull byte[] witnessProgram) {
+    // bytes to 5 bit words ...
+    int[] data = new int[1 + (witnessProgram.length * 8 + 4) / 5];
+    data[0] = witnessVersion;
+
+    int accumulator = 0;
+    int bits = 0;
+    int index = 1;
+
+    for (byte b : witnessProgram) {
+      accumulator = (accumulator << 8) | (b & 0xff);
+      bits += 8;
+
+      while (5 <= bits) {
+        bits -= 5;
+        data[index++] = (accumulator >>> bits) & 0x1f;
+      }
+    }
+
+    if (0 < bits) {
+      data[index] = (accumulator << (5 - bits)) & 0x1f;
+    }
+
+    // checksum ...
+    int[] checksumData = Arrays.copyOf(data, data.length + 6);
+    int checksum = polymod(hrp, checksumData) ^ 1;
+
+    StringBuilder addressBuilder = new StringBuilder(hrp).append('1');
+
+    for (int value : data) {
+      addressBuilder.append(CHARSET.charAt(value));
+    }
+
+    for (int i = 0; i < 6; i++) {
+      addressBuilder.append(CHARSET.charAt((checksum >>> (5 * (5 - i))) & 0x1f));
+    }
+
+    return addressBuilder.toString();
+  }
+
+  /**
+   * 
+   */
+  private static int polymod(
+      @Nonnull String hrp,
+      @Nonnull int[] data) {
+    int checksum = 1;
+
+    for (int i = 0; i < hrp.length(); i++) {
+      checksum = polymodStep(checksum, hrp.charAt(i) >> 5);
+    }
+
+    checksum = polymodStep(checksum, 0);
+
+    for (int i = 0; i < hrp.length(); i++) {
+      checksum = polymodStep(checksum, hrp.charAt(i) & 0x1f);
+    }
+
+    for (int value : data) {
+      checksum = polymodStep(checksum, value);
+    }
+
+    return checksum;
+  }
+
+  /**
+   * 
+   */
+  private static int polymodStep(
+      int checksum,
+      int value) {
+    int top = checksum >>> 25;
+    checksum = (checksum & 0x1ffffff) << 5 ^ value;
+
+    for (int i = 0; i < 5; i++) {
+      if (0 != ((top >>> i) & 1)) {
+        checksum ^= GENERATOR[i];
+      }
+    }
+
+    return checksum;
+  }
+
+  /**
+   * 5 bit words to bytes, null on non-zero padding ...
+   */
+  private static @Nullable byte[] convertBits(
+      @Nonnull int[] data,
+      int from,
+      int to) {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    int accumulator = 0;
+    int bits = 0;
+
+    for (int i = from; i < to; i++) {
+      accumulator = (accumulator << 5) | data[i];
+      bits += 5;
+
+      if (8 <= bits) {
+        bits -= 8;
+        outputStream.write((accumulator >>> bits) & 0xff);
+      }
+    }
+
+    if (5 <= bits || 0 != ((accumulator << (8 - bits)) & 0xff)) {
+      return null;
+    }
+
+    return outputStream.toByteArray();
+  }
+
+  /**
+   * 
+   */
+  private Bech32() {
+  }
+}
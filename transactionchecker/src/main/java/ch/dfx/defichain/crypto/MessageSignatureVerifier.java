@@ -0,0 +1,272 @@
+package ch.dfx.defichain.crypto;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import ch.dfx.common.enumeration.NetworkEnum;
+
+/**
+ * Verification of signed messages (65 byte compact signatures, base64 encoded),
+ * same rules as the former JavaScript check (bitcoinjs-message with the DeFiChain message prefix):
+ * 
+ * - recovery id and compression of the public key are taken from the header byte:
+ *   27-30 uncompressed, 31-34 compressed, 35-38 P2SH-P2WPKH, 39-42 P2WPKH (the last two always compressed)
+ * - an uncompressed public key only matches the P2PKH hash of a legacy address (Base58Check)
+ * - a compressed public key matches the P2PKH or the P2SH-P2WPKH hash of a legacy address
+ *   or the P2WPKH program of a bech32 address, for every header (like checkSegwitAlways)
+ */
+public class MessageSignatureVerifier {
+  public static final String MESSAGE_MAGIC = "Defi Signed Message:\n";
+
+  private static final int SIGNATURE_LENGTH = 65;
+
+  /**
+   * 
+   */
+  public static boolean verify(
+      @Nonnull String message,
+      @Nonnull String address,
+      @Nonnull String signature) {
+    AddressHash addressHash = toAddressHash(address);
+
+    return null != addressHash
+        && verify(message, addressHash, signature);
+  }
+
+  /**
+   * Verification against an already decoded address, e.g. to cache the hash of a fixed address ...
+   */
+  public static boolean verify(
+      @Nonnull String message,
+      @Nonnull AddressHash addressHash,
+      @Nonnull String signature) {
+    byte[] signatureBytes = decodeSignature(signature);
+
+    if (null == signatureBytes) {
+      return false;
+    }
+
+    int header = (signatureBytes[0] & 0xff) - 27;
+
+    if (0 > header || 15 < header) {
+      return false;
+    }
+
+    boolean isCompressed = 0 != (header & 12);
+
+    BigInteger r = Secp256k1.fromBytes32(signatureBytes, 1);
+    BigInteger s = Secp256k1.fromBytes32(signatureBytes, 33);
+
+    byte[] publicKey = Secp256k1.recoverPublicKey(getMessageHash(message), r, s, header & 3, isCompressed);
+
+    if (null == publicKey) {
+      return false;
+    }
+
+    if (!isCompressed) {
+      return addressHash.isBase58
+          && Arrays.equals(addressHash.hash, hash160(publicKey));
+    }
+
+    return addressHash.matches(publicKey);
+  }
+
+  /**
+   * Verification with the rules of the node's "verifymessage":
+   * recovery id and compression only from the signature header, the address is the public key hash
+   * of a P2PKH address (see toP2PKHAddressHash()), a bech32 address is never valid.
+   */
+  public static boolean verifyCompact(
+      @Nonnull String message,
+      @Nonnull AddressHash addressHash,
+      @Nonnull String signature) {
+    if (!addressHash.isBase58) {
+      return false;
+    }
+
+    byte[] signatureBytes = decodeSignature(signature);
+
+    if (null == signatureBytes) {
+      return false;
+    }
+
+    int header = (signatureBytes[0] & 0xff) - 27;
+
+    if (0 > header || 7 < header) {
+      return false;
+    }
+
+    BigInteger r = Secp256k1.fromBytes32(signatureBytes, 1);
+    BigInteger s = Secp256k1.fromBytes32(signatureBytes, 33);
+
+    byte[] publicKey = Secp256k1.recoverPublicKey(getMessageHash(message), r, s, header & 3, 0 != (header & 4));
+
+    return null != publicKey
+        && Arrays.equals(addressHash.hash, hash160(publicKey));
+  }
+
+  /**
+   * Double SHA-256 of magic and message, both prefixed by their length ...
+   */
+  public static byte[] getMessageHash(@Nonnull String message) {
+    try {
+      byte[] magicBytes = MESSAGE_MAGIC.getBytes(StandardCharsets.UTF_8);
+      byte[] messageBytes = message.getBytes(StandardCharsets.UTF_8);
+
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      writeVarInt(outputStream, magicBytes.length);
+      outputStream.write(magicBytes);
+      writeVarInt(outputStream, messageBytes.length);
+      outputStream.write(messageBytes);
+
+      MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+
+      return messageDigest.digest(messageDigest.digest(outputStream.toByteArray()));
+    } catch (Exception e) {
+      throw new IllegalStateException("getMessageHash", e);
+    }
+  }
+
+  /**
+   * RIPEMD-160 of the SHA-256 ...
+   */
+  public static byte[] hash160(@Nonnull byte[] data) {
+    try {
+      return Ripemd160.digest(MessageDigest.getInstance("SHA-256").digest(data));
+    } catch (Exception e) {
+      throw new IllegalStateException("hash160", e);
+    }
+  }
+
+  /**
+   * Decoded address, null if the address is neither a valid Base58Check nor a valid bech32 address.
+   */
+  public static @Nullable AddressHash toAddressHash(@Nonnull String address) {
+    byte[] witnessProgram = Bech32.decodeWitnessProgram(address);
+
+    if (null != witnessProgram) {
+      return 20 == witnessProgram.length ? new AddressHash(witnessProgram, -1) : null;
+    }
+
+    byte[] payload = Base58.decodeChecked(address);
+
+    if (null != payload
+        && 21 == payload.length) {
+      return new AddressHash(Arrays.copyOfRange(payload, 1, 21), payload[0] & 0xff);
+    }
+
+    return null;
+  }
+
+  /**
+   * Decoded address, null if the address is not a P2PKH address of the network,
+   * i.e. the only addresses accepted by the node's "verifymessage" ...
+   */
+  public static @Nullable AddressHash toP2PKHAddressHash(
+      @Nonnull NetworkEnum network,
+      @Nonnull String address) {
+    AddressHash addressHash = toAddressHash(address);
+
+    return null != addressHash && addressHash.isP2PKH(network) ? addressHash : null;
+  }
+
+  /**
+   * 
+   */
+  private static @Nullable byte[] decodeSignature(@Nonnull String signature) {
+    try {
+      byte[] signatureBytes = Base64.getDecoder().decode(signature);
+
+      return SIGNATURE_LENGTH == signatureBytes.length ? signatureBytes : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * 
+   */
+  private static void writeVarInt(
+      @Nonnull ByteArrayOutputStream outputStream,
+      int value) {
+    if (0xfd > value) {
+      outputStream.write(value);
+    } else if (0xffff >= value) {
+      outputStream.write(0xfd);
+      outputStream.write(value);
+      outputStream.write(value >>> 8);
+    } else {
+      outputStream.write(0xfe);
+      outputStream.write(value);
+      outputStream.write(value >>> 8);
+      outputStream.write(value >>> 16);
+      outputStream.write(value >>> 24);
+    }
+  }
+
+  /**
+   * Hash of an address: the public key hash (bech32) or the public key / script hash (Base58Check).
+   */
+  public static class AddressHash {
+    private final byte[] hash;
+    private final int version;
+    private final boolean isBase58;
+
+    /**
+     * Version byte of the Base58Check address, -1 for a bech32 address ...
+     */
+    private AddressHash(
+        @Nonnull byte[] hash,
+        int version) {
+      this.hash = hash;
+      this.version = version;
+      this.isBase58 = -1 != version;
+    }
+
+    /**
+     * Base58Check address with the P2PKH version byte of the network: mainnet "8...", testnet "7..."
+     */
+    public boolean isP2PKH(@Nonnull NetworkEnum network) {
+      int pubKeyHashVersion = NetworkEnum.MAINNET == network ? 0x12 : 0x0f;
+
+      return isBase58
+          && pubKeyHashVersion == version;
+    }
+
+    /**
+     * 
+     */
+    public boolean matches(@Nonnull byte[] compressedPublicKey) {
+      byte[] publicKeyHash = hash160(compressedPublicKey);
+
+      if (Arrays.equals(hash, publicKeyHash)) {
+        return true;
+      }
+
+      if (isBase58) {
+        // P2SH-P2WPKH: hash of the script 0x00 0x14 <public key hash> ...
+        byte[] redeemScript = new byte[22];
+        redeemScript[0] = 0x00;
+        redeemScript[1] = 0x14;
+        System.arraycopy(publicKeyHash, 0, redeemScript, 2, 20);
+
+        return Arrays.equals(hash, hash160(redeemScript));
+      }
+
+      return false;
+    }
+  }
+
+  /**
+   * 
+   */
+  private MessageSignatureVerifier() {
+  }
+}
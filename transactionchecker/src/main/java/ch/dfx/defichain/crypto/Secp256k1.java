@@ -0,0 +1,257 @@
+package ch.dfx.defichain.crypto;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * secp256k1 arithmetic for the public key recovery of compact signatures (y^2 = x^3 + 7 over Fp).
+ *
+ * The points are calculated in jacobian coordinates (X, Y, Z) to avoid a modular inverse per addition,
+ * a null Z means the point at infinity.
+ */
+public class Secp256k1 {
+  public static final BigInteger P = new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEFFFFFC2F", 16);
+  public static final BigInteger N = new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEBAAEDCE6AF48A03BBFD25E8CD0364141", 16);
+
+  private static final BigInteger GX = new BigInteger("79BE667EF9DCBBAC55A06295CE870B07029BFCDB2DCE28D959F2815B16F81798", 16);
+  private static final BigInteger GY = new BigInteger("483ADA7726A3C4655DA4FBFC0E1108A8FD17B448A68554199C47D08FFB10D4B8", 16);
+
+  private static final BigInteger SEVEN = BigInteger.valueOf(7);
+  private static final BigInteger SQRT_EXPONENT = P.add(BigInteger.ONE).shiftRight(2);
+
+  private static final BigInteger[] G = { GX, GY, BigInteger.ONE };
+  private static final BigInteger[] INFINITY = { BigInteger.ONE, BigInteger.ONE, BigInteger.ZERO };
+
+  /**
+   * Public key Q = r^-1 * (s * R - e * G), null if there is no valid key for this recovery id.
+   */
+  public static @Nullable byte[] recoverPublicKey(
+      @Nonnull byte[] hash,
+      @Nonnull BigInteger r,
+      @Nonnull BigInteger s,
+      int recoveryId,
+      boolean compressed) {
+    if (0 >= r.signum() || 0 <= r.compareTo(N)
+        || 0 >= s.signum() || 0 <= s.compareTo(N)
+        || 0 > recoveryId || 3 < recoveryId) {
+      return null;
+    }
+
+    BigInteger x = r.add(N.multiply(BigInteger.valueOf(recoveryId >> 1)));
+
+    if (0 <= x.compareTo(P)) {
+      return null;
+    }
+
+    BigInteger[] pointR = decompress(x, 1 == (recoveryId & 1));
+
+    if (null == pointR) {
+      return null;
+    }
+
+    // ...
+    BigInteger e = new BigInteger(1, hash).mod(N);
+    BigInteger rInverse = r.modInverse(N);
+
+    BigInteger u1 = e.negate().multiply(rInverse).mod(N);
+    BigInteger u2 = s.multiply(rInverse).mod(N);
+
+    BigInteger[] pointQ = toAffine(multiplyAdd(u1, G, u2, pointR));
+
+    if (null == pointQ) {
+      return null;
+    }
+
+    return encode(pointQ, compressed);
+  }
+
+  /**
+   *
+   */
+  private static @Nullable BigInteger[] decompress(
+      @Nonnull BigInteger x,
+      boolean isOdd) {
+    BigInteger ySquare = x.modPow(BigInteger.valueOf(3), P).add(SEVEN).mod(P);
+    BigInteger y = ySquare.modPow(SQRT_EXPONENT, P);
+
+    if (!y.multiply(y).mod(P).equals(ySquare)) {
+      return null;
+    }
+
+    if (y.testBit(0) != isOdd) {
+      y = P.subtract(y);
+    }
+
+    return new BigInteger[] { x, y, BigInteger.ONE };
+  }
+
+  /**
+   * u1 * A + u2 * B with one shared doubling chain (Shamir's trick) ...
+   */
+  private static BigInteger[] multiplyAdd(
+      @Nonnull BigInteger u1,
+      @Nonnull BigInteger[] pointA,
+      @Nonnull BigInteger u2,
+      @Nonnull BigInteger[] pointB) {
+    BigInteger[] pointAB = add(pointA, pointB);
+    BigInteger[] result = INFINITY;
+
+    for (int i = Math.max(u1.bitLength(), u2.bitLength()) - 1; i >= 0; i--) {
+      result = doublePoint(result);
+
+      boolean bit1 = u1.testBit(i);
+      boolean bit2 = u2.testBit(i);
+
+      if (bit1 && bit2) {
+        result = add(result, pointAB);
+      } else if (bit1) {
+        result = add(result, pointA);
+      } else if (bit2) {
+        result = add(result, pointB);
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   *
+   */
+  private static BigInteger[] doublePoint(@Nonnull BigInteger[] point) {
+    BigInteger x = point[0];
+    BigInteger y = point[1];
+    BigInteger z = point[2];
+
+    if (0 == z.signum() || 0 == y.signum()) {
+      return INFINITY;
+    }
+
+    BigInteger ySquare = y.multiply(y).mod(P);
+    BigInteger s = x.multiply(ySquare).shiftLeft(2).mod(P);
+    BigInteger m = x.multiply(x).multiply(BigInteger.valueOf(3)).mod(P);
+
+    BigInteger x3 = m.multiply(m).subtract(s.shiftLeft(1)).mod(P);
+    BigInteger y3 = m.multiply(s.subtract(x3)).subtract(ySquare.multiply(ySquare).shiftLeft(3)).mod(P);
+    BigInteger z3 = y.multiply(z).shiftLeft(1).mod(P);
+
+    return new BigInteger[] { x3, y3, z3 };
+  }
+
+  /**
+   *
+   */
+  private static BigInteger[] add(
+      @Nonnull BigInteger[] point1,
+      @Nonnull BigInteger[] point2) {
+    if (0 == point1[2].signum()) {
+      return point2;
+    }
+
+    if (0 == point2[2].signum()) {
+      return point1;
+    }
+
+    BigInteger z1Square = point1[2].multiply(point1[2]).mod(P);
+    BigInteger z2Square = point2[2].multiply(point2[2]).mod(P);
+
+    BigInteger u1 = point1[0].multiply(z2Square).mod(P);
+    BigInteger u2 = point2[0].multiply(z1Square).mod(P);
+    BigInteger s1 = point1[1].multiply(z2Square).multiply(point2[2]).mod(P);
+    BigInteger s2 = point2[1].multiply(z1Square).multiply(point1[2]).mod(P);
+
+    if (u1.equals(u2)) {
+      return s1.equals(s2) ? doublePoint(point1) : INFINITY;
+    }
+
+    BigInteger h = u2.subtract(u1).mod(P);
+    BigInteger r = s2.subtract(s1).mod(P);
+
+    BigInteger hSquare = h.multiply(h).mod(P);
+    BigInteger hCube = hSquare.multiply(h).mod(P);
+    BigInteger u1hSquare = u1.multiply(hSquare).mod(P);
+
+    BigInteger x3 = r.multiply(r).subtract(hCube).subtract(u1hSquare.shiftLeft(1)).mod(P);
+    BigInteger y3 = r.multiply(u1hSquare.subtract(x3)).subtract(s1.multiply(hCube)).mod(P);
+    BigInteger z3 = h.multiply(point1[2]).multiply(point2[2]).mod(P);
+
+    return new BigInteger[] { x3, y3, z3 };
+  }
+
+  /**
+   * Affine (x, y), null for the point at infinity ...
+   */
+  private static @Nullable BigInteger[] toAffine(@Nonnull BigInteger[] point) {
+    if (0 == point[2].signum()) {
+      return null;
+    }
+
+    BigInteger zInverse = point[2].modInverse(P);
+    BigInteger zInverseSquare = zInverse.multiply(zInverse).mod(P);
+
+    BigInteger x = point[0].multiply(zInverseSquare).mod(P);
+    BigInteger y = point[1].multiply(zInverseSquare).multiply(zInverse).mod(P);
+
+    return new BigInteger[] { x, y };
+  }
+
+  /**
+   * SEC1 encoding: 0x02 / 0x03 + x (compressed) or 0x04 + x + y ...
+   */
+  private static byte[] encode(
+      @Nonnull BigInteger[] affinePoint,
+      boolean compressed) {
+    byte[] x = toBytes32(affinePoint[0]);
+
+    if (compressed) {
+      byte[] encoded = new byte[33];
+      encoded[0] = (byte) (affinePoint[1].testBit(0) ? 0x03 : 0x02);
+      System.arraycopy(x, 0, encoded, 1, 32);
+      return encoded;
+    }
+
+    byte[] encoded = new byte[65];
+    encoded[0] = 0x04;
+    System.arraycopy(x, 0, encoded, 1, 32);
+    System.arraycopy(toBytes32(affinePoint[1]), 0, encoded, 33, 32);
+    return encoded;
+  }
+
+  /**
+   *
+   */
+  public static byte[] toBytes32(@Nonnull BigInteger value) {
+    byte[] bytes = value.toByteArray();
+
+    if (32 == bytes.length) {
+      return bytes;
+    }
+
+    byte[] bytes32 = new byte[32];
+
+    if (32 < bytes.length) {
+      System.arraycopy(bytes, bytes.length - 32, bytes32, 0, 32);
+    } else {
+      System.arraycopy(bytes, 0, bytes32, 32 - bytes.length, bytes.length);
+    }
+
+    return bytes32;
+  }
+
+  /**
+   *
+   */
+  public static BigInteger fromBytes32(
+      @Nonnull byte[] bytes,
+      int offset) {
+    return new BigInteger(1, Arrays.copyOfRange(bytes, offset, offset + 32));
+  }
+
+  /**
+   *
+   */
+  private Secp256k1() {
+  }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 import ch.dfx.TransactionCheckerUtils;
 import ch.dfx.defichain.data.ResultDataA;
+import ch.dfx.defichain.data.transaction.DefiTransactionData;
 
 /**
  * 
@@ -19,6 +20,9 @@ public class DefiBlockData extends ResultDataA {
 
   private List<String> tx = null;
 
+  // Only filled by getblock with verbosity 2 ...
+  private List<DefiTransactionData> transactionDataList = null;
+
   /**
    * 
    */
@@ -89,6 +93,14 @@ public class DefiBlockData extends ResultDataA {
     this.tx = tx;
   }
 
+  public List<DefiTransactionData> getTransactionDataList() {
+    return transactionDataList;
+  }
+
+  public void setTransactionDataList(List<DefiTransactionData> transactionDataList) {
+    this.transactionDataList = transactionDataList;
+  }
+
   @Override
   public String toString() {
     return TransactionCheckerUtils.toJson(this);
@@ -0,0 +1,162 @@
+package ch.dfx.defichain.decoder;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+import org.apache.commons.codec.binary.Hex;
+
+import ch.dfx.common.errorhandling.DfxException;
+
+/**
+ * Reader for the serialized (little endian) transaction and custom transaction data.
+ */
+public class DefiByteReader {
+  // ...
+  private final byte[] data;
+  private int offset;
+
+  /**
+   * 
+   */
+  public DefiByteReader(@Nonnull byte[] data) {
+    this.data = data;
+    this.offset = 0;
+  }
+
+  public int getOffset() {
+    return offset;
+  }
+
+  public void setOffset(int offset) {
+    this.offset = offset;
+  }
+
+  public int remaining() {
+    return data.length - offset;
+  }
+
+  public boolean isEnd() {
+    return offset >= data.length;
+  }
+
+  /**
+   * 
+   */
+  public int readUInt8() throws DfxException {
+    checkRemaining(1);
+    return data[offset++] & 0xff;
+  }
+
+  /**
+   * 
+   */
+  public int readUInt16() throws DfxException {
+    return readUInt8() | readUInt8() << 8;
+  }
+
+  /**
+   * 
+   */
+  public long readUInt32() throws DfxException {
+    return readInt32() & 0xffffffffL;
+  }
+
+  /**
+   * 
+   */
+  public int readInt32() throws DfxException {
+    return readUInt8() | readUInt8() << 8 | readUInt8() << 16 | readUInt8() << 24;
+  }
+
+  /**
+   * 
+   */
+  public long readInt64() throws DfxException {
+    return readUInt32() | readUInt32() << 32;
+  }
+
+  /**
+   * Compact size: 1, 3, 5 or 9 bytes ...
+   */
+  public long readCompactSize() throws DfxException {
+    int first = readUInt8();
+
+    if (0xfd > first) {
+      return first;
+    } else if (0xfd == first) {
+      return readUInt16();
+    } else if (0xfe == first) {
+      return readUInt32();
+    }
+
+    return readInt64();
+  }
+
+  /**
+   * VARINT: 7 bits per byte, most significant first, with the offset of one per continuation byte ...
+   */
+  public long readVarInt() throws DfxException {
+    long value = 0;
+
+    while (true) {
+      int b = readUInt8();
+      value = (value << 7) | (b & 0x7f);
+
+      if (0 == (b & 0x80)) {
+        return value;
+      }
+
+      value++;
+    }
+  }
+
+  /**
+   * 
+   */
+  public byte[] readBytes(int length) throws DfxException {
+    checkRemaining(length);
+
+    byte[] bytes = Arrays.copyOfRange(data, offset, offset + length);
+    offset += length;
+
+    return bytes;
+  }
+
+  /**
+   * Bytes with a leading compact size ...
+   */
+  public byte[] readVarBytes() throws DfxException {
+    long length = readCompactSize();
+
+    if (length > remaining()) {
+      throw new DfxException("length " + length + " exceeds the remaining " + remaining() + " bytes");
+    }
+
+    return readBytes((int) length);
+  }
+
+  /**
+   * uint256 as hex string, in the usual reversed byte order ...
+   */
+  public String readHash() throws DfxException {
+    byte[] hash = readBytes(32);
+
+    for (int i = 0; i < 16; i++) {
+      byte b = hash[i];
+      hash[i] = hash[31 - i];
+      hash[31 - i] = b;
+    }
+
+    return Hex.encodeHexString(hash);
+  }
+
+  /**
+   * 
+   */
+  private void checkRemaining(int length) throws DfxException {
+    if (0 > length || length > remaining()) {
+      throw new DfxException("unexpected end of data at offset " + offset);
+    }
+  }
+}
@@ -0,0 +1,197 @@
+package ch.dfx.defichain.decoder;
+
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.apache.commons.codec.binary.Hex;
+
+import ch.dfx.common.enumeration.NetworkEnum;
+import ch.dfx.defichain.crypto.Base58;
+import ch.dfx.defichain.crypto.Bech32;
+import ch.dfx.defichain.crypto.MessageSignatureVerifier;
+
+/**
+ * Type and address of a scriptPubKey, the same values as delivered by the node.
+ * 
+ * Address prefixes: mainnet "8..." (P2PKH), "d..." (P2SH), "df1..." (bech32),
+ * testnet "7..." (P2PKH), "t..." (P2SH), "tf1..." (bech32).
+ */
+public class DefiScriptDecoder {
+  // ...
+  private static final int OP_0 = 0x00;
+  private static final int OP_1 = 0x51;
+  private static final int OP_16 = 0x60;
+  private static final int OP_RETURN = 0x6a;
+  private static final int OP_DUP = 0x76;
+  private static final int OP_EQUAL = 0x87;
+  private static final int OP_EQUALVERIFY = 0x88;
+  private static final int OP_HASH160 = 0xa9;
+  private static final int OP_CHECKSIG = 0xac;
+
+  public static final String TYPE_NULLDATA = "nulldata";
+  public static final String TYPE_PUBKEY = "pubkey";
+  public static final String TYPE_PUBKEYHASH = "pubkeyhash";
+  public static final String TYPE_SCRIPTHASH = "scripthash";
+  public static final String TYPE_WITNESS_V0_KEYHASH = "witness_v0_keyhash";
+  public static final String TYPE_WITNESS_V0_SCRIPTHASH = "witness_v0_scripthash";
+  public static final String TYPE_WITNESS_UNKNOWN = "witness_unknown";
+  public static final String TYPE_NONSTANDARD = "nonstandard";
+
+  // ...
+  private final byte pubKeyHashPrefix;
+  private final byte scriptHashPrefix;
+  private final String bech32Hrp;
+
+  /**
+   * Only mainnet and testnet have known address prefixes.
+   */
+  public static boolean isSupported(@Nonnull NetworkEnum network) {
+    return NetworkEnum.MAINNET == network
+        || NetworkEnum.TESTNET == network;
+  }
+
+  /**
+   * 
+   */
+  public DefiScriptDecoder(@Nonnull NetworkEnum network) {
+    Objects.requireNonNull(network, "null 'network' not allowed");
+
+    if (NetworkEnum.MAINNET == network) {
+      this.pubKeyHashPrefix = 0x12;
+      this.scriptHashPrefix = 0x5a;
+      this.bech32Hrp = "df";
+    } else if (NetworkEnum.TESTNET == network) {
+      this.pubKeyHashPrefix = 0x0f;
+      this.scriptHashPrefix = (byte) 0x80;
+      this.bech32Hrp = "tf";
+    } else {
+      throw new IllegalArgumentException("unsupported network " + network);
+    }
+  }
+
+  /**
+   * 
+   */
+  public String getType(@Nonnull byte[] script) {
+    int length = script.length;
+
+    if (0 < length && OP_RETURN == (script[0] & 0xff)) {
+      return TYPE_NULLDATA;
+    }
+
+    if (25 == length
+        && OP_DUP == (script[0] & 0xff)
+        && OP_HASH160 == (script[1] & 0xff)
+        && 20 == script[2]
+        && OP_EQUALVERIFY == (script[23] & 0xff)
+        && OP_CHECKSIG == (script[24] & 0xff)) {
+      return TYPE_PUBKEYHASH;
+    }
+
+    if (23 == length
+        && OP_HASH160 == (script[0] & 0xff)
+        && 20 == script[1]
+        && OP_EQUAL == (script[22] & 0xff)) {
+      return TYPE_SCRIPTHASH;
+    }
+
+    if ((35 == length && 33 == script[0] || 67 == length && 65 == script[0])
+        && OP_CHECKSIG == (script[length - 1] & 0xff)) {
+      return TYPE_PUBKEY;
+    }
+
+    if (22 == length && OP_0 == script[0] && 20 == script[1]) {
+      return TYPE_WITNESS_V0_KEYHASH;
+    }
+
+    if (34 == length && OP_0 == script[0] && 32 == script[1]) {
+      return TYPE_WITNESS_V0_SCRIPTHASH;
+    }
+
+    if (4 <= length && 42 >= length
+        && OP_1 <= (script[0] & 0xff) && OP_16 >= (script[0] & 0xff)
+        && length - 2 == script[1]) {
+      return TYPE_WITNESS_UNKNOWN;
+    }
+
+    return TYPE_NONSTANDARD;
+  }
+
+  /**
+   * Address of the script, null if the script has no address (e.g. nulldata).
+   */
+  public @Nullable String getAddress(@Nonnull byte[] script) {
+    switch (getType(script)) {
+      case TYPE_PUBKEYHASH:
+        return toBase58Address(pubKeyHashPrefix, script, 3);
+
+      case TYPE_SCRIPTHASH:
+        return toBase58Address(scriptHashPrefix, script, 2);
+
+      case TYPE_PUBKEY:
+        byte[] publicKey = new byte[script.length - 2];
+        System.arraycopy(script, 1, publicKey, 0, publicKey.length);
+        return toBase58Address(pubKeyHashPrefix, MessageSignatureVerifier.hash160(publicKey), 0);
+
+      case TYPE_WITNESS_V0_KEYHASH:
+      case TYPE_WITNESS_V0_SCRIPTHASH:
+        return toBech32Address(0, script);
+
+      case TYPE_WITNESS_UNKNOWN:
+        return toBech32Address((script[0] & 0xff) - OP_1 + 1, script);
+
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Address of the script or the script as hex string, if the script has no address ...
+   */
+  public String getAddressOrHex(@Nonnull byte[] script) {
+    String address = getAddress(script);
+
+    return null != address ? address : Hex.encodeHexString(script);
+  }
+
+  /**
+   * Address of a key id, P2PKH (operator type 1) or P2WPKH (operator type 4) ...
+   */
+  public String getKeyIdAddress(
+      int keyType,
+      @Nonnull byte[] keyId) {
+    if (4 == keyType) {
+      return Bech32.encodeWitnessAddress(bech32Hrp, 0, keyId);
+    }
+
+    return toBase58Address(pubKeyHashPrefix, keyId, 0);
+  }
+
+  /**
+   * 
+   */
+  private String toBase58Address(
+      byte prefix,
+      @Nonnull byte[] data,
+      int hashOffset) {
+    byte[] payload = new byte[21];
+    payload[0] = prefix;
+    System.arraycopy(data, hashOffset, payload, 1, 20);
+
+    return Base58.encodeChecked(payload);
+  }
+
+  /**
+   * 
+   */
+  private String toBech32Address(
+      int witnessVersion,
+      @Nonnull byte[] script) {
+    byte[] witnessProgram = new byte[script.length - 2];
+    System.arraycopy(script, 2, witnessProgram, 0, witnessProgram.length);
+
+    return Bech32.encodeWitnessAddress(bech32Hrp, witnessVersion, witnessProgram);
+  }
+}
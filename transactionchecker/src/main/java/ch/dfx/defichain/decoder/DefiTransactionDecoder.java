@@ -0,0 +1,733 @@
+package ch.dfx.defichain.decoder;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import ch.dfx.common.enumeration.NetworkEnum;
+import ch.dfx.common.errorhandling.DfxException;
+import ch.dfx.defichain.data.custom.DefiCustomData;
+import ch.dfx.defichain.data.transaction.DefiTransactionData;
+import ch.dfx.defichain.data.transaction.DefiTransactionScriptPubKeyData;
+import ch.dfx.defichain.data.transaction.DefiTransactionVinData;
+import ch.dfx.defichain.data.transaction.DefiTransactionVinScriptSigData;
+import ch.dfx.defichain.data.transaction.DefiTransactionVoutData;
+
+/**
+ * Local replacement for the node calls "decoderawtransaction" and "decodecustomtx":
+ * the raw transaction hex is decoded to the same DefiTransactionData / DefiCustomData as delivered by the node.
+ * 
+ * Only the custom transaction types needed by the checkers are decoded,
+ * for all other types decodeCustomTransaction() returns null and the node must be asked.
+ */
+public class DefiTransactionDecoder {
+  private static final Logger LOGGER = LogManager.getLogger(DefiTransactionDecoder.class);
+
+  // ...
+  private static final int TOKENS_MIN_VERSION = 4;
+
+  private static final int OP_RETURN = 0x6a;
+  private static final int OP_PUSHDATA1 = 0x4c;
+  private static final int OP_PUSHDATA2 = 0x4d;
+  private static final int OP_PUSHDATA4 = 0x4e;
+
+  private static final byte[] DFTX_BYTES = { 0x44, 0x66, 0x54, 0x78 };
+
+  private static final String NOT_A_CUSTOM_TRANSACTION = "Not a custom transaction";
+
+  // ...
+  private final DefiScriptDecoder scriptDecoder;
+
+  private final Map<Character, CustomTypeDecoder> customTypeDecoderMap;
+
+  /**
+   * 
+   */
+  public DefiTransactionDecoder(@Nonnull NetworkEnum network) {
+    this.scriptDecoder = new DefiScriptDecoder(network);
+    this.customTypeDecoderMap = new HashMap<>();
+
+    setup();
+  }
+
+  /**
+   * 
+   */
+  private void setup() {
+    LOGGER.trace("setup()");
+
+    // Masternode ...
+    customTypeDecoderMap.put('C', new CustomTypeDecoder("CreateMasternode", this::decodeCreateMasternode));
+    customTypeDecoderMap.put('R', new CustomTypeDecoder("ResignMasternode", this::decodeResignMasternode));
+    customTypeDecoderMap.put('O', new CustomTypeDecoder("Vote", this::decodeVote));
+
+    // Account ...
+    customTypeDecoderMap.put('B', new CustomTypeDecoder("AccountToAccount", this::decodeAccountToAccount));
+    customTypeDecoderMap.put('a', new CustomTypeDecoder("AnyAccountsToAccounts", this::decodeAnyAccountsToAccounts));
+    customTypeDecoderMap.put('U', new CustomTypeDecoder("UtxosToAccount", this::decodeUtxosToAccount));
+    customTypeDecoderMap.put('b', new CustomTypeDecoder("AccountToUtxos", this::decodeAccountToUtxos));
+
+    // Pool ...
+    customTypeDecoderMap.put('l', new CustomTypeDecoder("AddPoolLiquidity", this::decodeAddPoolLiquidity));
+    customTypeDecoderMap.put('r', new CustomTypeDecoder("RemovePoolLiquidity", this::decodeRemovePoolLiquidity));
+    customTypeDecoderMap.put('s', new CustomTypeDecoder("PoolSwap", this::decodePoolSwap));
+    customTypeDecoderMap.put('i', new CustomTypeDecoder("PoolSwapV2", this::decodeCompositeSwap));
+
+    // Vault ...
+    customTypeDecoderMap.put('V', new CustomTypeDecoder("Vault", this::decodeCreateVault));
+    customTypeDecoderMap.put('S', new CustomTypeDecoder("DepositToVault", (reader, tx, results) -> decodeVaultAmount(reader, "from", results)));
+    customTypeDecoderMap.put('J', new CustomTypeDecoder("WithdrawFromVault", (reader, tx, results) -> decodeVaultAmount(reader, "to", results)));
+    customTypeDecoderMap.put('X', new CustomTypeDecoder("TakeLoan", (reader, tx, results) -> decodeLoan(reader, "to", results)));
+    customTypeDecoderMap.put('H', new CustomTypeDecoder("PaybackLoan", (reader, tx, results) -> decodeLoan(reader, "from", results)));
+  }
+
+  /**
+   * 
+   */
+  public DefiTransactionData decodeRawTransaction(@Nonnull String hexString) throws DfxException {
+    LOGGER.trace("decodeRawTransaction()");
+
+    try {
+      byte[] rawTransaction = Hex.decodeHex(hexString);
+      DefiByteReader reader = new DefiByteReader(rawTransaction);
+
+      int version = reader.readInt32();
+
+      // segwit marker and flag ...
+      boolean isSegwit = false;
+
+      if (2 <= reader.remaining()
+          && 0x00 == rawTransaction[reader.getOffset()]
+          && 0x01 == rawTransaction[reader.getOffset() + 1]) {
+        reader.readUInt16();
+        isSegwit = true;
+      }
+
+      int inputStart = reader.getOffset();
+
+      // ...
+      List<DefiTransactionVinData> vinList = new ArrayList<>();
+      long vinCount = reader.readCompactSize();
+
+      for (long i = 0; i < vinCount; i++) {
+        vinList.add(decodeVin(reader));
+      }
+
+      // ...
+      List<DefiTransactionVoutData> voutList = new ArrayList<>();
+      long voutCount = reader.readCompactSize();
+
+      for (long n = 0; n < voutCount; n++) {
+        voutList.add(decodeVout(reader, version, n));
+      }
+
+      int inputEnd = reader.getOffset();
+
+      // ...
+      if (isSegwit) {
+        for (DefiTransactionVinData vinData : vinList) {
+          List<String> witnessList = new ArrayList<>();
+          long witnessCount = reader.readCompactSize();
+
+          for (long i = 0; i < witnessCount; i++) {
+            witnessList.add(Hex.encodeHexString(reader.readVarBytes()));
+          }
+
+          if (!witnessList.isEmpty()) {
+            vinData.setTxinwitness(witnessList);
+          }
+        }
+      }
+
+      int lockTimeStart = reader.getOffset();
+      reader.readUInt32();
+
+      if (!reader.isEnd()) {
+        throw new DfxException("unexpected data after lock time");
+      }
+
+      // txid without, hash with the witness data ...
+      ByteArrayOutputStream transactionOutputStream = new ByteArrayOutputStream();
+      transactionOutputStream.write(rawTransaction, 0, 4);
+      transactionOutputStream.write(rawTransaction, inputStart, inputEnd - inputStart);
+      transactionOutputStream.write(rawTransaction, lockTimeStart, 4);
+
+      String txid = doubleSha256Hex(transactionOutputStream.toByteArray());
+
+      // ...
+      DefiTransactionData transactionData = new DefiTransactionData();
+      transactionData.setTxid(txid);
+      transactionData.setHash(isSegwit ? doubleSha256Hex(rawTransaction) : txid);
+      transactionData.setVin(vinList);
+      transactionData.setVout(voutList);
+      transactionData.setHex(hexString);
+
+      return transactionData;
+    } catch (DfxException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new DfxException("decodeRawTransaction", e);
+    }
+  }
+
+  /**
+   * Custom data of the transaction, null if the custom transaction type cannot be decoded locally.
+   */
+  public @Nullable DefiCustomData decodeCustomTransaction(@Nonnull String hexString) throws DfxException {
+    LOGGER.trace("decodeCustomTransaction()");
+
+    DefiTransactionData transactionData = decodeRawTransaction(hexString);
+
+    return decodeCustomTransaction(transactionData);
+  }
+
+  /**
+   * 
+   */
+  public @Nullable DefiCustomData decodeCustomTransaction(@Nonnull DefiTransactionData transactionData) throws DfxException {
+    LOGGER.trace("decodeCustomTransaction()");
+
+    try {
+      DefiCustomData customData = new DefiCustomData();
+
+      byte[] metadata = getCustomMetadata(transactionData);
+
+      if (null == metadata) {
+        customData.setMessage(NOT_A_CUSTOM_TRANSACTION);
+        return customData;
+      }
+
+      CustomTypeDecoder customTypeDecoder = customTypeDecoderMap.get((char) metadata[0]);
+
+      if (null == customTypeDecoder) {
+        return null;
+      }
+
+      DefiByteReader reader = new DefiByteReader(Arrays.copyOfRange(metadata, 1, metadata.length));
+
+      Map<String, Object> resultMap = new LinkedHashMap<>();
+      customTypeDecoder.method.decode(reader, transactionData, resultMap);
+
+      customData.setTxid(transactionData.getTxid());
+      customData.setType(customTypeDecoder.type);
+      customData.setValid(true);
+      customData.setResults(resultMap);
+
+      return customData;
+    } catch (DfxException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new DfxException("decodeCustomTransaction", e);
+    }
+  }
+
+  /**
+   * 
+   */
+  private DefiTransactionVinData decodeVin(@Nonnull DefiByteReader reader) throws DfxException {
+    String previousTxid = reader.readHash();
+    long previousVout = reader.readUInt32();
+    byte[] scriptSig = reader.readVarBytes();
+    reader.readUInt32();
+
+    DefiTransactionVinData vinData = new DefiTransactionVinData();
+
+    if (0xffffffffL == previousVout
+        && previousTxid.chars().allMatch(c -> '0' == c)) {
+      vinData.setCoinbase(Hex.encodeHexString(scriptSig));
+    } else {
+      DefiTransactionVinScriptSigData scriptSigData = new DefiTransactionVinScriptSigData();
+      scriptSigData.setAsm(toAsm(scriptSig));
+      scriptSigData.setHex(Hex.encodeHexString(scriptSig));
+
+      vinData.setTxid(previousTxid);
+      vinData.setVout(previousVout);
+      vinData.setScriptSig(scriptSigData);
+    }
+
+    return vinData;
+  }
+
+  /**
+   * 
+   */
+  private DefiTransactionVoutData decodeVout(
+      @Nonnull DefiByteReader reader,
+      int version,
+      long n) throws DfxException {
+    long value = reader.readInt64();
+    byte[] script = reader.readVarBytes();
+    long tokenId = TOKENS_MIN_VERSION <= version ? reader.readVarInt() : 0;
+
+    DefiTransactionScriptPubKeyData scriptPubKeyData = new DefiTransactionScriptPubKeyData();
+    scriptPubKeyData.setHex(Hex.encodeHexString(script));
+    scriptPubKeyData.setType(scriptDecoder.getType(script));
+
+    String address = scriptDecoder.getAddress(script);
+
+    if (null != address) {
+      scriptPubKeyData.setAddresses(List.of(address));
+    }
+
+    DefiTransactionVoutData voutData = new DefiTransactionVoutData();
+    voutData.setValue(toAmount(value));
+    voutData.setN(n);
+    voutData.setTokenId(Long.toString(tokenId));
+    voutData.setScriptPubKey(scriptPubKeyData);
+
+    return voutData;
+  }
+
+  /**
+   * Data after the "DfTx" marker in the OP_RETURN of the first output (type byte and payload),
+   * null if the transaction is no custom transaction.
+   */
+  private @Nullable byte[] getCustomMetadata(@Nonnull DefiTransactionData transactionData) throws DfxException {
+    List<DefiTransactionVoutData> voutList = transactionData.getVout();
+
+    if (null == voutList || voutList.isEmpty()) {
+      return null;
+    }
+
+    byte[] script = decodeHex(voutList.get(0).getScriptPubKey().getHex());
+
+    if (2 > script.length
+        || OP_RETURN != (script[0] & 0xff)) {
+      return null;
+    }
+
+    DefiByteReader reader = new DefiByteReader(script);
+    reader.readUInt8();
+
+    byte[] pushData = readPushData(reader);
+
+    if (null == pushData
+        || DFTX_BYTES.length + 1 > pushData.length
+        || !Arrays.equals(DFTX_BYTES, Arrays.copyOf(pushData, DFTX_BYTES.length))) {
+      return null;
+    }
+
+    return Arrays.copyOfRange(pushData, DFTX_BYTES.length, pushData.length);
+  }
+
+  /**
+   * 
+   */
+  private @Nullable byte[] readPushData(@Nonnull DefiByteReader reader) throws DfxException {
+    int opCode = reader.readUInt8();
+
+    long length;
+
+    if (0 < opCode && OP_PUSHDATA1 > opCode) {
+      length = opCode;
+    } else if (OP_PUSHDATA1 == opCode) {
+      length = reader.readUInt8();
+    } else if (OP_PUSHDATA2 == opCode) {
+      length = reader.readUInt16();
+    } else if (OP_PUSHDATA4 == opCode) {
+      length = reader.readUInt32();
+    } else {
+      return null;
+    }
+
+    if (length > reader.remaining()) {
+      return null;
+    }
+
+    return reader.readBytes((int) length);
+  }
+
+  /**
+   * Data pushes as hex, small numbers as numbers, all other op codes as "OP_<hex>" ...
+   */
+  private String toAsm(@Nonnull byte[] script) throws DfxException {
+    List<String> asmList = new ArrayList<>();
+
+    DefiByteReader reader = new DefiByteReader(script);
+
+    while (!reader.isEnd()) {
+      int offset = reader.getOffset();
+      int opCode = script[offset] & 0xff;
+
+      if (0 == opCode) {
+        reader.readUInt8();
+        asmList.add("0");
+      } else if (OP_PUSHDATA4 >= opCode) {
+        byte[] pushData = readPushData(reader);
+
+        if (null == pushData) {
+          asmList.add("[error]");
+          break;
+        }
+
+        asmList.add(Hex.encodeHexString(pushData));
+      } else if (0x51 <= opCode && 0x60 >= opCode) {
+        reader.readUInt8();
+        asmList.add(Integer.toString(opCode - 0x50));
+      } else {
+        reader.readUInt8();
+        asmList.add("OP_" + Integer.toHexString(opCode));
+      }
+    }
+
+    return String.join(" ", asmList);
+  }
+
+  /**
+   * 
+   */
+  private void decodeCreateMasternode(
+      @Nonnull DefiByteReader reader,
+      @Nonnull DefiTransactionData transactionData,
+      @Nonnull Map<String, Object> resultMap) throws DfxException {
+    int operatorType = reader.readUInt8();
+    byte[] operatorAuthAddress = reader.readBytes(20);
+    int timelock = 2 <= reader.remaining() ? reader.readUInt16() : 0;
+
+    List<DefiTransactionVoutData> voutList = transactionData.getVout();
+    BigDecimal collateralAmount = 1 < voutList.size() ? voutList.get(1).getValue() : toAmount(0);
+
+    resultMap.put("collateralamount", collateralAmount);
+    resultMap.put("masternodeoperator", scriptDecoder.getKeyIdAddress(operatorType, operatorAuthAddress));
+    resultMap.put("timelock", 260 == timelock ? "FIVEYEARTIMELOCK" : 520 == timelock ? "TENYEARTIMELOCK" : "NONE");
+  }
+
+  /**
+   * 
+   */
+  private void decodeResignMasternode(
+      @Nonnull DefiByteReader reader,
+      @Nonnull DefiTransactionData transactionData,
+      @Nonnull Map<String, Object> resultMap) throws DfxException {
+    resultMap.put("id", reader.readHash());
+  }
+
+  /**
+   * 
+   */
+  private void decodeVote(
+      @Nonnull DefiByteReader reader,
+      @Nonnull DefiTransactionData transactionData,
+      @Nonnull Map<String, Object> resultMap) throws DfxException {
+    resultMap.put("proposalId", reader.readHash());
+    resultMap.put("masternodeId", reader.readHash());
+
+    int vote = reader.readUInt8();
+    resultMap.put("vote", 1 == vote ? "YES" : 2 == vote ? "NO" : 3 == vote ? "NEUTRAL" : "UNKNOWN");
+  }
+
+  /**
+   * 
+   */
+  private void decodeAccountToAccount(
+      @Nonnull DefiByteReader reader,
+      @Nonnull DefiTransactionData transactionData,
+      @Nonnull Map<String, Object> resultMap) throws DfxException {
+    resultMap.put("from", readAddress(reader));
+    resultMap.put("to", readAccounts(reader));
+  }
+
+  /**
+   * 
+   */
+  private void decodeAnyAccountsToAccounts(
+      @Nonnull DefiByteReader reader,
+      @Nonnull DefiTransactionData transactionData,
+      @Nonnull Map<String, Object> resultMap) throws DfxException {
+    resultMap.put("from", readAccounts(reader));
+    resultMap.put("to", readAccounts(reader));
+  }
+
+  /**
+   * 
+   */
+  private void decodeUtxosToAccount(
+      @Nonnull DefiByteReader reader,
+      @Nonnull DefiTransactionData transactionData,
+      @Nonnull Map<String, Object> resultMap) throws DfxException {
+    resultMap.putAll(readAccounts(reader));
+  }
+
+  /**
+   * 
+   */
+  private void decodeAccountToUtxos(
+      @Nonnull DefiByteReader reader,
+      @Nonnull DefiTransactionData transactionData,
+      @Nonnull Map<String, Object> resultMap) throws DfxException {
+    resultMap.put("from", readAddress(reader));
+    readBalances(reader);
+    long mintingOutputsStart = reader.readUInt32();
+
+    // the minted outputs of the transaction ...
+    Map<String, Object> toMap = new LinkedHashMap<>();
+
+    List<DefiTransactionVoutData> voutList = transactionData.getVout();
+
+    for (int i = (int) mintingOutputsStart; i < voutList.size(); i++) {
+      DefiTransactionVoutData voutData = voutList.get(i);
+
+      String address = scriptDecoder.getAddressOrHex(decodeHex(voutData.getScriptPubKey().getHex()));
+      toMap.put(address, voutData.getValue().toPlainString() + "@" + voutData.getTokenId());
+    }
+
+    resultMap.put("to", toMap);
+  }
+
+  /**
+   * 
+   */
+  private void decodeAddPoolLiquidity(
+      @Nonnull DefiByteReader reader,
+      @Nonnull DefiTransactionData transactionData,
+      @Nonnull Map<String, Object> resultMap) throws DfxException {
+    long accountCount = reader.readCompactSize();
+
+    for (long i = 0; i < accountCount; i++) {
+      reader.readVarBytes();
+      putAmounts(readBalances(reader), resultMap);
+    }
+
+    resultMap.put("shareaddress", readAddress(reader));
+  }
+
+  /**
+   * 
+   */
+  private void decodeRemovePoolLiquidity(
+      @Nonnull DefiByteReader reader,
+      @Nonnull DefiTransactionData transactionData,
+      @Nonnull Map<String, Object> resultMap) throws DfxException {
+    resultMap.put("from", readAddress(reader));
+    resultMap.put("amount", readTokenAmount(reader));
+  }
+
+  /**
+   * 
+   */
+  private void decodePoolSwap(
+      @Nonnull DefiByteReader reader,
+      @Nonnull DefiTransactionData transactionData,
+      @Nonnull Map<String, Object> resultMap) throws DfxException {
+    resultMap.put("fromAddress", readAddress(reader));
+    resultMap.put("fromToken", Long.toString(reader.readUInt32()));
+    resultMap.put("fromAmount", toAmount(reader.readInt64()));
+    resultMap.put("toAddress", readAddress(reader));
+    resultMap.put("toToken", Long.toString(reader.readUInt32()));
+
+    long maxPriceInteger = reader.readInt64();
+    long maxPriceFraction = reader.readInt64();
+    resultMap.put("maxPrice", toAmount(maxPriceInteger * 100_000_000L + maxPriceFraction));
+  }
+
+  /**
+   * 
+   */
+  private void decodeCompositeSwap(
+      @Nonnull DefiByteReader reader,
+      @Nonnull DefiTransactionData transactionData,
+      @Nonnull Map<String, Object> resultMap) throws DfxException {
+    decodePoolSwap(reader, transactionData, resultMap);
+
+    List<String> poolIdList = new ArrayList<>();
+    long poolIdCount = reader.readCompactSize();
+
+    for (long i = 0; i < poolIdCount; i++) {
+      poolIdList.add(Long.toString(reader.readUInt32()));
+    }
+
+    resultMap.put("compositeDex", poolIdList);
+  }
+
+  /**
+   * 
+   */
+  private void decodeCreateVault(
+      @Nonnull DefiByteReader reader,
+      @Nonnull DefiTransactionData transactionData,
+      @Nonnull Map<String, Object> resultMap) throws DfxException {
+    resultMap.put("ownerAddress", readAddress(reader));
+    resultMap.put("loanSchemeId", new String(reader.readVarBytes()));
+  }
+
+  /**
+   * DepositToVault ("from") and WithdrawFromVault ("to") ...
+   */
+  private void decodeVaultAmount(
+      @Nonnull DefiByteReader reader,
+      @Nonnull String addressName,
+      @Nonnull Map<String, Object> resultMap) throws DfxException {
+    resultMap.put("vaultId", reader.readHash());
+    resultMap.put(addressName, readAddress(reader));
+    resultMap.put("amount", readTokenAmount(reader));
+  }
+
+  /**
+   * TakeLoan ("to") and PaybackLoan ("from") ...
+   */
+  private void decodeLoan(
+      @Nonnull DefiByteReader reader,
+      @Nonnull String addressName,
+      @Nonnull Map<String, Object> resultMap) throws DfxException {
+    resultMap.put("vaultId", reader.readHash());
+
+    byte[] script = reader.readVarBytes();
+
+    if (0 < script.length) {
+      resultMap.put(addressName, scriptDecoder.getAddressOrHex(script));
+    }
+
+    putAmounts(readBalances(reader), resultMap);
+  }
+
+  /**
+   * 
+   */
+  private String readAddress(@Nonnull DefiByteReader reader) throws DfxException {
+    return scriptDecoder.getAddressOrHex(reader.readVarBytes());
+  }
+
+  /**
+   * Map of script and balances: address -> "amount@token,amount@token" ...
+   */
+  private Map<String, Object> readAccounts(@Nonnull DefiByteReader reader) throws DfxException {
+    Map<String, Object> accountMap = new LinkedHashMap<>();
+
+    long accountCount = reader.readCompactSize();
+
+    for (long i = 0; i < accountCount; i++) {
+      String address = readAddress(reader);
+      accountMap.put(address, toBalancesString(readBalances(reader)));
+    }
+
+    return accountMap;
+  }
+
+  /**
+   * Balances: token id -> amount in satoshi ...
+   */
+  private Map<Long, Long> readBalances(@Nonnull DefiByteReader reader) throws DfxException {
+    Map<Long, Long> balanceMap = new LinkedHashMap<>();
+
+    long balanceCount = reader.readCompactSize();
+
+    for (long i = 0; i < balanceCount; i++) {
+      long tokenId = reader.readUInt32();
+      balanceMap.put(tokenId, reader.readInt64());
+    }
+
+    return balanceMap;
+  }
+
+  /**
+   * Token amount: the token id is a VARINT (in the balances a fixed uint32) ...
+   */
+  private String readTokenAmount(@Nonnull DefiByteReader reader) throws DfxException {
+    long tokenId = reader.readVarInt();
+    long amount = reader.readInt64();
+
+    return toAmount(amount).toPlainString() + "@" + tokenId;
+  }
+
+  /**
+   * 
+   */
+  private void putAmounts(
+      @Nonnull Map<Long, Long> balanceMap,
+      @Nonnull Map<String, Object> resultMap) {
+    for (Entry<Long, Long> balanceMapEntry : balanceMap.entrySet()) {
+      resultMap.put(Long.toString(balanceMapEntry.getKey()), toAmount(balanceMapEntry.getValue()));
+    }
+  }
+
+  /**
+   * 
+   */
+  private String toBalancesString(@Nonnull Map<Long, Long> balanceMap) {
+    List<String> balanceList = new ArrayList<>();
+
+    for (Entry<Long, Long> balanceMapEntry : balanceMap.entrySet()) {
+      balanceList.add(toAmount(balanceMapEntry.getValue()).toPlainString() + "@" + balanceMapEntry.getKey());
+    }
+
+    return String.join(",", balanceList);
+  }
+
+  /**
+   * 
+   */
+  private BigDecimal toAmount(long satoshi) {
+    return BigDecimal.valueOf(satoshi, 8);
+  }
+
+  /**
+   * 
+   */
+  private byte[] decodeHex(@Nonnull String hexString) throws DfxException {
+    try {
+      return Hex.decodeHex(hexString);
+    } catch (Exception e) {
+      throw new DfxException("decodeHex", e);
+    }
+  }
+
+  /**
+   * 
+   */
+  private String doubleSha256Hex(@Nonnull byte[] data) throws DfxException {
+    try {
+      MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+      byte[] hash = messageDigest.digest(messageDigest.digest(data));
+
+      // reversed byte order ...
+      for (int i = 0; i < hash.length / 2; i++) {
+        byte b = hash[i];
+        hash[i] = hash[hash.length - 1 - i];
+        hash[hash.length - 1 - i] = b;
+      }
+
+      return Hex.encodeHexString(hash);
+    } catch (Exception e) {
+      throw new DfxException("doubleSha256Hex", e);
+    }
+  }
+
+  /**
+   * 
+   */
+  private interface CustomTypeDecoderMethod {
+    void decode(
+        @Nonnull DefiByteReader reader,
+        @Nonnull DefiTransactionData transactionData,
+        @Nonnull Map<String, Object> resultMap) throws DfxException;
+  }
+
+  /**
+   * 
+   */
+  private static class CustomTypeDecoder {
+    private final String type;
+    private final CustomTypeDecoderMethod method;
+
+    private CustomTypeDecoder(
+        @Nonnull String type,
+        @Nonnull CustomTypeDecoderMethod method) {
+      this.type = type;
+      this.method = method;
+    }
+  }
+}
@@ -11,11 +11,22 @@ import ch.dfx.common.errorhandling.DfxException;
 import ch.dfx.defichain.provider.DefiDataProvider;
 
 /**
- * 
+ * signMessage() can be called from several threads in parallel:
+ * the wallet is unlocked by the first caller and locked again by the last one.
  */
 public class DefiMessageHandler {
   private static final Logger LOGGER = LogManager.getLogger(DefiMessageHandler.class);
 
+  private static final int WALLET_UNLOCK_TIMEOUT = 10;
+  private static final long WALLET_UNLOCK_REFRESH = 5 * 1000;
+
+  // ...
+  private static final Object WALLET_LOCK = new Object();
+
+  private static int walletUserCounter = 0;
+  private static long walletUnlockTime = 0;
+
+  // ...
   private final DefiDataProvider dataProvider;
 
   /**
@@ -47,11 +58,55 @@ public class DefiMessageHandler {
       throw new DfxException("signAddress is null");
     }
 
-    dataProvider.walletPassphrase(wallet, password, 10);
-    String signedMessage = dataProvider.signMessage(wallet, signAddress, message);
-    dataProvider.walletLock(wallet);
+    unlockWallet(wallet, password);
+
+    try {
+      return dataProvider.signMessage(wallet, signAddress, message);
+    } finally {
+      lockWallet(wallet);
+    }
+  }
+
+  /**
+   * 
+   */
+  private void unlockWallet(
+      @Nonnull String wallet,
+      @Nonnull String password) throws DfxException {
+    LOGGER.trace("unlockWallet()");
+
+    synchronized (WALLET_LOCK) {
+      long currentTime = System.currentTimeMillis();
+
+      // first user or the unlock timeout is running out ...
+      if (0 == walletUserCounter
+          || WALLET_UNLOCK_REFRESH < currentTime - walletUnlockTime) {
+        dataProvider.walletPassphrase(wallet, password, WALLET_UNLOCK_TIMEOUT);
+        walletUnlockTime = currentTime;
+      }
+
+      walletUserCounter++;
+    }
+  }
+
+  /**
+   * Called in a finally block: an error is only logged, to not hide the error of signMessage().
+   * The wallet then locks itself after the unlock timeout.
+   */
+  private void lockWallet(@Nonnull String wallet) {
+    LOGGER.trace("lockWallet()");
 
-    return signedMessage;
+    synchronized (WALLET_LOCK) {
+      walletUserCounter--;
+
+      if (0 == walletUserCounter) {
+        try {
+          dataProvider.walletLock(wallet);
+        } catch (Exception e) {
+          LOGGER.error("lockWallet", e);
+        }
+      }
+    }
   }
 
   /**
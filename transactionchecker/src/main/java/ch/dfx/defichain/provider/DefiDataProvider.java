@@ -57,26 +57,48 @@ public interface DefiDataProvider {
 
   DefiBlockData getBlock(@Nonnull String blockHash) throws DfxException;
 
+  DefiBlockData getBlockWithTransactions(@Nonnull String blockHash) throws DfxException;
+
+  Map<Long, String> getBlockHashes(@Nonnull List<Long> blockCountList) throws DfxException;
+
+  Map<String, DefiBlockData> getBlocks(@Nonnull List<String> blockHashList) throws DfxException;
+
   DefiTransactionData getTransaction(@Nonnull String transactionId) throws DfxException;
 
   DefiTransactionData getTransaction(
       @Nonnull String transactionId,
       @Nonnull String blockHash) throws DfxException;
 
+  Map<String, DefiTransactionData> getTransactions(@Nonnull List<String> transactionIdList) throws DfxException;
+
+  Map<String, DefiTransactionData> getTransactions(
+      @Nonnull List<String> transactionIdList,
+      @Nonnull String blockHash) throws DfxException;
+
   DefiTransactionData decodeRawTransaction(@Nonnull String hexString) throws DfxException;
 
+  List<DefiTransactionData> decodeRawTransactions(@Nonnull List<String> hexStringList) throws DfxException;
+
   Boolean isAppliedCustomTransaction(
       @Nonnull String transactionId,
       @Nonnull Long blockCount) throws DfxException;
 
+  Map<String, Boolean> isAppliedCustomTransactions(
+      @Nonnull List<String> transactionIdList,
+      @Nonnull Long blockCount) throws DfxException;
+
   DefiCustomData decodeCustomTransaction(@Nonnull String hexString) throws DfxException;
 
+  List<DefiCustomData> decodeCustomTransactions(@Nonnull List<String> hexStringList) throws DfxException;
+
   byte getCustomType(@Nonnull String scriptPubKeyHexString) throws DfxException;
 
   Map<String, DefiMasternodeData> getMasternode(
       @Nonnull String wallet,
       @Nonnull String transactionId) throws DfxException;
 
+  Map<String, DefiMasternodeData> getMasternodes(@Nonnull List<String> transactionIdList) throws DfxException;
+
   Map<String, String> getMasternodeBlocks(@Nonnull String masternodeId) throws DfxException;
 
   DefiPoolPairData getPoolPair(@Nonnull String poolId) throws DfxException;
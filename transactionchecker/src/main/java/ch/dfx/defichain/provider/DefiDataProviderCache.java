@@ -0,0 +1,389 @@
+package ch.dfx.defichain.provider;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import ch.dfx.common.errorhandling.DfxException;
+import ch.dfx.defichain.data.block.DefiBlockData;
+import ch.dfx.defichain.data.custom.DefiCustomData;
+import ch.dfx.defichain.data.masternode.DefiMasternodeData;
+import ch.dfx.defichain.data.network.PeerInfoData;
+import ch.dfx.defichain.data.pool.DefiPoolPairData;
+import ch.dfx.defichain.data.price.DefiFixedIntervalPriceData;
+import ch.dfx.defichain.data.transaction.DefiTransactionData;
+import ch.dfx.defichain.data.vault.DefiListVaultData;
+import ch.dfx.defichain.data.vault.DefiVaultData;
+import ch.dfx.defichain.data.wallet.DefiLoadWalletData;
+
+/**
+ * Caching decorator for the chain state requests (masternodes, vaults, pools, prices, accounts).
+ * 
+ * Every method has its own time to live, all entries are removed as soon as getBlockCount()
+ * returns a higher block count. Concurrent identical requests wait for the one request
+ * already sent to the node.
+ * 
+ * The cached objects are shared between the callers and must not be changed.
+ * All other requests are passed to the node without caching.
+ */
+public class DefiDataProviderCache implements DefiDataProvider {
+  private static final Logger LOGGER = LogManager.getLogger(DefiDataProviderCache.class);
+
+  // ...
+  private static final Map<String, Long> METHOD_TO_TTL_MAP = new HashMap<>();
+
+  static {
+    METHOD_TO_TTL_MAP.put("getmasternode", 60_000L);
+    METHOD_TO_TTL_MAP.put("getmasternodeblocks", 60_000L);
+    METHOD_TO_TTL_MAP.put("getpoolpair", 15_000L);
+    METHOD_TO_TTL_MAP.put("getfixedintervalprice", 15_000L);
+    METHOD_TO_TTL_MAP.put("getactiveprices", 15_000L);
+    METHOD_TO_TTL_MAP.put("getaccount", 15_000L);
+    METHOD_TO_TTL_MAP.put("listvaults", 15_000L);
+    METHOD_TO_TTL_MAP.put("getvault", 15_000L);
+  }
+
+  // ...
+  private final DefiDataProvider dataProvider;
+
+  private final Map<List<Object>, CacheEntry> cacheMap;
+  private final AtomicLong lastBlockCount;
+
+  private final DefiDataProviderCacheMetrics metrics;
+
+  /**
+   * 
+   */
+  public DefiDataProviderCache(@Nonnull DefiDataProvider dataProvider) {
+    this.dataProvider = dataProvider;
+
+    this.cacheMap = new ConcurrentHashMap<>();
+    this.lastBlockCount = new AtomicLong(-1);
+
+    this.metrics = DefiDataProviderCacheMetrics.getInstance();
+  }
+
+  /**
+   * 
+   */
+  public void invalidate() {
+    LOGGER.trace("invalidate()");
+
+    cacheMap.clear();
+    metrics.recordInvalidation();
+  }
+
+  /**
+   * 
+   */
+  @Override
+  public Long getBlockCount() throws DfxException {
+    Long blockCount = dataProvider.getBlockCount();
+
+    long previousBlockCount = lastBlockCount.getAndAccumulate(blockCount, Math::max);
+
+    if (-1 != previousBlockCount
+        && blockCount > previousBlockCount) {
+      invalidate();
+    }
+
+    return blockCount;
+  }
+
+  @Override
+  public Map<String, DefiMasternodeData> getMasternode(
+      @Nonnull String wallet,
+      @Nonnull String transactionId) throws DfxException {
+    return get("getmasternode", () -> dataProvider.getMasternode(wallet, transactionId), wallet, transactionId);
+  }
+
+  @Override
+  public Map<String, DefiMasternodeData> getMasternodes(@Nonnull List<String> transactionIdList) throws DfxException {
+    return dataProvider.getMasternodes(transactionIdList);
+  }
+
+  @Override
+  public Map<String, String> getMasternodeBlocks(@Nonnull String masternodeId) throws DfxException {
+    return get("getmasternodeblocks", () -> dataProvider.getMasternodeBlocks(masternodeId), masternodeId);
+  }
+
+  @Override
+  public DefiPoolPairData getPoolPair(@Nonnull String poolId) throws DfxException {
+    return get("getpoolpair", () -> dataProvider.getPoolPair(poolId), poolId);
+  }
+
+  @Override
+  public DefiFixedIntervalPriceData getFixedIntervalPrice(@Nonnull String fixedIntervalPriceId) throws DfxException {
+    return get("getfixedintervalprice", () -> dataProvider.getFixedIntervalPrice(fixedIntervalPriceId), fixedIntervalPriceId);
+  }
+
+  @Override
+  public Map<String, BigDecimal> getActivePriceMap(@Nonnull Set<String> tokenSet) throws DfxException {
+    return get("getactiveprices", () -> dataProvider.getActivePriceMap(tokenSet), Set.copyOf(tokenSet));
+  }
+
+  @Override
+  public List<String> getAccount(@Nonnull String address) throws DfxException {
+    return get("getaccount", () -> dataProvider.getAccount(address), address);
+  }
+
+  @Override
+  public List<DefiListVaultData> listVaults(@Nonnull String ownerAddress) throws DfxException {
+    return get("listvaults", () -> dataProvider.listVaults(ownerAddress), ownerAddress);
+  }
+
+  @Override
+  public DefiVaultData getVault(@Nonnull String vaultId) throws DfxException {
+    return get("getvault", () -> dataProvider.getVault(vaultId), vaultId);
+  }
+
+  /**
+   * 
+   */
+  @SuppressWarnings("unchecked")
+  private <T> T get(
+      @Nonnull String method,
+      @Nonnull Loader<T> loader,
+      @Nonnull Object... args) throws DfxException {
+    List<Object> key = Arrays.asList(method, Arrays.asList(args));
+    long currentTime = System.currentTimeMillis();
+
+    CacheEntry entry = cacheMap.get(key);
+    CacheEntry newEntry = null;
+
+    while (null == entry || entry.isExpired(currentTime)) {
+      newEntry = new CacheEntry(currentTime + METHOD_TO_TTL_MAP.get(method));
+
+      boolean isStored =
+          null == entry
+              ? null == cacheMap.putIfAbsent(key, newEntry)
+              : cacheMap.replace(key, entry, newEntry);
+
+      entry = isStored ? newEntry : cacheMap.get(key);
+    }
+
+    // the first request loads from the node ...
+    if (entry == newEntry) {
+      metrics.recordMiss(method);
+
+      try {
+        T result = loader.load();
+        entry.future.complete(result);
+
+        return result;
+      } catch (DfxException | RuntimeException e) {
+        cacheMap.remove(key, entry);
+        entry.future.completeExceptionally(e);
+        throw e;
+      }
+    }
+
+    // all others use the result of the first request ...
+    if (entry.future.isDone()) {
+      metrics.recordHit(method);
+    } else {
+      metrics.recordCoalesced(method);
+    }
+
+    try {
+      return (T) entry.future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof DfxException) {
+        throw (DfxException) e.getCause();
+      }
+
+      throw new DfxException(method, e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DfxException(method, e);
+    }
+  }
+
+  /**
+   * 
+   */
+  @FunctionalInterface
+  private interface Loader<T> {
+    T load() throws DfxException;
+  }
+
+  /**
+   * 
+   */
+  private static class CacheEntry {
+    private final long expireTime;
+    private final CompletableFuture<Object> future;
+
+    private CacheEntry(long expireTime) {
+      this.expireTime = expireTime;
+      this.future = new CompletableFuture<>();
+    }
+
+    private boolean isExpired(long currentTime) {
+      return currentTime >= expireTime;
+    }
+  }
+
+  // ==========================================================================
+  // NOT CACHED
+  // ==========================================================================
+
+  @Override
+  public Long getConnectionCount() throws DfxException {
+    return dataProvider.getConnectionCount();
+  }
+
+  @Override
+  public List<PeerInfoData> getPeerInfo() throws DfxException {
+    return dataProvider.getPeerInfo();
+  }
+
+  @Override
+  public DefiLoadWalletData loadWallet(@Nonnull String wallet) throws DfxException {
+    return dataProvider.loadWallet(wallet);
+  }
+
+  @Override
+  public String unloadWallet(@Nonnull String wallet) throws DfxException {
+    return dataProvider.unloadWallet(wallet);
+  }
+
+  @Override
+  public List<String> listWallets() throws DfxException {
+    return dataProvider.listWallets();
+  }
+
+  @Override
+  public String walletPassphrase(
+      @Nonnull String wallet,
+      @Nonnull String passphrase,
+      int timeInSeconds) throws DfxException {
+    return dataProvider.walletPassphrase(wallet, passphrase, timeInSeconds);
+  }
+
+  @Override
+  public String walletLock(@Nonnull String wallet) throws DfxException {
+    return dataProvider.walletLock(wallet);
+  }
+
+  @Override
+  public String signMessage(
+      @Nonnull String wallet,
+      @Nonnull String address,
+      @Nonnull String message) throws DfxException {
+    return dataProvider.signMessage(wallet, address, message);
+  }
+
+  @Override
+  public Boolean verifyMessage(
+      @Nonnull String address,
+      @Nonnull String signature,
+      @Nonnull String message) throws DfxException {
+    return dataProvider.verifyMessage(address, signature, message);
+  }
+
+  @Override
+  public String getBlockHash(@Nonnull Long blockCount) throws DfxException {
+    return dataProvider.getBlockHash(blockCount);
+  }
+
+  @Override
+  public DefiBlockData getBlock(@Nonnull String blockHash) throws DfxException {
+    return dataProvider.getBlock(blockHash);
+  }
+
+  @Override
+  public DefiBlockData getBlockWithTransactions(@Nonnull String blockHash) throws DfxException {
+    return dataProvider.getBlockWithTransactions(blockHash);
+  }
+
+  @Override
+  public Map<Long, String> getBlockHashes(@Nonnull List<Long> blockCountList) throws DfxException {
+    return dataProvider.getBlockHashes(blockCountList);
+  }
+
+  @Override
+  public Map<String, DefiBlockData> getBlocks(@Nonnull List<String> blockHashList) throws DfxException {
+    return dataProvider.getBlocks(blockHashList);
+  }
+
+  @Override
+  public DefiTransactionData getTransaction(@Nonnull String transactionId) throws DfxException {
+    return dataProvider.getTransaction(transactionId);
+  }
+
+  @Override
+  public DefiTransactionData getTransaction(
+      @Nonnull String transactionId,
+      @Nonnull String blockHash) throws DfxException {
+    return dataProvider.getTransaction(transactionId, blockHash);
+  }
+
+  @Override
+  public Map<String, DefiTransactionData> getTransactions(@Nonnull List<String> transactionIdList) throws DfxException {
+    return dataProvider.getTransactions(transactionIdList);
+  }
+
+  @Override
+  public Map<String, DefiTransactionData> getTransactions(
+      @Nonnull List<String> transactionIdList,
+      @Nonnull String blockHash) throws DfxException {
+    return dataProvider.getTransactions(transactionIdList, blockHash);
+  }
+
+  @Override
+  public DefiTransactionData decodeRawTransaction(@Nonnull String hexString) throws DfxException {
+    return dataProvider.decodeRawTransaction(hexString);
+  }
+
+  @Override
+  public List<DefiTransactionData> decodeRawTransactions(@Nonnull List<String> hexStringList) throws DfxException {
+    return dataProvider.decodeRawTransactions(hexStringList);
+  }
+
+  @Override
+  public Boolean isAppliedCustomTransaction(
+      @Nonnull String transactionId,
+      @Nonnull Long blockCount) throws DfxException {
+    return dataProvider.isAppliedCustomTransaction(transactionId, blockCount);
+  }
+
+  @Override
+  public Map<String, Boolean> isAppliedCustomTransactions(
+      @Nonnull List<String> transactionIdList,
+      @Nonnull Long blockCount) throws DfxException {
+    return dataProvider.isAppliedCustomTransactions(transactionIdList, blockCount);
+  }
+
+  @Override
+  public DefiCustomData decodeCustomTransaction(@Nonnull String hexString) throws DfxException {
+    return dataProvider.decodeCustomTransaction(hexString);
+  }
+
+  @Override
+  public List<DefiCustomData> decodeCustomTransactions(@Nonnull List<String> hexStringList) throws DfxException {
+    return dataProvider.decodeCustomTransactions(hexStringList);
+  }
+
+  @Override
+  public byte getCustomType(@Nonnull String scriptPubKeyHexString) throws DfxException {
+    return dataProvider.getCustomType(scriptPubKeyHexString);
+  }
+
+  @Override
+  public BigDecimal testPoolSwap(@Nonnull String fromToken, @Nonnull String toToken) throws DfxException {
+    return dataProvider.testPoolSwap(fromToken, toToken);
+  }
+}
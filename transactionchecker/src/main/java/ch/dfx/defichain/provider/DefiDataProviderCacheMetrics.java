@@ -0,0 +1,128 @@
+package ch.dfx.defichain.provider;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.Nonnull;
+
+import ch.dfx.TransactionCheckerUtils;
+
+/**
+ * Hit, miss and coalesced request counters per RPC method of the DefiDataProviderCache, readable at runtime.
+ * 
+ * A coalesced request is a request which waited for the identical request already sent to the node.
+ */
+public class DefiDataProviderCacheMetrics {
+  private static DefiDataProviderCacheMetrics instance = null;
+
+  // ...
+  private final Map<String, MethodMetrics> methodToMetricsMap;
+
+  private long invalidationCount = 0;
+
+  /**
+   * 
+   */
+  public static synchronized DefiDataProviderCacheMetrics getInstance() {
+    if (null == instance) {
+      instance = new DefiDataProviderCacheMetrics();
+    }
+
+    return instance;
+  }
+
+  /**
+   * 
+   */
+  private DefiDataProviderCacheMetrics() {
+    this.methodToMetricsMap = new TreeMap<>();
+  }
+
+  /**
+   * 
+   */
+  public synchronized void recordHit(@Nonnull String method) {
+    getMethodMetrics(method).hitCount++;
+  }
+
+  /**
+   * 
+   */
+  public synchronized void recordMiss(@Nonnull String method) {
+    getMethodMetrics(method).missCount++;
+  }
+
+  /**
+   * 
+   */
+  public synchronized void recordCoalesced(@Nonnull String method) {
+    getMethodMetrics(method).coalescedCount++;
+  }
+
+  /**
+   * 
+   */
+  public synchronized void recordInvalidation() {
+    invalidationCount++;
+  }
+
+  public synchronized long getInvalidationCount() {
+    return invalidationCount;
+  }
+
+  /**
+   * Share of the requests answered without an own request to the node (0 - 1) ...
+   */
+  public synchronized double getHitRate(@Nonnull String method) {
+    MethodMetrics methodMetrics = methodToMetricsMap.get(method);
+
+    return null == methodMetrics ? 0 : methodMetrics.getHitRate();
+  }
+
+  /**
+   * 
+   */
+  private MethodMetrics getMethodMetrics(@Nonnull String method) {
+    return methodToMetricsMap.computeIfAbsent(method, m -> new MethodMetrics());
+  }
+
+  /**
+   * 
+   */
+  @Override
+  public synchronized String toString() {
+    Map<String, Object> metricMap = new LinkedHashMap<>();
+
+    metricMap.put("invalidationCount", invalidationCount);
+
+    for (Map.Entry<String, MethodMetrics> methodToMetricsMapEntry : methodToMetricsMap.entrySet()) {
+      MethodMetrics methodMetrics = methodToMetricsMapEntry.getValue();
+
+      Map<String, Object> methodMetricMap = new LinkedHashMap<>();
+      methodMetricMap.put("hitCount", methodMetrics.hitCount);
+      methodMetricMap.put("missCount", methodMetrics.missCount);
+      methodMetricMap.put("coalescedCount", methodMetrics.coalescedCount);
+      methodMetricMap.put("hitRate", methodMetrics.getHitRate());
+
+      metricMap.put(methodToMetricsMapEntry.getKey(), methodMetricMap);
+    }
+
+    return TransactionCheckerUtils.toJson(metricMap);
+  }
+
+  /**
+   * 
+   */
+  private static class MethodMetrics {
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long coalescedCount = 0;
+
+    private double getHitRate() {
+      long requestCount = hitCount + missCount + coalescedCount;
+
+      return 0 == requestCount ? 0 : (hitCount + coalescedCount) / (double) requestCount;
+    }
+  }
+}
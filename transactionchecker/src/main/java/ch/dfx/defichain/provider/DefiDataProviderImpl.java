@@ -1,11 +1,14 @@
 package ch.dfx.defichain.provider;
 
+import java.io.InputStreamReader;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -28,6 +31,12 @@ import org.apache.logging.log4j.Logger;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 import ch.dfx.common.config.ConfigProvider;
 import ch.dfx.common.config.TransactionCheckerConfigEnum;
@@ -56,6 +65,7 @@ import ch.dfx.defichain.data.price.DefiFixedIntervalPriceData;
 import ch.dfx.defichain.data.price.DefiFixedIntervalPriceResultData;
 import ch.dfx.defichain.data.transaction.DefiTransactionData;
 import ch.dfx.defichain.data.transaction.DefiTransactionResultData;
+import ch.dfx.defichain.data.transaction.DefiTransactionVoutData;
 import ch.dfx.defichain.data.vault.DefiListVaultData;
 import ch.dfx.defichain.data.vault.DefiListVaultResultData;
 import ch.dfx.defichain.data.vault.DefiVaultData;
@@ -63,6 +73,9 @@ import ch.dfx.defichain.data.vault.DefiVaultResultData;
 import ch.dfx.defichain.data.wallet.DefiLoadWalletData;
 import ch.dfx.defichain.data.wallet.DefiLoadWalletResultData;
 import ch.dfx.defichain.provider.typeadapter.CustomTypeAdapter;
+import ch.dfx.defichain.provider.typeadapter.DefiBlockDataTypeAdapter;
+import ch.dfx.defichain.provider.typeadapter.DefiTransactionDataTypeAdapter;
+import ch.dfx.defichain.provider.typeadapter.DefiTransactionVoutDataTypeAdapter;
 
 /**
  * 
@@ -84,22 +97,22 @@ public class DefiDataProviderImpl implements DefiDataProvider {
 
   // ...
   private final HttpClient httpClient;
-  private final HttpPost httpPost;
 
   private final Gson gson;
 
   /**
-   * 
+   * The HttpClient must be thread-safe (pooled connection manager),
+   * every request creates its own HttpPost, so this provider can be shared between all threads.
    */
-  public DefiDataProviderImpl(
-      @Nonnull HttpClient httpClient,
-      @Nonnull HttpPost httpPost) {
+  public DefiDataProviderImpl(@Nonnull HttpClient httpClient) {
     this.httpClient = httpClient;
-    this.httpPost = httpPost;
 
     this.gson =
         new GsonBuilder()
             .registerTypeAdapter(DefiCustomResultWrapperData.class, new CustomTypeAdapter())
+            .registerTypeAdapter(DefiBlockData.class, new DefiBlockDataTypeAdapter())
+            .registerTypeAdapter(DefiTransactionData.class, new DefiTransactionDataTypeAdapter())
+            .registerTypeAdapter(DefiTransactionVoutData.class, new DefiTransactionVoutDataTypeAdapter())
             .create();
   }
 
@@ -256,6 +269,110 @@ public class DefiDataProviderImpl implements DefiDataProvider {
     return getData("getblock", paramList, DefiBlockResultData.class).getResult();
   }
 
+  /**
+   * getblock with verbosity 2: all decoded transactions of the block in one call.
+   * The response is read as a stream, the DefiBlockDataTypeAdapter builds one transaction at a time ...
+   */
+  @Override
+  public DefiBlockData getBlockWithTransactions(@Nonnull String blockHash) throws DfxException {
+    LOGGER.trace("getBlockWithTransactions(): blockHash=" + blockHash);
+
+    try {
+      List<Object> paramList = Arrays.asList(blockHash, 2);
+
+      HttpPost httpPost = new HttpPost(createURI(null));
+      httpPost.setEntity(new StringEntity(createMethod(null, "getblock", paramList), ContentType.APPLICATION_JSON));
+
+      HttpResponse response = httpClient.execute(httpPost);
+      HttpEntity responseEntity = response.getEntity();
+
+      try (JsonReader reader = new JsonReader(new InputStreamReader(responseEntity.getContent(), StandardCharsets.UTF_8))) {
+        DefiBlockData blockData = null;
+        ResultErrorData errorData = null;
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+          String name = reader.nextName();
+
+          if ("result".equals(name) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+            blockData = gson.fromJson(reader, DefiBlockData.class);
+          } else if ("error".equals(name) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+            errorData = gson.fromJson(reader, ResultErrorData.class);
+          } else {
+            reader.skipValue();
+          }
+        }
+
+        reader.endObject();
+
+        if (null != errorData) {
+          throw new DefiChainException(errorData);
+        }
+
+        if (null == blockData) {
+          throw new DfxException("getblock " + blockHash + ": no result");
+        }
+
+        return blockData;
+      }
+    } catch (DfxException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new DfxException("getBlockWithTransactions", e);
+    }
+  }
+
+  /**
+   * 
+   */
+  @Override
+  public Map<Long, String> getBlockHashes(@Nonnull List<Long> blockCountList) throws DfxException {
+    LOGGER.trace("getBlockHashes(): size=" + blockCountList.size());
+
+    List<List<Object>> paramListList = new ArrayList<>();
+    blockCountList.forEach(blockCount -> paramListList.add(Arrays.asList(blockCount)));
+
+    List<DefiStringResultData> resultDataList =
+        getBatchData("getblockhash", paramListList, DefiStringResultData.class);
+
+    Map<Long, String> blockCountToBlockHashMap = new LinkedHashMap<>();
+
+    for (int i = 0; i < blockCountList.size(); i++) {
+      DefiStringResultData resultData = resultDataList.get(i);
+      handleError(resultData);
+
+      blockCountToBlockHashMap.put(blockCountList.get(i), resultData.getResult());
+    }
+
+    return blockCountToBlockHashMap;
+  }
+
+  /**
+   * 
+   */
+  @Override
+  public Map<String, DefiBlockData> getBlocks(@Nonnull List<String> blockHashList) throws DfxException {
+    LOGGER.trace("getBlocks(): size=" + blockHashList.size());
+
+    List<List<Object>> paramListList = new ArrayList<>();
+    blockHashList.forEach(blockHash -> paramListList.add(Arrays.asList(blockHash)));
+
+    List<DefiBlockResultData> resultDataList =
+        getBatchData("getblock", paramListList, DefiBlockResultData.class);
+
+    Map<String, DefiBlockData> blockHashToBlockDataMap = new LinkedHashMap<>();
+
+    for (int i = 0; i < blockHashList.size(); i++) {
+      DefiBlockResultData resultData = resultDataList.get(i);
+      handleError(resultData);
+
+      blockHashToBlockDataMap.put(blockHashList.get(i), resultData.getResult());
+    }
+
+    return blockHashToBlockDataMap;
+  }
+
   /**
    * 
    */
@@ -282,6 +399,55 @@ public class DefiDataProviderImpl implements DefiDataProvider {
     return getData("getrawtransaction", paramList, DefiTransactionResultData.class).getResult();
   }
 
+  /**
+   * 
+   */
+  @Override
+  public Map<String, DefiTransactionData> getTransactions(@Nonnull List<String> transactionIdList) throws DfxException {
+    LOGGER.trace("getTransactions(): size=" + transactionIdList.size());
+
+    List<List<Object>> paramListList = new ArrayList<>();
+    transactionIdList.forEach(transactionId -> paramListList.add(Arrays.asList(transactionId, true)));
+
+    return getTransactions(transactionIdList, paramListList);
+  }
+
+  /**
+   * 
+   */
+  @Override
+  public Map<String, DefiTransactionData> getTransactions(
+      @Nonnull List<String> transactionIdList,
+      @Nonnull String blockHash) throws DfxException {
+    LOGGER.trace("getTransactions(): size=" + transactionIdList.size() + " / blockHash=" + blockHash);
+
+    List<List<Object>> paramListList = new ArrayList<>();
+    transactionIdList.forEach(transactionId -> paramListList.add(Arrays.asList(transactionId, true, blockHash)));
+
+    return getTransactions(transactionIdList, paramListList);
+  }
+
+  /**
+   * 
+   */
+  private Map<String, DefiTransactionData> getTransactions(
+      @Nonnull List<String> transactionIdList,
+      @Nonnull List<List<Object>> paramListList) throws DfxException {
+    List<DefiTransactionResultData> resultDataList =
+        getBatchData("getrawtransaction", paramListList, DefiTransactionResultData.class);
+
+    Map<String, DefiTransactionData> transactionIdToTransactionDataMap = new LinkedHashMap<>();
+
+    for (int i = 0; i < transactionIdList.size(); i++) {
+      DefiTransactionResultData resultData = resultDataList.get(i);
+      handleError(resultData);
+
+      transactionIdToTransactionDataMap.put(transactionIdList.get(i), resultData.getResult());
+    }
+
+    return transactionIdToTransactionDataMap;
+  }
+
   /**
    * 
    */
@@ -294,6 +460,28 @@ public class DefiDataProviderImpl implements DefiDataProvider {
     return getData("decoderawtransaction", paramList, DefiTransactionResultData.class).getResult();
   }
 
+  /**
+   * Result in the order of the given hex strings, null for every invalid raw transaction ...
+   */
+  @Override
+  public List<DefiTransactionData> decodeRawTransactions(@Nonnull List<String> hexStringList) throws DfxException {
+    LOGGER.trace("decodeRawTransactions(): size=" + hexStringList.size());
+
+    List<List<Object>> paramListList = new ArrayList<>();
+    hexStringList.forEach(hexString -> paramListList.add(Arrays.asList(hexString)));
+
+    List<DefiTransactionResultData> resultDataList =
+        getBatchData("decoderawtransaction", paramListList, DefiTransactionResultData.class);
+
+    List<DefiTransactionData> transactionDataList = new ArrayList<>();
+
+    for (DefiTransactionResultData resultData : resultDataList) {
+      transactionDataList.add(null == resultData.getError() ? resultData.getResult() : null);
+    }
+
+    return transactionDataList;
+  }
+
   /**
    * 
    */
@@ -308,6 +496,33 @@ public class DefiDataProviderImpl implements DefiDataProvider {
     return getData("isappliedcustomtx", paramList, DefiBooleanResultData.class).getResult();
   }
 
+  /**
+   * 
+   */
+  @Override
+  public Map<String, Boolean> isAppliedCustomTransactions(
+      @Nonnull List<String> transactionIdList,
+      @Nonnull Long blockCount) throws DfxException {
+    LOGGER.trace("isAppliedCustomTransactions(): size=" + transactionIdList.size() + " / blockCount=" + blockCount);
+
+    List<List<Object>> paramListList = new ArrayList<>();
+    transactionIdList.forEach(transactionId -> paramListList.add(Arrays.asList(transactionId, blockCount)));
+
+    List<DefiBooleanResultData> resultDataList =
+        getBatchData("isappliedcustomtx", paramListList, DefiBooleanResultData.class);
+
+    Map<String, Boolean> transactionIdToAppliedMap = new LinkedHashMap<>();
+
+    for (int i = 0; i < transactionIdList.size(); i++) {
+      DefiBooleanResultData resultData = resultDataList.get(i);
+      handleError(resultData);
+
+      transactionIdToAppliedMap.put(transactionIdList.get(i), resultData.getResult());
+    }
+
+    return transactionIdToAppliedMap;
+  }
+
   /**
    * 
    */
@@ -336,6 +551,41 @@ public class DefiDataProviderImpl implements DefiDataProvider {
     return customData;
   }
 
+  /**
+   * Result in the order of the given hex strings, null for every invalid custom transaction ...
+   */
+  @Override
+  public List<DefiCustomData> decodeCustomTransactions(@Nonnull List<String> hexStringList) throws DfxException {
+    LOGGER.trace("decodeCustomTransactions(): size=" + hexStringList.size());
+
+    List<List<Object>> paramListList = new ArrayList<>();
+    hexStringList.forEach(hexString -> paramListList.add(Arrays.asList(hexString, true)));
+
+    List<ResultDataA> resultDataList =
+        getBatchData("decodecustomtx", paramListList, DefiCustomResultWrapperData.class);
+
+    List<DefiCustomData> customDataList = new ArrayList<>();
+
+    for (int i = 0; i < hexStringList.size(); i++) {
+      ResultDataA resultData = resultDataList.get(i);
+
+      if (null != resultData.getError()) {
+        customDataList.add(null);
+      } else if (resultData instanceof DefiCustomResultData) {
+        customDataList.add(((DefiCustomResultData) resultData).getResult());
+      } else {
+        // Fallback without the verbose flag, as in decodeCustomTransaction() ...
+        try {
+          customDataList.add(decodeCustomTransaction(hexStringList.get(i)));
+        } catch (DefiChainException e) {
+          customDataList.add(null);
+        }
+      }
+    }
+
+    return customDataList;
+  }
+
   /**
    * OP_CODE | HEX | DESCRIPTION
    * -------------|-------------|----------------------------------------------------------------------
@@ -411,6 +661,41 @@ public class DefiDataProviderImpl implements DefiDataProvider {
     return masternodeMap;
   }
 
+  /**
+   * Unknown masternodes are not part of the result map ...
+   */
+  @Override
+  public Map<String, DefiMasternodeData> getMasternodes(@Nonnull List<String> transactionIdList) throws DfxException {
+    LOGGER.trace("getMasternodes(): size=" + transactionIdList.size());
+
+    List<List<Object>> paramListList = new ArrayList<>();
+    transactionIdList.forEach(transactionId -> paramListList.add(Arrays.asList(transactionId)));
+
+    List<DefiMasternodeResultData> resultDataList =
+        getBatchData("getmasternode", paramListList, DefiMasternodeResultData.class);
+
+    Map<String, DefiMasternodeData> transactionIdToMasternodeDataMap = new LinkedHashMap<>();
+
+    for (int i = 0; i < transactionIdList.size(); i++) {
+      String transactionId = transactionIdList.get(i);
+      DefiMasternodeResultData resultData = resultDataList.get(i);
+
+      ResultErrorData errorData = resultData.getError();
+
+      if (null != errorData) {
+        LOGGER.debug("getMasternodes(): " + transactionId + ": " + errorData.getMessage());
+      } else if (null != resultData.getResult()) {
+        DefiMasternodeData masternodeData = resultData.getResult().get(transactionId);
+
+        if (null != masternodeData) {
+          transactionIdToMasternodeDataMap.put(transactionId, masternodeData);
+        }
+      }
+    }
+
+    return transactionIdToMasternodeDataMap;
+  }
+
   /**
    * 
    */
@@ -590,7 +875,7 @@ public class DefiDataProviderImpl implements DefiDataProvider {
   /**
    * 
    */
-  private synchronized <T extends ResultDataA> T getData(
+  private <T extends ResultDataA> T getData(
       @Nullable String wallet,
       @Nonnull String methodName,
       @Nonnull List<Object> paramList,
@@ -601,7 +886,7 @@ public class DefiDataProviderImpl implements DefiDataProvider {
   /**
    * 
    */
-  private synchronized <T extends ResultDataA> T getData(
+  private <T extends ResultDataA> T getData(
       @Nullable String wallet,
       @Nonnull String methodName,
       @Nonnull List<Object> paramList,
@@ -609,23 +894,10 @@ public class DefiDataProviderImpl implements DefiDataProvider {
       @Nullable Boolean errorExpected) throws DfxException {
     try {
       // ...
-      setHttpURI(wallet);
+      HttpPost httpPost = new HttpPost(createURI(wallet));
 
       // ...
-      StringBuilder methodBuilder =
-          new StringBuilder("{")
-              .append("\"method\":\"").append(methodName).append("\"")
-              .append(", \"params\":")
-              .append(gson.toJson(paramList));
-
-      if (null != wallet) {
-        methodBuilder.append(", \"wallet\":\"").append(wallet).append("\"");
-      }
-
-      methodBuilder.append("}");
-
-      String method = methodBuilder.toString();
-      LOGGER.trace(method);
+      String method = createMethod(wallet, methodName, paramList);
 
       StringEntity stringEntity = new StringEntity(method, ContentType.APPLICATION_JSON);
       httpPost.setEntity(stringEntity);
@@ -634,10 +906,19 @@ public class DefiDataProviderImpl implements DefiDataProvider {
       HttpResponse response = httpClient.execute(httpPost);
       HttpEntity responseEntity = response.getEntity();
 
-      String jsonResponse = EntityUtils.toString(responseEntity);
-      LOGGER.trace(trim(jsonResponse));
+      T resultData;
 
-      T resultData = gson.fromJson(jsonResponse, returnType);
+      if (LOGGER.isTraceEnabled()) {
+        String jsonResponse = EntityUtils.toString(responseEntity, StandardCharsets.UTF_8);
+        LOGGER.trace(trim(jsonResponse));
+
+        resultData = gson.fromJson(jsonResponse, returnType);
+      } else {
+        // without a copy of the whole response as string ...
+        try (JsonReader reader = new JsonReader(new InputStreamReader(responseEntity.getContent(), StandardCharsets.UTF_8))) {
+          resultData = gson.fromJson(reader, returnType);
+        }
+      }
 
       if (null == errorExpected
           || !errorExpected.booleanValue()) {
@@ -654,10 +935,142 @@ public class DefiDataProviderImpl implements DefiDataProvider {
     }
   }
 
+  /**
+   * JSON-RPC 2.0 batch: one HTTP request for many calls of the same method.
+   * The responses are mapped back by id, the result list has the order of the parameter list.
+   * Errors are not handled here, every caller checks its own results ...
+   */
+  private <T extends ResultDataA> List<T> getBatchData(
+      @Nonnull String methodName,
+      @Nonnull List<List<Object>> paramListList,
+      @Nonnull Type returnType) throws DfxException {
+    int batchSize = ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.DFI_RPC_BATCH_SIZE, 500);
+
+    List<T> resultDataList = new ArrayList<>();
+
+    for (int fromIndex = 0; fromIndex < paramListList.size(); fromIndex += batchSize) {
+      int toIndex = Math.min(paramListList.size(), fromIndex + batchSize);
+      resultDataList.addAll(getBatchData(methodName, paramListList.subList(fromIndex, toIndex), returnType, fromIndex));
+    }
+
+    return resultDataList;
+  }
+
+  /**
+   * 
+   */
+  private <T extends ResultDataA> List<T> getBatchData(
+      @Nonnull String methodName,
+      @Nonnull List<List<Object>> paramListList,
+      @Nonnull Type returnType,
+      int firstId) throws DfxException {
+    try {
+      if (paramListList.isEmpty()) {
+        return new ArrayList<>();
+      }
+
+      // ...
+      HttpPost httpPost = new HttpPost(createURI(null));
+
+      // ...
+      JsonArray requestArray = new JsonArray();
+
+      for (int i = 0; i < paramListList.size(); i++) {
+        JsonObject requestObject = new JsonObject();
+        requestObject.addProperty("jsonrpc", "2.0");
+        requestObject.addProperty("id", firstId + i);
+        requestObject.addProperty("method", methodName);
+        requestObject.add("params", gson.toJsonTree(paramListList.get(i)));
+
+        requestArray.add(requestObject);
+      }
+
+      String method = gson.toJson(requestArray);
+      LOGGER.trace(trim(method));
+
+      StringEntity stringEntity = new StringEntity(method, ContentType.APPLICATION_JSON);
+      httpPost.setEntity(stringEntity);
+
+      // ...
+      HttpResponse response = httpClient.execute(httpPost);
+      HttpEntity responseEntity = response.getEntity();
+
+      JsonElement responseElement;
+
+      if (LOGGER.isTraceEnabled()) {
+        String jsonResponse = EntityUtils.toString(responseEntity, StandardCharsets.UTF_8);
+        LOGGER.trace(trim(jsonResponse));
+
+        responseElement = JsonParser.parseString(jsonResponse);
+      } else {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(responseEntity.getContent(), StandardCharsets.UTF_8))) {
+          responseElement = JsonParser.parseReader(reader);
+        }
+      }
+
+      if (!responseElement.isJsonArray()) {
+        throw new DfxException("batch " + methodName + ": unexpected response " + trim(responseElement.toString()));
+      }
+
+      // ...
+      Map<Integer, T> idToResultDataMap = new HashMap<>();
+
+      for (JsonElement resultElement : responseElement.getAsJsonArray()) {
+        int id = resultElement.getAsJsonObject().get("id").getAsInt();
+        idToResultDataMap.put(id, gson.fromJson(resultElement, returnType));
+      }
+
+      List<T> resultDataList = new ArrayList<>();
+
+      for (int i = 0; i < paramListList.size(); i++) {
+        T resultData = idToResultDataMap.get(firstId + i);
+
+        if (null == resultData) {
+          throw new DfxException("batch " + methodName + ": no response for id " + (firstId + i));
+        }
+
+        resultDataList.add(resultData);
+      }
+
+      return resultDataList;
+    } catch (DfxException e) {
+      throw e;
+    } catch (Exception e) {
+      String typeName = returnType.getTypeName();
+      typeName = typeName.substring(typeName.lastIndexOf(".") + 1);
+      throw new DfxException("get Batch Data (" + typeName + ")", e);
+    }
+  }
+
+  /**
+   * 
+   */
+  private String createMethod(
+      @Nullable String wallet,
+      @Nonnull String methodName,
+      @Nonnull List<Object> paramList) {
+    StringBuilder methodBuilder =
+        new StringBuilder("{")
+            .append("\"method\":\"").append(methodName).append("\"")
+            .append(", \"params\":")
+            .append(gson.toJson(paramList));
+
+    if (null != wallet) {
+      methodBuilder.append(", \"wallet\":\"").append(wallet).append("\"");
+    }
+
+    methodBuilder.append("}");
+
+    String method = methodBuilder.toString();
+    LOGGER.trace(method);
+
+    return method;
+  }
+
   /**
    * 
    */
-  private void setHttpURI(@Nullable String wallet) {
+  private URI createURI(@Nullable String wallet) {
     // ...
     String url = ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.DFI_URL);
 
@@ -666,7 +1079,7 @@ public class DefiDataProviderImpl implements DefiDataProvider {
     }
 
     LOGGER.trace("DFI URL: " + url);
-    httpPost.setURI(URI.create(url));
+    return URI.create(url);
   }
 
   /**
@@ -0,0 +1,166 @@
+package ch.dfx.defichain.provider.typeadapter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import ch.dfx.defichain.data.block.DefiBlockData;
+import ch.dfx.defichain.data.transaction.DefiTransactionData;
+
+/**
+ * The "tx" array contains the transaction ids (getblock verbosity 1) or the decoded transactions
+ * (getblock verbosity 2). The decoded transactions are read one by one into the transaction data list,
+ * the transaction id list is filled in both cases.
+ */
+public class DefiBlockDataTypeAdapter extends StreamingTypeAdapterA<DefiBlockData> {
+
+  private final DefiTransactionDataTypeAdapter transactionDataTypeAdapter;
+
+  /**
+   * 
+   */
+  public DefiBlockDataTypeAdapter() {
+    this.transactionDataTypeAdapter = new DefiTransactionDataTypeAdapter();
+  }
+
+  /**
+   * 
+   */
+  @Override
+  public DefiBlockData read(JsonReader reader) throws IOException {
+    if (JsonToken.NULL == reader.peek()) {
+      reader.nextNull();
+      return null;
+    }
+
+    DefiBlockData blockData = new DefiBlockData();
+
+    reader.beginObject();
+
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "hash":
+          blockData.setHash(nextString(reader));
+          break;
+
+        case "confirmations":
+          blockData.setConfirmations(nextLong(reader));
+          break;
+
+        case "height":
+          blockData.setHeight(nextLong(reader));
+          break;
+
+        case "nTx":
+          blockData.setnTx(nextLong(reader));
+          break;
+
+        case "mediantime":
+          blockData.setMediantime(nextLong(reader));
+          break;
+
+        case "previousblockhash":
+          blockData.setPreviousblockhash(nextString(reader));
+          break;
+
+        case "nextblockhash":
+          blockData.setNextblockhash(nextString(reader));
+          break;
+
+        case "tx":
+          readTx(reader, blockData);
+          break;
+
+        default:
+          reader.skipValue();
+      }
+    }
+
+    reader.endObject();
+
+    return blockData;
+  }
+
+  /**
+   * 
+   */
+  private void readTx(
+      JsonReader reader,
+      DefiBlockData blockData) throws IOException {
+    if (JsonToken.NULL == reader.peek()) {
+      reader.nextNull();
+      return;
+    }
+
+    List<String> transactionIdList = new ArrayList<>();
+    List<DefiTransactionData> transactionDataList = null;
+
+    reader.beginArray();
+
+    while (reader.hasNext()) {
+      if (JsonToken.BEGIN_OBJECT == reader.peek()) {
+        DefiTransactionData transactionData = transactionDataTypeAdapter.read(reader);
+
+        if (null == transactionDataList) {
+          transactionDataList = new ArrayList<>();
+        }
+
+        transactionIdList.add(transactionData.getTxid());
+        transactionDataList.add(transactionData);
+      } else {
+        transactionIdList.add(nextString(reader));
+      }
+    }
+
+    reader.endArray();
+
+    blockData.setTx(transactionIdList);
+
+    if (null != transactionDataList) {
+      blockData.setTransactionDataList(transactionDataList);
+    }
+  }
+
+  /**
+   * 
+   */
+  @Override
+  public void write(
+      JsonWriter writer,
+      DefiBlockData blockData) throws IOException {
+    if (null == blockData) {
+      writer.nullValue();
+      return;
+    }
+
+    writer.beginObject();
+
+    writeString(writer, "hash", blockData.getHash());
+    writeNumber(writer, "confirmations", blockData.getConfirmations());
+    writeNumber(writer, "height", blockData.getHeight());
+    writeNumber(writer, "nTx", blockData.getnTx());
+    writeNumber(writer, "mediantime", blockData.getMediantime());
+    writeString(writer, "previousblockhash", blockData.getPreviousblockhash());
+    writeString(writer, "nextblockhash", blockData.getNextblockhash());
+
+    List<DefiTransactionData> transactionDataList = blockData.getTransactionDataList();
+
+    if (null != transactionDataList) {
+      writer.name("tx").beginArray();
+
+      for (DefiTransactionData transactionData : transactionDataList) {
+        transactionDataTypeAdapter.write(writer, transactionData);
+      }
+
+      writer.endArray();
+    } else {
+      writeStringList(writer, "tx", blockData.getTx());
+    }
+
+    writer.endObject();
+  }
+}
@@ -0,0 +1,264 @@
+package ch.dfx.defichain.provider.typeadapter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import ch.dfx.defichain.data.transaction.DefiTransactionData;
+import ch.dfx.defichain.data.transaction.DefiTransactionVinData;
+import ch.dfx.defichain.data.transaction.DefiTransactionVinScriptSigData;
+import ch.dfx.defichain.data.transaction.DefiTransactionVoutData;
+
+/**
+ * Fields like "version", "size", "locktime", "blockhash" or "confirmations" are skipped.
+ */
+public class DefiTransactionDataTypeAdapter extends StreamingTypeAdapterA<DefiTransactionData> {
+
+  private final DefiTransactionVoutDataTypeAdapter voutDataTypeAdapter;
+
+  /**
+   * 
+   */
+  public DefiTransactionDataTypeAdapter() {
+    this.voutDataTypeAdapter = new DefiTransactionVoutDataTypeAdapter();
+  }
+
+  /**
+   * 
+   */
+  @Override
+  public DefiTransactionData read(JsonReader reader) throws IOException {
+    if (JsonToken.NULL == reader.peek()) {
+      reader.nextNull();
+      return null;
+    }
+
+    DefiTransactionData transactionData = new DefiTransactionData();
+
+    reader.beginObject();
+
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "txid":
+          transactionData.setTxid(nextString(reader));
+          break;
+
+        case "hash":
+          transactionData.setHash(nextString(reader));
+          break;
+
+        case "hex":
+          transactionData.setHex(nextString(reader));
+          break;
+
+        case "vin":
+          transactionData.setVin(readVinList(reader));
+          break;
+
+        case "vout":
+          transactionData.setVout(readVoutList(reader));
+          break;
+
+        default:
+          reader.skipValue();
+      }
+    }
+
+    reader.endObject();
+
+    return transactionData;
+  }
+
+  /**
+   * 
+   */
+  private List<DefiTransactionVinData> readVinList(JsonReader reader) throws IOException {
+    if (JsonToken.NULL == reader.peek()) {
+      reader.nextNull();
+      return null;
+    }
+
+    List<DefiTransactionVinData> vinDataList = new ArrayList<>();
+
+    reader.beginArray();
+
+    while (reader.hasNext()) {
+      vinDataList.add(readVin(reader));
+    }
+
+    reader.endArray();
+
+    return vinDataList;
+  }
+
+  /**
+   * 
+   */
+  private DefiTransactionVinData readVin(JsonReader reader) throws IOException {
+    DefiTransactionVinData vinData = new DefiTransactionVinData();
+
+    reader.beginObject();
+
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "coinbase":
+          vinData.setCoinbase(nextString(reader));
+          break;
+
+        case "txid":
+          vinData.setTxid(nextString(reader));
+          break;
+
+        case "vout":
+          vinData.setVout(nextLong(reader));
+          break;
+
+        case "scriptSig":
+          vinData.setScriptSig(readScriptSig(reader));
+          break;
+
+        case "txinwitness":
+          vinData.setTxinwitness(nextStringList(reader));
+          break;
+
+        default:
+          reader.skipValue();
+      }
+    }
+
+    reader.endObject();
+
+    return vinData;
+  }
+
+  /**
+   * 
+   */
+  private DefiTransactionVinScriptSigData readScriptSig(JsonReader reader) throws IOException {
+    if (JsonToken.NULL == reader.peek()) {
+      reader.nextNull();
+      return null;
+    }
+
+    DefiTransactionVinScriptSigData scriptSigData = new DefiTransactionVinScriptSigData();
+
+    reader.beginObject();
+
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "asm":
+          scriptSigData.setAsm(nextString(reader));
+          break;
+
+        case "hex":
+          scriptSigData.setHex(nextString(reader));
+          break;
+
+        default:
+          reader.skipValue();
+      }
+    }
+
+    reader.endObject();
+
+    return scriptSigData;
+  }
+
+  /**
+   * 
+   */
+  private List<DefiTransactionVoutData> readVoutList(JsonReader reader) throws IOException {
+    if (JsonToken.NULL == reader.peek()) {
+      reader.nextNull();
+      return null;
+    }
+
+    List<DefiTransactionVoutData> voutDataList = new ArrayList<>();
+
+    reader.beginArray();
+
+    while (reader.hasNext()) {
+      voutDataList.add(voutDataTypeAdapter.read(reader));
+    }
+
+    reader.endArray();
+
+    return voutDataList;
+  }
+
+  /**
+   * 
+   */
+  @Override
+  public void write(
+      JsonWriter writer,
+      DefiTransactionData transactionData) throws IOException {
+    if (null == transactionData) {
+      writer.nullValue();
+      return;
+    }
+
+    writer.beginObject();
+
+    writeString(writer, "txid", transactionData.getTxid());
+    writeString(writer, "hash", transactionData.getHash());
+
+    List<DefiTransactionVinData> vinDataList = transactionData.getVin();
+
+    if (null != vinDataList) {
+      writer.name("vin").beginArray();
+
+      for (DefiTransactionVinData vinData : vinDataList) {
+        writeVin(writer, vinData);
+      }
+
+      writer.endArray();
+    }
+
+    List<DefiTransactionVoutData> voutDataList = transactionData.getVout();
+
+    if (null != voutDataList) {
+      writer.name("vout").beginArray();
+
+      for (DefiTransactionVoutData voutData : voutDataList) {
+        voutDataTypeAdapter.write(writer, voutData);
+      }
+
+      writer.endArray();
+    }
+
+    writeString(writer, "hex", transactionData.getHex());
+
+    writer.endObject();
+  }
+
+  /**
+   * 
+   */
+  private void writeVin(
+      JsonWriter writer,
+      DefiTransactionVinData vinData) throws IOException {
+    writer.beginObject();
+
+    writeString(writer, "coinbase", vinData.getCoinbase());
+    writeString(writer, "txid", vinData.getTxid());
+    writeNumber(writer, "vout", vinData.getVout());
+
+    DefiTransactionVinScriptSigData scriptSigData = vinData.getScriptSig();
+
+    if (null != scriptSigData) {
+      writer.name("scriptSig").beginObject();
+      writeString(writer, "asm", scriptSigData.getAsm());
+      writeString(writer, "hex", scriptSigData.getHex());
+      writer.endObject();
+    }
+
+    writeStringList(writer, "txinwitness", vinData.getTxinwitness());
+
+    writer.endObject();
+  }
+}
@@ -0,0 +1,137 @@
+package ch.dfx.defichain.provider.typeadapter;
+
+import java.io.IOException;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import ch.dfx.defichain.data.transaction.DefiTransactionScriptPubKeyData;
+import ch.dfx.defichain.data.transaction.DefiTransactionVoutData;
+
+/**
+ * The "asm" and "reqSigs" of the scriptPubKey are skipped.
+ */
+public class DefiTransactionVoutDataTypeAdapter extends StreamingTypeAdapterA<DefiTransactionVoutData> {
+
+  /**
+   * 
+   */
+  public DefiTransactionVoutDataTypeAdapter() {
+  }
+
+  /**
+   * 
+   */
+  @Override
+  public DefiTransactionVoutData read(JsonReader reader) throws IOException {
+    if (JsonToken.NULL == reader.peek()) {
+      reader.nextNull();
+      return null;
+    }
+
+    DefiTransactionVoutData voutData = new DefiTransactionVoutData();
+
+    reader.beginObject();
+
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "coinbase":
+          voutData.setCoinbase(nextString(reader));
+          break;
+
+        case "value":
+          voutData.setValue(nextBigDecimal(reader));
+          break;
+
+        case "n":
+          voutData.setN(nextLong(reader));
+          break;
+
+        case "tokenId":
+          voutData.setTokenId(nextString(reader));
+          break;
+
+        case "scriptPubKey":
+          voutData.setScriptPubKey(readScriptPubKey(reader));
+          break;
+
+        default:
+          reader.skipValue();
+      }
+    }
+
+    reader.endObject();
+
+    return voutData;
+  }
+
+  /**
+   * 
+   */
+  private DefiTransactionScriptPubKeyData readScriptPubKey(JsonReader reader) throws IOException {
+    if (JsonToken.NULL == reader.peek()) {
+      reader.nextNull();
+      return null;
+    }
+
+    DefiTransactionScriptPubKeyData scriptPubKeyData = new DefiTransactionScriptPubKeyData();
+
+    reader.beginObject();
+
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "hex":
+          scriptPubKeyData.setHex(nextString(reader));
+          break;
+
+        case "type":
+          scriptPubKeyData.setType(nextString(reader));
+          break;
+
+        case "addresses":
+          scriptPubKeyData.setAddresses(nextStringList(reader));
+          break;
+
+        default:
+          reader.skipValue();
+      }
+    }
+
+    reader.endObject();
+
+    return scriptPubKeyData;
+  }
+
+  /**
+   * 
+   */
+  @Override
+  public void write(
+      JsonWriter writer,
+      DefiTransactionVoutData voutData) throws IOException {
+    if (null == voutData) {
+      writer.nullValue();
+      return;
+    }
+
+    writer.beginObject();
+
+    writeString(writer, "coinbase", voutData.getCoinbase());
+    writeNumber(writer, "value", voutData.getValue());
+    writeNumber(writer, "n", voutData.getN());
+    writeString(writer, "tokenId", voutData.getTokenId());
+
+    DefiTransactionScriptPubKeyData scriptPubKeyData = voutData.getScriptPubKey();
+
+    if (null != scriptPubKeyData) {
+      writer.name("scriptPubKey").beginObject();
+      writeString(writer, "hex", scriptPubKeyData.getHex());
+      writeString(writer, "type", scriptPubKeyData.getType());
+      writeStringList(writer, "addresses", scriptPubKeyData.getAddresses());
+      writer.endObject();
+    }
+
+    writer.endObject();
+  }
+}
@@ -0,0 +1,121 @@
+package ch.dfx.defichain.provider.typeadapter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Base for the type adapters of the large RPC responses: the values are read directly from the stream,
+ * without reflection and without an intermediate JSON tree. Unknown and unused fields are skipped.
+ */
+public abstract class StreamingTypeAdapterA<T> extends TypeAdapter<T> {
+
+  /**
+   * 
+   */
+  protected static @Nullable String nextString(@Nonnull JsonReader reader) throws IOException {
+    if (JsonToken.NULL == reader.peek()) {
+      reader.nextNull();
+      return null;
+    }
+
+    return reader.nextString();
+  }
+
+  /**
+   * 
+   */
+  protected static @Nullable Long nextLong(@Nonnull JsonReader reader) throws IOException {
+    if (JsonToken.NULL == reader.peek()) {
+      reader.nextNull();
+      return null;
+    }
+
+    return reader.nextLong();
+  }
+
+  /**
+   * 
+   */
+  protected static @Nullable BigDecimal nextBigDecimal(@Nonnull JsonReader reader) throws IOException {
+    if (JsonToken.NULL == reader.peek()) {
+      reader.nextNull();
+      return null;
+    }
+
+    return new BigDecimal(reader.nextString());
+  }
+
+  /**
+   * 
+   */
+  protected static @Nullable List<String> nextStringList(@Nonnull JsonReader reader) throws IOException {
+    if (JsonToken.NULL == reader.peek()) {
+      reader.nextNull();
+      return null;
+    }
+
+    List<String> stringList = new ArrayList<>();
+
+    reader.beginArray();
+
+    while (reader.hasNext()) {
+      stringList.add(nextString(reader));
+    }
+
+    reader.endArray();
+
+    return stringList;
+  }
+
+  /**
+   * 
+   */
+  protected static void writeString(
+      @Nonnull JsonWriter writer,
+      @Nonnull String name,
+      @Nullable String value) throws IOException {
+    if (null != value) {
+      writer.name(name).value(value);
+    }
+  }
+
+  /**
+   * 
+   */
+  protected static void writeNumber(
+      @Nonnull JsonWriter writer,
+      @Nonnull String name,
+      @Nullable Number value) throws IOException {
+    if (null != value) {
+      writer.name(name).value(value);
+    }
+  }
+
+  /**
+   * 
+   */
+  protected static void writeStringList(
+      @Nonnull JsonWriter writer,
+      @Nonnull String name,
+      @Nullable List<String> stringList) throws IOException {
+    if (null != stringList) {
+      writer.name(name).beginArray();
+
+      for (String value : stringList) {
+        writer.value(value);
+      }
+
+      writer.endArray();
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package ch.dfx.manager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.Nonnull;
+
+/**
+ * One lock per key (e.g. withdrawal id, customer address):
+ * work on the same key is serialized, work on different keys runs in parallel.
+ * 
+ * A lock is removed as soon as no thread holds or waits for it anymore.
+ */
+public class KeyedLock<K> {
+  // ...
+  private final Map<K, LockEntry> keyToLockEntryMap;
+
+  /**
+   * 
+   */
+  public KeyedLock() {
+    this.keyToLockEntryMap = new HashMap<>();
+  }
+
+  /**
+   * 
+   */
+  public void lock(@Nonnull K key) {
+    LockEntry lockEntry;
+
+    synchronized (keyToLockEntryMap) {
+      lockEntry = keyToLockEntryMap.computeIfAbsent(key, k -> new LockEntry());
+      lockEntry.useCounter++;
+    }
+
+    lockEntry.lock.lock();
+  }
+
+  /**
+   * 
+   */
+  public void unlock(@Nonnull K key) {
+    synchronized (keyToLockEntryMap) {
+      LockEntry lockEntry = keyToLockEntryMap.get(key);
+
+      if (null == lockEntry) {
+        throw new IllegalMonitorStateException("no lock for key " + key);
+      }
+
+      lockEntry.lock.unlock();
+
+      if (0 == --lockEntry.useCounter) {
+        keyToLockEntryMap.remove(key);
+      }
+    }
+  }
+
+  /**
+   * 
+   */
+  public int size() {
+    synchronized (keyToLockEntryMap) {
+      return keyToLockEntryMap.size();
+    }
+  }
+
+  /**
+   * 
+   */
+  private static class LockEntry {
+    private final ReentrantLock lock = new ReentrantLock();
+    private int useCounter = 0;
+  }
+}
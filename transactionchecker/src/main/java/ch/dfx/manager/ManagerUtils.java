@@ -78,6 +78,8 @@ public class ManagerUtils {
     openTransactionVerifiedDTO.setSignature(openTransactionCheckerSignature);
 
     apiAccessHandler.sendOpenTransactionVerified(openTransactionDTO.getId(), openTransactionVerifiedDTO);
+
+    OpenTransactionMetrics.getInstance().recordVerdict(openTransactionDTO, true);
   }
 
   /**
@@ -97,6 +99,8 @@ public class ManagerUtils {
     openTransactionInvalidatedDTO.setReason(openTransactionDTO.getInvalidatedReason());
 
     apiAccessHandler.sendOpenTransactionInvalidated(openTransactionDTO.getId(), openTransactionInvalidatedDTO);
+
+    OpenTransactionMetrics.getInstance().recordVerdict(openTransactionDTO, false);
   }
 
   /**
@@ -1,8 +1,14 @@
 package ch.dfx.manager;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -10,6 +16,8 @@ import javax.annotation.Nullable;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import ch.dfx.api.ApiAccessHandler;
 import ch.dfx.api.data.join.TransactionWithdrawalDTO;
 import ch.dfx.api.data.join.TransactionWithdrawalDTOList;
@@ -20,6 +28,8 @@ import ch.dfx.api.data.transaction.OpenTransactionPayloadDTO;
 import ch.dfx.api.data.transaction.OpenTransactionTypeEnum;
 import ch.dfx.api.data.withdrawal.PendingWithdrawalDTO;
 import ch.dfx.api.data.withdrawal.PendingWithdrawalDTOList;
+import ch.dfx.common.config.ConfigProvider;
+import ch.dfx.common.config.TransactionCheckerConfigEnum;
 import ch.dfx.common.enumeration.NetworkEnum;
 import ch.dfx.common.errorhandling.DfxException;
 import ch.dfx.defichain.handler.DefiMessageHandler;
@@ -33,12 +43,19 @@ import ch.dfx.manager.checker.transaction.SizeChecker;
 import ch.dfx.manager.checker.transaction.TypeChecker;
 import ch.dfx.manager.checker.transaction.VaultWhitelistChecker;
 import ch.dfx.manager.checker.transaction.VoutAddressChecker;
+import ch.dfx.manager.checker.transaction.WhitelistSnapshotProvider;
 import ch.dfx.manager.filler.OpenTransactionDTOFiller;
 import ch.dfx.manager.filler.PendingWithdrawalDTOFiller;
 import ch.dfx.transactionserver.database.H2DBManager;
 
 /**
+ * The open transactions are checked in parallel by a bounded worker pool ("lock.verify_worker"),
+ * every transaction runs through its own pipeline up to the verdict.
  * 
+ * Serial stages:
+ * - Duplicate check insert: ordered by a lock per withdrawal id (DuplicateChecker)
+ * - Withdrawal reservation insert: ordered by a lock per customer address (StakingBalanceChecker)
+ * - Sign message format and signature check of the withdrawals: one batch
  */
 public class OpenTransactionManager {
   private static final Logger LOGGER = LogManager.getLogger(OpenTransactionManager.class);
@@ -54,6 +71,8 @@ public class OpenTransactionManager {
   private final PendingWithdrawalDTOFiller pendingWithdrawalDTOFiller;
 
   private final VoutAddressChecker voutAddressChecker;
+  private final WhitelistSnapshotProvider whitelistSnapshotProvider;
+
   private final CustomAddressChecker customAddressChecker;
   private final AccountToAccountAddressChecker accountToAccountAddressChecker;
 
@@ -76,11 +95,13 @@ public class OpenTransactionManager {
     this.messageHandler = new DefiMessageHandler(dataProvider);
     this.withdrawalManager = new WithdrawalManager(network, databaseManager, dataProvider);
 
-    this.openTransactionDTOFiller = new OpenTransactionDTOFiller(apiAccessHandler, messageHandler, dataProvider);
+    this.openTransactionDTOFiller = new OpenTransactionDTOFiller(network, apiAccessHandler, messageHandler, dataProvider);
     this.pendingWithdrawalDTOFiller = new PendingWithdrawalDTOFiller();
 
-    AddressWhitelistChecker addressWhitelistChecker = new AddressWhitelistChecker(network, databaseManager);
-    VaultWhitelistChecker vaultWhitelistChecker = new VaultWhitelistChecker(network, databaseManager);
+    this.whitelistSnapshotProvider = new WhitelistSnapshotProvider(network, databaseManager);
+
+    AddressWhitelistChecker addressWhitelistChecker = new AddressWhitelistChecker(whitelistSnapshotProvider);
+    VaultWhitelistChecker vaultWhitelistChecker = new VaultWhitelistChecker(whitelistSnapshotProvider);
     this.customAddressChecker = new CustomAddressChecker(apiAccessHandler, messageHandler, addressWhitelistChecker, vaultWhitelistChecker);
     this.voutAddressChecker = new VoutAddressChecker(apiAccessHandler, messageHandler, addressWhitelistChecker);
     this.accountToAccountAddressChecker = new AccountToAccountAddressChecker(apiAccessHandler, messageHandler, addressWhitelistChecker);
@@ -88,7 +109,7 @@ public class OpenTransactionManager {
     this.typeChecker = new TypeChecker(apiAccessHandler, messageHandler, dataProvider);
     this.sizeChecker = new SizeChecker(apiAccessHandler, messageHandler);
     this.duplicateChecker = new DuplicateChecker(network, apiAccessHandler, messageHandler, databaseManager);
-    this.signatureChecker = new SignatureChecker(apiAccessHandler, messageHandler);
+    this.signatureChecker = new SignatureChecker(network, apiAccessHandler, messageHandler);
   }
 
   /**
@@ -99,40 +120,118 @@ public class OpenTransactionManager {
 
     long startTime = System.currentTimeMillis();
 
-    // ...
-    OpenTransactionDTOList apiOpenTransactionDTOList = apiAccessHandler.getOpenTransactionDTOList();
-    PendingWithdrawalDTOList apiPendingWithdrawalDTOList = apiAccessHandler.getPendingWithdrawalDTOList();
+    OpenTransactionMetrics openTransactionMetrics = OpenTransactionMetrics.getInstance();
+    openTransactionMetrics.startRun();
 
-    // ...
-    LOGGER.debug(
-        "[API] Transaction / Withdrawal Size: "
-            + apiOpenTransactionDTOList.size() + " / " + apiPendingWithdrawalDTOList.size());
+    int workerCount = Math.max(1, ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.LOCK_VERIFY_WORKER, 4));
 
-    // ...
-    apiOpenTransactionDTOList.forEach(dto -> openTransactionDTOFiller.fillEmptyData(dto));
-    apiPendingWithdrawalDTOList.forEach(dto -> pendingWithdrawalDTOFiller.fillEmptyData(dto));
+    ExecutorService executorService =
+        Executors.newFixedThreadPool(workerCount, new ThreadFactoryBuilder().setNameFormat("open-transaction-%d").setDaemon(true).build());
+
+    try {
+      // ...
+      OpenTransactionDTOList apiOpenTransactionDTOList = apiAccessHandler.getOpenTransactionDTOList();
+      PendingWithdrawalDTOList apiPendingWithdrawalDTOList = apiAccessHandler.getPendingWithdrawalDTOList();
+
+      // ...
+      LOGGER.debug(
+          "[API] Transaction / Withdrawal Size: "
+              + apiOpenTransactionDTOList.size() + " / " + apiPendingWithdrawalDTOList.size());
+
+      // ...
+      long receiveTime = System.currentTimeMillis();
+      apiOpenTransactionDTOList.forEach(dto -> dto.setReceiveTime(receiveTime));
+
+      apiOpenTransactionDTOList.forEach(dto -> openTransactionDTOFiller.fillEmptyData(dto));
+      apiPendingWithdrawalDTOList.forEach(dto -> pendingWithdrawalDTOFiller.fillEmptyData(dto));
+
+      // one whitelist snapshot per cycle, shared by all checkers ...
+      whitelistSnapshotProvider.reload();
+
+      // decode all transactions in one batch ...
+      OpenTransactionDTOList workOpenTransactionDTOList = openTransactionDTOFiller.fillChainTransactionDetail(apiOpenTransactionDTOList);
+
+      // one pipeline per transaction, the withdrawals are returned for the withdrawal checks ...
+      OpenTransactionDTOList withdrawalOpenTransactionDTOList = new OpenTransactionDTOList();
+      withdrawalOpenTransactionDTOList.addAll(executeParallel(executorService, workOpenTransactionDTOList, this::processOpenTransaction));
+
+      processOpenWithdrawalTransaction(executorService, withdrawalOpenTransactionDTOList, apiPendingWithdrawalDTOList);
+    } finally {
+      executorService.shutdownNow();
+
+      long runtime = System.currentTimeMillis() - startTime;
+      openTransactionMetrics.finishRun(runtime);
+
+      LOGGER.debug("[OpenTransactionManager] runtime: " + runtime + " / " + openTransactionMetrics);
+    }
+  }
+
+  /**
+   * Executes the task for every element in parallel and waits for all of them.
+   * Returns the non null results, the first DfxException is thrown after all tasks are done.
+   */
+  private <T, R> List<R> executeParallel(
+      @Nonnull ExecutorService executorService,
+      @Nonnull List<T> elementList,
+      @Nonnull ParallelTask<T, R> parallelTask) throws DfxException {
+    LOGGER.trace("executeParallel()");
+
+    List<Future<R>> futureList = new ArrayList<>();
+
+    for (T element : elementList) {
+      futureList.add(executorService.submit(() -> parallelTask.execute(element)));
+    }
 
     // ...
-    OpenTransactionDTOList workOpenTransactionDTOList = openTransactionDTOFiller.fillChainTransactionDetail(apiOpenTransactionDTOList);
+    List<R> resultList = new ArrayList<>();
+    DfxException firstException = null;
 
-    workOpenTransactionDTOList = processOpenTransaction(workOpenTransactionDTOList);
+    for (Future<R> future : futureList) {
+      try {
+        R result = future.get();
 
-    processOpenTransactionAndWithdrawal(workOpenTransactionDTOList, apiPendingWithdrawalDTOList);
+        if (null != result) {
+          resultList.add(result);
+        }
+      } catch (ExecutionException e) {
+        LOGGER.error("executeParallel", e.getCause());
+
+        if (null == firstException) {
+          firstException =
+              e.getCause() instanceof DfxException
+                  ? (DfxException) e.getCause()
+                  : new DfxException("executeParallel", e.getCause());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new DfxException("executeParallel", e);
+      }
+    }
+
+    if (null != firstException) {
+      throw firstException;
+    }
 
-    LOGGER.debug("[OpenTransactionManager] runtime: " + (System.currentTimeMillis() - startTime));
+    return resultList;
   }
 
   /**
+   * Pipeline of one transaction:
    * Check 1: Check Type
    * Check 2: Transaction Hex Size
    * Check 3: Transaction (Withdrawal) Duplicated
    * Check 4: Transaction Signature
+   * Then the checks of the transaction type and the verdict,
+   * withdrawals are returned for the withdrawal checks.
    */
-  private OpenTransactionDTOList processOpenTransaction(@Nonnull OpenTransactionDTOList apiOpenTransactionDTOList) {
+  private @Nullable OpenTransactionDTO processOpenTransaction(@Nonnull OpenTransactionDTO openTransactionDTO) throws DfxException {
     LOGGER.trace("processOpenTransaction()");
 
+    OpenTransactionDTOList workOpenTransactionDTOList = new OpenTransactionDTOList();
+    workOpenTransactionDTOList.add(openTransactionDTO);
+
     // Check 1: Check Type ...
-    OpenTransactionDTOList workOpenTransactionDTOList = typeChecker.checkType(apiOpenTransactionDTOList);
+    workOpenTransactionDTOList = typeChecker.checkType(workOpenTransactionDTOList);
 
     // Check 2: Transaction Hex Size ...
     workOpenTransactionDTOList = sizeChecker.checkSize(workOpenTransactionDTOList);
@@ -141,54 +240,37 @@ public class OpenTransactionManager {
     workOpenTransactionDTOList = duplicateChecker.checkDuplicated(workOpenTransactionDTOList);
 
     // Check 4: Transaction Signature ...
-    return signatureChecker.checkTransactionSignature(workOpenTransactionDTOList);
-  }
-
-  /**
-   * UTXO
-   * MASTERNODE
-   * YIELD_MACHINE
-   * ACCOUNT_TO_ACCOUNT
-   * WITHDRAWAL
-   */
-  private void processOpenTransactionAndWithdrawal(
-      @Nonnull OpenTransactionDTOList workOpenTransactionDTOList,
-      @Nonnull PendingWithdrawalDTOList apiPendingWithdrawalDTOList) throws DfxException {
-    LOGGER.trace("processOpenTransactionAndWithdrawal()");
+    workOpenTransactionDTOList = signatureChecker.checkTransactionSignature(workOpenTransactionDTOList);
 
     // ...
-    OpenTransactionDTOList utxoOpenTransactionDTOList = new OpenTransactionDTOList();
-    OpenTransactionDTOList masternodeOpenTransactionDTOList = new OpenTransactionDTOList();
-    OpenTransactionDTOList yieldMachineOpenTransactionDTOList = new OpenTransactionDTOList();
-    OpenTransactionDTOList accountToAccountOpenTransactionDTOList = new OpenTransactionDTOList();
-    OpenTransactionDTOList withdrawalOpenTransactionDTOList = new OpenTransactionDTOList();
+    OpenTransactionDTO withdrawalOpenTransactionDTO = null;
 
-    for (OpenTransactionDTO openTransactionDTO : workOpenTransactionDTOList) {
+    if (!workOpenTransactionDTOList.isEmpty()) {
       OpenTransactionTypeEnum openTransactionType = openTransactionDTO.getType().getOpenTransactionType();
 
       switch (openTransactionType) {
         case MASTERNODE: {
-          masternodeOpenTransactionDTOList.add(openTransactionDTO);
+          processOpenMasternodeTransaction(workOpenTransactionDTOList);
           break;
         }
 
         case UTXO: {
-          utxoOpenTransactionDTOList.add(openTransactionDTO);
+          processOpenUtxoTransaction(workOpenTransactionDTOList);
           break;
         }
 
         case YIELD_MACHINE: {
-          yieldMachineOpenTransactionDTOList.add(openTransactionDTO);
+          processOpenYieldMachineTransaction(workOpenTransactionDTOList);
           break;
         }
 
         case ACCOUNT_TO_ACCOUNT: {
-          accountToAccountOpenTransactionDTOList.add(openTransactionDTO);
+          processOpenAccountToAccountTransaction(workOpenTransactionDTOList);
           break;
         }
 
         case WITHDRAWAL: {
-          withdrawalOpenTransactionDTOList.add(openTransactionDTO);
+          withdrawalOpenTransactionDTO = openTransactionDTO;
           break;
         }
 
@@ -197,12 +279,7 @@ public class OpenTransactionManager {
       }
     }
 
-    // ...
-    processOpenMasternodeTransaction(masternodeOpenTransactionDTOList);
-    processOpenUtxoTransaction(utxoOpenTransactionDTOList);
-    processOpenYieldMachineTransaction(yieldMachineOpenTransactionDTOList);
-    processOpenAccountToAccountTransaction(accountToAccountOpenTransactionDTOList);
-    processOpenWithdrawalTransaction(withdrawalOpenTransactionDTOList, apiPendingWithdrawalDTOList);
+    return withdrawalOpenTransactionDTO;
   }
 
   /**
@@ -273,6 +350,7 @@ public class OpenTransactionManager {
    * 
    */
   private void processOpenWithdrawalTransaction(
+      @Nonnull ExecutorService executorService,
       @Nonnull OpenTransactionDTOList withdrawalOpenTransactionDTOList,
       @Nonnull PendingWithdrawalDTOList apiPendingWithdrawalDTOList) throws DfxException {
     LOGGER.trace("processOpenWithdrawalTransaction()");
@@ -283,7 +361,8 @@ public class OpenTransactionManager {
 
     if (!transactionWithdrawalDTOList.isEmpty()) {
       processPendingWithdrawal(transactionWithdrawalDTOList);
-      send(transactionWithdrawalDTOList);
+
+      executeParallel(executorService, transactionWithdrawalDTOList, this::processStakingBalanceAndSend);
     }
   }
 
@@ -382,7 +461,6 @@ public class OpenTransactionManager {
   /**
    * Check 1: Check the sign message format
    * Check 2: Check the message signature
-   * Check 3: Check staking balance
    */
   private void processPendingWithdrawal(@Nonnull TransactionWithdrawalDTOList transactionWithdrawalDTOList) {
     LOGGER.trace("processPendingWithdrawal()");
@@ -391,27 +469,52 @@ public class OpenTransactionManager {
     TransactionWithdrawalDTOList checkTransactionWithdrawalDTOList = withdrawalManager.checkSignMessageFormat(transactionWithdrawalDTOList);
 
     // Check 2: Check the message signature ...
-    checkTransactionWithdrawalDTOList = withdrawalManager.checkSignMessageSignature(checkTransactionWithdrawalDTOList);
+    withdrawalManager.checkSignMessageSignature(checkTransactionWithdrawalDTOList);
+  }
+
+  /**
+   * Pipeline of one withdrawal:
+   * Check 3: Check staking balance
+   * Then the verdict.
+   */
+  private @Nullable Void processStakingBalanceAndSend(@Nonnull TransactionWithdrawalDTO transactionWithdrawalDTO) throws DfxException {
+    LOGGER.trace("processStakingBalanceAndSend()");
 
     // Check 3: Check staking balance ...
-    withdrawalManager.checkStakingBalance(checkTransactionWithdrawalDTOList);
+    if (TransactionWithdrawalStateEnum.SIGNATURE_CHECKED == transactionWithdrawalDTO.getState()) {
+      TransactionWithdrawalDTOList checkTransactionWithdrawalDTOList = new TransactionWithdrawalDTOList();
+      checkTransactionWithdrawalDTOList.add(transactionWithdrawalDTO);
+
+      withdrawalManager.checkStakingBalance(checkTransactionWithdrawalDTOList);
+    }
+
+    // ...
+    send(transactionWithdrawalDTO);
+
+    return null;
   }
 
   /**
    * 
    */
-  private void send(@Nonnull TransactionWithdrawalDTOList transactionWithdrawalDTOList) throws DfxException {
+  private void send(@Nonnull TransactionWithdrawalDTO transactionWithdrawalDTO) throws DfxException {
     LOGGER.trace("send()");
 
-    for (TransactionWithdrawalDTO transactionWithdrawalDTO : transactionWithdrawalDTOList) {
-      OpenTransactionDTO openTransactionDTO = transactionWithdrawalDTO.getOpenTransactionDTO();
+    OpenTransactionDTO openTransactionDTO = transactionWithdrawalDTO.getOpenTransactionDTO();
 
-      if (TransactionWithdrawalStateEnum.BALANCE_CHECKED == transactionWithdrawalDTO.getState()) {
-        ManagerUtils.sendVerified(messageHandler, apiAccessHandler, openTransactionDTO);
-      } else {
-        openTransactionDTO.setInvalidatedReason(transactionWithdrawalDTO.getStateReason());
-        ManagerUtils.sendInvalidated(messageHandler, apiAccessHandler, openTransactionDTO);
-      }
+    if (TransactionWithdrawalStateEnum.BALANCE_CHECKED == transactionWithdrawalDTO.getState()) {
+      ManagerUtils.sendVerified(messageHandler, apiAccessHandler, openTransactionDTO);
+    } else {
+      openTransactionDTO.setInvalidatedReason(transactionWithdrawalDTO.getStateReason());
+      ManagerUtils.sendInvalidated(messageHandler, apiAccessHandler, openTransactionDTO);
     }
   }
+
+  /**
+   * 
+   */
+  @FunctionalInterface
+  private interface ParallelTask<T, R> {
+    R execute(T element) throws DfxException;
+  }
 }
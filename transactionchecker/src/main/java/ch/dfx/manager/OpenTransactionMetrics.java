@@ -0,0 +1,148 @@
+package ch.dfx.manager;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import ch.dfx.TransactionCheckerUtils;
+import ch.dfx.api.data.transaction.OpenTransactionDTO;
+
+/**
+ * Time-to-verdict (from receiving an open transaction from the API until the verified / invalidated
+ * message has been sent) and verdict throughput of the OpenTransactionManager, readable at runtime.
+ * 
+ * The percentiles are calculated over the last SAMPLE_SIZE verdicts.
+ */
+public class OpenTransactionMetrics {
+  private static final int SAMPLE_SIZE = 1024;
+
+  private static OpenTransactionMetrics instance = null;
+
+  // ...
+  private final long[] timeToVerdictSamples;
+  private int sampleCount = 0;
+  private int sampleIndex = 0;
+
+  // ...
+  private long verdictCount = 0;
+  private long verifiedCount = 0;
+  private long invalidatedCount = 0;
+
+  private long lastRunVerdictCount = 0;
+  private long lastRunRuntime = 0;
+
+  private long runVerdictCount = 0;
+
+  /**
+   * 
+   */
+  public static synchronized OpenTransactionMetrics getInstance() {
+    if (null == instance) {
+      instance = new OpenTransactionMetrics();
+    }
+
+    return instance;
+  }
+
+  /**
+   * 
+   */
+  private OpenTransactionMetrics() {
+    this.timeToVerdictSamples = new long[SAMPLE_SIZE];
+  }
+
+  /**
+   * 
+   */
+  public synchronized void startRun() {
+    runVerdictCount = 0;
+  }
+
+  /**
+   * 
+   */
+  public synchronized void finishRun(long runtime) {
+    lastRunVerdictCount = runVerdictCount;
+    lastRunRuntime = runtime;
+  }
+
+  /**
+   * 
+   */
+  public synchronized void recordVerdict(
+      @Nonnull OpenTransactionDTO openTransactionDTO,
+      boolean isVerified) {
+    verdictCount++;
+    runVerdictCount++;
+
+    if (isVerified) {
+      verifiedCount++;
+    } else {
+      invalidatedCount++;
+    }
+
+    long receiveTime = openTransactionDTO.getReceiveTime();
+
+    if (0 < receiveTime) {
+      timeToVerdictSamples[sampleIndex] = System.currentTimeMillis() - receiveTime;
+      sampleIndex = (sampleIndex + 1) % SAMPLE_SIZE;
+      sampleCount = Math.min(sampleCount + 1, SAMPLE_SIZE);
+    }
+  }
+
+  public synchronized long getVerdictCount() {
+    return verdictCount;
+  }
+
+  public synchronized long getVerifiedCount() {
+    return verifiedCount;
+  }
+
+  public synchronized long getInvalidatedCount() {
+    return invalidatedCount;
+  }
+
+  /**
+   * Verdicts per second of the last run ...
+   */
+  public synchronized double getThroughput() {
+    return 0 == lastRunRuntime ? 0 : lastRunVerdictCount * 1000d / lastRunRuntime;
+  }
+
+  /**
+   * Percentile (0 - 100) of the time-to-verdict in milliseconds ...
+   */
+  public synchronized long getTimeToVerdictPercentile(double percentile) {
+    if (0 == sampleCount) {
+      return 0;
+    }
+
+    long[] sortedSamples = Arrays.copyOf(timeToVerdictSamples, sampleCount);
+    Arrays.sort(sortedSamples);
+
+    int index = (int) Math.ceil(percentile / 100d * sampleCount) - 1;
+
+    return sortedSamples[Math.max(0, Math.min(index, sampleCount - 1))];
+  }
+
+  /**
+   * 
+   */
+  @Override
+  public synchronized String toString() {
+    Map<String, Object> metricMap = new LinkedHashMap<>();
+
+    metricMap.put("verdictCount", verdictCount);
+    metricMap.put("verifiedCount", verifiedCount);
+    metricMap.put("invalidatedCount", invalidatedCount);
+    metricMap.put("lastRunVerdictCount", lastRunVerdictCount);
+    metricMap.put("lastRunRuntime", lastRunRuntime);
+    metricMap.put("throughput", getThroughput());
+    metricMap.put("timeToVerdictP50", getTimeToVerdictPercentile(50));
+    metricMap.put("timeToVerdictP99", getTimeToVerdictPercentile(99));
+
+    return TransactionCheckerUtils.toJson(metricMap);
+  }
+}
@@ -15,26 +15,25 @@ import ch.dfx.api.ApiAccessHandler;
 import ch.dfx.api.data.transaction.OpenTransactionDTO;
 import ch.dfx.api.data.transaction.OpenTransactionDTOList;
 import ch.dfx.common.enumeration.NetworkEnum;
-import ch.dfx.common.errorhandling.DfxException;
 import ch.dfx.defichain.handler.DefiMessageHandler;
+import ch.dfx.manager.KeyedLock;
 import ch.dfx.transactionserver.database.DatabaseUtils;
 import ch.dfx.transactionserver.database.H2DBManager;
 
 /**
- * 
+ * Thread-safe: every call uses its own connection and statements,
+ * the check and insert of the same withdrawal id is serialized by the withdrawal id lock.
  */
 public class DuplicateChecker extends TransactionChecker {
   private static final Logger LOGGER = LogManager.getLogger(DuplicateChecker.class);
 
-  // ...
-  private PreparedStatement apiDuplicateCheckSelectStatement = null;
-  private PreparedStatement apiDuplicateCheckInsertStatement = null;
-
   // ...
   private final NetworkEnum network;
 
   private final H2DBManager databaseManager;
 
+  private final KeyedLock<Integer> withdrawalIdLock;
+
   /**
    * 
    */
@@ -47,6 +46,8 @@ public class DuplicateChecker extends TransactionChecker {
 
     this.network = network;
     this.databaseManager = databaseManager;
+
+    this.withdrawalIdLock = new KeyedLock<>();
   }
 
   /**
@@ -64,17 +65,20 @@ public class DuplicateChecker extends TransactionChecker {
       try {
         connection = databaseManager.openConnection();
 
-        openStatements(connection);
+        String apiDuplicateCheckSelectSql = "SELECT * FROM " + TOKEN_NETWORK_SCHEMA + ".api_duplicate_check WHERE withdrawal_id=? AND transaction_id=?";
+        PreparedStatement apiDuplicateCheckSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, apiDuplicateCheckSelectSql));
+
+        String apiDuplicateCheckInsertSql = "INSERT INTO " + TOKEN_NETWORK_SCHEMA + ".api_duplicate_check (withdrawal_id, transaction_id) VALUES (?, ?)";
+        PreparedStatement apiDuplicateCheckInsertStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, apiDuplicateCheckInsertSql));
 
         for (OpenTransactionDTO apiOpenTransactionDTO : apiOpenTransactionDTOList) {
-          if (doCheckInsertApiDuplicate(apiOpenTransactionDTO)) {
+          if (doCheckInsertApiDuplicate(connection, apiDuplicateCheckSelectStatement, apiDuplicateCheckInsertStatement, apiOpenTransactionDTO)) {
             checkedOpenTransactionDTOList.add(apiOpenTransactionDTO);
           }
         }
 
-        closeStatements();
-
-        connection.commit();
+        apiDuplicateCheckSelectStatement.close();
+        apiDuplicateCheckInsertStatement.close();
       } catch (Exception e) {
         DatabaseUtils.rollback(connection);
         LOGGER.error("checkDuplicated", e);
@@ -89,38 +93,11 @@ public class DuplicateChecker extends TransactionChecker {
   /**
    * 
    */
-  private void openStatements(@Nonnull Connection connection) throws DfxException {
-    LOGGER.trace("openStatements()");
-
-    try {
-      String apiDuplicateCheckSelectSql = "SELECT * FROM " + TOKEN_NETWORK_SCHEMA + ".api_duplicate_check WHERE withdrawal_id=? AND transaction_id=?";
-      apiDuplicateCheckSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, apiDuplicateCheckSelectSql));
-
-      String apiDuplicateCheckInsertSql = "INSERT INTO " + TOKEN_NETWORK_SCHEMA + ".api_duplicate_check (withdrawal_id, transaction_id) VALUES (?, ?)";
-      apiDuplicateCheckInsertStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, apiDuplicateCheckInsertSql));
-    } catch (Exception e) {
-      throw new DfxException("openStatements", e);
-    }
-  }
-
-  /**
-   * 
-   */
-  private void closeStatements() throws DfxException {
-    LOGGER.trace("closeStatements()");
-
-    try {
-      apiDuplicateCheckSelectStatement.close();
-      apiDuplicateCheckInsertStatement.close();
-    } catch (Exception e) {
-      throw new DfxException("closeStatements", e);
-    }
-  }
-
-  /**
-   * 
-   */
-  private boolean doCheckInsertApiDuplicate(@Nonnull OpenTransactionDTO apiOpenTransactionDTO) {
+  private boolean doCheckInsertApiDuplicate(
+      @Nonnull Connection connection,
+      @Nonnull PreparedStatement apiDuplicateCheckSelectStatement,
+      @Nonnull PreparedStatement apiDuplicateCheckInsertStatement,
+      @Nonnull OpenTransactionDTO apiOpenTransactionDTO) {
     LOGGER.trace("doCheckInsertApiDuplicate()");
 
     boolean isValid;
@@ -131,7 +108,15 @@ public class DuplicateChecker extends TransactionChecker {
       if (null == withdrawalId) {
         isValid = true;
       } else {
-        isValid = apiDuplicateCheckInsert(withdrawalId, apiOpenTransactionDTO.getId());
+        withdrawalIdLock.lock(withdrawalId);
+
+        try {
+          isValid =
+              apiDuplicateCheckInsert(
+                  connection, apiDuplicateCheckSelectStatement, apiDuplicateCheckInsertStatement, withdrawalId, apiOpenTransactionDTO.getId());
+        } finally {
+          withdrawalIdLock.unlock(withdrawalId);
+        }
 
         if (!isValid) {
           apiOpenTransactionDTO.setInvalidatedReason("[Withdrawal] ID: " + withdrawalId + " - duplicated");
@@ -152,6 +137,9 @@ public class DuplicateChecker extends TransactionChecker {
    * withdrawal id x + transaction id z: is not allowed to receive multiple times
    */
   private boolean apiDuplicateCheckInsert(
+      @Nonnull Connection connection,
+      @Nonnull PreparedStatement apiDuplicateCheckSelectStatement,
+      @Nonnull PreparedStatement apiDuplicateCheckInsertStatement,
       @Nonnull Integer withdrawalId,
       @Nonnull String transactionId) {
     LOGGER.trace("apiDuplicateCheckInsert()");
@@ -173,8 +161,12 @@ public class DuplicateChecker extends TransactionChecker {
         apiDuplicateCheckInsertStatement.execute();
       }
 
+      // commit while holding the withdrawal id lock ...
+      connection.commit();
+
       isValid = true;
     } catch (Exception e) {
+      DatabaseUtils.rollback(connection);
       LOGGER.info("Duplicate: WithdrawId=" + withdrawalId + " / TransactionId=" + transactionId);
       isValid = false;
     }
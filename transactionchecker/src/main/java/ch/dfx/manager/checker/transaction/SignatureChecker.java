@@ -1,5 +1,7 @@
 package ch.dfx.manager.checker.transaction;
 
+import java.util.Locale;
+
 import javax.annotation.Nonnull;
 
 import org.apache.commons.lang3.BooleanUtils;
@@ -11,22 +13,46 @@ import ch.dfx.api.data.transaction.OpenTransactionDTO;
 import ch.dfx.api.data.transaction.OpenTransactionDTOList;
 import ch.dfx.common.config.ConfigProvider;
 import ch.dfx.common.config.TransactionCheckerConfigEnum;
+import ch.dfx.common.enumeration.NetworkEnum;
 import ch.dfx.common.errorhandling.DfxException;
+import ch.dfx.defichain.crypto.MessageSignatureVerifier;
+import ch.dfx.defichain.crypto.MessageSignatureVerifier.AddressHash;
 import ch.dfx.defichain.handler.DefiMessageHandler;
 
 /**
+ * Verification of the issuer signature of open transactions:
+ * 
+ * LOCAL: verified in the JVM, only an invalid signature is verified again with the node (default)
+ * RPC: verified with the node ("verifymessage")
+ * CROSSCHECK: verified in the JVM and with the node, the result of the node counts
  * 
+ * Only a P2PKH verify address is verified in the JVM, every other address only with the node.
  */
 public class SignatureChecker extends TransactionChecker {
   private static final Logger LOGGER = LogManager.getLogger(SignatureChecker.class);
 
+  private enum VerifyModeEnum {
+    LOCAL,
+    RPC,
+    CROSSCHECK
+  }
+
+  // ...
+  private final NetworkEnum network;
+
+  private volatile String verifyAddress = null;
+  private volatile AddressHash verifyAddressHash = null;
+
   /**
    * 
    */
   public SignatureChecker(
+      @Nonnull NetworkEnum network,
       @Nonnull ApiAccessHandler apiAccessHandler,
       @Nonnull DefiMessageHandler messageHandler) {
     super(apiAccessHandler, messageHandler);
+
+    this.network = network;
   }
 
   /**
@@ -78,15 +104,101 @@ public class SignatureChecker extends TransactionChecker {
     String openTransactionIssuerSignature = openTransactionDTO.getIssuerSignature();
     String openTransactionHex = openTransactionDTO.getRawTx().getHex();
 
-    String verifyAddress = ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.DFI_VERIFY_ADDRESS);
+    setupVerifyAddress();
 
-    if (null == verifyAddress) {
-      throw new DfxException("verifyAddress is null");
+    VerifyModeEnum verifyMode = getVerifyMode();
+
+    boolean isValid;
+
+    if (VerifyModeEnum.RPC == verifyMode) {
+      isValid = verifyRemote(openTransactionIssuerSignature, openTransactionHex);
+    } else {
+      isValid = verifyLocal(openTransactionIssuerSignature, openTransactionHex);
+
+      if (VerifyModeEnum.CROSSCHECK == verifyMode) {
+        boolean isRemoteValid = verifyRemote(openTransactionIssuerSignature, openTransactionHex);
+
+        if (isValid != isRemoteValid) {
+          LOGGER.error(
+              "Open Transaction Id: " + openTransactionDTO.getId()
+                  + " / local verification " + isValid + " differs from node verification " + isRemoteValid);
+        }
+
+        isValid = isRemoteValid;
+      } else if (!isValid) {
+        isValid = verifyRemote(openTransactionIssuerSignature, openTransactionHex);
+      }
     }
 
-    Boolean isValid = messageHandler.verifyMessage(verifyAddress, openTransactionIssuerSignature, openTransactionHex);
     LOGGER.debug("Open Transaction Id: " + openTransactionDTO.getId() + " / " + isValid);
 
-    return BooleanUtils.isTrue(isValid);
+    return isValid;
+  }
+
+  /**
+   * 
+   */
+  private boolean verifyLocal(
+      @Nonnull String signature,
+      @Nonnull String message) {
+    try {
+      return MessageSignatureVerifier.verifyCompact(message, verifyAddressHash, signature);
+    } catch (Exception e) {
+      LOGGER.error("verifyLocal", e);
+      return false;
+    }
+  }
+
+  /**
+   * 
+   */
+  private boolean verifyRemote(
+      @Nonnull String signature,
+      @Nonnull String message) throws DfxException {
+    return BooleanUtils.isTrue(messageHandler.verifyMessage(verifyAddress, signature, message));
+  }
+
+  /**
+   * The public key hash of the verify address is decoded once ...
+   */
+  private void setupVerifyAddress() throws DfxException {
+    if (null == verifyAddress) {
+      synchronized (this) {
+        if (null == verifyAddress) {
+          String configVerifyAddress = ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.DFI_VERIFY_ADDRESS);
+
+          if (null == configVerifyAddress) {
+            throw new DfxException("verifyAddress is null");
+          }
+
+          AddressHash configVerifyAddressHash = MessageSignatureVerifier.toP2PKHAddressHash(network, configVerifyAddress);
+
+          if (null == configVerifyAddressHash) {
+            LOGGER.warn("verifyAddress " + configVerifyAddress + " is no P2PKH address, only verification with the node");
+          }
+
+          verifyAddressHash = configVerifyAddressHash;
+          verifyAddress = configVerifyAddress;
+        }
+      }
+    }
+  }
+
+  /**
+   * 
+   */
+  private VerifyModeEnum getVerifyMode() {
+    if (null == verifyAddressHash) {
+      return VerifyModeEnum.RPC;
+    }
+
+    String verifyMode = ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.DFI_VERIFY_MODE, VerifyModeEnum.LOCAL.name());
+
+    try {
+      return VerifyModeEnum.valueOf(verifyMode.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      LOGGER.warn("unknown verify mode " + verifyMode + ", use " + VerifyModeEnum.LOCAL);
+      return VerifyModeEnum.LOCAL;
+    }
   }
 }
@@ -1,22 +1,13 @@
 package ch.dfx.manager.checker.transaction;
 
-import java.sql.Connection;
 import java.util.Arrays;
-import java.util.BitSet;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import javax.annotation.Nonnull;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import ch.dfx.common.enumeration.NetworkEnum;
-import ch.dfx.transactionserver.data.VaultWhitelistDTO;
-import ch.dfx.transactionserver.database.H2DBManager;
-import ch.dfx.transactionserver.database.helper.DatabaseBlockHelper;
-
 /**
  * 
  */
@@ -24,19 +15,13 @@ public class VaultWhitelistChecker {
   private static final Logger LOGGER = LogManager.getLogger(VaultWhitelistChecker.class);
 
   // ...
-  private final H2DBManager databaseManager;
-  private final DatabaseBlockHelper databaseBlockHelper;
+  private final WhitelistSnapshotProvider whitelistSnapshotProvider;
 
   /**
    * 
    */
-  public VaultWhitelistChecker(
-      @Nonnull NetworkEnum network,
-      @Nonnull H2DBManager databaseManager) {
-
-    this.databaseManager = databaseManager;
-
-    this.databaseBlockHelper = new DatabaseBlockHelper(network);
+  public VaultWhitelistChecker(@Nonnull WhitelistSnapshotProvider whitelistSnapshotProvider) {
+    this.whitelistSnapshotProvider = whitelistSnapshotProvider;
   }
 
   /**
@@ -54,47 +39,20 @@ public class VaultWhitelistChecker {
   public boolean checkVaultIdWhitelist(@Nonnull List<String> vaultIdList) {
     LOGGER.trace("checkVaultIdWhitelist()");
 
-    // ...
-    boolean isValid;
-
-    // ...
-    BitSet bitSet = new BitSet(vaultIdList.size());
-    bitSet.clear();
-
-    // ...
-    Connection connection = null;
-
     try {
-      connection = databaseManager.openConnection();
-
-      databaseBlockHelper.openStatements(connection);
-
-      // ...
-      Set<String> vaultIdCheckSet = new HashSet<>();
-      List<VaultWhitelistDTO> vaultWhitelistDTOList = databaseBlockHelper.getVaultWhitelistDTOList();
-      vaultWhitelistDTOList.forEach(dto -> vaultIdCheckSet.add(dto.getVaultId()));
+      WhitelistSnapshot whitelistSnapshot = whitelistSnapshotProvider.getSnapshot();
 
-      // ...
-      for (int i = 0; i < vaultIdList.size(); i++) {
-        String vaultId = vaultIdList.get(i);
-
-        if (vaultIdCheckSet.contains(vaultId)) {
-          bitSet.set(i);
+      for (String vaultId : vaultIdList) {
+        if (!whitelistSnapshot.containsVaultId(vaultId)) {
+          return false;
         }
       }
 
-      isValid = bitSet.cardinality() == vaultIdList.size();
-
-      // ...
-      databaseBlockHelper.closeStatements();
+      return true;
     } catch (Exception e) {
       LOGGER.error("checkVaultIdWhitelist", e);
-      isValid = false;
-    } finally {
-      databaseManager.closeConnection(connection);
+      return false;
     }
-
-    return isValid;
   }
 
   /**
@@ -112,46 +70,19 @@ public class VaultWhitelistChecker {
   public boolean checkVaultAddressWhitelist(@Nonnull List<String> vaultAddressList) {
     LOGGER.trace("checkVaultAddressWhitelist()");
 
-    // ...
-    boolean isValid;
-
-    // ...
-    BitSet bitSet = new BitSet(vaultAddressList.size());
-    bitSet.clear();
-
-    // ...
-    Connection connection = null;
-
     try {
-      connection = databaseManager.openConnection();
-
-      databaseBlockHelper.openStatements(connection);
+      WhitelistSnapshot whitelistSnapshot = whitelistSnapshotProvider.getSnapshot();
 
-      // ...
-      Set<String> vaultAddressCheckSet = new HashSet<>();
-      List<VaultWhitelistDTO> vaultWhitelistDTOList = databaseBlockHelper.getVaultWhitelistDTOList();
-      vaultWhitelistDTOList.forEach(dto -> vaultAddressCheckSet.add(dto.getAddress()));
-
-      // ...
-      for (int i = 0; i < vaultAddressList.size(); i++) {
-        String vaultAddress = vaultAddressList.get(i);
-
-        if (vaultAddressCheckSet.contains(vaultAddress)) {
-          bitSet.set(i);
+      for (String vaultAddress : vaultAddressList) {
+        if (!whitelistSnapshot.containsVaultAddress(vaultAddress)) {
+          return false;
         }
       }
 
-      isValid = bitSet.cardinality() == vaultAddressList.size();
-
-      // ...
-      databaseBlockHelper.closeStatements();
+      return true;
     } catch (Exception e) {
       LOGGER.error("checkVaultAddressWhitelist", e);
-      isValid = false;
-    } finally {
-      databaseManager.closeConnection(connection);
+      return false;
     }
-
-    return isValid;
   }
 }
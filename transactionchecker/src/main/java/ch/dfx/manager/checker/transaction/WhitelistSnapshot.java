@@ -0,0 +1,118 @@
+package ch.dfx.manager.checker.transaction;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Immutable copy of the address, vault and masternode whitelists.
+ * 
+ * A snapshot never changes after creation, it can be read from any thread without locking.
+ * A reload creates a new snapshot with a higher version, if the content has changed.
+ */
+public class WhitelistSnapshot {
+  private final long version;
+  private final long createTime;
+
+  // ...
+  private final Set<String> liquidityAddressSet;
+  private final Set<String> rewardAddressSet;
+  private final Set<String> vaultIdSet;
+  private final Set<String> vaultAddressSet;
+  private final Set<String> masternodeOwnerAddressSet;
+
+  /**
+   * 
+   */
+  public WhitelistSnapshot(
+      long version,
+      @Nonnull Collection<String> liquidityAddressCollection,
+      @Nonnull Collection<String> rewardAddressCollection,
+      @Nonnull Collection<String> vaultIdCollection,
+      @Nonnull Collection<String> vaultAddressCollection,
+      @Nonnull Collection<String> masternodeOwnerAddressCollection) {
+    this.version = version;
+    this.createTime = System.currentTimeMillis();
+
+    this.liquidityAddressSet = toImmutableSet(liquidityAddressCollection);
+    this.rewardAddressSet = toImmutableSet(rewardAddressCollection);
+    this.vaultIdSet = toImmutableSet(vaultIdCollection);
+    this.vaultAddressSet = toImmutableSet(vaultAddressCollection);
+    this.masternodeOwnerAddressSet = toImmutableSet(masternodeOwnerAddressCollection);
+  }
+
+  /**
+   * Note: the immutable sets do not accept null, not even in contains() ...
+   */
+  private Set<String> toImmutableSet(@Nonnull Collection<String> collection) {
+    return collection.stream().filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet());
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public long getCreateTime() {
+    return createTime;
+  }
+
+  /**
+   * Liquidity Address
+   * Reward Address (only if withRewardAddress)
+   * Vault Address
+   * Masternode Owner Address
+   */
+  public boolean containsAddress(
+      @Nullable String address,
+      boolean withRewardAddress) {
+    if (null == address) {
+      return false;
+    }
+
+    return liquidityAddressSet.contains(address)
+        || (withRewardAddress && rewardAddressSet.contains(address))
+        || vaultAddressSet.contains(address)
+        || masternodeOwnerAddressSet.contains(address);
+  }
+
+  /**
+   * 
+   */
+  public boolean containsVaultId(@Nullable String vaultId) {
+    return null != vaultId && vaultIdSet.contains(vaultId);
+  }
+
+  /**
+   * 
+   */
+  public boolean containsVaultAddress(@Nullable String vaultAddress) {
+    return null != vaultAddress && vaultAddressSet.contains(vaultAddress);
+  }
+
+  /**
+   * 
+   */
+  public boolean hasSameContent(@Nonnull WhitelistSnapshot other) {
+    return liquidityAddressSet.equals(other.liquidityAddressSet)
+        && rewardAddressSet.equals(other.rewardAddressSet)
+        && vaultIdSet.equals(other.vaultIdSet)
+        && vaultAddressSet.equals(other.vaultAddressSet)
+        && masternodeOwnerAddressSet.equals(other.masternodeOwnerAddressSet);
+  }
+
+  /**
+   * 
+   */
+  @Override
+  public String toString() {
+    return "version=" + version
+        + " / liquidity=" + liquidityAddressSet.size()
+        + " / reward=" + rewardAddressSet.size()
+        + " / vault=" + vaultIdSet.size()
+        + " / masternode=" + masternodeOwnerAddressSet.size();
+  }
+}
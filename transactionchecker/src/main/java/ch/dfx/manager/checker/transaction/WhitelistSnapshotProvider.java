@@ -0,0 +1,151 @@
+package ch.dfx.manager.checker.transaction;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.Nonnull;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import ch.dfx.common.enumeration.NetworkEnum;
+import ch.dfx.common.errorhandling.DfxException;
+import ch.dfx.transactionserver.data.AddressWhitelistDTO;
+import ch.dfx.transactionserver.data.MasternodeWhitelistDTO;
+import ch.dfx.transactionserver.data.VaultWhitelistDTO;
+import ch.dfx.transactionserver.database.H2DBManager;
+import ch.dfx.transactionserver.database.helper.DatabaseBlockHelper;
+
+/**
+ * Holds the current WhitelistSnapshot, shared by all whitelist checkers.
+ * 
+ * Readers only get the current reference and never wait,
+ * a reload loads the whitelists from the database and swaps the reference atomically.
+ */
+public class WhitelistSnapshotProvider {
+  private static final Logger LOGGER = LogManager.getLogger(WhitelistSnapshotProvider.class);
+
+  // ...
+  private final NetworkEnum network;
+  private final H2DBManager databaseManager;
+
+  private final AtomicReference<WhitelistSnapshot> snapshotReference;
+  private final Object reloadLock;
+
+  /**
+   * 
+   */
+  public WhitelistSnapshotProvider(
+      @Nonnull NetworkEnum network,
+      @Nonnull H2DBManager databaseManager) {
+    this.network = network;
+    this.databaseManager = databaseManager;
+
+    this.snapshotReference = new AtomicReference<>();
+    this.reloadLock = new Object();
+  }
+
+  /**
+   * Current snapshot, loaded on the first call ...
+   */
+  public @Nonnull WhitelistSnapshot getSnapshot() throws DfxException {
+    WhitelistSnapshot snapshot = snapshotReference.get();
+
+    if (null == snapshot) {
+      synchronized (reloadLock) {
+        snapshot = snapshotReference.get();
+
+        if (null == snapshot) {
+          snapshot = reload();
+        }
+      }
+    }
+
+    return snapshot;
+  }
+
+  /**
+   * Load the whitelists and swap the snapshot,
+   * the current snapshot (and its version) is kept if nothing has changed.
+   */
+  public @Nonnull WhitelistSnapshot reload() throws DfxException {
+    LOGGER.trace("reload()");
+
+    synchronized (reloadLock) {
+      long startTime = System.currentTimeMillis();
+
+      WhitelistSnapshot currentSnapshot = snapshotReference.get();
+      long nextVersion = null == currentSnapshot ? 1 : currentSnapshot.getVersion() + 1;
+
+      WhitelistSnapshot newSnapshot = load(nextVersion);
+
+      if (null != currentSnapshot
+          && currentSnapshot.hasSameContent(newSnapshot)) {
+        newSnapshot = currentSnapshot;
+      } else {
+        snapshotReference.set(newSnapshot);
+      }
+
+      LOGGER.debug("[WhitelistSnapshotProvider] runtime: " + (System.currentTimeMillis() - startTime) + " / " + newSnapshot);
+
+      return newSnapshot;
+    }
+  }
+
+  /**
+   * 
+   */
+  private WhitelistSnapshot load(long version) throws DfxException {
+    LOGGER.trace("load()");
+
+    Connection connection = null;
+
+    try {
+      connection = databaseManager.openConnection();
+
+      DatabaseBlockHelper databaseBlockHelper = new DatabaseBlockHelper(network);
+      databaseBlockHelper.openStatements(connection);
+
+      // ...
+      List<String> liquidityAddressList = new ArrayList<>();
+      List<String> rewardAddressList = new ArrayList<>();
+
+      for (AddressWhitelistDTO addressWhitelistDTO : databaseBlockHelper.getAddressWhitelistDTOList()) {
+        if ("reward".equalsIgnoreCase(addressWhitelistDTO.getType())) {
+          rewardAddressList.add(addressWhitelistDTO.getAddress());
+        } else {
+          liquidityAddressList.add(addressWhitelistDTO.getAddress());
+        }
+      }
+
+      // ...
+      List<String> vaultIdList = new ArrayList<>();
+      List<String> vaultAddressList = new ArrayList<>();
+
+      for (VaultWhitelistDTO vaultWhitelistDTO : databaseBlockHelper.getVaultWhitelistDTOList()) {
+        vaultIdList.add(vaultWhitelistDTO.getVaultId());
+        vaultAddressList.add(vaultWhitelistDTO.getAddress());
+      }
+
+      // ...
+      List<String> masternodeOwnerAddressList = new ArrayList<>();
+
+      for (MasternodeWhitelistDTO masternodeWhitelistDTO : databaseBlockHelper.getMasternodeWhitelistDTOList()) {
+        masternodeOwnerAddressList.add(masternodeWhitelistDTO.getOwnerAddress());
+      }
+
+      databaseBlockHelper.closeStatements();
+
+      return new WhitelistSnapshot(
+          version, liquidityAddressList, rewardAddressList, vaultIdList, vaultAddressList, masternodeOwnerAddressList);
+    } catch (DfxException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new DfxException("load", e);
+    } finally {
+      databaseManager.closeConnection(connection);
+    }
+  }
+}
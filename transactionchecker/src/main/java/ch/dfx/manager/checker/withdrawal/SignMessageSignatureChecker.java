@@ -21,8 +21,11 @@ import ch.dfx.api.data.join.TransactionWithdrawalDTO;
 import ch.dfx.api.data.join.TransactionWithdrawalDTOList;
 import ch.dfx.api.data.join.TransactionWithdrawalStateEnum;
 import ch.dfx.api.data.withdrawal.PendingWithdrawalDTO;
+import ch.dfx.common.config.ConfigProvider;
+import ch.dfx.common.config.TransactionCheckerConfigEnum;
 import ch.dfx.common.enumeration.NetworkEnum;
 import ch.dfx.common.errorhandling.DfxException;
+import ch.dfx.defichain.crypto.MessageSignatureVerifier;
 import ch.dfx.manager.ManagerUtils;
 import ch.dfx.manager.data.SignedMessageCheckDTO;
 import ch.dfx.manager.data.SignedMessageCheckDTOList;
@@ -48,7 +51,7 @@ public class SignMessageSignatureChecker {
   /**
    * 
    */
-  public TransactionWithdrawalDTOList checkSignMessageSignature(@Nonnull TransactionWithdrawalDTOList transactionWithdrawalDTOList) {
+  public synchronized TransactionWithdrawalDTOList checkSignMessageSignature(@Nonnull TransactionWithdrawalDTOList transactionWithdrawalDTOList) {
     LOGGER.trace("checkSignMessageSignature()");
 
     TransactionWithdrawalDTOList checkedTransactionWithdrawalDTOList = new TransactionWithdrawalDTOList();
@@ -114,6 +117,61 @@ public class SignMessageSignatureChecker {
   private SignedMessageCheckDTOList checkSignature(@Nonnull SignedMessageCheckDTOList uncheckedSignedMessageCheckDTOList) {
     LOGGER.trace("checkSignature()");
 
+    boolean isJavascriptCheck =
+        ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.LOCK_SIGNATURE_CHECK_JAVASCRIPT, false);
+
+    if (isJavascriptCheck) {
+      return checkSignatureJavascript(uncheckedSignedMessageCheckDTOList);
+    }
+
+    return checkSignatureNative(uncheckedSignedMessageCheckDTOList);
+  }
+
+  /**
+   * Signature check in the JVM, the messages are verified in parallel ...
+   */
+  public SignedMessageCheckDTOList checkSignatureNative(@Nonnull SignedMessageCheckDTOList uncheckedSignedMessageCheckDTOList) {
+    LOGGER.trace("checkSignatureNative()");
+
+    long startTime = System.currentTimeMillis();
+
+    SignedMessageCheckDTOList checkedSignedMessageCheckDTOList = new SignedMessageCheckDTOList();
+
+    uncheckedSignedMessageCheckDTOList.parallelStream().forEach(dto -> dto.setValid(isValidSignature(dto)));
+    checkedSignedMessageCheckDTOList.addAll(uncheckedSignedMessageCheckDTOList);
+
+    LOGGER.debug(
+        "[SignMessageSignatureChecker] " + uncheckedSignedMessageCheckDTOList.size()
+            + " signatures, runtime: " + (System.currentTimeMillis() - startTime));
+
+    return checkedSignedMessageCheckDTOList;
+  }
+
+  /**
+   * 
+   */
+  private boolean isValidSignature(@Nonnull SignedMessageCheckDTO signedMessageCheckDTO) {
+    String message = signedMessageCheckDTO.getMessage();
+    String address = signedMessageCheckDTO.getAddress();
+    String signature = signedMessageCheckDTO.getSignature();
+
+    try {
+      return null != message
+          && null != address
+          && null != signature
+          && MessageSignatureVerifier.verify(message, address, signature);
+    } catch (Exception e) {
+      LOGGER.error("isValidSignature", e);
+      return false;
+    }
+  }
+
+  /**
+   * Signature check with the external JavaScript executable (Windows and macOS only) ...
+   */
+  public SignedMessageCheckDTOList checkSignatureJavascript(@Nonnull SignedMessageCheckDTOList uncheckedSignedMessageCheckDTOList) {
+    LOGGER.trace("checkSignatureJavascript()");
+
     try {
       writeSignatureCheckFile(uncheckedSignedMessageCheckDTOList);
 
@@ -23,6 +23,7 @@ import ch.dfx.api.data.withdrawal.PendingWithdrawalDTO;
 import ch.dfx.common.enumeration.NetworkEnum;
 import ch.dfx.common.enumeration.TokenEnum;
 import ch.dfx.common.errorhandling.DfxException;
+import ch.dfx.manager.KeyedLock;
 import ch.dfx.manager.ManagerUtils;
 import ch.dfx.transactionserver.data.AddressDTO;
 import ch.dfx.transactionserver.data.StakingDTO;
@@ -33,22 +34,19 @@ import ch.dfx.transactionserver.database.helper.DatabaseBalanceHelper;
 import ch.dfx.transactionserver.database.helper.DatabaseBlockHelper;
 
 /**
- * 
+ * Thread-safe: every call uses its own connection, helpers and statements.
+ * The balance check and the withdrawal reservation of the same customer address are serialized
+ * by the customer address lock, so that parallel withdrawals cannot reserve more than the balance.
  */
 public class StakingBalanceChecker {
   private static final Logger LOGGER = LogManager.getLogger(StakingBalanceChecker.class);
 
-  // ...
-  private PreparedStatement stakingWithdrawalReservedSelectByCustomerAddressStatement = null;
-  private PreparedStatement stakingWithdrawalReservedInsertStatement = null;
-
   // ...
   private final NetworkEnum network;
 
   private final H2DBManager databaseManager;
 
-  private final DatabaseBlockHelper databaseBlockHelper;
-  private final DatabaseBalanceHelper databaseBalanceHelper;
+  private final KeyedLock<String> customerAddressLock;
 
   /**
    * 
@@ -59,8 +57,7 @@ public class StakingBalanceChecker {
     this.network = network;
     this.databaseManager = databaseManager;
 
-    this.databaseBlockHelper = new DatabaseBlockHelper(network);
-    this.databaseBalanceHelper = new DatabaseBalanceHelper(network);
+    this.customerAddressLock = new KeyedLock<>();
   }
 
   /**
@@ -107,19 +104,29 @@ public class StakingBalanceChecker {
       try {
         connection = databaseManager.openConnection();
 
-        databaseBlockHelper.openStatements(connection);
-        databaseBalanceHelper.openStatements(connection, dbSchema);
-        openStatements(connection, dbSchema);
+        CheckContext checkContext = new CheckContext(connection);
+
+        checkContext.databaseBlockHelper.openStatements(connection);
+        checkContext.databaseBalanceHelper.openStatements(connection, dbSchema);
+        openStatements(checkContext, dbSchema);
 
         for (TransactionWithdrawalDTO transactionWithdrawalDTO : transactionWithdrawalDTOList) {
-          if (checkStakingBalance(connection, transactionWithdrawalDTO)) {
-            checkedTransactionWithdrawalDTOList.add(transactionWithdrawalDTO);
+          String customerAddress = transactionWithdrawalDTO.getCustomerAddress();
+
+          customerAddressLock.lock(customerAddress);
+
+          try {
+            if (checkStakingBalance(checkContext, transactionWithdrawalDTO)) {
+              checkedTransactionWithdrawalDTOList.add(transactionWithdrawalDTO);
+            }
+          } finally {
+            customerAddressLock.unlock(customerAddress);
           }
         }
 
-        closeStatements();
-        databaseBalanceHelper.closeStatements();
-        databaseBlockHelper.closeStatements();
+        closeStatements(checkContext);
+        checkContext.databaseBalanceHelper.closeStatements();
+        checkContext.databaseBlockHelper.closeStatements();
       } catch (Exception e) {
         LOGGER.error("checkStakingBalance", e);
       } finally {
@@ -134,22 +141,22 @@ public class StakingBalanceChecker {
    * 
    */
   private void openStatements(
-      @Nonnull Connection connection,
+      @Nonnull CheckContext checkContext,
       @Nonnull String dbSchema) throws DfxException {
     LOGGER.trace("openStatements()");
 
     try {
       String stakingWithdrawalReservedSelectByCustomerAddressSql =
           "SELECT * FROM " + dbSchema + ".staking_withdrawal_reserved WHERE token_number=? AND customer_address=?";
-      stakingWithdrawalReservedSelectByCustomerAddressStatement =
-          connection.prepareStatement(DatabaseUtils.replaceSchema(network, stakingWithdrawalReservedSelectByCustomerAddressSql));
+      checkContext.stakingWithdrawalReservedSelectByCustomerAddressStatement =
+          checkContext.connection.prepareStatement(DatabaseUtils.replaceSchema(network, stakingWithdrawalReservedSelectByCustomerAddressSql));
 
       String stakingWithdrawalReservedInsertSql =
           "INSERT INTO " + dbSchema + ".staking_withdrawal_reserved"
               + " (token_number, withdrawal_id, transaction_id, customer_address, vout)"
               + " VALUES (?, ?, ?, ?, ?)";
-      stakingWithdrawalReservedInsertStatement =
-          connection.prepareStatement(DatabaseUtils.replaceSchema(network, stakingWithdrawalReservedInsertSql));
+      checkContext.stakingWithdrawalReservedInsertStatement =
+          checkContext.connection.prepareStatement(DatabaseUtils.replaceSchema(network, stakingWithdrawalReservedInsertSql));
     } catch (Exception e) {
       throw new DfxException("openStatements", e);
     }
@@ -158,12 +165,12 @@ public class StakingBalanceChecker {
   /**
    * 
    */
-  private void closeStatements() throws DfxException {
+  private void closeStatements(@Nonnull CheckContext checkContext) throws DfxException {
     LOGGER.trace("closeStatements()");
 
     try {
-      stakingWithdrawalReservedSelectByCustomerAddressStatement.close();
-      stakingWithdrawalReservedInsertStatement.close();
+      checkContext.stakingWithdrawalReservedSelectByCustomerAddressStatement.close();
+      checkContext.stakingWithdrawalReservedInsertStatement.close();
     } catch (Exception e) {
       throw new DfxException("closeStatements", e);
     }
@@ -173,12 +180,12 @@ public class StakingBalanceChecker {
    * 
    */
   private boolean checkStakingBalance(
-      @Nonnull Connection connection,
+      @Nonnull CheckContext checkContext,
       @Nonnull TransactionWithdrawalDTO transactionWithdrawalDTO) {
     LOGGER.trace("checkStakingBalance()");
 
     try {
-      List<StakingWithdrawalReservedDTO> stakingWithdrawalReservedDTOList = getStakingWithdrawalReservedDTOList(transactionWithdrawalDTO);
+      List<StakingWithdrawalReservedDTO> stakingWithdrawalReservedDTOList = getStakingWithdrawalReservedDTOList(checkContext, transactionWithdrawalDTO);
 
       BigDecimal stakingWithdrawalReservedVout = BigDecimal.ZERO;
 
@@ -200,7 +207,7 @@ public class StakingBalanceChecker {
       BigDecimal totalWithdrawal = stakingWithdrawalReservedVout.add(withdrawalAmount);
 
       // ...
-      BigDecimal stakingBalance = getStakingBalance(transactionWithdrawalDTO);
+      BigDecimal stakingBalance = getStakingBalance(checkContext, transactionWithdrawalDTO);
 
       // ...
       if (-1 == stakingBalance.compareTo(totalWithdrawal)) {
@@ -209,7 +216,7 @@ public class StakingBalanceChecker {
       }
 
       if (!isTransactionIdInReservedList) {
-        insertStakingWithdrawalReserved(connection, transactionWithdrawalDTO);
+        insertStakingWithdrawalReserved(checkContext, transactionWithdrawalDTO);
       }
 
       transactionWithdrawalDTO.setState(TransactionWithdrawalStateEnum.BALANCE_CHECKED);
@@ -227,6 +234,7 @@ public class StakingBalanceChecker {
    *  
    */
   private List<StakingWithdrawalReservedDTO> getStakingWithdrawalReservedDTOList(
+      @Nonnull CheckContext checkContext,
       @Nonnull TransactionWithdrawalDTO transactionWithdrawalDTO) throws DfxException {
     LOGGER.trace("getStakingWithdrawalReservedDTOList()");
 
@@ -235,6 +243,9 @@ public class StakingBalanceChecker {
 
       TokenEnum token = transactionWithdrawalDTO.getPendingWithdrawalDTO().getToken();
 
+      PreparedStatement stakingWithdrawalReservedSelectByCustomerAddressStatement =
+          checkContext.stakingWithdrawalReservedSelectByCustomerAddressStatement;
+
       String customerAddress = transactionWithdrawalDTO.getCustomerAddress();
       stakingWithdrawalReservedSelectByCustomerAddressStatement.setInt(1, token.getNumber());
       stakingWithdrawalReservedSelectByCustomerAddressStatement.setString(2, customerAddress);
@@ -264,19 +275,20 @@ public class StakingBalanceChecker {
    * 
    */
   private BigDecimal getStakingBalance(
+      @Nonnull CheckContext checkContext,
       @Nonnull TransactionWithdrawalDTO transactionWithdrawalDTO) throws DfxException {
     LOGGER.trace("getStakingBalance()");
 
     BigDecimal stakingBalance = BigDecimal.ZERO;
 
     String customerAddress = transactionWithdrawalDTO.getCustomerAddress();
-    AddressDTO addressDTO = databaseBlockHelper.getAddressDTOByAddress(customerAddress);
+    AddressDTO addressDTO = checkContext.databaseBlockHelper.getAddressDTOByAddress(customerAddress);
 
     if (null != addressDTO) {
       TokenEnum token = transactionWithdrawalDTO.getPendingWithdrawalDTO().getToken();
       int customerAddressNumber = addressDTO.getNumber();
 
-      List<StakingDTO> stakingDTOList = databaseBalanceHelper.getStakingDTOListByCustomerAddressNumber(token, customerAddressNumber);
+      List<StakingDTO> stakingDTOList = checkContext.databaseBalanceHelper.getStakingDTOListByCustomerAddressNumber(token, customerAddressNumber);
 
       for (StakingDTO stakingDTO : stakingDTOList) {
         stakingBalance = stakingBalance.add(stakingDTO.getVin().subtract(stakingDTO.getVout()));
@@ -290,11 +302,15 @@ public class StakingBalanceChecker {
    * 
    */
   private void insertStakingWithdrawalReserved(
-      @Nonnull Connection connection,
+      @Nonnull CheckContext checkContext,
       @Nonnull TransactionWithdrawalDTO transactionWithdrawalDTO) throws DfxException {
     LOGGER.trace("insertStakingWithdrawalReserved()");
 
+    Connection connection = checkContext.connection;
+
     try {
+      PreparedStatement stakingWithdrawalReservedInsertStatement = checkContext.stakingWithdrawalReservedInsertStatement;
+
       OpenTransactionDTO openTransactionDTO = transactionWithdrawalDTO.getOpenTransactionDTO();
       PendingWithdrawalDTO pendingWithdrawalDTO = transactionWithdrawalDTO.getPendingWithdrawalDTO();
 
@@ -314,4 +330,24 @@ public class StakingBalanceChecker {
       throw new DfxException("insertStakingWithdrawalReserved: " + e.getMessage(), e);
     }
   }
+
+  /**
+   * Connection, helpers and statements of one checkStakingBalance() call ...
+   */
+  private class CheckContext {
+    private final Connection connection;
+
+    private final DatabaseBlockHelper databaseBlockHelper;
+    private final DatabaseBalanceHelper databaseBalanceHelper;
+
+    private PreparedStatement stakingWithdrawalReservedSelectByCustomerAddressStatement = null;
+    private PreparedStatement stakingWithdrawalReservedInsertStatement = null;
+
+    private CheckContext(@Nonnull Connection connection) {
+      this.connection = connection;
+
+      this.databaseBlockHelper = new DatabaseBlockHelper(network);
+      this.databaseBalanceHelper = new DatabaseBalanceHelper(network);
+    }
+  }
 }
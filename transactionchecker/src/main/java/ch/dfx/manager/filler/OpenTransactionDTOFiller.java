@@ -1,5 +1,8 @@
 package ch.dfx.manager.filler;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.annotation.Nonnull;
 
 import org.apache.commons.lang3.StringUtils;
@@ -13,10 +16,14 @@ import ch.dfx.api.data.transaction.OpenTransactionDTOList;
 import ch.dfx.api.data.transaction.OpenTransactionPayloadDTO;
 import ch.dfx.api.data.transaction.OpenTransactionRawTxDTO;
 import ch.dfx.api.enumeration.ApiTransactionTypeEnum;
-import ch.dfx.common.errorhandling.DefiChainException;
+import ch.dfx.common.config.ConfigProvider;
+import ch.dfx.common.config.TransactionCheckerConfigEnum;
+import ch.dfx.common.enumeration.NetworkEnum;
 import ch.dfx.common.errorhandling.DfxException;
 import ch.dfx.defichain.data.custom.DefiCustomData;
 import ch.dfx.defichain.data.transaction.DefiTransactionData;
+import ch.dfx.defichain.decoder.DefiScriptDecoder;
+import ch.dfx.defichain.decoder.DefiTransactionDecoder;
 import ch.dfx.defichain.handler.DefiMessageHandler;
 import ch.dfx.defichain.provider.DefiDataProvider;
 import ch.dfx.manager.ManagerUtils;
@@ -32,16 +39,21 @@ public class OpenTransactionDTOFiller {
   private final DefiMessageHandler messageHandler;
   private final DefiDataProvider dataProvider;
 
+  private final DefiTransactionDecoder transactionDecoder;
+
   /**
    * 
    */
   public OpenTransactionDTOFiller(
+      @Nonnull NetworkEnum network,
       @Nonnull ApiAccessHandler apiAccessHandler,
       @Nonnull DefiMessageHandler messageHandler,
       @Nonnull DefiDataProvider dataProvider) {
     this.apiAccessHandler = apiAccessHandler;
     this.messageHandler = messageHandler;
     this.dataProvider = dataProvider;
+
+    this.transactionDecoder = DefiScriptDecoder.isSupported(network) ? new DefiTransactionDecoder(network) : null;
   }
 
   /**
@@ -86,9 +98,52 @@ public class OpenTransactionDTOFiller {
 
     OpenTransactionDTOList filledOpenTransactionDTOList = new OpenTransactionDTOList();
 
+    // ...
+    List<OpenTransactionDTO> decodeOpenTransactionDTOList = new ArrayList<>();
+    List<String> hexList = new ArrayList<>();
+
     for (OpenTransactionDTO openTransactionDTO : openTransactionDTOList) {
-      if (doFillChainTransactionDetail(openTransactionDTO)) {
-        filledOpenTransactionDTOList.add(openTransactionDTO);
+      String hex = openTransactionDTO.getRawTx().getHex();
+
+      if (StringUtils.isEmpty(hex)) {
+        sendInvalidRawTransaction(openTransactionDTO);
+      } else {
+        decodeOpenTransactionDTOList.add(openTransactionDTO);
+        hexList.add(hex);
+      }
+    }
+
+    // ...
+    if (!hexList.isEmpty()) {
+      List<DefiTransactionData> transactionDataList = new ArrayList<>();
+      List<DefiCustomData> customDataList = new ArrayList<>();
+
+      boolean isLocalDecoder =
+          null != transactionDecoder
+              && ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.DFI_LOCAL_DECODER, false);
+
+      if (isLocalDecoder) {
+        decodeLocal(hexList, transactionDataList, customDataList);
+      } else {
+        transactionDataList.addAll(dataProvider.decodeRawTransactions(hexList));
+        customDataList.addAll(dataProvider.decodeCustomTransactions(hexList));
+      }
+
+      for (int i = 0; i < decodeOpenTransactionDTOList.size(); i++) {
+        OpenTransactionDTO openTransactionDTO = decodeOpenTransactionDTOList.get(i);
+
+        DefiTransactionData transactionData = transactionDataList.get(i);
+        DefiCustomData customData = customDataList.get(i);
+
+        if (null == transactionData
+            || null == customData) {
+          sendInvalidRawTransaction(openTransactionDTO);
+        } else {
+          openTransactionDTO.setTransactionData(transactionData);
+          openTransactionDTO.setTransactionCustomData(customData);
+
+          filledOpenTransactionDTOList.add(openTransactionDTO);
+        }
       }
     }
 
@@ -96,34 +151,75 @@ public class OpenTransactionDTOFiller {
   }
 
   /**
-   * 
+   * Decoding without the node, only the custom transaction types unknown to the local decoder are sent to the node.
+   * A transaction the local decoder cannot decode at all is completely decoded by the node,
+   * it is only invalid, if the node cannot decode it either ...
    */
-  private boolean doFillChainTransactionDetail(@Nonnull OpenTransactionDTO openTransactionDTO) throws DfxException {
-    LOGGER.trace("doFillChainTransactionDetail()");
+  void decodeLocal(
+      @Nonnull List<String> hexList,
+      @Nonnull List<DefiTransactionData> transactionDataList,
+      @Nonnull List<DefiCustomData> customDataList) throws DfxException {
+    LOGGER.trace("decodeLocal()");
 
-    boolean isValid;
+    List<Integer> nodeTransactionIndexList = new ArrayList<>();
+    List<String> nodeTransactionHexList = new ArrayList<>();
 
-    try {
-      String hex = openTransactionDTO.getRawTx().getHex();
+    List<Integer> nodeCustomIndexList = new ArrayList<>();
+    List<String> nodeCustomHexList = new ArrayList<>();
+
+    for (int i = 0; i < hexList.size(); i++) {
+      String hex = hexList.get(i);
+
+      DefiTransactionData transactionData = null;
+      DefiCustomData customData = null;
 
-      isValid = !StringUtils.isEmpty(hex);
+      try {
+        transactionData = transactionDecoder.decodeRawTransaction(hex);
+        customData = transactionDecoder.decodeCustomTransaction(transactionData);
+      } catch (Exception e) {
+        LOGGER.debug("decodeLocal: fallback to the node: " + e.getMessage());
 
-      if (isValid) {
-        DefiTransactionData transactionData = dataProvider.decodeRawTransaction(hex);
-        DefiCustomData customData = dataProvider.decodeCustomTransaction(hex);
+        transactionData = null;
+        customData = null;
+
+        nodeTransactionIndexList.add(i);
+        nodeTransactionHexList.add(hex);
+      }
 
-        openTransactionDTO.setTransactionData(transactionData);
-        openTransactionDTO.setTransactionCustomData(customData);
+      if (null == customData) {
+        nodeCustomIndexList.add(i);
+        nodeCustomHexList.add(hex);
       }
-    } catch (DefiChainException e) {
-      isValid = false;
+
+      transactionDataList.add(transactionData);
+      customDataList.add(customData);
     }
 
-    if (!isValid) {
-      openTransactionDTO.setInvalidatedReason("[Transaction] ID: " + openTransactionDTO.getId() + " - invalid raw transaction");
-      ManagerUtils.sendInvalidated(messageHandler, apiAccessHandler, openTransactionDTO);
+    // ...
+    if (!nodeTransactionHexList.isEmpty()) {
+      List<DefiTransactionData> nodeTransactionDataList = dataProvider.decodeRawTransactions(nodeTransactionHexList);
+
+      for (int i = 0; i < nodeTransactionIndexList.size(); i++) {
+        transactionDataList.set(nodeTransactionIndexList.get(i), nodeTransactionDataList.get(i));
+      }
     }
 
-    return isValid;
+    if (!nodeCustomHexList.isEmpty()) {
+      List<DefiCustomData> nodeCustomDataList = dataProvider.decodeCustomTransactions(nodeCustomHexList);
+
+      for (int i = 0; i < nodeCustomIndexList.size(); i++) {
+        customDataList.set(nodeCustomIndexList.get(i), nodeCustomDataList.get(i));
+      }
+    }
+  }
+
+  /**
+   * 
+   */
+  private void sendInvalidRawTransaction(@Nonnull OpenTransactionDTO openTransactionDTO) throws DfxException {
+    LOGGER.trace("sendInvalidRawTransaction()");
+
+    openTransactionDTO.setInvalidatedReason("[Transaction] ID: " + openTransactionDTO.getId() + " - invalid raw transaction");
+    ManagerUtils.sendInvalidated(messageHandler, apiAccessHandler, openTransactionDTO);
   }
 }
@@ -13,7 +13,12 @@ import org.apache.logging.log4j.Logger;
 import ch.dfx.common.config.TransactionCheckerConfigEnum;
 import ch.dfx.common.config.ConfigProvider;
 import ch.dfx.common.errorhandling.DfxException;
+import ch.dfx.defichain.provider.DefiDataProviderCacheMetrics;
+import ch.dfx.manager.OpenTransactionMetrics;
 import ch.dfx.process.data.ProcessInfoDTO;
+import ch.dfx.transactionserver.database.DatabasePhaseMetrics;
+import ch.dfx.transactionserver.database.H2DBPoolMetrics;
+import ch.dfx.transactionserver.scheduler.SchedulerProviderMetrics;
 import ch.dfx.transactionserver.scheduler.SchedulerProviderRunnable;
 
 /**
@@ -62,6 +67,12 @@ public class ProcessInfoProvider implements SchedulerProviderRunnable {
         ProcessInfoDTO processInfoDTO = getProcessInfoDTO();
         processInfoService.sendProcessInfo(processInfoDTO);
       }
+
+      LOGGER.debug("[DatabasePhaseMetrics] " + DatabasePhaseMetrics.getInstance());
+      LOGGER.debug("[OpenTransactionMetrics] " + OpenTransactionMetrics.getInstance());
+      LOGGER.debug("[H2DBPoolMetrics] " + H2DBPoolMetrics.getInstance());
+      LOGGER.debug("[DefiDataProviderCacheMetrics] " + DefiDataProviderCacheMetrics.getInstance());
+      LOGGER.debug("[SchedulerProviderMetrics] " + SchedulerProviderMetrics.getInstance());
     } catch (Throwable t) {
       processInfoService = null;
       LOGGER.error("run", t);
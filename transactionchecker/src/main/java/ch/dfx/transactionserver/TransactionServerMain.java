@@ -31,8 +31,11 @@ import ch.dfx.transactionserver.builder.DatabaseBuilder;
 import ch.dfx.transactionserver.database.DatabaseRunnable;
 import ch.dfx.transactionserver.database.H2DBManager;
 import ch.dfx.transactionserver.database.H2DBManagerImpl;
+import ch.dfx.transactionserver.database.H2DBManagerPoolImpl;
 import ch.dfx.transactionserver.database.helper.DatabaseBlockHelper;
+import ch.dfx.transactionserver.handler.DatabaseAddressDeltaHandler;
 import ch.dfx.transactionserver.handler.DatabaseAddressHandler;
+import ch.dfx.transactionserver.handler.DatabaseUtxoHandler;
 import ch.dfx.transactionserver.scheduler.SchedulerProvider;
 
 /**
@@ -108,7 +111,13 @@ public class TransactionServerMain {
   public TransactionServerMain(@Nonnull NetworkEnum network) {
     this.network = network;
 
-    this.databaseManager = new H2DBManagerImpl();
+    // the own database is accessed embedded, the TCP server is for the reporting and the tools ...
+    boolean isEmbedded =
+        NetworkEnum.STAGNET != network
+            && ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.H2_EMBEDDED, true);
+    LOGGER.debug("H2 embedded: " + isEmbedded);
+
+    this.databaseManager = new H2DBManagerPoolImpl(new H2DBManagerImpl(isEmbedded));
 
     this.messageEventCollector = new MessageEventCollector();
     this.messageEventProvider = new MessageEventProvider(messageEventCollector);
@@ -140,11 +149,13 @@ public class TransactionServerMain {
 
       DatabaseBlockHelper databaseBlockHelper = new DatabaseBlockHelper(network);
       DatabaseAddressHandler databaseAddressHandler = new DatabaseAddressHandler(network);
+      DatabaseUtxoHandler databaseUtxoHandler = new DatabaseUtxoHandler(network);
+      DatabaseAddressDeltaHandler databaseAddressDeltaHandler = new DatabaseAddressDeltaHandler();
 
       Connection connection = databaseManager.openConnection();
       databaseBlockHelper.openStatements(connection);
 
-      DatabaseBuilder databaseBuilder = new DatabaseBuilder(network, databaseBlockHelper, databaseAddressHandler);
+      DatabaseBuilder databaseBuilder = new DatabaseBuilder(network, databaseBlockHelper, databaseAddressHandler, databaseUtxoHandler, databaseAddressDeltaHandler);
       databaseBuilder.build(connection);
 
       databaseBlockHelper.closeStatements();
@@ -241,6 +252,8 @@ public class TransactionServerMain {
       unloadWallet();
     }
 
+    databaseManager.shutdown();
+
     stopDatabaseServer();
 
     deleteProcessLockfile();
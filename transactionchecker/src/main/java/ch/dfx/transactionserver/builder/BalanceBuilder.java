@@ -6,8 +6,10 @@ import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_STAKING_SCHE
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.annotation.Nonnull;
@@ -15,6 +17,8 @@ import javax.annotation.Nonnull;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import ch.dfx.common.config.ConfigProvider;
+import ch.dfx.common.config.TransactionCheckerConfigEnum;
 import ch.dfx.common.enumeration.NetworkEnum;
 import ch.dfx.common.enumeration.TokenEnum;
 import ch.dfx.common.errorhandling.DfxException;
@@ -23,6 +27,7 @@ import ch.dfx.transactionserver.data.DepositDTO;
 import ch.dfx.transactionserver.data.StakingAddressDTO;
 import ch.dfx.transactionserver.database.DatabaseUtils;
 import ch.dfx.transactionserver.database.helper.DatabaseBalanceHelper;
+import ch.dfx.transactionserver.handler.DatabaseAddressDeltaHandler;
 
 /**
  * 
@@ -37,20 +42,32 @@ public class BalanceBuilder {
   private PreparedStatement balanceInsertStatement = null;
   private PreparedStatement balanceUpdateStatement = null;
 
+  private PreparedStatement voutGroupSelectStatement = null;
+  private PreparedStatement vinGroupSelectStatement = null;
+  private PreparedStatement balanceMergeStatement = null;
+
   // ...
   private final NetworkEnum network;
 
   private final DatabaseBalanceHelper databaseBalanceHelper;
+  private final DatabaseAddressDeltaHandler databaseAddressDeltaHandler;
+
+  // ...
+  private int calcCounter = 0;
+  private int skipCounter = 0;
+  private int missedDeltaCounter = 0;
 
   /**
    * 
    */
   public BalanceBuilder(
       @Nonnull NetworkEnum network,
-      @Nonnull DatabaseBalanceHelper databaseBalanceHelper) {
+      @Nonnull DatabaseBalanceHelper databaseBalanceHelper,
+      @Nonnull DatabaseAddressDeltaHandler databaseAddressDeltaHandler) {
     this.network = network;
 
     this.databaseBalanceHelper = databaseBalanceHelper;
+    this.databaseAddressDeltaHandler = databaseAddressDeltaHandler;
   }
 
   /**
@@ -66,8 +83,19 @@ public class BalanceBuilder {
     try {
       openStatements(connection);
 
-      calcStakingAddressBalance(connection, token);
-      calcDepositBalance(connection, token);
+      boolean isSetBased = ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.H2_BALANCE_SET_BASED, false);
+
+      if (isSetBased) {
+        calcSetBasedBalance(token);
+      } else {
+        long phaseStartTime = System.currentTimeMillis();
+        calcStakingAddressBalance(connection, token);
+        LOGGER.debug("[BalanceBuilder] Staking Address runtime: " + (System.currentTimeMillis() - phaseStartTime));
+
+        phaseStartTime = System.currentTimeMillis();
+        calcDepositBalance(connection, token);
+        LOGGER.debug("[BalanceBuilder] Deposit runtime: " + (System.currentTimeMillis() - phaseStartTime));
+      }
 
       closeStatements();
 
@@ -79,6 +107,10 @@ public class BalanceBuilder {
       DatabaseUtils.rollback(connection);
       throw new DfxException("build", e);
     } finally {
+      LOGGER.debug(
+          "[BalanceBuilder] Addresses: calculated=" + calcCounter
+              + " / skipped=" + skipCounter
+              + " / missed delta=" + missedDeltaCounter);
       LOGGER.debug("[BalanceBuilder] runtime: " + (System.currentTimeMillis() - startTime));
     }
   }
@@ -116,6 +148,66 @@ public class BalanceBuilder {
               + " SET block_number=?, transaction_count=?, vout=?, vin=?"
               + " WHERE token_number=? AND address_number=?";
       balanceUpdateStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, balanceUpdateSql));
+
+      // Set based ...
+      String balanceAddressSql =
+          "WITH A AS ("
+              + "SELECT liquidity_address_number AS address_number"
+              + " FROM " + TOKEN_STAKING_SCHEMA + ".staking_address"
+              + " WHERE token_number=?"
+              + " UNION"
+              + " SELECT reward_address_number AS address_number"
+              + " FROM " + TOKEN_STAKING_SCHEMA + ".staking_address"
+              + " WHERE token_number=? AND reward_address_number<>-1"
+              + " UNION"
+              + " SELECT deposit_address_number AS address_number"
+              + " FROM " + TOKEN_STAKING_SCHEMA + ".deposit"
+              + ")";
+
+      String voutGroupSelectSql =
+          balanceAddressSql
+              + " SELECT"
+              + " at_out.address_number,"
+              + " MAX(at_out.block_number) AS block_number,"
+              + " COUNT(*) AS count,"
+              + " SUM(at_out.vout) AS vout"
+              + " FROM A"
+              + " JOIN " + TOKEN_PUBLIC_SCHEMA + ".address_transaction_out at_out ON"
+              + " A.address_number = at_out.address_number"
+              + " LEFT JOIN " + TOKEN_STAKING_SCHEMA + ".balance b ON"
+              + " b.token_number=?"
+              + " AND A.address_number = b.address_number"
+              + " WHERE"
+              + " at_out.block_number > COALESCE(b.block_number, -1)"
+              + " GROUP BY"
+              + " at_out.address_number";
+      voutGroupSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, voutGroupSelectSql));
+
+      String vinGroupSelectSql =
+          balanceAddressSql
+              + " SELECT"
+              + " at_in.address_number,"
+              + " MAX(at_in.block_number) AS block_number,"
+              + " COUNT(*) AS count,"
+              + " SUM(at_in.vin) AS vin"
+              + " FROM A"
+              + " JOIN " + TOKEN_PUBLIC_SCHEMA + ".address_transaction_in at_in ON"
+              + " A.address_number = at_in.address_number"
+              + " LEFT JOIN " + TOKEN_STAKING_SCHEMA + ".balance b ON"
+              + " b.token_number=?"
+              + " AND A.address_number = b.address_number"
+              + " WHERE"
+              + " at_in.block_number > COALESCE(b.block_number, -1)"
+              + " GROUP BY"
+              + " at_in.address_number";
+      vinGroupSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, vinGroupSelectSql));
+
+      String balanceMergeSql =
+          "MERGE INTO " + TOKEN_STAKING_SCHEMA + ".balance"
+              + " (token_number, address_number, block_number, transaction_count, vout, vin)"
+              + " KEY (token_number, address_number)"
+              + " VALUES(?, ?, ?, ?, ?, ?)";
+      balanceMergeStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, balanceMergeSql));
     } catch (Exception e) {
       throw new DfxException("openStatements", e);
     }
@@ -133,6 +225,10 @@ public class BalanceBuilder {
 
       balanceInsertStatement.close();
       balanceUpdateStatement.close();
+
+      voutGroupSelectStatement.close();
+      vinGroupSelectStatement.close();
+      balanceMergeStatement.close();
     } catch (Exception e) {
       throw new DfxException("closeStatements", e);
     }
@@ -157,7 +253,7 @@ public class BalanceBuilder {
 
     for (int stakingAddressNumber : stakingAddressNumberSet) {
       if (-1 != stakingAddressNumber) {
-        calcBalance(connection, token, stakingAddressNumber);
+        calcChangedBalance(connection, token, stakingAddressNumber);
       }
     }
   }
@@ -173,14 +269,173 @@ public class BalanceBuilder {
     List<DepositDTO> depositDTOList = databaseBalanceHelper.getDepositDTOList();
 
     for (DepositDTO depositDTO : depositDTOList) {
-      calcBalance(connection, token, depositDTO.getDepositAddressNumber());
+      calcChangedBalance(connection, token, depositDTO.getDepositAddressNumber());
+    }
+  }
+
+  /**
+   * All staking and deposit addresses at once: one grouped query for the outputs and one for the inputs,
+   * each only reading the blocks after the stored balance block number, then one batched merge.
+   */
+  private void calcSetBasedBalance(@Nonnull TokenEnum token) throws DfxException {
+    LOGGER.trace("calcSetBasedBalance()");
+
+    try {
+      // ...
+      long phaseStartTime = System.currentTimeMillis();
+      Map<Integer, BalanceDTO> voutBalanceDTOMap = calcGroupedBalance(voutGroupSelectStatement, token, "vout");
+      LOGGER.debug("[BalanceBuilder] Vout runtime: " + (System.currentTimeMillis() - phaseStartTime));
+
+      phaseStartTime = System.currentTimeMillis();
+      Map<Integer, BalanceDTO> vinBalanceDTOMap = calcGroupedBalance(vinGroupSelectStatement, token, "vin");
+      LOGGER.debug("[BalanceBuilder] Vin runtime: " + (System.currentTimeMillis() - phaseStartTime));
+
+      // ...
+      phaseStartTime = System.currentTimeMillis();
+
+      Map<Integer, BalanceDTO> storedBalanceDTOMap = new HashMap<>();
+      databaseBalanceHelper.getBalanceDTOList(token).forEach(dto -> storedBalanceDTOMap.put(dto.getAddressNumber(), dto));
+
+      Set<Integer> changedAddressNumberSet = new HashSet<>(voutBalanceDTOMap.keySet());
+      changedAddressNumberSet.addAll(vinBalanceDTOMap.keySet());
+
+      for (int addressNumber : changedAddressNumberSet) {
+        BalanceDTO balanceDTO = storedBalanceDTOMap.get(addressNumber);
+
+        if (null == balanceDTO) {
+          balanceDTO = new BalanceDTO(token.getNumber(), addressNumber);
+        }
+
+        BalanceDTO voutBalanceDTO = voutBalanceDTOMap.get(addressNumber);
+        BalanceDTO vinBalanceDTO = vinBalanceDTOMap.get(addressNumber);
+
+        if (null != voutBalanceDTO) {
+          balanceDTO.setBlockNumber(Math.max(balanceDTO.getBlockNumber(), voutBalanceDTO.getBlockNumber()));
+          balanceDTO.addTransactionCount(voutBalanceDTO.getTransactionCount());
+          balanceDTO.addVout(voutBalanceDTO.getVout());
+        }
+
+        if (null != vinBalanceDTO) {
+          balanceDTO.setBlockNumber(Math.max(balanceDTO.getBlockNumber(), vinBalanceDTO.getBlockNumber()));
+          balanceDTO.addTransactionCount(vinBalanceDTO.getTransactionCount());
+          balanceDTO.addVin(vinBalanceDTO.getVin());
+        }
+
+        addMergeBalance(balanceDTO);
+
+        // ...
+        calcCounter++;
+
+        if (databaseAddressDeltaHandler.isVerification()
+            && !databaseAddressDeltaHandler.isChanged(addressNumber)) {
+          missedDeltaCounter++;
+          LOGGER.warn("[BalanceBuilder] Verification: balance changed without delta, address " + addressNumber);
+        }
+      }
+
+      balanceMergeStatement.executeBatch();
+
+      LOGGER.debug("[BalanceBuilder] Merge runtime: " + (System.currentTimeMillis() - phaseStartTime));
+    } catch (DfxException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new DfxException("calcSetBasedBalance", e);
     }
   }
 
   /**
    * 
    */
-  private void calcBalance(
+  private Map<Integer, BalanceDTO> calcGroupedBalance(
+      @Nonnull PreparedStatement groupSelectStatement,
+      @Nonnull TokenEnum token,
+      @Nonnull String amountColumn) throws DfxException {
+    LOGGER.trace("calcGroupedBalance()");
+
+    try {
+      Map<Integer, BalanceDTO> addressToBalanceDTOMap = new HashMap<>();
+
+      groupSelectStatement.setInt(1, token.getNumber());
+      groupSelectStatement.setInt(2, token.getNumber());
+      groupSelectStatement.setInt(3, token.getNumber());
+
+      ResultSet resultSet = groupSelectStatement.executeQuery();
+
+      while (resultSet.next()) {
+        BalanceDTO balanceDTO = new BalanceDTO(token.getNumber(), resultSet.getInt("address_number"));
+
+        balanceDTO.setBlockNumber(resultSet.getInt("block_number"));
+        balanceDTO.setTransactionCount(resultSet.getInt("count"));
+
+        if ("vout".equals(amountColumn)) {
+          balanceDTO.setVout(resultSet.getBigDecimal(amountColumn));
+        } else {
+          balanceDTO.setVin(resultSet.getBigDecimal(amountColumn));
+        }
+
+        addressToBalanceDTOMap.put(balanceDTO.getAddressNumber(), balanceDTO);
+      }
+
+      resultSet.close();
+
+      return addressToBalanceDTOMap;
+    } catch (Exception e) {
+      throw new DfxException("calcGroupedBalance", e);
+    }
+  }
+
+  /**
+   * 
+   */
+  private void addMergeBalance(@Nonnull BalanceDTO balanceDTO) throws DfxException {
+    LOGGER.trace("addMergeBalance()");
+
+    try {
+      balanceMergeStatement.setInt(1, balanceDTO.getTokenNumber());
+      balanceMergeStatement.setInt(2, balanceDTO.getAddressNumber());
+      balanceMergeStatement.setInt(3, balanceDTO.getBlockNumber());
+      balanceMergeStatement.setInt(4, balanceDTO.getTransactionCount());
+      balanceMergeStatement.setBigDecimal(5, balanceDTO.getVout());
+      balanceMergeStatement.setBigDecimal(6, balanceDTO.getVin());
+      balanceMergeStatement.addBatch();
+    } catch (Exception e) {
+      throw new DfxException("addMergeBalance", e);
+    }
+  }
+
+  /**
+   * Incremental: only addresses with a delta since the last run are calculated.
+   * Verification: all addresses are calculated, a changed balance without delta is reported.
+   */
+  private void calcChangedBalance(
+      @Nonnull Connection connection,
+      @Nonnull TokenEnum token,
+      int addressNumber) throws DfxException {
+    LOGGER.trace("calcChangedBalance()");
+
+    boolean isChanged = databaseAddressDeltaHandler.isChanged(addressNumber);
+
+    if (databaseAddressDeltaHandler.isIncremental()
+        && !isChanged) {
+      skipCounter++;
+    } else {
+      calcCounter++;
+
+      boolean isBalanceChanged = calcBalance(connection, token, addressNumber);
+
+      if (isBalanceChanged
+          && !isChanged
+          && databaseAddressDeltaHandler.isVerification()) {
+        missedDeltaCounter++;
+        LOGGER.warn("[BalanceBuilder] Verification: balance changed without delta, address " + addressNumber);
+      }
+    }
+  }
+
+  /**
+   * 
+   */
+  private boolean calcBalance(
       @Nonnull Connection connection,
       @Nonnull TokenEnum token,
       int addressNumber) throws DfxException {
@@ -216,10 +471,14 @@ public class BalanceBuilder {
       if (-1 != balanceDTO.getBlockNumber()) {
         if (-1 == balanceBlockNumber) {
           insertBalance(balanceDTO);
+          return true;
         } else if (maxBalanceBlockNumber > balanceBlockNumber) {
           updateBalance(balanceDTO);
+          return true;
         }
       }
+
+      return false;
     } catch (DfxException e) {
       throw e;
     } catch (Exception e) {
@@ -15,6 +15,7 @@ import ch.dfx.common.enumeration.TokenEnum;
 import ch.dfx.transactionserver.database.H2DBManager;
 import ch.dfx.transactionserver.database.H2DBManagerImpl;
 import ch.dfx.transactionserver.database.helper.DatabaseBalanceHelper;
+import ch.dfx.transactionserver.handler.DatabaseAddressDeltaHandler;
 
 /**
  * 
@@ -60,7 +61,7 @@ public class BalanceBuilderMain {
       databaseBalanceHelper.openStatements(connection, TOKEN_STAKING_SCHEMA);
 
       // ...
-      BalanceBuilder balanceBuilder = new BalanceBuilder(network, databaseBalanceHelper);
+      BalanceBuilder balanceBuilder = new BalanceBuilder(network, databaseBalanceHelper, new DatabaseAddressDeltaHandler());
       balanceBuilder.build(connection, TokenEnum.DFI);
 
       // ...
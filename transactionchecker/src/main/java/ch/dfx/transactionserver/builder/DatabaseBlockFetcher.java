@@ -0,0 +1,71 @@
+package ch.dfx.transactionserver.builder;
+
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import ch.dfx.TransactionCheckerUtils;
+import ch.dfx.common.errorhandling.DfxException;
+import ch.dfx.defichain.data.block.DefiBlockData;
+import ch.dfx.defichain.data.transaction.DefiTransactionData;
+import ch.dfx.defichain.data.transaction.DefiTransactionVinData;
+import ch.dfx.defichain.provider.DefiDataProvider;
+import ch.dfx.transactionserver.builder.data.BlockFetchData;
+import ch.dfx.transactionserver.builder.data.TransactionFetchData;
+
+/**
+ * Reads all node data of a block, without any database access.
+ * Called by the fetcher threads, the result is written by the DatabaseBuilder in block order.
+ */
+public class DatabaseBlockFetcher {
+  private static final Logger LOGGER = LogManager.getLogger(DatabaseBlockFetcher.class);
+
+  // ...
+  private static final String EMPTY_TXID = "0000000000000000000000000000000000000000000000000000000000000000";
+
+  // ...
+  private final DatabaseCustomTransactionBuilder customTransactionBuilder;
+
+  private final DefiDataProvider dataProvider;
+
+  /**
+   * 
+   */
+  public DatabaseBlockFetcher(@Nonnull DatabaseCustomTransactionBuilder customTransactionBuilder) {
+    this.customTransactionBuilder = customTransactionBuilder;
+
+    this.dataProvider = TransactionCheckerUtils.createDefiDataProvider();
+  }
+
+  /**
+   * 
+   */
+  public BlockFetchData fetch(@Nonnull Integer blockNumber) throws DfxException {
+    LOGGER.trace("fetch(): " + blockNumber);
+
+    try {
+      String blockHash = dataProvider.getBlockHash((long) blockNumber);
+      DefiBlockData blockData = dataProvider.getBlockWithTransactions(blockHash);
+
+      BlockFetchData blockFetchData = new BlockFetchData(blockNumber, blockHash, blockData);
+
+      for (DefiTransactionData transactionData : blockData.getTransactionDataList()) {
+        List<DefiTransactionVinData> vin = transactionData.getVin();
+        vin.removeIf((v) -> EMPTY_TXID.equals(v.getTxid()));
+
+        blockFetchData.addTransactionFetchData(new TransactionFetchData(transactionData));
+      }
+
+      customTransactionBuilder.fetchCustomTransactionInfo(dataProvider, blockNumber, blockFetchData.getTransactionFetchDataList());
+
+      return blockFetchData;
+    } catch (DfxException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new DfxException("fetch", e);
+    }
+  }
+}
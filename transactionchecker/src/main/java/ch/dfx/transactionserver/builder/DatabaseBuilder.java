@@ -6,10 +6,16 @@ import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -17,6 +23,8 @@ import javax.annotation.Nullable;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import ch.dfx.TransactionCheckerUtils;
 import ch.dfx.common.config.ConfigProvider;
 import ch.dfx.common.config.TransactionCheckerConfigEnum;
@@ -28,6 +36,8 @@ import ch.dfx.defichain.data.transaction.DefiTransactionScriptPubKeyData;
 import ch.dfx.defichain.data.transaction.DefiTransactionVinData;
 import ch.dfx.defichain.data.transaction.DefiTransactionVoutData;
 import ch.dfx.defichain.provider.DefiDataProvider;
+import ch.dfx.transactionserver.builder.data.BlockFetchData;
+import ch.dfx.transactionserver.builder.data.TransactionFetchData;
 import ch.dfx.transactionserver.data.AddressDTO;
 import ch.dfx.transactionserver.data.AddressTransactionInDTO;
 import ch.dfx.transactionserver.data.AddressTransactionOutDTO;
@@ -35,7 +45,9 @@ import ch.dfx.transactionserver.data.BlockDTO;
 import ch.dfx.transactionserver.data.TransactionDTO;
 import ch.dfx.transactionserver.database.DatabaseUtils;
 import ch.dfx.transactionserver.database.helper.DatabaseBlockHelper;
+import ch.dfx.transactionserver.handler.DatabaseAddressDeltaHandler;
 import ch.dfx.transactionserver.handler.DatabaseAddressHandler;
+import ch.dfx.transactionserver.handler.DatabaseUtxoHandler;
 
 /**
  * 
@@ -43,9 +55,6 @@ import ch.dfx.transactionserver.handler.DatabaseAddressHandler;
 public class DatabaseBuilder {
   private static final Logger LOGGER = LogManager.getLogger(DatabaseBuilder.class);
 
-  // ...
-  private static final String EMPTY_TXID = "0000000000000000000000000000000000000000000000000000000000000000";
-
   // ...
   private PreparedStatement transactionOutSelectStatement = null;
   private PreparedStatement addressTransactionOutSelectStatement = null;
@@ -55,8 +64,11 @@ public class DatabaseBuilder {
 
   private final DatabaseBlockHelper databaseBlockHelper;
   private final DatabaseAddressHandler databaseAddressHandler;
+  private final DatabaseUtxoHandler databaseUtxoHandler;
+  private final DatabaseAddressDeltaHandler databaseAddressDeltaHandler;
 
   private final DatabaseCustomTransactionBuilder customTransactionBuilder;
+  private final DatabaseBlockFetcher blockFetcher;
 
   private final DefiDataProvider dataProvider;
 
@@ -69,14 +81,19 @@ public class DatabaseBuilder {
   public DatabaseBuilder(
       @Nonnull NetworkEnum network,
       @Nonnull DatabaseBlockHelper databaseBlockHelper,
-      @Nonnull DatabaseAddressHandler databaseAddressHandler) {
+      @Nonnull DatabaseAddressHandler databaseAddressHandler,
+      @Nonnull DatabaseUtxoHandler databaseUtxoHandler,
+      @Nonnull DatabaseAddressDeltaHandler databaseAddressDeltaHandler) {
     this.network = network;
 
     this.databaseBlockHelper = databaseBlockHelper;
     this.databaseAddressHandler = databaseAddressHandler;
+    this.databaseUtxoHandler = databaseUtxoHandler;
+    this.databaseAddressDeltaHandler = databaseAddressDeltaHandler;
 
     this.customTransactionBuilder =
         new DatabaseCustomTransactionBuilder(network, databaseBlockHelper, databaseAddressHandler);
+    this.blockFetcher = new DatabaseBlockFetcher(customTransactionBuilder);
 
     this.dataProvider = TransactionCheckerUtils.createDefiDataProvider();
   }
@@ -98,6 +115,7 @@ public class DatabaseBuilder {
       // ...
       customTransactionBuilder.fillCustomTypeCodeToNumberMap(connection);
       databaseAddressHandler.setup(connection);
+      databaseUtxoHandler.setup(connection);
 
       // ...
       nextBlockNumber = DatabaseUtils.getNextBlockNumber(network, connection);
@@ -105,39 +123,59 @@ public class DatabaseBuilder {
       // ...
       int syncLoop = Integer.parseInt(ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.H2_SYNC_LOOP));
       int syncCommit = Integer.parseInt(ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.H2_SYNC_COMMIT));
+      int fetchWorker = ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.H2_SYNC_FETCH_WORKER, 4);
+      int fetchDepth = ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.H2_SYNC_FETCH_DEPTH, 16);
+      int batchSize = ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.H2_SYNC_BATCH_SIZE, 1000);
       LOGGER.debug("Sync Loop:   " + syncLoop);
       LOGGER.debug("Sync Commit: " + syncCommit);
+      LOGGER.debug("Sync Fetch:  " + fetchWorker + " / " + fetchDepth);
+      LOGGER.debug("Sync Batch:  " + batchSize);
 
-      // ...
-      for (int i = 0; i < syncLoop; i++) {
-        if (0 == nextBlockNumber % syncCommit) {
-          connection.commit();
-        }
-
-        if (nextBlockNumber <= blockCount) {
-          LOGGER.debug("[DatabaseBuilder] Block: " + nextBlockNumber);
+      databaseBlockHelper.setBatchSize(batchSize);
 
-          BlockDTO blockDTO = createBlockDTO(connection);
+      // ...
+      int lastBlockNumber = (int) Math.min(blockCount, (long) nextBlockNumber + syncLoop - 1);
 
-          // ...
-          Map<String, AddressDTO> newAddressMap = databaseAddressHandler.getNewAddressMap();
-          databaseBlockHelper.saveAddress(newAddressMap);
-          databaseAddressHandler.reset();
+      if (0 == nextBlockNumber % syncCommit) {
+        connection.commit();
+      }
 
-          databaseBlockHelper.saveBlock(blockDTO);
+      if (1 > fetchWorker) {
+        while (nextBlockNumber <= lastBlockNumber) {
+          writeBlock(connection, syncCommit, blockFetcher.fetch(nextBlockNumber));
         }
+      } else {
+        writeBlockPipelined(connection, syncCommit, lastBlockNumber, fetchWorker, Math.max(1, fetchDepth));
       }
 
+      databaseBlockHelper.flushBatch();
+
       closeStatements();
 
       connection.commit();
     } catch (DfxException e) {
+      databaseBlockHelper.clearBatch();
       DatabaseUtils.rollback(connection);
+      databaseAddressHandler.invalidate();
+      databaseUtxoHandler.invalidate();
       throw e;
     } catch (Exception e) {
+      databaseBlockHelper.clearBatch();
       DatabaseUtils.rollback(connection);
+      databaseAddressHandler.invalidate();
+      databaseUtxoHandler.invalidate();
       throw new DfxException("build", e);
     } finally {
+      databaseBlockHelper.setBatchSize(0);
+
+      LOGGER.debug(
+          "[DatabaseBuilder] Address Cache: size=" + databaseAddressHandler.getCacheSize()
+              + " / hit=" + databaseAddressHandler.getHitCounter()
+              + " / miss=" + databaseAddressHandler.getMissCounter());
+      LOGGER.debug(
+          "[DatabaseBuilder] UTXO Index: size=" + databaseUtxoHandler.size()
+              + " / hit=" + databaseUtxoHandler.getHitCounter()
+              + " / miss=" + databaseUtxoHandler.getMissCounter());
       LOGGER.debug("[DatabaseBuilder] runtime: " + (System.currentTimeMillis() - startTime));
     }
   }
@@ -154,7 +192,8 @@ public class DatabaseBuilder {
       transactionOutSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, transactionOutSelectSql));
 
       String addressTransactionOutSelectSql =
-          "SELECT * FROM " + TOKEN_PUBLIC_SCHEMA + ".address_transaction_out WHERE block_number=? and transaction_number=? and vout_number=?";
+          "SELECT * FROM " + TOKEN_PUBLIC_SCHEMA + ".address_transaction_out WHERE block_number=? and transaction_number=? and vout_number=?"
+              + " ORDER BY _ROWID_";
       addressTransactionOutSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, addressTransactionOutSelectSql));
     } catch (Exception e) {
       throw new DfxException("openStatements", e);
@@ -176,57 +215,120 @@ public class DatabaseBuilder {
   }
 
   /**
-   * 
+   * The fetcher threads read the node data up to fetchDepth blocks ahead,
+   * the database is written here in strict block order on the calling thread.
    */
-  private BlockDTO createBlockDTO(@Nonnull Connection connection) throws DfxException {
-    LOGGER.trace("createBlockDTO()");
+  private void writeBlockPipelined(
+      @Nonnull Connection connection,
+      int syncCommit,
+      int lastBlockNumber,
+      int fetchWorker,
+      int fetchDepth) throws DfxException {
+    LOGGER.trace("writeBlockPipelined()");
 
-    String blockHash = dataProvider.getBlockHash((long) nextBlockNumber);
-    DefiBlockData blockData = dataProvider.getBlock(blockHash);
+    ThreadFactory threadFactory =
+        new ThreadFactoryBuilder().setNameFormat("block-fetcher-%d").setDaemon(true).build();
+    ExecutorService executorService = Executors.newFixedThreadPool(fetchWorker, threadFactory);
 
-    BlockDTO blockDTO = new BlockDTO(nextBlockNumber, blockHash, blockData.getMediantime());
+    Deque<Future<BlockFetchData>> futureQueue = new ArrayDeque<>();
 
-    List<String> transactionIdList = getTransactionIdList(blockData);
+    try {
+      int nextFetchBlockNumber = nextBlockNumber;
 
-    for (int i = 0; i < transactionIdList.size(); i++) {
-      String transactionId = transactionIdList.get(i);
+      while (nextBlockNumber <= lastBlockNumber) {
+        while (nextFetchBlockNumber <= lastBlockNumber
+            && futureQueue.size() < fetchDepth) {
+          Integer fetchBlockNumber = nextFetchBlockNumber++;
+          futureQueue.add(executorService.submit(() -> blockFetcher.fetch(fetchBlockNumber)));
+        }
 
-      TransactionDTO transactionDTO = new TransactionDTO(nextBlockNumber, i, transactionId);
+        writeBlock(connection, syncCommit, futureQueue.poll().get());
+      }
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
 
-      DefiTransactionData transactionData = dataProvider.getTransaction(transactionId, blockHash);
+      if (cause instanceof DfxException) {
+        throw (DfxException) cause;
+      }
 
-      List<DefiTransactionVinData> vin = transactionData.getVin();
-      vin.removeIf((v) -> EMPTY_TXID.equals(v.getTxid()));
+      throw new DfxException("writeBlockPipelined", cause);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DfxException("writeBlockPipelined", e);
+    } finally {
+      futureQueue.forEach(future -> future.cancel(true));
+      executorService.shutdownNow();
+    }
+  }
 
-      fillAddressList(transactionData, blockDTO, transactionDTO);
+  /**
+   * 
+   */
+  private void writeBlock(
+      @Nonnull Connection connection,
+      int syncCommit,
+      @Nonnull BlockFetchData blockFetchData) throws DfxException {
+    LOGGER.debug("[DatabaseBuilder] Block: " + nextBlockNumber);
 
-      customTransactionBuilder.fillCustomTransactionInfo(transactionData, transactionDTO);
+    try {
+      BlockDTO blockDTO = createBlockDTO(blockFetchData);
 
-      blockDTO.addTransactionDTO(transactionDTO);
-    }
+      // ...
+      Map<String, AddressDTO> newAddressMap = databaseAddressHandler.getNewAddressMap();
+      databaseBlockHelper.saveAddress(newAddressMap);
+      databaseAddressHandler.reset();
 
-    nextBlockNumber++;
+      databaseBlockHelper.saveBlock(blockDTO);
+      databaseAddressDeltaHandler.add(blockDTO);
 
-    return blockDTO;
+      if (0 == nextBlockNumber % syncCommit) {
+        databaseBlockHelper.flushBatch();
+        connection.commit();
+      }
+    } catch (DfxException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new DfxException("writeBlock", e);
+    }
   }
 
   /**
    * 
    */
-  private List<String> getTransactionIdList(@Nonnull DefiBlockData blockData) throws DfxException {
-    LOGGER.trace("getTransactionIdList()");
+  private BlockDTO createBlockDTO(@Nonnull BlockFetchData blockFetchData) throws DfxException {
+    LOGGER.trace("createBlockDTO()");
 
-    try {
-      List<String> transactionIdList = new ArrayList<>();
+    if (nextBlockNumber != blockFetchData.getBlockNumber()) {
+      throw new DfxException("Unexpected block " + blockFetchData.getBlockNumber() + ", expected " + nextBlockNumber);
+    }
+
+    String blockHash = blockFetchData.getBlockHash();
+    DefiBlockData blockData = blockFetchData.getBlockData();
+
+    BlockDTO blockDTO = new BlockDTO(nextBlockNumber, blockHash, blockData.getMediantime());
+
+    List<TransactionFetchData> transactionFetchDataList = blockFetchData.getTransactionFetchDataList();
 
-      for (String transactionId : blockData.getTx()) {
-        transactionIdList.add(transactionId);
+    for (int i = 0; i < transactionFetchDataList.size(); i++) {
+      TransactionFetchData transactionFetchData = transactionFetchDataList.get(i);
+      DefiTransactionData transactionData = transactionFetchData.getTransactionData();
+
+      TransactionDTO transactionDTO = new TransactionDTO(nextBlockNumber, i, transactionData.getTxid());
+
+      fillAddressList(transactionData, blockDTO, transactionDTO);
+
+      for (AddressTransactionOutDTO addressTransactionOutDTO : transactionDTO.getAddressTransactionOutDTOList()) {
+        databaseUtxoHandler.add(transactionData.getTxid(), addressTransactionOutDTO);
       }
 
-      return transactionIdList;
-    } catch (Exception e) {
-      throw new DfxException("getTransactionIdList", e);
+      customTransactionBuilder.fillCustomTransactionInfo(transactionFetchData, transactionDTO);
+
+      blockDTO.addTransactionDTO(transactionDTO);
     }
+
+    nextBlockNumber++;
+
+    return blockDTO;
   }
 
   /**
@@ -320,8 +422,11 @@ public class DatabaseBuilder {
       String outTxid = transactionVinData.getTxid();
       Long voutIndex = transactionVinData.getVout();
 
-      AddressTransactionOutDTO addressTransactionOutDTO =
-          getAddressTransactionOutDTOFromCurrentBlock(blockDTO, outTxid, voutIndex);
+      AddressTransactionOutDTO addressTransactionOutDTO = databaseUtxoHandler.spend(outTxid, voutIndex);
+
+      if (null == addressTransactionOutDTO) {
+        addressTransactionOutDTO = getAddressTransactionOutDTOFromCurrentBlock(blockDTO, outTxid, voutIndex);
+      }
 
       if (null == addressTransactionOutDTO) {
         addressTransactionOutDTO = getAddressTransactionOutDTOFromPreviousBlock(outTxid, voutIndex);
@@ -381,13 +486,44 @@ public class DatabaseBuilder {
       @Nonnull Long voutIndex) throws DfxException {
     LOGGER.trace("getAddressTransactionOutDTOFromPreviousBlock()");
 
+    try {
+      AddressTransactionOutDTO addressTransactionOutDTO = selectAddressTransactionOutDTO(outTxid, voutIndex);
+
+      if (null == addressTransactionOutDTO) {
+        // the output can still be pending in the insert batch, if it was evicted from the UTXO index ...
+        databaseBlockHelper.flushBatch();
+
+        addressTransactionOutDTO = selectAddressTransactionOutDTO(outTxid, voutIndex);
+      }
+
+      if (null == addressTransactionOutDTO) {
+        throw new DfxException("No Transaction: " + outTxid + " / " + voutIndex);
+      }
+
+      return addressTransactionOutDTO;
+    } catch (DfxException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new DfxException("getAddressTransactionOutDTOFromPreviousBlock", e);
+    }
+  }
+
+  /**
+   * 
+   */
+  private @Nullable AddressTransactionOutDTO selectAddressTransactionOutDTO(
+      @Nonnull String outTxid,
+      @Nonnull Long voutIndex) throws DfxException {
+    LOGGER.trace("selectAddressTransactionOutDTO()");
+
     try {
       transactionOutSelectStatement.setString(1, outTxid);
 
       ResultSet resultSet1 = transactionOutSelectStatement.executeQuery();
 
       if (!resultSet1.next()) {
-        throw new DfxException("No Transaction: " + outTxid);
+        resultSet1.close();
+        return null;
       }
 
       int inBlockNumber = resultSet1.getInt(1);
@@ -403,7 +539,8 @@ public class DatabaseBuilder {
       ResultSet resultSet2 = addressTransactionOutSelectStatement.executeQuery();
 
       if (!resultSet2.next()) {
-        throw new DfxException("No Transaction: " + inBlockNumber + " / " + inTransactionNumber + " / " + voutIndex);
+        resultSet2.close();
+        return null;
       }
 
       int addressNumber = resultSet2.getInt(4);
@@ -416,10 +553,8 @@ public class DatabaseBuilder {
       addressTransactionOutDTO.setVout(vout);
 
       return addressTransactionOutDTO;
-    } catch (DfxException e) {
-      throw e;
     } catch (Exception e) {
-      throw new DfxException("getAddressTransactionOutDTOFromPreviousBlock", e);
+      throw new DfxException("selectAddressTransactionOutDTO", e);
     }
   }
 
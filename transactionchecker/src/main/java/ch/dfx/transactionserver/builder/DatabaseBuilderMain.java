@@ -20,7 +20,9 @@ import ch.dfx.transactionserver.database.H2DBManager;
 import ch.dfx.transactionserver.database.H2DBManagerImpl;
 import ch.dfx.transactionserver.database.helper.DatabaseBalanceHelper;
 import ch.dfx.transactionserver.database.helper.DatabaseBlockHelper;
+import ch.dfx.transactionserver.handler.DatabaseAddressDeltaHandler;
 import ch.dfx.transactionserver.handler.DatabaseAddressHandler;
+import ch.dfx.transactionserver.handler.DatabaseUtxoHandler;
 import ch.dfx.transactionserver.ymbuilder.YmBalanceBuilder;
 import ch.dfx.transactionserver.ymbuilder.YmDepositBuilder;
 import ch.dfx.transactionserver.ymbuilder.YmStakingBuilder;
@@ -69,13 +71,15 @@ public class DatabaseBuilderMain {
       databaseBlockHelper.openStatements(connection);
 
       DatabaseAddressHandler databaseAddressHandler = new DatabaseAddressHandler(network);
+      DatabaseUtxoHandler databaseUtxoHandler = new DatabaseUtxoHandler(network);
+      DatabaseAddressDeltaHandler databaseAddressDeltaHandler = new DatabaseAddressDeltaHandler();
 
       // ...
-      DatabaseBuilder databaseBuilder = new DatabaseBuilder(network, databaseBlockHelper, databaseAddressHandler);
+      DatabaseBuilder databaseBuilder = new DatabaseBuilder(network, databaseBlockHelper, databaseAddressHandler, databaseUtxoHandler, databaseAddressDeltaHandler);
       databaseBuilder.build(connection);
 
       // ...
-      updateStaking(network, connection);
+      updateStaking(network, connection, databaseAddressDeltaHandler);
       updateYieldmachine(network, connection);
 
       // ...
@@ -92,21 +96,22 @@ public class DatabaseBuilderMain {
    */
   private static void updateStaking(
       @Nonnull NetworkEnum network,
-      @Nonnull Connection connection) throws DfxException {
+      @Nonnull Connection connection,
+      @Nonnull DatabaseAddressDeltaHandler databaseAddressDeltaHandler) throws DfxException {
     // ...
     DatabaseBalanceHelper databaseBalanceHelper = new DatabaseBalanceHelper(network);
     databaseBalanceHelper.openStatements(connection, TOKEN_STAKING_SCHEMA);
 
     // ...
-    DepositBuilder depositBuilder = new DepositBuilder(network, databaseBalanceHelper);
+    DepositBuilder depositBuilder = new DepositBuilder(network, databaseBalanceHelper, databaseAddressDeltaHandler);
     depositBuilder.build(connection);
 
     // ...
-    BalanceBuilder balanceBuilder = new BalanceBuilder(network, databaseBalanceHelper);
+    BalanceBuilder balanceBuilder = new BalanceBuilder(network, databaseBalanceHelper, databaseAddressDeltaHandler);
     balanceBuilder.build(connection, TokenEnum.DFI);
 
     // ...
-    StakingBuilder stakingBuilder = new StakingBuilder(network, databaseBalanceHelper);
+    StakingBuilder stakingBuilder = new StakingBuilder(network, databaseBalanceHelper, databaseAddressDeltaHandler);
     stakingBuilder.build(connection, TokenEnum.DFI);
 
     databaseBalanceHelper.closeStatements();
@@ -7,8 +7,10 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -30,6 +32,7 @@ import ch.dfx.defichain.data.transaction.DefiTransactionVinData;
 import ch.dfx.defichain.data.transaction.DefiTransactionVoutData;
 import ch.dfx.defichain.provider.DefiDataProvider;
 import ch.dfx.manager.ManagerUtils;
+import ch.dfx.transactionserver.builder.data.TransactionFetchData;
 import ch.dfx.transactionserver.data.AddressDTO;
 import ch.dfx.transactionserver.data.TransactionCustomAccountToAccountInDTO;
 import ch.dfx.transactionserver.data.TransactionCustomAccountToAccountOutDTO;
@@ -56,7 +59,7 @@ public class DatabaseCustomTransactionBuilder {
   private interface CustomTransactionMethod {
     void fillCustomInfo(
         @Nonnull Integer typeNumber,
-        @Nonnull DefiTransactionData transactionData,
+        @Nonnull TransactionFetchData transactionFetchData,
         @Nonnull TransactionDTO transactionDTO) throws DfxException;
   }
 
@@ -97,16 +100,16 @@ public class DatabaseCustomTransactionBuilder {
 
     customTransactionMethodMap.put(
         CUSTOM_TYPE_ANY_ACCOUNTS_TO_ACCOUNTS,
-        (typeNumber, transactionData, transactionDTO) -> fillCustomAnyAccountToAccountInfo(typeNumber, transactionData, transactionDTO));
+        (typeNumber, transactionFetchData, transactionDTO) -> fillCustomAnyAccountToAccountInfo(typeNumber, transactionFetchData, transactionDTO));
     customTransactionMethodMap.put(
         CUSTOM_TYPE_ACCOUNT_TO_ACCOUNT,
-        (typeNumber, transactionData, transactionDTO) -> fillCustomAccountToAccountInfo(typeNumber, transactionData, transactionDTO));
+        (typeNumber, transactionFetchData, transactionDTO) -> fillCustomAccountToAccountInfo(typeNumber, transactionFetchData, transactionDTO));
     customTransactionMethodMap.put(
         CUSTOM_TYPE_UTXOS_TO_ACCOUNT,
-        (typeNumber, transactionData, transactionDTO) -> fillCustomUtxosToAccountInfo(typeNumber, transactionData, transactionDTO));
+        (typeNumber, transactionFetchData, transactionDTO) -> fillCustomUtxosToAccountInfo(typeNumber, transactionFetchData, transactionDTO));
     customTransactionMethodMap.put(
         CUSTOM_TYPE_ACCOUNT_TO_UTXOS,
-        (typeNumber, transactionData, transactionDTO) -> fillCustomAccountToUtxosInfo(typeNumber, transactionData, transactionDTO));
+        (typeNumber, transactionFetchData, transactionDTO) -> fillCustomAccountToUtxosInfo(typeNumber, transactionFetchData, transactionDTO));
   }
 
   /**
@@ -141,17 +144,103 @@ public class DatabaseCustomTransactionBuilder {
       @Nonnull TransactionDTO transactionDTO) throws DfxException {
     LOGGER.trace("fillCustomTransactionInfo()");
 
-    Integer blockNumber = transactionDTO.getBlockNumber();
-    String transactionId = transactionDTO.getTransactionId();
+    TransactionFetchData transactionFetchData = new TransactionFetchData(transactionData);
+    fetchCustomTransactionInfo(dataProvider, transactionDTO.getBlockNumber(), Arrays.asList(transactionFetchData));
 
-    transactionDTO.setCustomTypeCode(CUSTOM_TYPE_NONE);
+    fillCustomTransactionInfo(transactionFetchData, transactionDTO);
+  }
+
+  /**
+   * Collect all node data needed for the custom transaction info of one block, with one batch request per step.
+   * Called by the block fetcher threads, so only the given data provider is used here.
+   */
+  public void fetchCustomTransactionInfo(
+      @Nonnull DefiDataProvider fetchDataProvider,
+      @Nonnull Integer blockNumber,
+      @Nonnull List<TransactionFetchData> transactionFetchDataList) throws DfxException {
+    LOGGER.trace("fetchCustomTransactionInfo()");
+
+    // ...
+    List<String> transactionIdList = new ArrayList<>();
+    transactionFetchDataList.forEach(data -> transactionIdList.add(data.getTransactionData().getTxid()));
+
+    Map<String, Boolean> transactionIdToAppliedMap =
+        fetchDataProvider.isAppliedCustomTransactions(transactionIdList, (long) blockNumber);
+
+    // ...
+    List<TransactionFetchData> decodeTransactionFetchDataList = new ArrayList<>();
+    Set<String> vinTransactionIdSet = new LinkedHashSet<>();
+
+    for (TransactionFetchData transactionFetchData : transactionFetchDataList) {
+      DefiTransactionData transactionData = transactionFetchData.getTransactionData();
+
+      Boolean isAppliedCustomTransaction = transactionIdToAppliedMap.get(transactionData.getTxid());
+      transactionFetchData.setAppliedCustomTransaction(isAppliedCustomTransaction);
+
+      if (BooleanUtils.isTrue(isAppliedCustomTransaction)) {
+        byte customType = ManagerUtils.getCustomType(fetchDataProvider, transactionData);
+        transactionFetchData.setCustomType(customType);
+
+        if (0x00 != customType) {
+          String typeCode = String.valueOf((char) customType);
+
+          if (customTransactionMethodMap.containsKey(typeCode)) {
+            decodeTransactionFetchDataList.add(transactionFetchData);
+
+            if (CUSTOM_TYPE_UTXOS_TO_ACCOUNT.equals(typeCode)) {
+              transactionData.getVin().forEach(vin -> vinTransactionIdSet.add(vin.getTxid()));
+            }
+          }
+        }
+      }
+    }
+
+    // ...
+    if (!decodeTransactionFetchDataList.isEmpty()) {
+      List<String> hexStringList = new ArrayList<>();
+      decodeTransactionFetchDataList.forEach(data -> hexStringList.add(data.getTransactionData().getHex()));
+
+      List<DefiCustomData> customDataList = fetchDataProvider.decodeCustomTransactions(hexStringList);
+
+      for (int i = 0; i < decodeTransactionFetchDataList.size(); i++) {
+        DefiCustomData customData = customDataList.get(i);
+
+        if (null == customData) {
+          throw new DfxException("Cannot decode custom transaction " + decodeTransactionFetchDataList.get(i).getTransactionData().getTxid());
+        }
+
+        decodeTransactionFetchDataList.get(i).setCustomData(customData);
+      }
+    }
 
     // ...
-    Boolean isAppliedCustomTransaction =
-        dataProvider.isAppliedCustomTransaction(transactionId, (long) blockNumber);
+    if (!vinTransactionIdSet.isEmpty()) {
+      Map<String, DefiTransactionData> vinTransactionIdToTransactionDataMap =
+          fetchDataProvider.getTransactions(new ArrayList<>(vinTransactionIdSet));
+
+      for (TransactionFetchData transactionFetchData : decodeTransactionFetchDataList) {
+        if (CUSTOM_TYPE_UTXOS_TO_ACCOUNT.equals(String.valueOf((char) transactionFetchData.getCustomType().byteValue()))) {
+          for (DefiTransactionVinData transactionVinData : transactionFetchData.getTransactionData().getVin()) {
+            transactionFetchData.addVinTransactionData(vinTransactionIdToTransactionDataMap.get(transactionVinData.getTxid()));
+          }
+        }
+      }
+    }
+  }
 
-    if (BooleanUtils.isTrue(isAppliedCustomTransaction)) {
-      byte customType = ManagerUtils.getCustomType(dataProvider, transactionData);
+  /**
+   * 
+   */
+  public void fillCustomTransactionInfo(
+      @Nonnull TransactionFetchData transactionFetchData,
+      @Nonnull TransactionDTO transactionDTO) throws DfxException {
+    LOGGER.trace("fillCustomTransactionInfo()");
+
+    transactionDTO.setCustomTypeCode(CUSTOM_TYPE_NONE);
+
+    // ...
+    if (BooleanUtils.isTrue(transactionFetchData.getAppliedCustomTransaction())) {
+      byte customType = transactionFetchData.getCustomType();
 
       if (0x00 != customType) {
         String typeCode = String.valueOf((char) customType);
@@ -166,7 +255,7 @@ public class DatabaseCustomTransactionBuilder {
             throw new DfxException("Unknown type '" + typeCode + "'");
           }
 
-          customTransactionMethod.fillCustomInfo(typeNumber, transactionData, transactionDTO);
+          customTransactionMethod.fillCustomInfo(typeNumber, transactionFetchData, transactionDTO);
         }
       }
     }
@@ -177,13 +266,12 @@ public class DatabaseCustomTransactionBuilder {
    */
   private void fillCustomAnyAccountToAccountInfo(
       @Nonnull Integer typeNumber,
-      @Nonnull DefiTransactionData transactionData,
+      @Nonnull TransactionFetchData transactionFetchData,
       @Nonnull TransactionDTO transactionDTO) throws DfxException {
     LOGGER.trace("fillCustomAnyAccountToAccountInfo()");
 
     // ...
-    String hex = transactionData.getHex();
-    DefiCustomData customData = dataProvider.decodeCustomTransaction(hex);
+    DefiCustomData customData = transactionFetchData.getCustomData();
     Map<String, Object> resultMap = customData.getResults();
 
     // ...
@@ -263,13 +351,12 @@ public class DatabaseCustomTransactionBuilder {
    */
   private void fillCustomAccountToAccountInfo(
       @Nonnull Integer typeNumber,
-      @Nonnull DefiTransactionData transactionData,
+      @Nonnull TransactionFetchData transactionFetchData,
       @Nonnull TransactionDTO transactionDTO) throws DfxException {
     LOGGER.trace("fillCustomAccountToAccountInfo()");
 
     // ...
-    String hex = transactionData.getHex();
-    DefiCustomData customData = dataProvider.decodeCustomTransaction(hex);
+    DefiCustomData customData = transactionFetchData.getCustomData();
 
     Map<String, Object> resultMap = customData.getResults();
 
@@ -334,13 +421,12 @@ public class DatabaseCustomTransactionBuilder {
    */
   private void fillCustomUtxosToAccountInfo(
       @Nonnull Integer typeNumber,
-      @Nonnull DefiTransactionData transactionData,
+      @Nonnull TransactionFetchData transactionFetchData,
       @Nonnull TransactionDTO transactionDTO) throws DfxException {
     LOGGER.trace("fillCustomUtxosToAccountInfo()");
 
     // ...
-    String hex = transactionData.getHex();
-    DefiCustomData customData = dataProvider.decodeCustomTransaction(hex);
+    DefiCustomData customData = transactionFetchData.getCustomData();
 
     Map<String, Object> resultMap = customData.getResults();
 
@@ -377,6 +463,8 @@ public class DatabaseCustomTransactionBuilder {
     // ...
     BigDecimal totalVout = BigDecimal.ZERO;
 
+    DefiTransactionData transactionData = transactionFetchData.getTransactionData();
+
     for (DefiTransactionVoutData transactionVoutData : transactionData.getVout()) {
       totalVout = totalVout.add(transactionVoutData.getValue());
     }
@@ -386,11 +474,13 @@ public class DatabaseCustomTransactionBuilder {
 
     BigDecimal totalVin = BigDecimal.ZERO;
 
-    for (DefiTransactionVinData transactionVinData : transactionData.getVin()) {
-      String vinTxid = transactionVinData.getTxid();
-      Long vinVout = transactionVinData.getVout();
+    List<DefiTransactionVinData> transactionVinDataList = transactionData.getVin();
+    List<DefiTransactionData> vinTransactionDataList = transactionFetchData.getVinTransactionDataList();
+
+    for (int i = 0; i < transactionVinDataList.size(); i++) {
+      Long vinVout = transactionVinDataList.get(i).getVout();
 
-      DefiTransactionData vinTransactionData = dataProvider.getTransaction(vinTxid);
+      DefiTransactionData vinTransactionData = vinTransactionDataList.get(i);
       DefiTransactionVoutData vinTransactionVoutData = vinTransactionData.getVout().get(vinVout.intValue());
       totalVin = totalVin.add(vinTransactionVoutData.getValue());
 
@@ -439,12 +529,11 @@ public class DatabaseCustomTransactionBuilder {
    */
   private void fillCustomAccountToUtxosInfo(
       @Nonnull Integer typeNumber,
-      @Nonnull DefiTransactionData transactionData,
+      @Nonnull TransactionFetchData transactionFetchData,
       @Nonnull TransactionDTO transactionDTO) throws DfxException {
     LOGGER.trace("fillCustomAccountToUtxosInfo()");
 
-    String hex = transactionData.getHex();
-    DefiCustomData customData = dataProvider.decodeCustomTransaction(hex);
+    DefiCustomData customData = transactionFetchData.getCustomData();
 
     Map<String, Object> resultMap = customData.getResults();
 
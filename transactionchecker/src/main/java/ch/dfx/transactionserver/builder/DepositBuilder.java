@@ -24,34 +24,46 @@ import ch.dfx.transactionserver.data.AddressTransactionInDTO;
 import ch.dfx.transactionserver.data.AddressTransactionOutDTO;
 import ch.dfx.transactionserver.data.DepositDTO;
 import ch.dfx.transactionserver.data.StakingAddressDTO;
+import ch.dfx.transactionserver.database.DatabaseTableCreator;
 import ch.dfx.transactionserver.database.DatabaseUtils;
 import ch.dfx.transactionserver.database.helper.DatabaseBalanceHelper;
+import ch.dfx.transactionserver.handler.DatabaseAddressDeltaHandler;
 
 /**
- * 
+ * New deposits are searched only in the blocks after the deposit watermark of the liquidity address,
+ * the watermark is stored with the new deposits in the same transaction.
  */
 public class DepositBuilder {
   private static final Logger LOGGER = LogManager.getLogger(DepositBuilder.class);
 
+  private PreparedStatement maxBlockNumberSelectStatement = null;
+
   private PreparedStatement outTransactionByBlockAndAddressSelectStatement = null;
   private PreparedStatement inTransactionByBlockAndTransactionSelectStatement = null;
+  private PreparedStatement depositTransactionByBlockAndAddressSelectStatement = null;
 
   private PreparedStatement depositInsertStatement = null;
 
+  private PreparedStatement depositWatermarkSelectStatement = null;
+  private PreparedStatement depositWatermarkMergeStatement = null;
+
   // ...
   private final NetworkEnum network;
 
   private final DatabaseBalanceHelper databaseBalanceHelper;
+  private final DatabaseAddressDeltaHandler databaseAddressDeltaHandler;
 
   /**
    * 
    */
   public DepositBuilder(
       @Nonnull NetworkEnum network,
-      @Nonnull DatabaseBalanceHelper databaseBalanceHelper) {
+      @Nonnull DatabaseBalanceHelper databaseBalanceHelper,
+      @Nonnull DatabaseAddressDeltaHandler databaseAddressDeltaHandler) {
     this.network = network;
 
     this.databaseBalanceHelper = databaseBalanceHelper;
+    this.databaseAddressDeltaHandler = databaseAddressDeltaHandler;
   }
 
   /**
@@ -63,8 +75,12 @@ public class DepositBuilder {
     long startTime = System.currentTimeMillis();
 
     try {
+      DatabaseTableCreator.createDepositWatermarkTable(network, connection, TOKEN_STAKING_SCHEMA);
+
       openStatements(connection);
 
+      int maxBlockNumber = getMaxBlockNumber();
+
       // ...
       Set<Integer> depositAddressNumberSet =
           databaseBalanceHelper.getDepositDTOList()
@@ -79,9 +95,17 @@ public class DepositBuilder {
           .forEach(dto -> rewardAddressNumberSet.add(dto.getRewardAddressNumber()));
 
       for (StakingAddressDTO stakingAddressDTO : stakingAddressDTOList) {
-        if (-1 == stakingAddressDTO.getRewardAddressNumber()) {
-          LOGGER.debug("[DepositBuilder] Liquidity Address: " + stakingAddressDTO.getLiquidityAddress());
-          List<DepositDTO> depositDTOList = getDepositDTOList(stakingAddressDTO, depositAddressNumberSet);
+        if (-1 == stakingAddressDTO.getRewardAddressNumber()
+            && (!databaseAddressDeltaHandler.isIncremental()
+                || databaseAddressDeltaHandler.isChanged(stakingAddressDTO.getLiquidityAddressNumber()))) {
+          int watermarkBlockNumber = getDepositWatermark(stakingAddressDTO);
+
+          if (watermarkBlockNumber >= maxBlockNumber) {
+            continue;
+          }
+
+          LOGGER.debug("[DepositBuilder] Liquidity Address: " + stakingAddressDTO.getLiquidityAddress() + " / Watermark: " + watermarkBlockNumber);
+          List<DepositDTO> depositDTOList = getDepositDTOList(stakingAddressDTO, watermarkBlockNumber, maxBlockNumber, depositAddressNumberSet);
 
           for (DepositDTO depositDTO : depositDTOList) {
             fillCustomerAddress(depositDTO);
@@ -97,8 +121,13 @@ public class DepositBuilder {
                 && !rewardAddressNumberSet.contains(depositAddressNumber)
                 && !rewardAddressNumberSet.contains(customerAddressNumber)) {
               insertDeposit(depositDTO);
+
+              // the balance of a new deposit address must be calculated from the start ...
+              databaseAddressDeltaHandler.add(depositAddressNumber, depositDTO.getStartBlockNumber());
             }
           }
+
+          mergeDepositWatermark(stakingAddressDTO, maxBlockNumber);
         }
       }
 
@@ -120,9 +149,13 @@ public class DepositBuilder {
     LOGGER.trace("openStatements()");
 
     try {
+      // Block ...
+      String maxBlockNumberSelectSql = "SELECT MAX(number) FROM " + TOKEN_PUBLIC_SCHEMA + ".block";
+      maxBlockNumberSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, maxBlockNumberSelectSql));
+
       // Transaction ...
       String outTransactionByBlockAndAddressSelectSql =
-          "SELECT * FROM " + TOKEN_PUBLIC_SCHEMA + ".address_transaction_out WHERE block_number>=? AND address_number=?";
+          "SELECT * FROM " + TOKEN_PUBLIC_SCHEMA + ".address_transaction_out WHERE block_number>? AND block_number<=? AND address_number=?";
       outTransactionByBlockAndAddressSelectStatement =
           connection.prepareStatement(DatabaseUtils.replaceSchema(network, outTransactionByBlockAndAddressSelectSql));
 
@@ -131,12 +164,37 @@ public class DepositBuilder {
       inTransactionByBlockAndTransactionSelectStatement =
           connection.prepareStatement(DatabaseUtils.replaceSchema(network, inTransactionByBlockAndTransactionSelectSql));
 
+      String depositTransactionByBlockAndAddressSelectSql =
+          "SELECT at_in.block_number"
+              + " FROM " + TOKEN_PUBLIC_SCHEMA + ".address_transaction_in at_in"
+              + " JOIN " + TOKEN_PUBLIC_SCHEMA + ".address_transaction_out at_out ON"
+              + " at_in.block_number = at_out.block_number"
+              + " AND at_in.transaction_number = at_out.transaction_number"
+              + " WHERE at_in.block_number>=? AND at_in.block_number<=?"
+              + " AND at_in.address_number=? AND at_out.address_number=?"
+              + " LIMIT 1";
+      depositTransactionByBlockAndAddressSelectStatement =
+          connection.prepareStatement(DatabaseUtils.replaceSchema(network, depositTransactionByBlockAndAddressSelectSql));
+
       // Deposit ...
       String depositInsertSql =
           "INSERT INTO " + TOKEN_STAKING_SCHEMA + ".deposit"
               + " (token_number, liquidity_address_number, deposit_address_number, customer_address_number, start_block_number, start_transaction_number)"
               + " VALUES (?, ?, ?, ?, ?, ?)";
       depositInsertStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, depositInsertSql));
+
+      // Deposit Watermark ...
+      String depositWatermarkSelectSql =
+          "SELECT block_number FROM " + TOKEN_STAKING_SCHEMA + ".deposit_watermark"
+              + " WHERE token_number=? AND liquidity_address_number=?";
+      depositWatermarkSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, depositWatermarkSelectSql));
+
+      String depositWatermarkMergeSql =
+          "MERGE INTO " + TOKEN_STAKING_SCHEMA + ".deposit_watermark"
+              + " (token_number, liquidity_address_number, block_number)"
+              + " KEY (token_number, liquidity_address_number)"
+              + " VALUES(?, ?, ?)";
+      depositWatermarkMergeStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, depositWatermarkMergeSql));
     } catch (Exception e) {
       throw new DfxException("openStatements", e);
     }
@@ -149,20 +207,29 @@ public class DepositBuilder {
     LOGGER.trace("closeStatements()");
 
     try {
+      maxBlockNumberSelectStatement.close();
+
       outTransactionByBlockAndAddressSelectStatement.close();
       inTransactionByBlockAndTransactionSelectStatement.close();
+      depositTransactionByBlockAndAddressSelectStatement.close();
 
       depositInsertStatement.close();
+
+      depositWatermarkSelectStatement.close();
+      depositWatermarkMergeStatement.close();
     } catch (Exception e) {
       throw new DfxException("closeStatements", e);
     }
   }
 
   /**
-   * 
+   * Only the transactions after the watermark up to the max block number are read. An address
+   * which has already sent to the liquidity address up to the watermark has been checked before ...
    */
   private List<DepositDTO> getDepositDTOList(
       @Nonnull StakingAddressDTO stakingAddressDTO,
+      int watermarkBlockNumber,
+      int maxBlockNumber,
       @Nonnull Set<Integer> depositAddressNumberSet) throws DfxException {
     LOGGER.trace("getDepositDTOList()");
 
@@ -173,7 +240,11 @@ public class DepositBuilder {
     int liquidityStartBlockNumber = stakingAddressDTO.getStartBlockNumber();
     int liquidityAddressNumber = stakingAddressDTO.getLiquidityAddressNumber();
 
-    List<AddressTransactionOutDTO> transactionOutDTOList = getTransactionOutDTOList(liquidityStartBlockNumber, liquidityAddressNumber);
+    boolean isFirstScan = -1 == watermarkBlockNumber;
+    int fromBlockNumber = Math.max(liquidityStartBlockNumber - 1, watermarkBlockNumber);
+
+    List<AddressTransactionOutDTO> transactionOutDTOList =
+        getTransactionOutDTOList(fromBlockNumber, maxBlockNumber, liquidityAddressNumber, isFirstScan);
 
     for (AddressTransactionOutDTO transactionOutDTO : transactionOutDTOList) {
       int depositBlockNumber = transactionOutDTO.getBlockNumber();
@@ -189,7 +260,9 @@ public class DepositBuilder {
 
           if (liquidityAddressNumber != addressNumber
               && !depositAddressNumberSet.contains(addressNumber)) {
-            if (unifierAddressSet.add(addressNumber)) {
+            if (unifierAddressSet.add(addressNumber)
+                && (isFirstScan
+                    || !hasDepositTransaction(liquidityStartBlockNumber, fromBlockNumber, addressNumber, liquidityAddressNumber))) {
               DepositDTO depositDTO = new DepositDTO(stakingAddressDTO.getTokenNumber());
 
               depositDTO.setLiquidityAddressNumber(liquidityAddressNumber);
@@ -239,15 +312,18 @@ public class DepositBuilder {
    * 
    */
   private List<AddressTransactionOutDTO> getTransactionOutDTOList(
-      int startBlockNumber,
-      int addressNumber) throws DfxException {
+      int fromBlockNumber,
+      int toBlockNumber,
+      int addressNumber,
+      boolean isFirstScan) throws DfxException {
     LOGGER.trace("getTransactionOutDTOList()");
 
     try {
       List<AddressTransactionOutDTO> transactionOutDTOList = new ArrayList<>();
 
-      outTransactionByBlockAndAddressSelectStatement.setInt(1, startBlockNumber);
-      outTransactionByBlockAndAddressSelectStatement.setInt(2, addressNumber);
+      outTransactionByBlockAndAddressSelectStatement.setInt(1, fromBlockNumber);
+      outTransactionByBlockAndAddressSelectStatement.setInt(2, toBlockNumber);
+      outTransactionByBlockAndAddressSelectStatement.setInt(3, addressNumber);
 
       ResultSet resultSet = outTransactionByBlockAndAddressSelectStatement.executeQuery();
 
@@ -267,7 +343,8 @@ public class DepositBuilder {
       resultSet.close();
 
       // ...
-      if (transactionOutDTOList.isEmpty()) {
+      if (isFirstScan
+          && transactionOutDTOList.isEmpty()) {
         throw new DfxException("cannot determine output transactions for address " + addressNumber);
       }
 
@@ -329,6 +406,101 @@ public class DepositBuilder {
     }
   }
 
+  /**
+   * 
+   */
+  private boolean hasDepositTransaction(
+      int fromBlockNumber,
+      int toBlockNumber,
+      int depositAddressNumber,
+      int liquidityAddressNumber) throws DfxException {
+    LOGGER.trace("hasDepositTransaction()");
+
+    try {
+      depositTransactionByBlockAndAddressSelectStatement.setInt(1, fromBlockNumber);
+      depositTransactionByBlockAndAddressSelectStatement.setInt(2, toBlockNumber);
+      depositTransactionByBlockAndAddressSelectStatement.setInt(3, depositAddressNumber);
+      depositTransactionByBlockAndAddressSelectStatement.setInt(4, liquidityAddressNumber);
+
+      ResultSet resultSet = depositTransactionByBlockAndAddressSelectStatement.executeQuery();
+
+      boolean hasDepositTransaction = resultSet.next();
+
+      resultSet.close();
+
+      return hasDepositTransaction;
+    } catch (Exception e) {
+      throw new DfxException("hasDepositTransaction", e);
+    }
+  }
+
+  /**
+   * 
+   */
+  private int getMaxBlockNumber() throws DfxException {
+    LOGGER.trace("getMaxBlockNumber()");
+
+    try {
+      int maxBlockNumber = -1;
+
+      ResultSet resultSet = maxBlockNumberSelectStatement.executeQuery();
+
+      if (resultSet.next()) {
+        maxBlockNumber = resultSet.getInt(1);
+      }
+
+      resultSet.close();
+
+      return maxBlockNumber;
+    } catch (Exception e) {
+      throw new DfxException("getMaxBlockNumber", e);
+    }
+  }
+
+  /**
+   * Highest block number already searched for deposits, -1 if never searched ...
+   */
+  private int getDepositWatermark(@Nonnull StakingAddressDTO stakingAddressDTO) throws DfxException {
+    LOGGER.trace("getDepositWatermark()");
+
+    try {
+      int watermarkBlockNumber = -1;
+
+      depositWatermarkSelectStatement.setInt(1, stakingAddressDTO.getTokenNumber());
+      depositWatermarkSelectStatement.setInt(2, stakingAddressDTO.getLiquidityAddressNumber());
+
+      ResultSet resultSet = depositWatermarkSelectStatement.executeQuery();
+
+      if (resultSet.next()) {
+        watermarkBlockNumber = resultSet.getInt(1);
+      }
+
+      resultSet.close();
+
+      return watermarkBlockNumber;
+    } catch (Exception e) {
+      throw new DfxException("getDepositWatermark", e);
+    }
+  }
+
+  /**
+   * 
+   */
+  private void mergeDepositWatermark(
+      @Nonnull StakingAddressDTO stakingAddressDTO,
+      int blockNumber) throws DfxException {
+    LOGGER.trace("mergeDepositWatermark()");
+
+    try {
+      depositWatermarkMergeStatement.setInt(1, stakingAddressDTO.getTokenNumber());
+      depositWatermarkMergeStatement.setInt(2, stakingAddressDTO.getLiquidityAddressNumber());
+      depositWatermarkMergeStatement.setInt(3, blockNumber);
+      depositWatermarkMergeStatement.execute();
+    } catch (Exception e) {
+      throw new DfxException("mergeDepositWatermark", e);
+    }
+  }
+
   /**
    * 
    */
@@ -14,6 +14,7 @@ import ch.dfx.common.enumeration.NetworkEnum;
 import ch.dfx.transactionserver.database.H2DBManager;
 import ch.dfx.transactionserver.database.H2DBManagerImpl;
 import ch.dfx.transactionserver.database.helper.DatabaseBalanceHelper;
+import ch.dfx.transactionserver.handler.DatabaseAddressDeltaHandler;
 
 /**
  * 
@@ -59,7 +60,7 @@ public class DepositBuilderMain {
       databaseBalanceHelper.openStatements(connection, TOKEN_STAKING_SCHEMA);
 
       // ...
-      DepositBuilder depositBuilder = new DepositBuilder(network, databaseBalanceHelper);
+      DepositBuilder depositBuilder = new DepositBuilder(network, databaseBalanceHelper, new DatabaseAddressDeltaHandler());
       depositBuilder.build(connection);
 
       // ...
@@ -6,10 +6,14 @@ import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_PUBLIC_SCHEM
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -23,9 +27,11 @@ import ch.dfx.transactionserver.data.AddressDTO;
 import ch.dfx.transactionserver.data.MasternodeWhitelistDTO;
 import ch.dfx.transactionserver.database.DatabaseUtils;
 import ch.dfx.transactionserver.database.helper.DatabaseBlockHelper;
+import ch.dfx.transactionserver.handler.DatabaseAddressHandler;
 
 /**
- * 
+ * The masternode data of the whitelist is fetched in one batch and only refreshed, if the block count has changed.
+ * The last fetched data is kept in memory, only the changed whitelist entries are written in one transaction.
  */
 public class MasternodeBuilder {
   private static final Logger LOGGER = LogManager.getLogger(MasternodeBuilder.class);
@@ -39,20 +45,29 @@ public class MasternodeBuilder {
   private final NetworkEnum network;
 
   private final DatabaseBlockHelper databaseBlockHelper;
+  private final DatabaseAddressHandler databaseAddressHandler;
 
   private final DefiDataProvider dataProvider;
 
+  // ...
+  private final Map<String, DefiMasternodeData> transactionIdToMasternodeDataMap;
+  private long lastBlockCount = -1;
+
   /**
    * 
    */
   public MasternodeBuilder(
       @Nonnull NetworkEnum network,
-      @Nonnull DatabaseBlockHelper databaseBlockHelper) {
+      @Nonnull DatabaseBlockHelper databaseBlockHelper,
+      @Nonnull DatabaseAddressHandler databaseAddressHandler) {
     this.network = network;
 
     this.databaseBlockHelper = databaseBlockHelper;
+    this.databaseAddressHandler = databaseAddressHandler;
 
     this.dataProvider = TransactionCheckerUtils.createDefiDataProvider();
+
+    this.transactionIdToMasternodeDataMap = new HashMap<>();
   }
 
   /**
@@ -143,19 +158,39 @@ public class MasternodeBuilder {
   private void fillMasternodeWhitelistDTO(@Nonnull List<MasternodeWhitelistDTO> masternodeWhitelistDTOList) throws DfxException {
     LOGGER.trace("fillMasternodeWhitelistDTO()");
 
+    Map<String, String> ownerAddressToTransactionIdMap = new HashMap<>();
+
     for (MasternodeWhitelistDTO masternodeWhitelistDTO : masternodeWhitelistDTOList) {
       String ownerAddress = masternodeWhitelistDTO.getOwnerAddress();
+      String transactionId = masternodeWhitelistDTO.getTransactionId();
 
-      if (null == masternodeWhitelistDTO.getTransactionId()) {
-        AddressDTO addressDTO = databaseBlockHelper.getAddressDTOByAddress(ownerAddress);
+      if (null == transactionId) {
+        AddressDTO addressDTO = databaseAddressHandler.getExistingAddressDTO(databaseBlockHelper, ownerAddress);
 
         if (null != addressDTO) {
           LOGGER.trace("Fill New Masternode " + masternodeWhitelistDTO.getIdx() + ": " + ownerAddress);
-          fillNewMasternodeWhitelistDTO(masternodeWhitelistDTO, addressDTO);
+          transactionId = getMasternodeTransactionId(addressDTO);
         }
-      } else {
-        LOGGER.trace("Fill Masternode " + masternodeWhitelistDTO.getIdx() + ": " + ownerAddress);
-        fillMasternodeWhitelistDTO(masternodeWhitelistDTO);
+      }
+
+      if (null != transactionId) {
+        ownerAddressToTransactionIdMap.put(ownerAddress, transactionId);
+      }
+    }
+
+    refreshMasternodeData(ownerAddressToTransactionIdMap.values());
+
+    for (MasternodeWhitelistDTO masternodeWhitelistDTO : masternodeWhitelistDTOList) {
+      String transactionId = ownerAddressToTransactionIdMap.get(masternodeWhitelistDTO.getOwnerAddress());
+      DefiMasternodeData masternodeData = null == transactionId ? null : transactionIdToMasternodeDataMap.get(transactionId);
+
+      if (null != masternodeData) {
+        masternodeWhitelistDTO.setTransactionId(transactionId);
+        masternodeWhitelistDTO.setOperatorAddress(masternodeData.getOperatorAuthAddress());
+        masternodeWhitelistDTO.setRewardAddress(masternodeData.getRewardAddress());
+        masternodeWhitelistDTO.setCreationBlockNumber(masternodeData.getCreationHeight().intValue());
+        masternodeWhitelistDTO.setResignBlockNumber(masternodeData.getResignHeight().intValue());
+        masternodeWhitelistDTO.setState(masternodeData.getState());
       }
     }
   }
@@ -163,73 +198,59 @@ public class MasternodeBuilder {
   /**
    * 
    */
-  private void fillNewMasternodeWhitelistDTO(
-      @Nonnull MasternodeWhitelistDTO masternodeWhitelistDTO,
-      @Nonnull AddressDTO ownerAddressDTO) throws DfxException {
-    LOGGER.trace("fillNewMasternodeWhitelistDTO()");
+  private @Nullable String getMasternodeTransactionId(@Nonnull AddressDTO ownerAddressDTO) throws DfxException {
+    LOGGER.trace("getMasternodeTransactionId()");
 
     try {
+      String transactionId = null;
+
       masternodeTransactionSelectStatement.setInt(1, ownerAddressDTO.getNumber());
 
       ResultSet resultSet = masternodeTransactionSelectStatement.executeQuery();
 
       if (resultSet.next()) {
-        String transactionId = resultSet.getString("txid");
-
-        Map<String, DefiMasternodeData> masternodeMap = dataProvider.getMasternode("", transactionId);
-        DefiMasternodeData masternodeData = masternodeMap.get(transactionId);
-
-        if (null != masternodeData) {
-          masternodeWhitelistDTO.setTransactionId(transactionId);
-          masternodeWhitelistDTO.setOperatorAddress(masternodeData.getOperatorAuthAddress());
-          masternodeWhitelistDTO.setRewardAddress(masternodeData.getRewardAddress());
-          masternodeWhitelistDTO.setCreationBlockNumber(masternodeData.getCreationHeight().intValue());
-          masternodeWhitelistDTO.setResignBlockNumber(masternodeData.getResignHeight().intValue());
-          masternodeWhitelistDTO.setState(masternodeData.getState());
-        }
+        transactionId = resultSet.getString("txid");
       }
 
       resultSet.close();
+
+      return transactionId;
     } catch (Exception e) {
-      throw new DfxException("fillNewMasternodeWhitelistDTO", e);
+      throw new DfxException("getMasternodeTransactionId", e);
     }
   }
 
   /**
+   * New block: fetch the data of all masternodes in one batch,
+   * same block: only fetch the data of the masternodes, which are not yet known.
    * 
+   * Unknown masternodes are kept with null data, to not fetch them again until the next block.
    */
-  private void fillMasternodeWhitelistDTO(@Nonnull MasternodeWhitelistDTO masternodeWhitelistDTO) throws DfxException {
-    LOGGER.trace("fillMasternodeWhitelistDTO()");
+  private void refreshMasternodeData(@Nonnull Collection<String> transactionIdCollection) throws DfxException {
+    LOGGER.trace("refreshMasternodeData()");
 
-    try {
-      String transactionId = masternodeWhitelistDTO.getTransactionId();
+    long blockCount = dataProvider.getBlockCount();
 
-      Map<String, DefiMasternodeData> masternodeMap = dataProvider.getMasternode("", transactionId);
-      DefiMasternodeData masternodeData = masternodeMap.get(transactionId);
+    if (blockCount != lastBlockCount) {
+      transactionIdToMasternodeDataMap.clear();
+      lastBlockCount = blockCount;
+    }
 
-      if (null != masternodeData) {
-        masternodeWhitelistDTO.setOperatorAddress(masternodeData.getOperatorAuthAddress());
-        masternodeWhitelistDTO.setRewardAddress(masternodeData.getRewardAddress());
-        masternodeWhitelistDTO.setCreationBlockNumber(masternodeData.getCreationHeight().intValue());
-        masternodeWhitelistDTO.setResignBlockNumber(masternodeData.getResignHeight().intValue());
-        masternodeWhitelistDTO.setState(masternodeData.getState());
+    List<String> transactionIdList = new ArrayList<>();
+
+    for (String transactionId : transactionIdCollection) {
+      if (!transactionIdToMasternodeDataMap.containsKey(transactionId)) {
+        transactionIdList.add(transactionId);
       }
-    } catch (Exception e) {
-      throw new DfxException("fillMasternodeWhitelistDTO", e);
     }
-  }
 
-  /**
-   * 
-   */
-  private void updateMasternodeWhitelistDTO(
-      @Nonnull Connection connection,
-      @Nonnull List<MasternodeWhitelistDTO> masternodeWhitelistDTOList) throws DfxException {
-    LOGGER.trace("updateMasternodeWhitelistDTO()");
+    if (!transactionIdList.isEmpty()) {
+      LOGGER.debug("[MasternodeBuilder] Block " + blockCount + ": fetch " + transactionIdList.size() + " masternodes");
 
-    for (MasternodeWhitelistDTO masternodeWhitelistDTO : masternodeWhitelistDTOList) {
-      if (masternodeWhitelistDTO.isInternalStateChanged()) {
-        updateMasternodeWhitelistDTO(connection, masternodeWhitelistDTO);
+      Map<String, DefiMasternodeData> masternodeDataMap = dataProvider.getMasternodes(transactionIdList);
+
+      for (String transactionId : transactionIdList) {
+        transactionIdToMasternodeDataMap.put(transactionId, masternodeDataMap.get(transactionId));
       }
     }
   }
@@ -239,26 +260,37 @@ public class MasternodeBuilder {
    */
   private void updateMasternodeWhitelistDTO(
       @Nonnull Connection connection,
-      @Nonnull MasternodeWhitelistDTO masternodeWhitelistDTO) throws DfxException {
+      @Nonnull List<MasternodeWhitelistDTO> masternodeWhitelistDTOList) throws DfxException {
     LOGGER.trace("updateMasternodeWhitelistDTO()");
 
     try {
-      String ownerAddress = masternodeWhitelistDTO.getOwnerAddress();
+      int updateCount = 0;
+
+      for (MasternodeWhitelistDTO masternodeWhitelistDTO : masternodeWhitelistDTOList) {
+        if (masternodeWhitelistDTO.isInternalStateChanged()) {
+          String ownerAddress = masternodeWhitelistDTO.getOwnerAddress();
+
+          LOGGER.debug("[UPDATE] Owner Address: " + ownerAddress);
 
-      LOGGER.debug("[UPDATE] Owner Address: " + ownerAddress);
+          masternodeUpdateStatement.setString(1, masternodeWhitelistDTO.getTransactionId());
+          masternodeUpdateStatement.setString(2, masternodeWhitelistDTO.getOperatorAddress());
+          masternodeUpdateStatement.setString(3, masternodeWhitelistDTO.getRewardAddress());
+          masternodeUpdateStatement.setInt(4, masternodeWhitelistDTO.getCreationBlockNumber());
+          masternodeUpdateStatement.setInt(5, masternodeWhitelistDTO.getResignBlockNumber());
+          masternodeUpdateStatement.setString(6, masternodeWhitelistDTO.getState());
 
-      masternodeUpdateStatement.setString(1, masternodeWhitelistDTO.getTransactionId());
-      masternodeUpdateStatement.setString(2, masternodeWhitelistDTO.getOperatorAddress());
-      masternodeUpdateStatement.setString(3, masternodeWhitelistDTO.getRewardAddress());
-      masternodeUpdateStatement.setInt(4, masternodeWhitelistDTO.getCreationBlockNumber());
-      masternodeUpdateStatement.setInt(5, masternodeWhitelistDTO.getResignBlockNumber());
-      masternodeUpdateStatement.setString(6, masternodeWhitelistDTO.getState());
+          masternodeUpdateStatement.setInt(7, masternodeWhitelistDTO.getWalletId());
+          masternodeUpdateStatement.setString(8, ownerAddress);
 
-      masternodeUpdateStatement.setInt(7, masternodeWhitelistDTO.getWalletId());
-      masternodeUpdateStatement.setString(8, ownerAddress);
+          masternodeUpdateStatement.addBatch();
+          updateCount++;
+        }
+      }
 
-      masternodeUpdateStatement.execute();
-      connection.commit();
+      if (0 < updateCount) {
+        masternodeUpdateStatement.executeBatch();
+        connection.commit();
+      }
     } catch (Exception e) {
       DatabaseUtils.rollback(connection);
       throw new DfxException("updateMasternodeWhitelistDTO", e);
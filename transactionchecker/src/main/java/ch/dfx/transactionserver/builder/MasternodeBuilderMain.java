@@ -12,6 +12,7 @@ import ch.dfx.common.enumeration.NetworkEnum;
 import ch.dfx.transactionserver.database.H2DBManager;
 import ch.dfx.transactionserver.database.H2DBManagerImpl;
 import ch.dfx.transactionserver.database.helper.DatabaseBlockHelper;
+import ch.dfx.transactionserver.handler.DatabaseAddressHandler;
 
 /**
  * 
@@ -57,7 +58,7 @@ public class MasternodeBuilderMain {
       databaseBlockHelper.openStatements(connection);
 
       // ...
-      MasternodeBuilder masternodeBuilder = new MasternodeBuilder(network, databaseBlockHelper);
+      MasternodeBuilder masternodeBuilder = new MasternodeBuilder(network, databaseBlockHelper, new DatabaseAddressHandler(network));
       masternodeBuilder.build(connection);
 
       // ...
@@ -28,6 +28,7 @@ import ch.dfx.transactionserver.data.StakingAddressDTO;
 import ch.dfx.transactionserver.data.StakingDTO;
 import ch.dfx.transactionserver.database.DatabaseUtils;
 import ch.dfx.transactionserver.database.helper.DatabaseBalanceHelper;
+import ch.dfx.transactionserver.handler.DatabaseAddressDeltaHandler;
 
 /**
  * 
@@ -48,16 +49,19 @@ public class StakingBuilder {
   private final NetworkEnum network;
 
   private final DatabaseBalanceHelper databaseBalanceHelper;
+  private final DatabaseAddressDeltaHandler databaseAddressDeltaHandler;
 
   /**
    * 
    */
   public StakingBuilder(
       @Nonnull NetworkEnum network,
-      @Nonnull DatabaseBalanceHelper databaseBalanceHelper) {
+      @Nonnull DatabaseBalanceHelper databaseBalanceHelper,
+      @Nonnull DatabaseAddressDeltaHandler databaseAddressDeltaHandler) {
     this.network = network;
 
     this.databaseBalanceHelper = databaseBalanceHelper;
+    this.databaseAddressDeltaHandler = databaseAddressDeltaHandler;
   }
 
   /**
@@ -277,7 +281,11 @@ public class StakingBuilder {
 
     for (StakingAddressDTO stakingAddressDTO : stakingAddressDTOList) {
       if (-1 == stakingAddressDTO.getRewardAddressNumber()) {
-        calcBalance(connection, token, stakingAddressDTO);
+        // every staking in- and output has the liquidity address on one side ...
+        if (!databaseAddressDeltaHandler.isIncremental()
+            || databaseAddressDeltaHandler.isChanged(stakingAddressDTO.getLiquidityAddressNumber())) {
+          calcBalance(connection, token, stakingAddressDTO);
+        }
       }
     }
   }
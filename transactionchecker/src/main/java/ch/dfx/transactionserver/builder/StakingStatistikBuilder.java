@@ -0,0 +1,145 @@
+package ch.dfx.transactionserver.builder;
+
+import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_PUBLIC_SCHEMA;
+import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_STAKING_SCHEMA;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import ch.dfx.common.enumeration.NetworkEnum;
+import ch.dfx.common.enumeration.TokenEnum;
+import ch.dfx.common.errorhandling.DfxException;
+import ch.dfx.transactionserver.data.StatistikDTO;
+import ch.dfx.transactionserver.database.DatabaseUtils;
+
+/**
+ * 
+ */
+public class StakingStatistikBuilder extends StatistikBuilder {
+  private static final Logger LOGGER = LogManager.getLogger(StakingStatistikBuilder.class);
+
+  /**
+   * 
+   */
+  public StakingStatistikBuilder(@Nonnull NetworkEnum network) {
+    super(network, TOKEN_STAKING_SCHEMA);
+  }
+
+  @Override
+  protected List<TokenEnum> getTokenList() {
+    return List.of(TokenEnum.DFI);
+  }
+
+  /**
+   * 
+   */
+  @Override
+  protected void fillDepositSum(
+      @Nonnull Connection connection,
+      @Nonnull TokenEnum token,
+      int liquidityAddressNumber,
+      long fromTimestamp,
+      long toTimestamp,
+      @Nonnull Map<Long, StatistikDTO> epochDayToStatistikDTOMap) throws DfxException {
+    LOGGER.trace("fillDepositSum()");
+
+    String depositSumVinSelectSql =
+        "WITH X AS ("
+            + " SELECT"
+            + " b.timestamp,"
+            + " at_in.vin"
+            + " FROM " + TOKEN_PUBLIC_SCHEMA + ".block b"
+            + " JOIN " + TOKEN_PUBLIC_SCHEMA + ".address_transaction_out at_out ON"
+            + " b.number = at_out.block_number"
+            + " JOIN " + TOKEN_PUBLIC_SCHEMA + ".address_transaction_in at_in ON"
+            + " at_out.block_number = at_in.block_number"
+            + " AND at_out.transaction_number = at_in.transaction_number"
+            + " WHERE"
+            + " b.timestamp BETWEEN ? AND ?"
+            + " AND at_out.address_number=?"
+            + " AND at_in.address_number IN"
+            + " (SELECT deposit_address_number FROM " + TOKEN_STAKING_SCHEMA + ".deposit"
+            + " WHERE token_number=? AND liquidity_address_number=?)"
+            + " GROUP BY"
+            + " at_out.block_number,"
+            + " b.timestamp,"
+            + " at_in.in_block_number,"
+            + " at_in.in_transaction_number,"
+            + " at_in.address_number,"
+            + " at_in.vin"
+            + ")"
+            + " SELECT"
+            + " timestamp / " + SECONDS_PER_DAY + " AS epoch_day,"
+            + " SUM(vin) AS sum_vin"
+            + " FROM X"
+            + " GROUP BY epoch_day";
+
+    String depositSumVoutSelectSql =
+        "WITH X AS ("
+            + " SELECT"
+            + " b.timestamp,"
+            + " at_out.vout"
+            + " FROM " + TOKEN_PUBLIC_SCHEMA + ".block b"
+            + " JOIN " + TOKEN_PUBLIC_SCHEMA + ".address_transaction_out at_out ON"
+            + " b.number = at_out.block_number"
+            + " JOIN " + TOKEN_PUBLIC_SCHEMA + ".address_transaction_in at_in ON"
+            + " at_out.block_number = at_in.block_number"
+            + " AND at_out.transaction_number = at_in.transaction_number"
+            + " WHERE"
+            + " b.timestamp BETWEEN ? AND ?"
+            + " AND at_in.address_number=?"
+            + " AND at_out.address_number IN"
+            + " (SELECT customer_address_number FROM " + TOKEN_STAKING_SCHEMA + ".deposit"
+            + " WHERE token_number=? AND liquidity_address_number=?)"
+            + " GROUP BY"
+            + " at_out.block_number,"
+            + " b.timestamp,"
+            + " at_out.transaction_number,"
+            + " at_out.address_number,"
+            + " at_out.vout"
+            + ")"
+            + " SELECT"
+            + " timestamp / " + SECONDS_PER_DAY + " AS epoch_day,"
+            + " SUM(vout) AS sum_vout"
+            + " FROM X"
+            + " GROUP BY epoch_day";
+
+    try (PreparedStatement depositSumVinSelectStatement =
+        connection.prepareStatement(DatabaseUtils.replaceSchema(network, depositSumVinSelectSql));
+        PreparedStatement depositSumVoutSelectStatement =
+            connection.prepareStatement(DatabaseUtils.replaceSchema(network, depositSumVoutSelectSql))) {
+      setParameter(depositSumVinSelectStatement, token, liquidityAddressNumber, fromTimestamp, toTimestamp);
+      addDepositVin(depositSumVinSelectStatement, epochDayToStatistikDTOMap);
+
+      setParameter(depositSumVoutSelectStatement, token, liquidityAddressNumber, fromTimestamp, toTimestamp);
+      addDepositVout(depositSumVoutSelectStatement, epochDayToStatistikDTOMap);
+    } catch (DfxException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new DfxException("fillDepositSum", e);
+    }
+  }
+
+  /**
+   * 
+   */
+  private void setParameter(
+      @Nonnull PreparedStatement statement,
+      @Nonnull TokenEnum token,
+      int liquidityAddressNumber,
+      long fromTimestamp,
+      long toTimestamp) throws Exception {
+    statement.setLong(1, fromTimestamp);
+    statement.setLong(2, toTimestamp);
+    statement.setInt(3, liquidityAddressNumber);
+    statement.setInt(4, token.getNumber());
+    statement.setInt(5, liquidityAddressNumber);
+  }
+}
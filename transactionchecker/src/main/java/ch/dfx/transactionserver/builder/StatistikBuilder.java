@@ -1,120 +1,127 @@
 package ch.dfx.transactionserver.builder;
 
 import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_PUBLIC_SCHEMA;
-import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_STAKING_SCHEMA;
 
+import java.math.BigDecimal;
 import java.sql.Connection;
-import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.Timestamp;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import ch.dfx.common.enumeration.NetworkEnum;
 import ch.dfx.common.enumeration.TokenEnum;
 import ch.dfx.common.errorhandling.DfxException;
-import ch.dfx.transactionserver.data.BlockDTO;
-import ch.dfx.transactionserver.data.StakingAddressDTO;
 import ch.dfx.transactionserver.data.StatistikDTO;
 import ch.dfx.transactionserver.database.DatabaseUtils;
+import ch.dfx.transactionserver.database.DatabaseTableCreator;
 import ch.dfx.transactionserver.database.H2DBManager;
-import ch.dfx.transactionserver.database.helper.DatabaseBalanceHelper;
-import ch.dfx.transactionserver.database.helper.DatabaseBlockHelper;
 import ch.dfx.transactionserver.database.helper.DatabaseStatistikHelper;
 
 /**
+ * Daily roll-up of the deposit count and the deposit vin / vout into the statistik table,
+ * one row per token and UTC day.
  * 
+ * A day is only rolled up after it is complete, i.e. the newest block is at least
+ * TIMESTAMP_TOLERANCE seconds into the next day (the block timestamps are not strictly increasing).
+ * Every cycle continues after the last stored day, the history can be filled with backfill().
  */
-public class StatistikBuilder {
+public abstract class StatistikBuilder {
   private static final Logger LOGGER = LogManager.getLogger(StatistikBuilder.class);
 
-  // ...
-  private PreparedStatement depositCountSelectStatement = null;
+  protected static final long SECONDS_PER_DAY = 24 * 60 * 60;
 
-  // ...
-  private final NetworkEnum network;
+  private static final long TIMESTAMP_TOLERANCE = 60 * 60;
+
+  private static final int MAX_DAYS_PER_BUILD = 31;
+  private static final int DAYS_PER_BACKFILL_TASK = 31;
 
-  private final H2DBManager databaseManager;
+  // ...
+  protected final NetworkEnum network;
 
-  private final DatabaseBlockHelper databaseBlockHelper;
-  private final DatabaseBalanceHelper databaseBalanceHelper;
-  private final DatabaseStatistikHelper databaseStatistikHelper;
+  private final String dbSchema;
 
   /**
    * 
    */
   public StatistikBuilder(
       @Nonnull NetworkEnum network,
-      @Nonnull H2DBManager databaseManager) {
+      @Nonnull String dbSchema) {
     this.network = network;
-    this.databaseManager = databaseManager;
-
-    this.databaseBlockHelper = new DatabaseBlockHelper(network);
-    this.databaseBalanceHelper = new DatabaseBalanceHelper(network);
-    this.databaseStatistikHelper = new DatabaseStatistikHelper(network);
+    this.dbSchema = dbSchema;
   }
 
+  /**
+   * Tokens with a daily statistik.
+   */
+  protected abstract List<TokenEnum> getTokenList();
+
+  /**
+   * Add the vin and the vout of the deposits to the liquidity address between the two timestamps,
+   * with the columns epoch_day and sum_vin / sum_vout (see addDepositVin() and addDepositVout()).
+   */
+  protected abstract void fillDepositSum(
+      @Nonnull Connection connection,
+      @Nonnull TokenEnum token,
+      int liquidityAddressNumber,
+      long fromTimestamp,
+      long toTimestamp,
+      @Nonnull Map<Long, StatistikDTO> epochDayToStatistikDTOMap) throws DfxException;
+
   /**
    * 
    */
-  public void build(@Nonnull TokenEnum token) throws DfxException {
+  public void build(@Nonnull Connection connection) throws DfxException {
     LOGGER.debug("build()");
 
     long startTime = System.currentTimeMillis();
 
-    Connection connection = null;
-
     try {
-      connection = databaseManager.openConnection();
+      DatabaseTableCreator.createStatistikTable(network, connection, dbSchema);
 
-      databaseBlockHelper.openStatements(connection);
-      databaseBalanceHelper.openStatements(connection, TOKEN_STAKING_SCHEMA);
-      databaseStatistikHelper.openStatements(connection);
-      openStatements(connection);
+      DatabaseStatistikHelper databaseStatistikHelper = new DatabaseStatistikHelper(network);
+      databaseStatistikHelper.openStatements(connection, dbSchema);
 
-      List<StatistikDTO> statistikDTOList = databaseStatistikHelper.getStatistikDTOList(token);
-      Set<LocalDate> daySet = new HashSet<>();
-      statistikDTOList.forEach(dto -> daySet.add(dto.getDay()));
+      LocalDate firstDay = getFirstDay(connection);
+      LocalDate lastCompleteDay = getLastCompleteDay(connection);
 
-      // ...
-      List<StakingAddressDTO> stakingAddressDTOList =
-          databaseBalanceHelper.getStakingAddressDTOList()
-              .stream().filter(dto -> -1 == dto.getRewardAddressNumber()).collect(Collectors.toList());
+      if (null != firstDay
+          && null != lastCompleteDay) {
+        for (TokenEnum token : getTokenList()) {
+          LocalDate maxDay = databaseStatistikHelper.getMaxDay(token);
 
-      List<StatistikDTO> newStatistikDTOList = new ArrayList<>();
+          LocalDate fromDay = null == maxDay ? firstDay : maxDay.plusDays(1);
+          LocalDate toDay = fromDay.plusDays(MAX_DAYS_PER_BUILD - 1);
 
-      for (StakingAddressDTO stakingAddressDTO : stakingAddressDTOList) {
-        BlockDTO blockDTO = databaseBlockHelper.getBlockDTOByNumber(stakingAddressDTO.getStartBlockNumber());
+          if (toDay.isAfter(lastCompleteDay)) {
+            toDay = lastCompleteDay;
+          }
 
-        if (null != blockDTO) {
-          LocalDate startDate = new Date(blockDTO.getTimestamp() * 1000).toLocalDate();
-          newStatistikDTOList.addAll(createStatistikDTOList(token, startDate, daySet));
+          if (!fromDay.isAfter(toDay)) {
+            LOGGER.debug("[" + getClass().getSimpleName() + "] " + token + ": " + fromDay + " - " + toDay);
+            databaseStatistikHelper.saveStatistikDTOList(createStatistikDTOList(connection, token, fromDay, toDay));
+          }
         }
       }
 
-      // ...
-      closeStatements();
       databaseStatistikHelper.closeStatements();
-      databaseBalanceHelper.closeStatements();
-      databaseBlockHelper.closeStatements();
 
-      // ...
-      if (newStatistikDTOList.isEmpty()) {
-        saveStatistik(newStatistikDTOList);
-        connection.commit();
-      }
+      connection.commit();
     } catch (DfxException e) {
       DatabaseUtils.rollback(connection);
       throw e;
@@ -122,136 +129,342 @@ public class StatistikBuilder {
       DatabaseUtils.rollback(connection);
       throw new DfxException("build", e);
     } finally {
-      databaseManager.closeConnection(connection);
-
-      LOGGER.debug("[StatistikBuilder] runtime: " + (System.currentTimeMillis() - startTime));
+      LOGGER.debug("[" + getClass().getSimpleName() + "] runtime: " + (System.currentTimeMillis() - startTime));
     }
   }
 
   /**
-   * 
+   * Recalculate the days between fromDay and toDay (both inclusive, null for the first day / the last complete day),
+   * the days are split into ranges and every range is calculated with its own connection.
    */
-  private void openStatements(@Nonnull Connection connection) throws DfxException {
-    LOGGER.trace("openStatements()");
+  public void backfill(
+      @Nonnull H2DBManager databaseManager,
+      @Nullable LocalDate fromDay,
+      @Nullable LocalDate toDay,
+      int threadCount) throws DfxException {
+    LOGGER.debug("backfill()");
+
+    long startTime = System.currentTimeMillis();
+
+    ExecutorService executorService =
+        Executors.newFixedThreadPool(
+            Math.max(1, threadCount),
+            new ThreadFactoryBuilder().setNameFormat("statistik-backfill-%d").setDaemon(true).build());
 
     try {
-      // Deposit ...
-      String depositCountSelectSql =
-          "SELECT COUNT(*) AS count"
-              + " FROM " + TOKEN_STAKING_SCHEMA + ".deposit d"
-              + " JOIN " + TOKEN_PUBLIC_SCHEMA + ".block b ON"
-              + " d.start_block_number = b.number"
-              + " WHERE"
-              + " d.token_number=?"
-              + " AND b.timestamp BETWEEN ? AND ?";
-      depositCountSelectStatement =
-          connection.prepareStatement(DatabaseUtils.replaceSchema(network, depositCountSelectSql));
+      // ...
+      Connection connection = databaseManager.openConnection();
+
+      try {
+        // once, before the tasks open their own connections ...
+        DatabaseTableCreator.createStatistikTable(network, connection, dbSchema);
+
+        if (null == fromDay) {
+          fromDay = getFirstDay(connection);
+        }
+
+        if (null == toDay) {
+          toDay = getLastCompleteDay(connection);
+        }
+      } finally {
+        databaseManager.closeConnection(connection);
+      }
+
+      // ...
+      List<Future<?>> futureList = new ArrayList<>();
+
+      if (null != fromDay
+          && null != toDay) {
+        for (TokenEnum token : getTokenList()) {
+          LocalDate rangeFromDay = fromDay;
+
+          while (!rangeFromDay.isAfter(toDay)) {
+            LocalDate rangeToDay = rangeFromDay.plusDays(DAYS_PER_BACKFILL_TASK - 1);
+
+            if (rangeToDay.isAfter(toDay)) {
+              rangeToDay = toDay;
+            }
+
+            LocalDate taskFromDay = rangeFromDay;
+            LocalDate taskToDay = rangeToDay;
+
+            futureList.add(executorService.submit(() -> {
+              backfill(databaseManager, token, taskFromDay, taskToDay);
+              return null;
+            }));
+
+            rangeFromDay = rangeToDay.plusDays(1);
+          }
+        }
+      }
+
+      for (Future<?> future : futureList) {
+        future.get();
+      }
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof DfxException) {
+        throw (DfxException) e.getCause();
+      }
+
+      throw new DfxException("backfill", e.getCause());
+    } catch (DfxException e) {
+      throw e;
     } catch (Exception e) {
-      throw new DfxException("openStatements", e);
+      throw new DfxException("backfill", e);
+    } finally {
+      executorService.shutdownNow();
+
+      LOGGER.debug("[" + getClass().getSimpleName() + "] backfill runtime: " + (System.currentTimeMillis() - startTime));
     }
   }
 
   /**
    * 
    */
-  private void closeStatements() throws DfxException {
-    LOGGER.trace("closeStatements()");
+  private void backfill(
+      @Nonnull H2DBManager databaseManager,
+      @Nonnull TokenEnum token,
+      @Nonnull LocalDate fromDay,
+      @Nonnull LocalDate toDay) throws DfxException {
+    LOGGER.trace("backfill(): " + token + ": " + fromDay + " - " + toDay);
+
+    Connection connection = null;
 
     try {
-      depositCountSelectStatement.close();
+      connection = databaseManager.openConnection();
+
+      DatabaseStatistikHelper databaseStatistikHelper = new DatabaseStatistikHelper(network);
+      databaseStatistikHelper.openStatements(connection, dbSchema);
+
+      databaseStatistikHelper.saveStatistikDTOList(createStatistikDTOList(connection, token, fromDay, toDay));
+
+      databaseStatistikHelper.closeStatements();
+
+      connection.commit();
+    } catch (DfxException e) {
+      DatabaseUtils.rollback(connection);
+      throw e;
     } catch (Exception e) {
-      throw new DfxException("closeStatements", e);
+      DatabaseUtils.rollback(connection);
+      throw new DfxException("backfill", e);
+    } finally {
+      databaseManager.closeConnection(connection);
     }
   }
 
   /**
-   * 
+   * One entry per day between fromDay and toDay, also the days without deposits.
    */
   private List<StatistikDTO> createStatistikDTOList(
+      @Nonnull Connection connection,
       @Nonnull TokenEnum token,
-      @Nonnull LocalDate startDate,
-      @Nonnull Set<LocalDate> daySet) throws DfxException {
-    LOGGER.trace("fillDateToCountMap()");
+      @Nonnull LocalDate fromDay,
+      @Nonnull LocalDate toDay) throws DfxException {
+    LOGGER.trace("createStatistikDTOList()");
 
-    List<StatistikDTO> statistikDTOList = new ArrayList<>();
+    Map<Long, StatistikDTO> epochDayToStatistikDTOMap = new LinkedHashMap<>();
 
-    // ...
-    LocalDate workDate = startDate;
-    LocalDate endDate = LocalDate.now().plusDays(1);
+    for (long epochDay = fromDay.toEpochDay(); epochDay <= toDay.toEpochDay(); epochDay++) {
+      epochDayToStatistikDTOMap.put(epochDay, new StatistikDTO(LocalDate.ofEpochDay(epochDay), token.getNumber()));
+    }
+
+    long fromTimestamp = fromDay.toEpochDay() * SECONDS_PER_DAY;
+    long toTimestamp = (toDay.toEpochDay() + 1) * SECONDS_PER_DAY - 1;
 
-    // ...
-    while (workDate.isBefore(endDate)) {
-      if (!daySet.contains(workDate)) {
-        int count = getCount(token, workDate);
+    fillDepositCount(connection, token, fromTimestamp, toTimestamp, epochDayToStatistikDTOMap);
+
+    for (int liquidityAddressNumber : getLiquidityAddressNumberList(connection)) {
+      fillDepositSum(connection, token, liquidityAddressNumber, fromTimestamp, toTimestamp, epochDayToStatistikDTOMap);
+    }
 
-        StatistikDTO statistikDTO = new StatistikDTO(workDate, token.getNumber());
-        statistikDTO.setDepositCount(count);
+    return new ArrayList<>(epochDayToStatistikDTOMap.values());
+  }
 
-        statistikDTOList.add(statistikDTO);
+  /**
+   * 
+   */
+  private void fillDepositCount(
+      @Nonnull Connection connection,
+      @Nonnull TokenEnum token,
+      long fromTimestamp,
+      long toTimestamp,
+      @Nonnull Map<Long, StatistikDTO> epochDayToStatistikDTOMap) throws DfxException {
+    LOGGER.trace("fillDepositCount()");
+
+    String depositCountSelectSql =
+        "SELECT"
+            + " b.timestamp / " + SECONDS_PER_DAY + " AS epoch_day,"
+            + " COUNT(*) AS count"
+            + " FROM " + dbSchema + ".deposit d"
+            + " JOIN " + TOKEN_PUBLIC_SCHEMA + ".block b ON"
+            + " d.start_block_number = b.number"
+            + " WHERE"
+            + " d.token_number=?"
+            + " AND b.timestamp BETWEEN ? AND ?"
+            + " GROUP BY epoch_day";
+
+    try (PreparedStatement statement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, depositCountSelectSql))) {
+      statement.setInt(1, token.getNumber());
+      statement.setLong(2, fromTimestamp);
+      statement.setLong(3, toTimestamp);
+
+      ResultSet resultSet = statement.executeQuery();
+
+      while (resultSet.next()) {
+        StatistikDTO statistikDTO = epochDayToStatistikDTOMap.get(resultSet.getLong("epoch_day"));
+
+        if (null != statistikDTO) {
+          statistikDTO.setDepositCount(statistikDTO.getDepositCount() + resultSet.getInt("count"));
+        }
       }
 
-      workDate = workDate.plusDays(1);
+      resultSet.close();
+    } catch (Exception e) {
+      throw new DfxException("fillDepositCount", e);
     }
+  }
+
+  /**
+   * 
+   */
+  protected void addDepositVin(
+      @Nonnull PreparedStatement statement,
+      @Nonnull Map<Long, StatistikDTO> epochDayToStatistikDTOMap) throws DfxException {
+    LOGGER.trace("addDepositVin()");
+
+    try {
+      ResultSet resultSet = statement.executeQuery();
+
+      while (resultSet.next()) {
+        StatistikDTO statistikDTO = epochDayToStatistikDTOMap.get(resultSet.getLong("epoch_day"));
+        BigDecimal sumVin = resultSet.getBigDecimal("sum_vin");
 
-    return statistikDTOList;
+        if (null != statistikDTO
+            && null != sumVin) {
+          statistikDTO.setDepositVin(statistikDTO.getDepositVin().add(sumVin));
+        }
+      }
+
+      resultSet.close();
+    } catch (Exception e) {
+      throw new DfxException("addDepositVin", e);
+    }
   }
 
   /**
    * 
    */
-  private int getCount(
-      @Nonnull TokenEnum token,
-      @Nonnull LocalDate workDate) throws DfxException {
-    LOGGER.trace("getCount()");
+  protected void addDepositVout(
+      @Nonnull PreparedStatement statement,
+      @Nonnull Map<Long, StatistikDTO> epochDayToStatistikDTOMap) throws DfxException {
+    LOGGER.trace("addDepositVout()");
 
     try {
-      long[] timestampOfDayArray = getTimestampOfDay(workDate);
+      ResultSet resultSet = statement.executeQuery();
 
-      depositCountSelectStatement.setInt(1, token.getNumber());
-      depositCountSelectStatement.setLong(2, timestampOfDayArray[0]);
-      depositCountSelectStatement.setLong(3, timestampOfDayArray[1]);
+      while (resultSet.next()) {
+        StatistikDTO statistikDTO = epochDayToStatistikDTOMap.get(resultSet.getLong("epoch_day"));
+        BigDecimal sumVout = resultSet.getBigDecimal("sum_vout");
 
-      ResultSet resultSet = depositCountSelectStatement.executeQuery();
+        if (null != statistikDTO
+            && null != sumVout) {
+          statistikDTO.setDepositVout(statistikDTO.getDepositVout().add(sumVout));
+        }
+      }
 
-      int count = 0;
+      resultSet.close();
+    } catch (Exception e) {
+      throw new DfxException("addDepositVout", e);
+    }
+  }
 
-      if (resultSet.next()) {
-        count = resultSet.getInt("count");
+  /**
+   * 
+   */
+  private List<Integer> getLiquidityAddressNumberList(@Nonnull Connection connection) throws DfxException {
+    LOGGER.trace("getLiquidityAddressNumberList()");
+
+    String liquidityAddressSelectSql =
+        "SELECT DISTINCT liquidity_address_number"
+            + " FROM " + dbSchema + ".staking_address"
+            + " WHERE reward_address_number=-1";
+
+    try (PreparedStatement statement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, liquidityAddressSelectSql))) {
+      List<Integer> liquidityAddressNumberList = new ArrayList<>();
+
+      ResultSet resultSet = statement.executeQuery();
+
+      while (resultSet.next()) {
+        liquidityAddressNumberList.add(resultSet.getInt("liquidity_address_number"));
       }
 
       resultSet.close();
 
-      return count;
+      return liquidityAddressNumberList;
     } catch (Exception e) {
-      throw new DfxException("getCount", e);
+      throw new DfxException("getLiquidityAddressNumberList", e);
     }
   }
 
   /**
-   * 
+   * UTC day of the first liquidity address.
    */
-  private long[] getTimestampOfDay(@Nonnull LocalDate localDate) {
-    long startTimeOfDay = Timestamp.valueOf(LocalDateTime.of(localDate, LocalTime.MIN)).getTime() / 1000;
-    long endTimeOfDay = Timestamp.valueOf(LocalDateTime.of(localDate, LocalTime.MAX)).getTime() / 1000;
+  private @Nullable LocalDate getFirstDay(@Nonnull Connection connection) throws DfxException {
+    LOGGER.trace("getFirstDay()");
+
+    String firstTimestampSelectSql =
+        "SELECT MIN(b.timestamp) AS timestamp"
+            + " FROM " + dbSchema + ".staking_address s"
+            + " JOIN " + TOKEN_PUBLIC_SCHEMA + ".block b ON"
+            + " s.start_block_number = b.number"
+            + " WHERE s.reward_address_number=-1";
 
-    return new long[] {
-        startTimeOfDay, endTimeOfDay
-    };
+    Long timestamp = getTimestamp(connection, firstTimestampSelectSql);
+
+    return null == timestamp ? null : LocalDate.ofEpochDay(timestamp / SECONDS_PER_DAY);
+  }
+
+  /**
+   * UTC day before the day of the newest block.
+   */
+  private @Nullable LocalDate getLastCompleteDay(@Nonnull Connection connection) throws DfxException {
+    LOGGER.trace("getLastCompleteDay()");
+
+    String lastTimestampSelectSql =
+        "SELECT timestamp FROM " + TOKEN_PUBLIC_SCHEMA + ".block"
+            + " WHERE number=(SELECT MAX(number) FROM " + TOKEN_PUBLIC_SCHEMA + ".block)";
+
+    Long timestamp = getTimestamp(connection, lastTimestampSelectSql);
+
+    return null == timestamp ? null : LocalDate.ofEpochDay((timestamp - TIMESTAMP_TOLERANCE) / SECONDS_PER_DAY - 1);
   }
 
   /**
    * 
    */
-  private void saveStatistik(@Nonnull List<StatistikDTO> statistikDTOList) throws DfxException {
-    LOGGER.trace("saveStatistik()");
+  private @Nullable Long getTimestamp(
+      @Nonnull Connection connection,
+      @Nonnull String timestampSelectSql) throws DfxException {
+    LOGGER.trace("getTimestamp()");
 
-    try {
-      for (StatistikDTO statistikDTO : statistikDTOList) {
+    try (PreparedStatement statement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, timestampSelectSql))) {
+      Long timestamp = null;
+
+      ResultSet resultSet = statement.executeQuery();
+
+      if (resultSet.next()) {
+        long value = resultSet.getLong("timestamp");
 
+        if (!resultSet.wasNull()) {
+          timestamp = value;
+        }
       }
 
+      resultSet.close();
+
+      return timestamp;
     } catch (Exception e) {
-      throw new DfxException("saveStatistik", e);
+      throw new DfxException("getTimestamp", e);
     }
   }
 }
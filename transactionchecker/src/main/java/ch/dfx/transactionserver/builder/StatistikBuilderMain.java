@@ -0,0 +1,88 @@
+package ch.dfx.transactionserver.builder;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import ch.dfx.TransactionCheckerUtils;
+import ch.dfx.common.enumeration.EnvironmentEnum;
+import ch.dfx.common.enumeration.NetworkEnum;
+import ch.dfx.transactionserver.database.H2DBManager;
+import ch.dfx.transactionserver.database.H2DBManagerImpl;
+import ch.dfx.transactionserver.ymbuilder.YmStatistikBuilder;
+
+/**
+ * Backfill of the daily statistik of the staking and the yieldmachine schema.
+ * 
+ * Arguments: --fromday=yyyy-mm-dd --today=yyyy-mm-dd --threads=n (all optional)
+ */
+public class StatistikBuilderMain {
+  private static final Logger LOGGER = LogManager.getLogger(StatistikBuilderMain.class);
+
+  private static final String IDENTIFIER = "statistikbuilder";
+
+  /**
+   * 
+   */
+  public static void main(String[] args) {
+    try {
+      Class.forName("org.h2.Driver");
+
+      // ...
+      boolean isMainnet = Stream.of(args).anyMatch(a -> "--mainnet".equals(a));
+      boolean isStagnet = Stream.of(args).anyMatch(a -> "--stagnet".equals(a));
+      boolean isTestnet = Stream.of(args).anyMatch(a -> "--testnet".equals(a));
+      Optional<String> optionalFromDayArgument = Stream.of(args).filter(a -> a.startsWith("--fromday=")).findFirst();
+      Optional<String> optionalToDayArgument = Stream.of(args).filter(a -> a.startsWith("--today=")).findFirst();
+      Optional<String> optionalThreadsArgument = Stream.of(args).filter(a -> a.startsWith("--threads=")).findFirst();
+
+      // ...
+      NetworkEnum network = TransactionCheckerUtils.getNetwork(isMainnet, isStagnet, isTestnet);
+      EnvironmentEnum environment = TransactionCheckerUtils.getEnvironment();
+
+      // ...
+      System.setProperty("logFilename", TransactionCheckerUtils.getLog4jFilename(IDENTIFIER, network));
+      TransactionCheckerUtils.initLog4j("log4j2.xml");
+
+      // ...
+      TransactionCheckerUtils.setupGlobalProvider(network, environment, args);
+
+      // ...
+      LocalDate fromDay = null;
+      LocalDate toDay = null;
+      int threadCount = Runtime.getRuntime().availableProcessors();
+
+      if (optionalFromDayArgument.isPresent()) {
+        fromDay = LocalDate.parse(optionalFromDayArgument.get().split("=")[1]);
+      }
+
+      if (optionalToDayArgument.isPresent()) {
+        toDay = LocalDate.parse(optionalToDayArgument.get().split("=")[1]);
+      }
+
+      if (optionalThreadsArgument.isPresent()) {
+        threadCount = Integer.parseInt(optionalThreadsArgument.get().split("=")[1]);
+      }
+
+      // ...
+      LOGGER.debug("=".repeat(80));
+      LOGGER.debug("Network: " + network);
+      LOGGER.debug("Environment: " + environment);
+      LOGGER.debug("From Day: " + fromDay);
+      LOGGER.debug("To Day:   " + toDay);
+      LOGGER.debug("Threads:  " + threadCount);
+
+      // ...
+      H2DBManager databaseManager = new H2DBManagerImpl();
+
+      new StakingStatistikBuilder(network).backfill(databaseManager, fromDay, toDay, threadCount);
+      new YmStatistikBuilder(network).backfill(databaseManager, fromDay, toDay, threadCount);
+    } catch (Exception e) {
+      LOGGER.error("Fatal Error", e);
+      System.exit(-1);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package ch.dfx.transactionserver.builder.data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import ch.dfx.TransactionCheckerUtils;
+import ch.dfx.defichain.data.block.DefiBlockData;
+
+/**
+ * Everything the node has to deliver for one block, before it is written to the database ...
+ */
+public class BlockFetchData {
+  private final Integer blockNumber;
+  private final String blockHash;
+  private final DefiBlockData blockData;
+
+  private final List<TransactionFetchData> transactionFetchDataList;
+
+  /**
+   * 
+   */
+  public BlockFetchData(
+      @Nonnull Integer blockNumber,
+      @Nonnull String blockHash,
+      @Nonnull DefiBlockData blockData) {
+    this.blockNumber = blockNumber;
+    this.blockHash = blockHash;
+    this.blockData = blockData;
+
+    this.transactionFetchDataList = new ArrayList<>();
+  }
+
+  public Integer getBlockNumber() {
+    return blockNumber;
+  }
+
+  public String getBlockHash() {
+    return blockHash;
+  }
+
+  public DefiBlockData getBlockData() {
+    return blockData;
+  }
+
+  public List<TransactionFetchData> getTransactionFetchDataList() {
+    return transactionFetchDataList;
+  }
+
+  /**
+   * 
+   */
+  public void addTransactionFetchData(@Nonnull TransactionFetchData transactionFetchData) {
+    this.transactionFetchDataList.add(transactionFetchData);
+  }
+
+  @Override
+  public String toString() {
+    return TransactionCheckerUtils.toJson(this);
+  }
+}
@@ -0,0 +1,159 @@
+package ch.dfx.transactionserver.builder.data;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Map with the token number and the address number as key, both are packed into one long
+ * and stored in an open addressing table (linear probing) instead of a String key per entry.
+ * 
+ * Not thread safe, null values and removal are not supported.
+ */
+public class TokenAddressMap<V> {
+  private static final int MIN_CAPACITY = 16;
+
+  private long[] keys;
+  private Object[] values;
+
+  private int mask;
+  private int size;
+
+  /**
+   * 
+   */
+  public TokenAddressMap() {
+    this(MIN_CAPACITY);
+  }
+
+  /**
+   * 
+   */
+  public TokenAddressMap(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+
+    while (capacity * 3 < expectedSize * 4) {
+      capacity <<= 1;
+    }
+
+    allocate(capacity);
+  }
+
+  /**
+   * 
+   */
+  public static long createKey(
+      int tokenNumber,
+      int addressNumber) {
+    return ((long) tokenNumber << 32) | (addressNumber & 0xFFFFFFFFL);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * 
+   */
+  public @Nullable V get(
+      int tokenNumber,
+      int addressNumber) {
+    return get(createKey(tokenNumber, addressNumber));
+  }
+
+  /**
+   * 
+   */
+  @SuppressWarnings("unchecked")
+  public @Nullable V get(long key) {
+    int index = indexOf(key);
+
+    while (null != values[index]) {
+      if (keys[index] == key) {
+        return (V) values[index];
+      }
+
+      index = (index + 1) & mask;
+    }
+
+    return null;
+  }
+
+  /**
+   * 
+   */
+  public @Nullable V put(
+      int tokenNumber,
+      int addressNumber,
+      @Nonnull V value) {
+    return put(createKey(tokenNumber, addressNumber), value);
+  }
+
+  /**
+   * 
+   */
+  @SuppressWarnings("unchecked")
+  public @Nullable V put(
+      long key,
+      @Nonnull V value) {
+    int index = indexOf(key);
+
+    while (null != values[index]) {
+      if (keys[index] == key) {
+        V previousValue = (V) values[index];
+        values[index] = value;
+        return previousValue;
+      }
+
+      index = (index + 1) & mask;
+    }
+
+    keys[index] = key;
+    values[index] = value;
+
+    if ((++size) * 4 > values.length * 3) {
+      resize(values.length << 1);
+    }
+
+    return null;
+  }
+
+  /**
+   * Start index of the key in the table, package-private for the collision test ...
+   */
+  int indexOf(long key) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+  /**
+   * 
+   */
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new Object[capacity];
+    mask = capacity - 1;
+  }
+
+  /**
+   * 
+   */
+  private void resize(int capacity) {
+    long[] oldKeys = keys;
+    Object[] oldValues = values;
+
+    allocate(capacity);
+
+    for (int i = 0; i < oldValues.length; i++) {
+      if (null != oldValues[i]) {
+        int index = indexOf(oldKeys[i]);
+
+        while (null != values[index]) {
+          index = (index + 1) & mask;
+        }
+
+        keys[index] = oldKeys[i];
+        values[index] = oldValues[i];
+      }
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package ch.dfx.transactionserver.builder.data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import ch.dfx.TransactionCheckerUtils;
+import ch.dfx.defichain.data.custom.DefiCustomData;
+import ch.dfx.defichain.data.transaction.DefiTransactionData;
+
+/**
+ * 
+ */
+public class TransactionFetchData {
+  private final DefiTransactionData transactionData;
+
+  private Boolean appliedCustomTransaction = null;
+  private Byte customType = null;
+  private DefiCustomData customData = null;
+
+  private final List<DefiTransactionData> vinTransactionDataList;
+
+  /**
+   * 
+   */
+  public TransactionFetchData(@Nonnull DefiTransactionData transactionData) {
+    this.transactionData = transactionData;
+
+    this.vinTransactionDataList = new ArrayList<>();
+  }
+
+  public DefiTransactionData getTransactionData() {
+    return transactionData;
+  }
+
+  public Boolean getAppliedCustomTransaction() {
+    return appliedCustomTransaction;
+  }
+
+  public void setAppliedCustomTransaction(Boolean appliedCustomTransaction) {
+    this.appliedCustomTransaction = appliedCustomTransaction;
+  }
+
+  public Byte getCustomType() {
+    return customType;
+  }
+
+  public void setCustomType(Byte customType) {
+    this.customType = customType;
+  }
+
+  public DefiCustomData getCustomData() {
+    return customData;
+  }
+
+  public void setCustomData(DefiCustomData customData) {
+    this.customData = customData;
+  }
+
+  public List<DefiTransactionData> getVinTransactionDataList() {
+    return vinTransactionDataList;
+  }
+
+  /**
+   * 
+   */
+  public void addVinTransactionData(@Nonnull DefiTransactionData vinTransactionData) {
+    this.vinTransactionDataList.add(vinTransactionData);
+  }
+
+  @Override
+  public String toString() {
+    return TransactionCheckerUtils.toJson(this);
+  }
+}
@@ -2,13 +2,17 @@ package ch.dfx.transactionserver.database;
 
 import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_NETWORK_CUSTOM_SCHEMA;
 import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_PUBLIC_SCHEMA;
+import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_STAKING_SCHEMA;
+import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_YIELDMACHINE_SCHEMA;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.annotation.Nonnull;
 
@@ -18,26 +22,48 @@ import org.apache.logging.log4j.Logger;
 import ch.dfx.TransactionCheckerUtils;
 import ch.dfx.common.enumeration.NetworkEnum;
 import ch.dfx.common.errorhandling.DfxException;
-import ch.dfx.defichain.data.block.DefiBlockData;
 import ch.dfx.defichain.provider.DefiDataProvider;
+import ch.dfx.transactionserver.handler.DatabaseAddressDeltaHandler;
+import ch.dfx.transactionserver.handler.DatabaseAddressHandler;
+import ch.dfx.transactionserver.handler.DatabaseUtxoHandler;
 
 /**
+ * Reorg detection over the hash chain of the stored blocks.
  * 
+ * Every block hash commits to its previous block hash, so if the hash of the database tip is
+ * the hash of the chain at the same height, all stored blocks are part of the chain. Only if
+ * the hashes differ, the database is walked back to the fork point and exactly the rows from
+ * the fork point on (incl. the derived staking and yieldmachine data) are removed.
  */
 public class DatabaseChecker {
   private static final Logger LOGGER = LogManager.getLogger(DatabaseChecker.class);
 
+  // ...
+  private static final int WALK_BACK_CHUNK_SIZE = 100;
+  private static final int MAX_REORG_DEPTH = 1000;
+
   private final NetworkEnum network;
 
+  private final DatabaseAddressHandler databaseAddressHandler;
+  private final DatabaseUtxoHandler databaseUtxoHandler;
+  private final DatabaseAddressDeltaHandler databaseAddressDeltaHandler;
+
   private final DefiDataProvider dataProvider;
 
-  private PreparedStatement transactionSelectStatement = null;
+  private PreparedStatement blockHashSelectStatement = null;
 
   /**
    * 
    */
-  public DatabaseChecker(@Nonnull NetworkEnum network) {
+  public DatabaseChecker(
+      @Nonnull NetworkEnum network,
+      @Nonnull DatabaseAddressHandler databaseAddressHandler,
+      @Nonnull DatabaseUtxoHandler databaseUtxoHandler,
+      @Nonnull DatabaseAddressDeltaHandler databaseAddressDeltaHandler) {
     this.network = network;
+    this.databaseAddressHandler = databaseAddressHandler;
+    this.databaseUtxoHandler = databaseUtxoHandler;
+    this.databaseAddressDeltaHandler = databaseAddressDeltaHandler;
 
     this.dataProvider = TransactionCheckerUtils.createDefiDataProvider();
   }
@@ -53,29 +79,33 @@ public class DatabaseChecker {
     try {
       openStatements(connection);
 
-      long maxBlockNumber = getMaxBlockNumber(connection);
-      long minBlockNumber = maxBlockNumber - 100;
+      long blockCount = dataProvider.getBlockCount();
 
-      LOGGER.debug("[DatabaseChecker] Block Check: " + minBlockNumber + " to " + maxBlockNumber);
+      long tipBlockNumber = getMaxBlockNumber(connection);
+      String tipBlockHash = getBlockHashesFromDB(tipBlockNumber, tipBlockNumber).get(tipBlockNumber);
 
-      for (long blockNumber = minBlockNumber; blockNumber <= maxBlockNumber; blockNumber++) {
-        List<String> transactionListFromChain = getTransactionListFromChain(dataProvider, blockNumber);
-        List<String> transactionListFromDB = getTransactionListFromDB(blockNumber);
+      LOGGER.debug("[DatabaseChecker] Tip Check: " + tipBlockNumber + " / " + blockCount);
 
-        if (!transactionListFromChain.equals(transactionListFromDB)) {
-          LOGGER.debug("[DatabaseChecker] Check Block: " + blockNumber + " / " + transactionListFromChain.size() + " / " + transactionListFromDB.size());
-          LOGGER.debug("[DatabaseChecker] Transactions in Chain:    " + transactionListFromChain);
-          LOGGER.debug("[DatabaseChecker] Transactions in Database: " + transactionListFromDB);
-          cleanAll(connection, blockNumber);
+      boolean isReorg =
+          tipBlockNumber > blockCount
+              || !tipBlockHash.equals(dataProvider.getBlockHash(tipBlockNumber));
 
-          connection.commit();
-          break;
-        }
+      if (isReorg) {
+        long forkBlockNumber = findForkBlockNumber(Math.min(tipBlockNumber, blockCount));
+
+        LOGGER.info("[DatabaseChecker] Reorg: rollback from block " + forkBlockNumber + " to " + tipBlockNumber);
+
+        rollback(connection, forkBlockNumber);
+
+        connection.commit();
+        databaseAddressHandler.invalidate();
+        databaseUtxoHandler.invalidate();
+        databaseAddressDeltaHandler.invalidate();
       }
 
       closeStatements();
 
-      return checkBlockCount(connection);
+      return !isReorg && tipBlockNumber == blockCount;
     } catch (DfxException e) {
       DatabaseUtils.rollback(connection);
       throw e;
@@ -87,18 +117,6 @@ public class DatabaseChecker {
     }
   }
 
-  /**
-   * 
-   */
-  private boolean checkBlockCount(@Nonnull Connection connection) throws DfxException {
-    LOGGER.trace("checkBlockCount()");
-
-    long maxBlockNumber = getMaxBlockNumber(connection);
-    long blockCount = dataProvider.getBlockCount();
-
-    return maxBlockNumber == blockCount;
-  }
-
   /**
    * 
    */
@@ -106,8 +124,8 @@ public class DatabaseChecker {
     LOGGER.trace("openStatements()");
 
     try {
-      String transactionSelectSql = "SELECT * FROM " + TOKEN_PUBLIC_SCHEMA + ".transaction WHERE block_number=?";
-      transactionSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, transactionSelectSql));
+      String blockHashSelectSql = "SELECT number, hash FROM " + TOKEN_PUBLIC_SCHEMA + ".block WHERE number BETWEEN ? AND ?";
+      blockHashSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, blockHashSelectSql));
     } catch (Exception e) {
       throw new DfxException("openStatements", e);
     }
@@ -120,7 +138,7 @@ public class DatabaseChecker {
     LOGGER.trace("closeStatements()");
 
     try {
-      transactionSelectStatement.close();
+      blockHashSelectStatement.close();
     } catch (Exception e) {
       throw new DfxException("closeStatements", e);
     }
@@ -172,81 +190,177 @@ public class DatabaseChecker {
   }
 
   /**
-   * 
+   * Walk back from the given block in chunks until the hash in the database is the hash of
+   * the chain, the fork point is the block after the last common block ...
    */
-  private void cleanAll(
-      @Nonnull Connection connection,
-      @Nonnull Long blockNumber) throws DfxException {
-    LOGGER.trace("cleanAll()");
+  private long findForkBlockNumber(long startBlockNumber) throws DfxException {
+    LOGGER.trace("findForkBlockNumber()");
 
-    String customTransactionAccountToAccountInDeleteSql =
-        "DELETE FROM " + TOKEN_NETWORK_CUSTOM_SCHEMA + ".account_to_account_in WHERE block_number >= " + blockNumber;
-    clean(connection, DatabaseUtils.replaceSchema(network, customTransactionAccountToAccountInDeleteSql));
+    long maxBlockNumber = startBlockNumber;
 
-    String customTransactionAccountToAccountOutDeleteSql =
-        "DELETE FROM " + TOKEN_NETWORK_CUSTOM_SCHEMA + ".account_to_account_out WHERE block_number >= " + blockNumber;
-    clean(connection, DatabaseUtils.replaceSchema(network, customTransactionAccountToAccountOutDeleteSql));
+    while (0 <= maxBlockNumber) {
+      if (startBlockNumber - maxBlockNumber >= MAX_REORG_DEPTH) {
+        throw new DfxException("no fork point found within " + MAX_REORG_DEPTH + " blocks from block " + startBlockNumber + " ...");
+      }
+
+      long minBlockNumber = Math.max(0, maxBlockNumber - WALK_BACK_CHUNK_SIZE + 1);
+
+      Map<Long, String> blockNumberToBlockHashFromDBMap = getBlockHashesFromDB(minBlockNumber, maxBlockNumber);
+      Map<Long, String> blockNumberToBlockHashFromChainMap = getBlockHashesFromChain(minBlockNumber, maxBlockNumber);
 
-    String addressTransactionInDeleteSql = "DELETE FROM " + TOKEN_PUBLIC_SCHEMA + ".address_transaction_in WHERE block_number >= " + blockNumber;
-    clean(connection, DatabaseUtils.replaceSchema(network, addressTransactionInDeleteSql));
+      for (long blockNumber = maxBlockNumber; blockNumber >= minBlockNumber; blockNumber--) {
+        String blockHashFromDB = blockNumberToBlockHashFromDBMap.get(blockNumber);
 
-    String addressTransactionOutDeleteSql = "DELETE FROM " + TOKEN_PUBLIC_SCHEMA + ".address_transaction_out WHERE block_number >= " + blockNumber;
-    clean(connection, DatabaseUtils.replaceSchema(network, addressTransactionOutDeleteSql));
+        if (null != blockHashFromDB
+            && blockHashFromDB.equals(blockNumberToBlockHashFromChainMap.get(blockNumber))) {
+          return blockNumber + 1;
+        }
+      }
 
-    String transactionDeleteSql = "DELETE FROM " + TOKEN_PUBLIC_SCHEMA + ".transaction WHERE block_number >= " + blockNumber;
-    clean(connection, DatabaseUtils.replaceSchema(network, transactionDeleteSql));
+      maxBlockNumber = minBlockNumber - 1;
+    }
 
-    String blockDeleteSql = "DELETE FROM " + TOKEN_PUBLIC_SCHEMA + ".block WHERE number >= " + blockNumber;
-    clean(connection, DatabaseUtils.replaceSchema(network, blockDeleteSql));
+    return 0;
   }
 
   /**
    * 
    */
-  private void clean(
-      @Nonnull Connection connection,
-      @Nonnull String sqlDelete) throws DfxException {
-    LOGGER.trace("clean()");
+  private Map<Long, String> getBlockHashesFromDB(
+      long minBlockNumber,
+      long maxBlockNumber) throws DfxException {
+    LOGGER.trace("getBlockHashesFromDB()");
 
-    try (Statement statement = connection.createStatement()) {
-      statement.executeUpdate(sqlDelete);
+    try {
+      Map<Long, String> blockNumberToBlockHashMap = new HashMap<>();
+
+      blockHashSelectStatement.setLong(1, minBlockNumber);
+      blockHashSelectStatement.setLong(2, maxBlockNumber);
+
+      ResultSet resultSet = blockHashSelectStatement.executeQuery();
+
+      while (resultSet.next()) {
+        blockNumberToBlockHashMap.put(resultSet.getLong(1), resultSet.getString(2));
+      }
+
+      resultSet.close();
+
+      return blockNumberToBlockHashMap;
     } catch (Exception e) {
-      throw new DfxException("clean", e);
+      throw new DfxException("getBlockHashesFromDB", e);
     }
   }
 
   /**
    * 
    */
-  private List<String> getTransactionListFromChain(
-      @Nonnull DefiDataProvider dataProvider,
-      @Nonnull Long blockNumber) throws DfxException {
-    String blockHash = dataProvider.getBlockHash(blockNumber);
+  private Map<Long, String> getBlockHashesFromChain(
+      long minBlockNumber,
+      long maxBlockNumber) throws DfxException {
+    LOGGER.trace("getBlockHashesFromChain()");
+
+    List<Long> blockNumberList = new ArrayList<>();
 
-    DefiBlockData block = dataProvider.getBlock(blockHash);
-    return block.getTx();
+    for (long blockNumber = minBlockNumber; blockNumber <= maxBlockNumber; blockNumber++) {
+      blockNumberList.add(blockNumber);
+    }
+
+    return dataProvider.getBlockHashes(blockNumberList);
   }
 
   /**
-   * 
+   * Remove all rows from the fork block on. The balances and stakings touched since the fork block
+   * are removed as a whole, the BalanceBuilder and StakingBuilder calculate them again from the
+   * remaining transactions ...
    */
-  private List<String> getTransactionListFromDB(@Nonnull Long blockNumber) throws DfxException {
-    try {
-      List<String> transactionIdList = new ArrayList<>();
+  private void rollback(
+      @Nonnull Connection connection,
+      long forkBlockNumber) throws DfxException {
+    LOGGER.trace("rollback()");
 
-      transactionSelectStatement.setInt(1, blockNumber.intValue());
+    rollbackDerived(connection, TOKEN_STAKING_SCHEMA, forkBlockNumber);
+    rollbackDerived(connection, TOKEN_YIELDMACHINE_SCHEMA, forkBlockNumber);
 
-      ResultSet resultSet = transactionSelectStatement.executeQuery();
+    String customTransactionAccountToAccountInDeleteSql =
+        "DELETE FROM " + TOKEN_NETWORK_CUSTOM_SCHEMA + ".account_to_account_in WHERE block_number >= ?";
+    executeUpdate(connection, customTransactionAccountToAccountInDeleteSql, forkBlockNumber);
 
-      while (resultSet.next()) {
-        transactionIdList.add(resultSet.getString(3));
+    String customTransactionAccountToAccountOutDeleteSql =
+        "DELETE FROM " + TOKEN_NETWORK_CUSTOM_SCHEMA + ".account_to_account_out WHERE block_number >= ?";
+    executeUpdate(connection, customTransactionAccountToAccountOutDeleteSql, forkBlockNumber);
+
+    String addressTransactionInDeleteSql = "DELETE FROM " + TOKEN_PUBLIC_SCHEMA + ".address_transaction_in WHERE block_number >= ?";
+    executeUpdate(connection, addressTransactionInDeleteSql, forkBlockNumber);
+
+    String addressTransactionOutDeleteSql = "DELETE FROM " + TOKEN_PUBLIC_SCHEMA + ".address_transaction_out WHERE block_number >= ?";
+    executeUpdate(connection, addressTransactionOutDeleteSql, forkBlockNumber);
+
+    String transactionDeleteSql = "DELETE FROM " + TOKEN_PUBLIC_SCHEMA + ".transaction WHERE block_number >= ?";
+    executeUpdate(connection, transactionDeleteSql, forkBlockNumber);
+
+    String blockDeleteSql = "DELETE FROM " + TOKEN_PUBLIC_SCHEMA + ".block WHERE number >= ?";
+    executeUpdate(connection, blockDeleteSql, forkBlockNumber);
+  }
+
+  /**
+   * 
+   */
+  private void rollbackDerived(
+      @Nonnull Connection connection,
+      @Nonnull String schema,
+      long forkBlockNumber) throws DfxException {
+    LOGGER.trace("rollbackDerived()");
+
+    String stakingDeleteSql =
+        "DELETE FROM " + schema + ".staking s"
+            + " WHERE s.last_in_block_number >= ?"
+            + " OR s.last_out_block_number >= ?"
+            + " OR EXISTS (SELECT 1 FROM " + schema + ".deposit d"
+            + " WHERE d.start_block_number >= ?"
+            + " AND d.token_number = s.token_number"
+            + " AND d.liquidity_address_number = s.liquidity_address_number"
+            + " AND d.deposit_address_number = s.deposit_address_number"
+            + " AND d.customer_address_number = s.customer_address_number)";
+    executeUpdate(connection, stakingDeleteSql, forkBlockNumber);
+
+    String depositDeleteSql = "DELETE FROM " + schema + ".deposit WHERE start_block_number >= ?";
+    executeUpdate(connection, depositDeleteSql, forkBlockNumber);
+
+    String balanceDeleteSql = "DELETE FROM " + schema + ".balance WHERE block_number >= ?";
+    executeUpdate(connection, balanceDeleteSql, forkBlockNumber);
+
+    // the deposits after the fork are searched again ...
+    String depositWatermarkUpdateSql =
+        "UPDATE " + schema + ".deposit_watermark SET block_number = ? - 1 WHERE block_number >= ?";
+    executeUpdate(connection, depositWatermarkUpdateSql, forkBlockNumber);
+
+    // the days from the first block after the fork are rolled up again ...
+    String statistikDeleteSql =
+        "DELETE FROM " + schema + ".statistik"
+            + " WHERE utc_day >= (SELECT DATEADD(DAY, MIN(timestamp) / 86400, DATE '1970-01-01')"
+            + " FROM " + TOKEN_PUBLIC_SCHEMA + ".block WHERE number >= ?)";
+    executeUpdate(connection, statistikDeleteSql, forkBlockNumber);
+  }
+
+  /**
+   * 
+   */
+  private void executeUpdate(
+      @Nonnull Connection connection,
+      @Nonnull String sql,
+      long forkBlockNumber) throws DfxException {
+    LOGGER.trace("executeUpdate()");
+
+    try (PreparedStatement statement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, sql))) {
+      for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+        statement.setLong(i, forkBlockNumber);
       }
 
-      resultSet.close();
+      int count = statement.executeUpdate();
 
-      return transactionIdList;
+      LOGGER.debug("[DatabaseChecker] " + count + " rows affected: " + sql);
     } catch (Exception e) {
-      throw new DfxException("getTransactionListFromDB", e);
+      throw new DfxException("executeUpdate", e);
     }
   }
 }
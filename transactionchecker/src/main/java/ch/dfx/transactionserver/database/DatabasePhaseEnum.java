@@ -0,0 +1,51 @@
+package ch.dfx.transactionserver.database;
+
+/**
+ * Phases of one DatabaseRunnable cycle.
+ * 
+ * DATABASE -> CHECK -> (STAKING chain | YIELDMACHINE chain | MASTERNODE) -> CLEANER
+ * 
+ * The staking and the yieldmachine phase of a builder share one error counter in the DatabaseRunnable,
+ * e.g. YM_DEPOSIT counts its errors on DEPOSIT.
+ */
+public enum DatabasePhaseEnum {
+  RUN,
+
+  DATABASE,
+  CHECK,
+
+  DEPOSIT,
+  BALANCE,
+  STAKING,
+  STATISTIK,
+
+  YM_DEPOSIT(DEPOSIT),
+  YM_BALANCE(BALANCE),
+  YM_STAKING(STAKING),
+  YM_STATISTIK(STATISTIK),
+
+  MASTERNODE,
+
+  CLEANER,
+  YM_CLEANER(CLEANER);
+
+  private final DatabasePhaseEnum errorCounterPhase;
+
+  /**
+   * 
+   */
+  private DatabasePhaseEnum() {
+    this.errorCounterPhase = null;
+  }
+
+  /**
+   * 
+   */
+  private DatabasePhaseEnum(DatabasePhaseEnum errorCounterPhase) {
+    this.errorCounterPhase = errorCounterPhase;
+  }
+
+  public DatabasePhaseEnum getErrorCounterPhase() {
+    return null == errorCounterPhase ? this : errorCounterPhase;
+  }
+}
@@ -0,0 +1,151 @@
+package ch.dfx.transactionserver.database;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import ch.dfx.TransactionCheckerUtils;
+
+/**
+ * Latency histogram and error counters per DatabaseRunnable phase, readable at runtime.
+ * 
+ * The phases of the staking and yieldmachine chain are recorded from different threads,
+ * all access is synchronized.
+ */
+public class DatabasePhaseMetrics {
+  // Upper bucket limits in milliseconds, the last bucket counts everything above ...
+  private static final long[] LATENCY_BUCKET_LIMITS = { 10, 50, 100, 500, 1000, 5000, 10000, 30000, 60000 };
+
+  private static DatabasePhaseMetrics instance = null;
+
+  private final Map<DatabasePhaseEnum, PhaseData> phaseDataMap;
+
+  /**
+   * 
+   */
+  public static synchronized DatabasePhaseMetrics getInstance() {
+    if (null == instance) {
+      instance = new DatabasePhaseMetrics();
+    }
+
+    return instance;
+  }
+
+  /**
+   * 
+   */
+  private DatabasePhaseMetrics() {
+    this.phaseDataMap = new EnumMap<>(DatabasePhaseEnum.class);
+
+    for (DatabasePhaseEnum phase : DatabasePhaseEnum.values()) {
+      phaseDataMap.put(phase, new PhaseData());
+    }
+  }
+
+  /**
+   * 
+   */
+  public synchronized void record(
+      @Nonnull DatabasePhaseEnum phase,
+      long runtime,
+      boolean isError) {
+    PhaseData phaseData = phaseDataMap.get(phase);
+
+    phaseData.count++;
+    phaseData.lastRuntime = runtime;
+    phaseData.maxRuntime = Math.max(phaseData.maxRuntime, runtime);
+    phaseData.totalRuntime += runtime;
+    phaseData.latencyHistogram[getBucket(runtime)]++;
+
+    if (isError) {
+      phaseData.errorCount++;
+      phaseData.consecutiveErrorCount++;
+    } else {
+      phaseData.consecutiveErrorCount = 0;
+    }
+  }
+
+  public synchronized long getCount(@Nonnull DatabasePhaseEnum phase) {
+    return phaseDataMap.get(phase).count;
+  }
+
+  public synchronized long getErrorCount(@Nonnull DatabasePhaseEnum phase) {
+    return phaseDataMap.get(phase).errorCount;
+  }
+
+  public synchronized int getConsecutiveErrorCount(@Nonnull DatabasePhaseEnum phase) {
+    return phaseDataMap.get(phase).consecutiveErrorCount;
+  }
+
+  public synchronized long getLastRuntime(@Nonnull DatabasePhaseEnum phase) {
+    return phaseDataMap.get(phase).lastRuntime;
+  }
+
+  /**
+   * Bucket counts in the order of getLatencyBucketLimits(), plus one bucket for the rest ...
+   */
+  public synchronized long[] getLatencyHistogram(@Nonnull DatabasePhaseEnum phase) {
+    long[] latencyHistogram = phaseDataMap.get(phase).latencyHistogram;
+    return Arrays.copyOf(latencyHistogram, latencyHistogram.length);
+  }
+
+  public static long[] getLatencyBucketLimits() {
+    return Arrays.copyOf(LATENCY_BUCKET_LIMITS, LATENCY_BUCKET_LIMITS.length);
+  }
+
+  /**
+   * One line: last runtime per phase ...
+   */
+  public synchronized String toRuntimeString() {
+    StringBuilder runtimeBuilder = new StringBuilder();
+
+    for (DatabasePhaseEnum phase : DatabasePhaseEnum.values()) {
+      if (0 < runtimeBuilder.length()) {
+        runtimeBuilder.append(" / ");
+      }
+
+      runtimeBuilder.append(phase).append("=").append(phaseDataMap.get(phase).lastRuntime);
+    }
+
+    return runtimeBuilder.toString();
+  }
+
+  /**
+   * 
+   */
+  private int getBucket(long runtime) {
+    int bucket = 0;
+
+    while (bucket < LATENCY_BUCKET_LIMITS.length
+        && runtime > LATENCY_BUCKET_LIMITS[bucket]) {
+      bucket++;
+    }
+
+    return bucket;
+  }
+
+  /**
+   * 
+   */
+  @Override
+  public synchronized String toString() {
+    return TransactionCheckerUtils.toJson(phaseDataMap);
+  }
+
+  /**
+   * 
+   */
+  private static class PhaseData {
+    private long count = 0;
+    private long errorCount = 0;
+    private int consecutiveErrorCount = 0;
+
+    private long lastRuntime = 0;
+    private long maxRuntime = 0;
+    private long totalRuntime = 0;
+
+    private final long[] latencyHistogram = new long[LATENCY_BUCKET_LIMITS.length + 1];
+  }
+}
@@ -5,13 +5,26 @@ import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_YIELDMACHINE
 
 import java.io.File;
 import java.sql.Connection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import javax.annotation.Nonnull;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import ch.dfx.common.config.ConfigProvider;
+import ch.dfx.common.config.TransactionCheckerConfigEnum;
 import ch.dfx.common.enumeration.NetworkEnum;
 import ch.dfx.common.enumeration.TokenEnum;
 import ch.dfx.common.errorhandling.DfxException;
@@ -20,18 +33,39 @@ import ch.dfx.transactionserver.builder.DatabaseBuilder;
 import ch.dfx.transactionserver.builder.DepositBuilder;
 import ch.dfx.transactionserver.builder.MasternodeBuilder;
 import ch.dfx.transactionserver.builder.StakingBuilder;
+import ch.dfx.transactionserver.builder.StakingStatistikBuilder;
 import ch.dfx.transactionserver.cleaner.StakingWithdrawalReservedCleaner;
 import ch.dfx.transactionserver.database.helper.DatabaseBalanceHelper;
 import ch.dfx.transactionserver.database.helper.DatabaseBlockHelper;
+import ch.dfx.transactionserver.handler.DatabaseAddressDeltaHandler;
 import ch.dfx.transactionserver.handler.DatabaseAddressHandler;
+import ch.dfx.transactionserver.handler.DatabaseUtxoHandler;
 import ch.dfx.transactionserver.scheduler.SchedulerProvider;
 import ch.dfx.transactionserver.scheduler.SchedulerProviderRunnable;
 import ch.dfx.transactionserver.ymbuilder.YmBalanceBuilder;
 import ch.dfx.transactionserver.ymbuilder.YmDepositBuilder;
 import ch.dfx.transactionserver.ymbuilder.YmStakingBuilder;
+import ch.dfx.transactionserver.ymbuilder.YmStatistikBuilder;
 
 /**
+ * Phases and their dependencies:
+ * 
+ * DATABASE -> CHECK
+ * -> DEPOSIT -> BALANCE -> STAKING -> STATISTIK (staking schema, own connection)
+ * || YM_DEPOSIT -> YM_BALANCE -> YM_STAKING -> YM_STATISTIK (yieldmachine schema, own connection)
+ * || MASTERNODE
+ * -> CLEANER -> YM_CLEANER
+ * 
+ * Runtime and errors of every phase are recorded in the DatabasePhaseMetrics.
+ * 
+ * Error counters: like before the split into phases, a run with an error in the staking or
+ * the yieldmachine phase of a builder counts one error for this builder (see DatabasePhaseEnum).
+ * More than 5 consecutive errors of a builder stop the process.
  * 
+ * The tables added after the initial setup are created before the first phase (see DatabaseTableCreator).
+ * 
+ * The worker threads of the parallel phases are released in shutdown(),
+ * when the runnable is removed from the SchedulerProvider.
  */
 public class DatabaseRunnable implements SchedulerProviderRunnable {
   private static final Logger LOGGER = LogManager.getLogger(DatabaseRunnable.class);
@@ -44,21 +78,28 @@ public class DatabaseRunnable implements SchedulerProviderRunnable {
   private final DatabaseBalanceHelper databaseStakingBalanceHelper;
   private final DatabaseBalanceHelper databaseYieldmachineBalanceHelper;
   private final DatabaseAddressHandler databaseAddressHandler;
+  private final DatabaseUtxoHandler databaseUtxoHandler;
+  private final DatabaseAddressDeltaHandler databaseAddressDeltaHandler;
+
+  private final MasternodeBuilder masternodeBuilder;
+
+  private final DatabasePhaseMetrics databasePhaseMetrics;
+
+  private final ExecutorService executorService;
 
   // ...
   private final File processLockfile;
 
   private final boolean isServerOnly;
+  private final boolean isParallel;
 
   private boolean isProcessing = false;
 
   // ...
   private int databaseBuilderErrorCounter = 0;
-  private int depositBuilderErrorCounter = 0;
-  private int balanceBuilderErrorCounter = 0;
-  private int stakingBuilderErrorCounter = 0;
-  private int masternodeBuilderErrorCounter = 0;
-  private int stakingWithdrawalReservedCleanerErrorCounter = 0;
+
+  private final Map<DatabasePhaseEnum, Integer> phaseErrorCounterMap;
+  private final Set<DatabasePhaseEnum> failedPhaseSet;
 
   /**
    * 
@@ -81,6 +122,22 @@ public class DatabaseRunnable implements SchedulerProviderRunnable {
     this.databaseStakingBalanceHelper = new DatabaseBalanceHelper(network);
     this.databaseYieldmachineBalanceHelper = new DatabaseBalanceHelper(network);
     this.databaseAddressHandler = new DatabaseAddressHandler(network);
+    this.databaseUtxoHandler = new DatabaseUtxoHandler(network);
+    this.databaseAddressDeltaHandler = new DatabaseAddressDeltaHandler();
+
+    // the masternode builder keeps the last fetched masternode data between the runs ...
+    this.masternodeBuilder = new MasternodeBuilder(network, databaseBlockHelper, databaseAddressHandler);
+
+    this.databasePhaseMetrics = DatabasePhaseMetrics.getInstance();
+
+    this.isParallel = ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.H2_PARALLEL_PHASES, true);
+
+    ThreadFactory threadFactory =
+        new ThreadFactoryBuilder().setNameFormat("database-phase-%d").setDaemon(true).build();
+    this.executorService = Executors.newFixedThreadPool(2, threadFactory);
+
+    this.phaseErrorCounterMap = new EnumMap<>(DatabasePhaseEnum.class);
+    this.failedPhaseSet = Collections.synchronizedSet(EnumSet.noneOf(DatabasePhaseEnum.class));
   }
 
   @Override
@@ -88,11 +145,19 @@ public class DatabaseRunnable implements SchedulerProviderRunnable {
     return isProcessing;
   }
 
+  @Override
+  public void shutdown() {
+    LOGGER.debug("shutdown()");
+
+    executorService.shutdownNow();
+  }
+
   @Override
   public void run() {
     LOGGER.debug("run()");
 
     long startTime = System.currentTimeMillis();
+    boolean isError = false;
 
     isProcessing = true;
 
@@ -105,12 +170,14 @@ public class DatabaseRunnable implements SchedulerProviderRunnable {
 
       checkProcessLockfile();
     } catch (Throwable t) {
+      isError = true;
       databaseBuilderErrorCounter++;
       LOGGER.error("run", t);
     } finally {
       isProcessing = false;
 
-      LOGGER.debug("[DatabaseRunnable] runtime: " + (System.currentTimeMillis() - startTime));
+      databasePhaseMetrics.record(DatabasePhaseEnum.RUN, System.currentTimeMillis() - startTime, isError);
+      LOGGER.debug("[DatabaseRunnable] " + databasePhaseMetrics.toRuntimeString());
     }
   }
 
@@ -121,28 +188,28 @@ public class DatabaseRunnable implements SchedulerProviderRunnable {
     LOGGER.trace("doRun()");
 
     Connection connection = null;
+    Connection stakingConnection = null;
+    Connection yieldmachineConnection = null;
 
     try {
       connection = databaseManager.openConnection();
 
-      databaseBlockHelper.openStatements(connection);
-      databaseStakingBalanceHelper.openStatements(connection, TOKEN_STAKING_SCHEMA);
-      databaseYieldmachineBalanceHelper.openStatements(connection, TOKEN_YIELDMACHINE_SCHEMA);
+      // once, before the first phase and the parallel connections ...
+      DatabaseTableCreator.createTables(network, connection);
 
-      // ...
-      if (NetworkEnum.STAGNET != network) {
-        executeDatabase(connection);
-        checkDatabase(connection);
+      if (isParallel) {
+        stakingConnection = databaseManager.openConnection();
+        yieldmachineConnection = databaseManager.openConnection();
+      } else {
+        stakingConnection = connection;
+        yieldmachineConnection = connection;
       }
 
-      // ...
-      executeDeposit(connection);
-      executeBalance(connection);
-      executeStaking(connection);
-      executeMasternode(connection);
+      databaseBlockHelper.openStatements(connection);
+      databaseStakingBalanceHelper.openStatements(stakingConnection, TOKEN_STAKING_SCHEMA);
+      databaseYieldmachineBalanceHelper.openStatements(yieldmachineConnection, TOKEN_YIELDMACHINE_SCHEMA);
 
-      // ...
-      executeStakingWithdrawalReservedCleaner(connection);
+      executePhases(connection, stakingConnection, yieldmachineConnection);
 
       databaseStakingBalanceHelper.closeStatements();
       databaseYieldmachineBalanceHelper.closeStatements();
@@ -151,25 +218,98 @@ public class DatabaseRunnable implements SchedulerProviderRunnable {
       databaseBuilderErrorCounter++;
       LOGGER.error("Database Builder: errorCounter=" + databaseBuilderErrorCounter, e.getMessage());
     } finally {
+      if (isParallel) {
+        databaseManager.closeConnection(yieldmachineConnection);
+        databaseManager.closeConnection(stakingConnection);
+      }
+
       databaseManager.closeConnection(connection);
     }
   }
 
+  /**
+   * 
+   */
+  private void executePhases(
+      @Nonnull Connection connection,
+      @Nonnull Connection stakingConnection,
+      @Nonnull Connection yieldmachineConnection) throws Exception {
+    LOGGER.trace("executePhases()");
+
+    failedPhaseSet.clear();
+
+    // ...
+    if (NetworkEnum.STAGNET != network) {
+      executeDatabase(connection);
+      checkDatabase(connection);
+    } else {
+      // no deltas from the DatabaseBuilder ...
+      databaseAddressDeltaHandler.invalidate();
+    }
+
+    // staking, yieldmachine and masternode are independent of each other ...
+    if (isParallel) {
+      Future<?> stakingFuture = executorService.submit(() -> executeStakingChain(stakingConnection));
+      Future<?> yieldmachineFuture = executorService.submit(() -> executeYieldmachineChain(yieldmachineConnection));
+
+      executeMasternode(connection);
+
+      stakingFuture.get();
+      yieldmachineFuture.get();
+    } else {
+      executeStakingChain(stakingConnection);
+      executeYieldmachineChain(yieldmachineConnection);
+      executeMasternode(connection);
+    }
+
+    // ...
+    if (0 == databasePhaseMetrics.getConsecutiveErrorCount(DatabasePhaseEnum.DEPOSIT)
+        && 0 == databasePhaseMetrics.getConsecutiveErrorCount(DatabasePhaseEnum.BALANCE)
+        && 0 == databasePhaseMetrics.getConsecutiveErrorCount(DatabasePhaseEnum.STAKING)) {
+      databaseAddressDeltaHandler.reset();
+    } else {
+      databaseAddressDeltaHandler.invalidate();
+    }
+
+    // ...
+    executeStakingWithdrawalReservedCleaner(connection);
+
+    updatePhaseErrorCounter();
+  }
+
+  /**
+   * 
+   */
+  private void updatePhaseErrorCounter() {
+    LOGGER.trace("updatePhaseErrorCounter()");
+
+    for (DatabasePhaseEnum phase : DatabasePhaseEnum.values()) {
+      if (DatabasePhaseEnum.RUN != phase
+          && DatabasePhaseEnum.DATABASE != phase
+          && DatabasePhaseEnum.CHECK != phase
+          && phase == phase.getErrorCounterPhase()) {
+        boolean isError =
+            failedPhaseSet.stream().anyMatch(failedPhase -> phase == failedPhase.getErrorCounterPhase());
+
+        phaseErrorCounterMap.put(phase, isError ? phaseErrorCounterMap.getOrDefault(phase, 0) + 1 : 0);
+      }
+    }
+  }
+
   /**
    * 
    */
   private void executeDatabase(@Nonnull Connection connection) {
     LOGGER.trace("executeDatabase()");
 
-    try {
-      DatabaseBuilder databaseBuilder = new DatabaseBuilder(network, databaseBlockHelper, databaseAddressHandler);
+    boolean isSuccess = executePhase(DatabasePhaseEnum.DATABASE, () -> {
+      DatabaseBuilder databaseBuilder =
+          new DatabaseBuilder(network, databaseBlockHelper, databaseAddressHandler, databaseUtxoHandler, databaseAddressDeltaHandler);
       databaseBuilder.build(connection);
-    } catch (DfxException e) {
-      databaseBuilderErrorCounter++;
-      LOGGER.error("Database Builder: errorCounter=" + databaseBuilderErrorCounter, e.getMessage());
-    } catch (Exception e) {
+    });
+
+    if (!isSuccess) {
       databaseBuilderErrorCounter++;
-      LOGGER.error("Database Builder: errorCounter=" + databaseBuilderErrorCounter, e);
     }
   }
 
@@ -179,88 +319,72 @@ public class DatabaseRunnable implements SchedulerProviderRunnable {
   private void checkDatabase(@Nonnull Connection connection) {
     LOGGER.trace("checkDatabase()");
 
-    try {
-      DatabaseChecker databaseChecker = new DatabaseChecker(network);
+    boolean isSuccess = executePhase(DatabasePhaseEnum.CHECK, () -> {
+      DatabaseChecker databaseChecker =
+          new DatabaseChecker(network, databaseAddressHandler, databaseUtxoHandler, databaseAddressDeltaHandler);
 
       if (databaseChecker.check(connection)) {
         databaseBuilderErrorCounter = 0;
       }
-    } catch (DfxException e) {
-      databaseBuilderErrorCounter++;
-      LOGGER.error("Database Checker: errorCounter=" + databaseBuilderErrorCounter, e.getMessage());
-    } catch (Exception e) {
+    });
+
+    if (!isSuccess) {
       databaseBuilderErrorCounter++;
-      LOGGER.error("Database Checker: errorCounter=" + databaseBuilderErrorCounter, e);
     }
   }
 
   /**
    * 
    */
-  private void executeDeposit(@Nonnull Connection connection) {
-    LOGGER.trace("executeDeposit()");
-
-    try {
-      DepositBuilder depositBuilder = new DepositBuilder(network, databaseStakingBalanceHelper);
-      depositBuilder.build(connection);
-
-      YmDepositBuilder ymDepositBuilder = new YmDepositBuilder(network, databaseYieldmachineBalanceHelper);
-      ymDepositBuilder.build(connection);
-
-      depositBuilderErrorCounter = 0;
-    } catch (DfxException e) {
-      depositBuilderErrorCounter++;
-      LOGGER.error("Deposit Builder: errorCounter=" + depositBuilderErrorCounter, e.getMessage());
-    } catch (Exception e) {
-      depositBuilderErrorCounter++;
-      LOGGER.error("Deposit Builder: errorCounter=" + depositBuilderErrorCounter, e);
-    }
+  private void executeStakingChain(@Nonnull Connection stakingConnection) {
+    LOGGER.trace("executeStakingChain()");
+
+    executePhase(DatabasePhaseEnum.DEPOSIT, () -> {
+      DepositBuilder depositBuilder = new DepositBuilder(network, databaseStakingBalanceHelper, databaseAddressDeltaHandler);
+      depositBuilder.build(stakingConnection);
+    });
+
+    executePhase(DatabasePhaseEnum.BALANCE, () -> {
+      BalanceBuilder balanceBuilder = new BalanceBuilder(network, databaseStakingBalanceHelper, databaseAddressDeltaHandler);
+      balanceBuilder.build(stakingConnection, TokenEnum.DFI);
+    });
+
+    executePhase(DatabasePhaseEnum.STAKING, () -> {
+      StakingBuilder stakingBuilder = new StakingBuilder(network, databaseStakingBalanceHelper, databaseAddressDeltaHandler);
+      stakingBuilder.build(stakingConnection, TokenEnum.DFI);
+    });
+
+    executePhase(DatabasePhaseEnum.STATISTIK, () -> {
+      StakingStatistikBuilder stakingStatistikBuilder = new StakingStatistikBuilder(network);
+      stakingStatistikBuilder.build(stakingConnection);
+    });
   }
 
   /**
    * 
    */
-  private void executeBalance(@Nonnull Connection connection) {
-    LOGGER.trace("executeBalance()");
+  private void executeYieldmachineChain(@Nonnull Connection yieldmachineConnection) {
+    LOGGER.trace("executeYieldmachineChain()");
 
-    try {
-      BalanceBuilder balanceBuilder = new BalanceBuilder(network, databaseStakingBalanceHelper);
-      balanceBuilder.build(connection, TokenEnum.DFI);
+    executePhase(DatabasePhaseEnum.YM_DEPOSIT, () -> {
+      YmDepositBuilder ymDepositBuilder = new YmDepositBuilder(network, databaseYieldmachineBalanceHelper);
+      ymDepositBuilder.build(yieldmachineConnection);
+    });
 
+    executePhase(DatabasePhaseEnum.YM_BALANCE, () -> {
       YmBalanceBuilder ymBalanceBuilder = new YmBalanceBuilder(network, databaseYieldmachineBalanceHelper);
-      ymBalanceBuilder.build(connection);
-
-      balanceBuilderErrorCounter = 0;
-    } catch (DfxException e) {
-      balanceBuilderErrorCounter++;
-      LOGGER.error("Balance Builder: errorCounter=" + balanceBuilderErrorCounter, e.getMessage());
-    } catch (Exception e) {
-      balanceBuilderErrorCounter++;
-      LOGGER.error("Balance Builder: errorCounter=" + balanceBuilderErrorCounter, e);
-    }
-  }
-
-  /**
-   * 
-   */
-  private void executeStaking(@Nonnull Connection connection) {
-    LOGGER.trace("executeStaking()");
-
-    try {
-      StakingBuilder stakingBuilder = new StakingBuilder(network, databaseStakingBalanceHelper);
-      stakingBuilder.build(connection, TokenEnum.DFI);
+      ymBalanceBuilder.build(yieldmachineConnection);
+    });
 
+    executePhase(DatabasePhaseEnum.YM_STAKING, () -> {
       YmStakingBuilder ymStakingBuilder = new YmStakingBuilder(network, databaseYieldmachineBalanceHelper);
-      ymStakingBuilder.build(connection);
+      ymStakingBuilder.build(yieldmachineConnection);
+    });
 
-      stakingBuilderErrorCounter = 0;
-    } catch (DfxException e) {
-      stakingBuilderErrorCounter++;
-      LOGGER.error("Staking Builder: errorCounter=" + stakingBuilderErrorCounter, e.getMessage());
-    } catch (Exception e) {
-      stakingBuilderErrorCounter++;
-      LOGGER.error("Staking Builder: errorCounter=" + stakingBuilderErrorCounter, e);
-    }
+    executePhase(DatabasePhaseEnum.YM_STATISTIK, () -> {
+      YmStatistikBuilder ymStatistikBuilder = new YmStatistikBuilder(network);
+      ymStatistikBuilder.build(yieldmachineConnection);
+    });
   }
 
   /**
@@ -269,18 +393,7 @@ public class DatabaseRunnable implements SchedulerProviderRunnable {
   private void executeMasternode(@Nonnull Connection connection) {
     LOGGER.trace("executeMasternode()");
 
-    try {
-      MasternodeBuilder masternodeBuilder = new MasternodeBuilder(network, databaseBlockHelper);
-      masternodeBuilder.build(connection);
-
-      masternodeBuilderErrorCounter = 0;
-    } catch (DfxException e) {
-      masternodeBuilderErrorCounter++;
-      LOGGER.error("Masternode Builder: errorCounter=" + masternodeBuilderErrorCounter, e.getMessage());
-    } catch (Exception e) {
-      masternodeBuilderErrorCounter++;
-      LOGGER.error("Masternode Builder: errorCounter=" + masternodeBuilderErrorCounter, e);
-    }
+    executePhase(DatabasePhaseEnum.MASTERNODE, () -> masternodeBuilder.build(connection));
   }
 
   /**
@@ -289,23 +402,47 @@ public class DatabaseRunnable implements SchedulerProviderRunnable {
   private void executeStakingWithdrawalReservedCleaner(@Nonnull Connection connection) {
     LOGGER.trace("executeStakingWithdrawalReservedCleaner()");
 
-    try {
+    executePhase(DatabasePhaseEnum.CLEANER, () -> {
       StakingWithdrawalReservedCleaner stakingWithdrawalReservedCleaner =
           new StakingWithdrawalReservedCleaner(network, databaseBlockHelper, databaseStakingBalanceHelper);
       stakingWithdrawalReservedCleaner.clean(connection, TOKEN_STAKING_SCHEMA);
+    });
 
+    executePhase(DatabasePhaseEnum.YM_CLEANER, () -> {
       StakingWithdrawalReservedCleaner yieldmachineWithdrawalReservedCleaner =
           new StakingWithdrawalReservedCleaner(network, databaseBlockHelper, databaseYieldmachineBalanceHelper);
       yieldmachineWithdrawalReservedCleaner.clean(connection, TOKEN_YIELDMACHINE_SCHEMA);
+    });
+  }
+
+  /**
+   * 
+   */
+  private boolean executePhase(
+      @Nonnull DatabasePhaseEnum phase,
+      @Nonnull DatabasePhase databasePhase) {
+    LOGGER.trace("executePhase(): " + phase);
 
-      stakingWithdrawalReservedCleanerErrorCounter = 0;
+    long startTime = System.currentTimeMillis();
+    boolean isError = false;
+
+    try {
+      databasePhase.execute();
     } catch (DfxException e) {
-      stakingWithdrawalReservedCleanerErrorCounter++;
-      LOGGER.error("StakingWithdrawalReserved Cleaner: errorCounter=" + stakingWithdrawalReservedCleanerErrorCounter, e.getMessage());
+      isError = true;
+      LOGGER.error(phase + ": errorCounter=" + (databasePhaseMetrics.getConsecutiveErrorCount(phase) + 1), e.getMessage());
     } catch (Exception e) {
-      stakingWithdrawalReservedCleanerErrorCounter++;
-      LOGGER.error("StakingWithdrawalReserved Cleaner: errorCounter=" + stakingWithdrawalReservedCleanerErrorCounter, e);
+      isError = true;
+      LOGGER.error(phase + ": errorCounter=" + (databasePhaseMetrics.getConsecutiveErrorCount(phase) + 1), e);
+    } finally {
+      if (isError) {
+        failedPhaseSet.add(phase);
+      }
+
+      databasePhaseMetrics.record(phase, System.currentTimeMillis() - startTime, isError);
     }
+
+    return !isError;
   }
 
   /**
@@ -314,12 +451,11 @@ public class DatabaseRunnable implements SchedulerProviderRunnable {
   private void checkErrorCounter() {
     LOGGER.trace("checkErrorCounter()");
 
+    boolean isPhaseErrorLimitReached =
+        phaseErrorCounterMap.values().stream().anyMatch(phaseErrorCounter -> 5 < phaseErrorCounter);
+
     if (5 < databaseBuilderErrorCounter
-        || 5 < depositBuilderErrorCounter
-        || 5 < balanceBuilderErrorCounter
-        || 5 < stakingBuilderErrorCounter
-        || 5 < masternodeBuilderErrorCounter
-        || 5 < stakingWithdrawalReservedCleanerErrorCounter) {
+        || isPhaseErrorLimitReached) {
       LOGGER.error("Too many errors, will exit now");
       SchedulerProvider.getInstance().exit(-1);
     }
@@ -336,4 +472,12 @@ public class DatabaseRunnable implements SchedulerProviderRunnable {
       SchedulerProvider.getInstance().exit(-1);
     }
   }
+
+  /**
+   * 
+   */
+  @FunctionalInterface
+  private interface DatabasePhase {
+    void execute() throws Exception;
+  }
 }
@@ -0,0 +1,131 @@
+package ch.dfx.transactionserver.database;
+
+import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_STAKING_SCHEMA;
+import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_YIELDMACHINE_SCHEMA;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import ch.dfx.common.enumeration.NetworkEnum;
+import ch.dfx.common.errorhandling.DfxException;
+
+/**
+ * Tables added after the initial setup, created once per database and schema on first use,
+ * so that an existing database needs no manual migration.
+ * 
+ * deposit_watermark: last block per liquidity address searched for deposits, without a row
+ * the DepositBuilder / YmDepositBuilder start with a full scan.
+ * 
+ * statistik: moved from the network schema (column "day") to the staking and the yieldmachine schema
+ * (column "utc_day"), the days are calculated again by the next build cycles or by StatistikBuilder.backfill().
+ * The old table is no longer used and can be dropped: DROP TABLE IF EXISTS <network>.statistik;
+ * 
+ * The DDL commits the open transaction of the connection, call it before the first change.
+ */
+public class DatabaseTableCreator {
+  private static final Logger LOGGER = LogManager.getLogger(DatabaseTableCreator.class);
+
+  // database url and table of the already created tables ...
+  private static final Set<String> createdTableSet = new HashSet<>();
+
+  /**
+   * All tables of the staking and the yieldmachine schema, before the first phase of the DatabaseRunnable.
+   */
+  public synchronized static void createTables(
+      @Nonnull NetworkEnum network,
+      @Nonnull Connection connection) throws DfxException {
+    LOGGER.trace("createTables()");
+
+    for (String dbSchema : new String[] { TOKEN_STAKING_SCHEMA, TOKEN_YIELDMACHINE_SCHEMA }) {
+      createDepositWatermarkTable(network, connection, dbSchema);
+      createStatistikTable(network, connection, dbSchema);
+    }
+  }
+
+  /**
+   * 
+   */
+  public synchronized static void createDepositWatermarkTable(
+      @Nonnull NetworkEnum network,
+      @Nonnull Connection connection,
+      @Nonnull String dbSchema) throws DfxException {
+    LOGGER.trace("createDepositWatermarkTable()");
+
+    String depositWatermarkCreateTableSql =
+        "CREATE TABLE IF NOT EXISTS " + dbSchema + ".deposit_watermark ("
+            + " token_number INT NOT NULL,"
+            + " liquidity_address_number BIGINT NOT NULL,"
+            + " block_number BIGINT NOT NULL,"
+            + " change_time TIMESTAMP WITH TIME ZONE GENERATED ALWAYS AS CURRENT_TIMESTAMP"
+            + ")";
+
+    String depositWatermarkCreateIndexSql =
+        "CREATE UNIQUE INDEX IF NOT EXISTS idx1_deposit_watermark"
+            + " ON " + dbSchema + ".deposit_watermark(token_number, liquidity_address_number)";
+
+    createTable(network, connection, dbSchema + ".deposit_watermark", depositWatermarkCreateTableSql, depositWatermarkCreateIndexSql);
+  }
+
+  /**
+   * 
+   */
+  public synchronized static void createStatistikTable(
+      @Nonnull NetworkEnum network,
+      @Nonnull Connection connection,
+      @Nonnull String dbSchema) throws DfxException {
+    LOGGER.trace("createStatistikTable()");
+
+    String statistikCreateTableSql =
+        "CREATE TABLE IF NOT EXISTS " + dbSchema + ".statistik ("
+            + " token_number INT NOT NULL,"
+            + " utc_day DATE NOT NULL,"
+            + " deposit_count INT NOT NULL,"
+            + " deposit_vin DECIMAL(20,8) NOT NULL,"
+            + " deposit_vout DECIMAL(20,8) NOT NULL,"
+            + " change_time TIMESTAMP WITH TIME ZONE GENERATED ALWAYS AS CURRENT_TIMESTAMP"
+            + ")";
+
+    String statistikCreateIndexSql =
+        "CREATE UNIQUE INDEX IF NOT EXISTS idx1_statistik ON " + dbSchema + ".statistik(token_number, utc_day)";
+
+    createTable(network, connection, dbSchema + ".statistik", statistikCreateTableSql, statistikCreateIndexSql);
+  }
+
+  /**
+   * 
+   */
+  private static void createTable(
+      @Nonnull NetworkEnum network,
+      @Nonnull Connection connection,
+      @Nonnull String table,
+      @Nonnull String... createSqls) throws DfxException {
+    LOGGER.trace("createTable(): " + table);
+
+    try (Statement statement = connection.createStatement()) {
+      String tableKey = connection.getMetaData().getURL() + "/" + DatabaseUtils.replaceSchema(network, table);
+
+      if (!createdTableSet.contains(tableKey)) {
+        for (String createSql : createSqls) {
+          statement.execute(DatabaseUtils.replaceSchema(network, createSql));
+        }
+
+        createdTableSet.add(tableKey);
+      }
+    } catch (Exception e) {
+      throw new DfxException("createTable", e);
+    }
+  }
+
+  /**
+   * 
+   */
+  private DatabaseTableCreator() {
+  }
+}
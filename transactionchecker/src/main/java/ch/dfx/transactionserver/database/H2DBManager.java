@@ -25,4 +25,9 @@ public interface H2DBManager {
    * 
    */
   void compact() throws DfxException;
+
+  /**
+   * 
+   */
+  void shutdown();
 }
\ No newline at end of file
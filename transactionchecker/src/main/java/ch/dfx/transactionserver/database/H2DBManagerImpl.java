@@ -18,6 +18,9 @@ import ch.dfx.common.errorhandling.DfxException;
 /**
  * JDBC URL: "jdbc:h2:C:/Data/Database/h2/[DATABASE_NAME]"
  * JDPC URL: "jdbc:h2:tcp://localhost:[PORT]/[DATABASE_NAME]"
+ * 
+ * Embedded: the process running the H2 TCP server opens the database file directly (same database instance
+ * as the TCP server, without the loopback socket), all other processes connect over TCP.
  */
 public class H2DBManagerImpl implements H2DBManager {
   private static final Logger LOGGER = LogManager.getLogger(H2DBManagerImpl.class);
@@ -25,10 +28,20 @@ public class H2DBManagerImpl implements H2DBManager {
   // ...
   private static String jdbcUrlPrefix = "jdbc:h2:";
 
+  private final boolean isEmbedded;
+
   /**
    *
    */
   public H2DBManagerImpl() {
+    this(false);
+  }
+
+  /**
+   * 
+   */
+  public H2DBManagerImpl(boolean isEmbedded) {
+    this.isEmbedded = isEmbedded;
   }
 
   /**
@@ -64,7 +77,7 @@ public class H2DBManagerImpl implements H2DBManager {
     LOGGER.trace("openConnection()");
 
     try {
-      String jdbcUrl = getTcpUrl();
+      String jdbcUrl = isEmbedded ? getDirectoryUrl() : getTcpUrl();
       LOGGER.trace("JDBC URL: " + jdbcUrl);
 
       String jdbcUsername = ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.H2_USERNAME);
@@ -157,4 +170,12 @@ public class H2DBManagerImpl implements H2DBManager {
       throw new DfxException("compact", e);
     }
   }
+
+  /**
+   * Nothing to do, every connection is closed by closeConnection() ...
+   */
+  @Override
+  public void shutdown() {
+    LOGGER.trace("shutdown()");
+  }
 }
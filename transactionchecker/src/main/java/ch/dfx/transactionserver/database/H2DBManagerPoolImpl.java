@@ -0,0 +1,728 @@
+package ch.dfx.transactionserver.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import ch.dfx.common.config.ConfigProvider;
+import ch.dfx.common.config.TransactionCheckerConfigEnum;
+import ch.dfx.common.errorhandling.DfxException;
+
+/**
+ * Connection pool on top of a H2DBManager (usually H2DBManagerImpl), which opens the physical connections.
+ * 
+ * openConnection() returns a wrapper: close() (and closeConnection()) gives the connection back to the pool,
+ * uncommitted work is rolled back. prepareStatement(sql) is served from a statement cache per connection:
+ * close() of a cached statement keeps it open for the next prepareStatement() with the same SQL,
+ * so the openStatements() of the helpers only prepare the statements on the first use of a connection.
+ * 
+ * Idle connections are validated before reuse, a connection borrowed longer than the leak detection time
+ * is logged once with the stacktrace of the borrower.
+ */
+public class H2DBManagerPoolImpl implements H2DBManager {
+  private static final Logger LOGGER = LogManager.getLogger(H2DBManagerPoolImpl.class);
+
+  // Validate idle connections after this time (milliseconds) ...
+  private static final long VALIDATION_IDLE_TIME = 30000;
+  private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+  // ...
+  private final H2DBManager connectionManager;
+
+  private final ReentrantLock poolLock;
+  private final Condition poolCondition;
+
+  private final ArrayDeque<PooledConnection> idleConnectionDeque;
+  private final Set<PooledConnection> borrowedConnectionSet;
+
+  private final H2DBPoolMetrics poolMetrics;
+
+  // ...
+  private boolean isSetup = false;
+  private boolean isShutdown = false;
+
+  private int poolSize = 0;
+  private long poolTimeout = 0;
+  private long leakDetectionTime = 0;
+  private int statementCacheSize = 0;
+
+  private int createdCount = 0;
+
+  /**
+   * 
+   */
+  public H2DBManagerPoolImpl(@Nonnull H2DBManager connectionManager) {
+    this.connectionManager = connectionManager;
+
+    this.poolLock = new ReentrantLock();
+    this.poolCondition = poolLock.newCondition();
+
+    this.idleConnectionDeque = new ArrayDeque<>();
+    this.borrowedConnectionSet = new HashSet<>();
+
+    this.poolMetrics = H2DBPoolMetrics.getInstance();
+  }
+
+  /**
+   * Settings without config: timeout and leak detection in seconds ...
+   */
+  public H2DBManagerPoolImpl(
+      @Nonnull H2DBManager connectionManager,
+      int poolSize,
+      int poolTimeout,
+      int leakDetectionTime,
+      int statementCacheSize) {
+    this(connectionManager);
+
+    this.poolSize = Math.max(1, poolSize);
+    this.poolTimeout = Math.max(1, poolTimeout) * 1000L;
+    this.leakDetectionTime = Math.max(0, leakDetectionTime) * 1000L;
+    this.statementCacheSize = Math.max(0, statementCacheSize);
+
+    this.isSetup = true;
+  }
+
+  /**
+   * Config is read on the first use, not in the constructor ...
+   */
+  private void setup() {
+    if (!isSetup) {
+      ConfigProvider configProvider = ConfigProvider.getInstance();
+
+      poolSize = Math.max(1, configProvider.getValue(TransactionCheckerConfigEnum.H2_POOL_SIZE, 8));
+      poolTimeout = Math.max(1, configProvider.getValue(TransactionCheckerConfigEnum.H2_POOL_TIMEOUT, 30)) * 1000L;
+      leakDetectionTime = Math.max(0, configProvider.getValue(TransactionCheckerConfigEnum.H2_POOL_LEAK_DETECTION, 600)) * 1000L;
+      statementCacheSize = Math.max(0, configProvider.getValue(TransactionCheckerConfigEnum.H2_POOL_STATEMENT_CACHE_SIZE, 256));
+
+      LOGGER.debug(
+          "[H2DBManagerPoolImpl] size=" + poolSize + " / timeout=" + poolTimeout
+              + " / leak detection=" + leakDetectionTime + " / statement cache=" + statementCacheSize);
+
+      isSetup = true;
+    }
+  }
+
+  /**
+   * 
+   */
+  @Override
+  public Connection openConnection() throws DfxException {
+    LOGGER.trace("openConnection()");
+
+    long startTime = System.currentTimeMillis();
+
+    PooledConnection pooledConnection = borrow(startTime);
+
+    long waitTime = System.currentTimeMillis() - startTime;
+
+    return pooledConnection.createConnectionProxy(waitTime);
+  }
+
+  /**
+   * 
+   */
+  private PooledConnection borrow(long startTime) throws DfxException {
+    LOGGER.trace("borrow()");
+
+    try {
+      while (true) {
+        PooledConnection pooledConnection = null;
+        boolean isNewConnection = false;
+
+        // ...
+        poolLock.lock();
+
+        try {
+          setup();
+          checkLeak();
+
+          long deadline = startTime + poolTimeout;
+
+          while (null == pooledConnection && !isNewConnection) {
+            if (isShutdown) {
+              throw new DfxException("openConnection: connection pool is shut down");
+            }
+
+            if (!idleConnectionDeque.isEmpty()) {
+              pooledConnection = idleConnectionDeque.pollFirst();
+            } else if (createdCount < poolSize) {
+              createdCount++;
+              isNewConnection = true;
+            } else {
+              long remainingTime = deadline - System.currentTimeMillis();
+
+              if (0 >= remainingTime) {
+                poolMetrics.recordTimeout();
+                throw new DfxException("openConnection: no connection available after " + poolTimeout + "ms");
+              }
+
+              poolCondition.await(remainingTime, TimeUnit.MILLISECONDS);
+            }
+          }
+        } finally {
+          poolLock.unlock();
+        }
+
+        // the physical connection is opened outside of the lock ...
+        if (isNewConnection) {
+          pooledConnection = createPooledConnection();
+        } else if (!validate(pooledConnection)) {
+          discard(pooledConnection);
+          continue;
+        }
+
+        // ...
+        poolLock.lock();
+
+        try {
+          pooledConnection.borrowTime = System.currentTimeMillis();
+          pooledConnection.borrowThreadName = Thread.currentThread().getName();
+          pooledConnection.borrowStacktrace = 0 < leakDetectionTime ? new Exception("connection borrowed here") : null;
+          pooledConnection.isLeakReported = false;
+
+          borrowedConnectionSet.add(pooledConnection);
+
+          poolMetrics.recordBorrow(
+              poolSize, createdCount, borrowedConnectionSet.size(), pooledConnection.borrowTime - startTime);
+        } finally {
+          poolLock.unlock();
+        }
+
+        return pooledConnection;
+      }
+    } catch (DfxException e) {
+      throw e;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DfxException("openConnection", e);
+    } catch (Exception e) {
+      throw new DfxException("openConnection", e);
+    }
+  }
+
+  /**
+   * 
+   */
+  private PooledConnection createPooledConnection() throws DfxException {
+    LOGGER.trace("createPooledConnection()");
+
+    try {
+      return new PooledConnection(connectionManager.openConnection());
+    } catch (DfxException e) {
+      poolLock.lock();
+
+      try {
+        createdCount--;
+        poolCondition.signal();
+      } finally {
+        poolLock.unlock();
+      }
+
+      throw e;
+    }
+  }
+
+  /**
+   * 
+   */
+  private boolean validate(@Nonnull PooledConnection pooledConnection) {
+    LOGGER.trace("validate()");
+
+    try {
+      if (pooledConnection.connection.isClosed()) {
+        return false;
+      }
+
+      if (VALIDATION_IDLE_TIME < System.currentTimeMillis() - pooledConnection.releaseTime) {
+        return pooledConnection.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+      }
+
+      return true;
+    } catch (Exception e) {
+      LOGGER.error("validate", e);
+      return false;
+    }
+  }
+
+  /**
+   * 
+   */
+  private void discard(@Nonnull PooledConnection pooledConnection) {
+    LOGGER.trace("discard()");
+
+    poolMetrics.recordInvalid();
+
+    pooledConnection.closePhysical();
+
+    poolLock.lock();
+
+    try {
+      createdCount--;
+      poolCondition.signal();
+    } finally {
+      poolLock.unlock();
+    }
+  }
+
+  /**
+   * Called with the pool lock held ...
+   */
+  private void checkLeak() {
+    if (0 < leakDetectionTime) {
+      long currentTime = System.currentTimeMillis();
+
+      for (PooledConnection pooledConnection : borrowedConnectionSet) {
+        long borrowedTime = currentTime - pooledConnection.borrowTime;
+
+        if (!pooledConnection.isLeakReported
+            && leakDetectionTime < borrowedTime) {
+          pooledConnection.isLeakReported = true;
+          poolMetrics.recordLeak();
+
+          LOGGER.warn(
+              "[H2DBManagerPoolImpl] possible connection leak: borrowed by thread "
+                  + pooledConnection.borrowThreadName + " since " + borrowedTime + "ms",
+              pooledConnection.borrowStacktrace);
+        }
+      }
+    }
+  }
+
+  /**
+   * 
+   */
+  private void release(@Nonnull PooledConnection pooledConnection) {
+    LOGGER.trace("release()");
+
+    boolean isReusable = pooledConnection.reset();
+
+    if (!isReusable) {
+      pooledConnection.closePhysical();
+    }
+
+    poolLock.lock();
+
+    try {
+      borrowedConnectionSet.remove(pooledConnection);
+
+      long releaseTime = System.currentTimeMillis();
+      pooledConnection.releaseTime = releaseTime;
+
+      if (isReusable && !isShutdown) {
+        idleConnectionDeque.addFirst(pooledConnection);
+      } else {
+        if (isReusable) {
+          pooledConnection.closePhysical();
+        }
+
+        createdCount--;
+      }
+
+      poolMetrics.recordRelease(createdCount, borrowedConnectionSet.size(), releaseTime - pooledConnection.borrowTime);
+
+      poolCondition.signal();
+
+      checkLeak();
+    } finally {
+      poolLock.unlock();
+    }
+  }
+
+  /**
+   * 
+   */
+  @Override
+  public void closeConnection(@Nullable Connection connection) {
+    LOGGER.trace("closeConnection()");
+
+    try {
+      if (null != connection) {
+        connection.close();
+      }
+    } catch (Exception e) {
+      LOGGER.error("closeConnection", e);
+    }
+  }
+
+  /**
+   * The database files are rewritten, all pooled connections must be closed before ...
+   */
+  @Override
+  public void compact() throws DfxException {
+    LOGGER.trace("compact()");
+
+    shutdown();
+
+    connectionManager.compact();
+  }
+
+  /**
+   * Close all idle connections, borrowed connections are closed on their release ...
+   */
+  @Override
+  public void shutdown() {
+    LOGGER.trace("shutdown()");
+
+    List<PooledConnection> closeConnectionList;
+
+    poolLock.lock();
+
+    try {
+      isShutdown = true;
+
+      closeConnectionList = new ArrayList<>(idleConnectionDeque);
+      idleConnectionDeque.clear();
+
+      createdCount -= closeConnectionList.size();
+
+      poolCondition.signalAll();
+    } finally {
+      poolLock.unlock();
+    }
+
+    closeConnectionList.forEach(PooledConnection::closePhysical);
+
+    LOGGER.debug("[H2DBPoolMetrics] " + poolMetrics);
+  }
+
+  /**
+   * One physical connection with its statement cache.
+   * 
+   * A connection is only used by one borrower at a time, the statement cache needs no locking.
+   */
+  private class PooledConnection {
+    private final Connection connection;
+
+    // SQL to idle statements ...
+    private final Map<String, ArrayDeque<PreparedStatement>> idleStatementMap;
+    private int cachedStatementCount = 0;
+
+    // Statements handed out during the current borrow ...
+    private final Set<StatementHandler> openStatementHandlerSet;
+    private final List<Statement> openUncachedStatementList;
+
+    private ConnectionHandler connectionHandler = null;
+
+    // ...
+    private long borrowTime = 0;
+    private long releaseTime = System.currentTimeMillis();
+    private String borrowThreadName = null;
+    private Exception borrowStacktrace = null;
+    private boolean isLeakReported = false;
+
+    /**
+     * 
+     */
+    private PooledConnection(@Nonnull Connection connection) {
+      this.connection = connection;
+
+      this.idleStatementMap = new HashMap<>();
+      this.openStatementHandlerSet = new HashSet<>();
+      this.openUncachedStatementList = new ArrayList<>();
+    }
+
+    /**
+     * A new wrapper per borrow, a wrapper used after close() cannot reach the next borrower ...
+     */
+    private Connection createConnectionProxy(long waitTime) {
+      LOGGER.trace("[H2DBManagerPoolImpl] wait time: " + waitTime);
+
+      connectionHandler = new ConnectionHandler(this);
+
+      Connection connectionProxy =
+          (Connection) Proxy.newProxyInstance(
+              Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, connectionHandler);
+
+      connectionHandler.connectionProxy = connectionProxy;
+
+      return connectionProxy;
+    }
+
+    /**
+     * 
+     */
+    private PreparedStatement prepareStatement(@Nonnull String sql) throws SQLException {
+      ArrayDeque<PreparedStatement> idleStatementDeque = idleStatementMap.get(sql);
+      PreparedStatement statement = null == idleStatementDeque ? null : idleStatementDeque.pollFirst();
+
+      boolean isCacheHit = null != statement;
+      boolean isCached = true;
+
+      if (!isCacheHit) {
+        statement = connection.prepareStatement(sql);
+
+        if (cachedStatementCount < statementCacheSize) {
+          cachedStatementCount++;
+        } else {
+          isCached = false;
+        }
+      }
+
+      poolMetrics.recordStatement(isCacheHit);
+
+      StatementHandler statementHandler = new StatementHandler(this, sql, statement, isCached);
+      openStatementHandlerSet.add(statementHandler);
+
+      return (PreparedStatement) Proxy.newProxyInstance(
+          PreparedStatement.class.getClassLoader(), new Class<?>[] { PreparedStatement.class }, statementHandler);
+    }
+
+    /**
+     * 
+     */
+    private void releaseStatement(@Nonnull StatementHandler statementHandler) {
+      openStatementHandlerSet.remove(statementHandler);
+
+      PreparedStatement statement = statementHandler.statement;
+
+      try {
+        if (statementHandler.isCached) {
+          statement.clearParameters();
+          statement.clearBatch();
+
+          idleStatementMap.computeIfAbsent(statementHandler.sql, sql -> new ArrayDeque<>()).addFirst(statement);
+        } else {
+          statement.close();
+        }
+      } catch (Exception e) {
+        LOGGER.error("releaseStatement", e);
+
+        closeStatement(statement);
+        cachedStatementCount -= statementHandler.isCached ? 1 : 0;
+      }
+    }
+
+    /**
+     * Back to the initial state for the next borrower, false if the connection is not usable anymore ...
+     */
+    private boolean reset() {
+      try {
+        new ArrayList<>(openStatementHandlerSet).forEach(statementHandler -> statementHandler.close());
+
+        openUncachedStatementList.forEach(statement -> closeStatement(statement));
+        openUncachedStatementList.clear();
+
+        if (connection.isClosed()) {
+          return false;
+        }
+
+        connection.rollback();
+        connection.setAutoCommit(false);
+
+        return true;
+      } catch (Exception e) {
+        LOGGER.error("reset", e);
+        return false;
+      }
+    }
+
+    /**
+     * 
+     */
+    private void closeStatement(@Nonnull Statement statement) {
+      try {
+        statement.close();
+      } catch (Exception e) {
+        LOGGER.error("closeStatement", e);
+      }
+    }
+
+    /**
+     * 
+     */
+    private void closePhysical() {
+      try {
+        connection.close();
+      } catch (Exception e) {
+        LOGGER.error("closePhysical", e);
+      }
+
+      idleStatementMap.clear();
+      cachedStatementCount = 0;
+    }
+  }
+
+  /**
+   * Wrapper of a borrowed connection ...
+   */
+  private class ConnectionHandler implements InvocationHandler {
+    private final PooledConnection pooledConnection;
+
+    private Connection connectionProxy = null;
+    private boolean isClosed = false;
+
+    /**
+     * 
+     */
+    private ConnectionHandler(@Nonnull PooledConnection pooledConnection) {
+      this.pooledConnection = pooledConnection;
+    }
+
+    /**
+     * 
+     */
+    @Override
+    public Object invoke(
+        Object proxy,
+        Method method,
+        Object[] args) throws Throwable {
+      String methodName = method.getName();
+
+      if ("close".equals(methodName)) {
+        if (!isClosed) {
+          isClosed = true;
+          release(pooledConnection);
+        }
+
+        return null;
+      }
+
+      if ("isClosed".equals(methodName)) {
+        return isClosed || pooledConnection.connection.isClosed();
+      }
+
+      if ("equals".equals(methodName)) {
+        return proxy == args[0];
+      }
+
+      if ("hashCode".equals(methodName)) {
+        return System.identityHashCode(proxy);
+      }
+
+      if ("toString".equals(methodName)) {
+        return "Pooled " + pooledConnection.connection;
+      }
+
+      if (isClosed) {
+        throw new SQLException("Connection is closed");
+      }
+
+      // ...
+      if ("prepareStatement".equals(methodName)
+          && 1 == args.length) {
+        return pooledConnection.prepareStatement((String) args[0]);
+      }
+
+      Object result = invokeMethod(pooledConnection.connection, method, args);
+
+      if (result instanceof Statement) {
+        pooledConnection.openUncachedStatementList.add((Statement) result);
+      }
+
+      return result;
+    }
+  }
+
+  /**
+   * Wrapper of a prepared statement, close() gives a cached statement back to the cache ...
+   */
+  private class StatementHandler implements InvocationHandler {
+    private final PooledConnection pooledConnection;
+    private final String sql;
+    private final PreparedStatement statement;
+    private final boolean isCached;
+
+    private final Connection connectionProxy;
+
+    private boolean isClosed = false;
+
+    /**
+     * 
+     */
+    private StatementHandler(
+        @Nonnull PooledConnection pooledConnection,
+        @Nonnull String sql,
+        @Nonnull PreparedStatement statement,
+        boolean isCached) {
+      this.pooledConnection = pooledConnection;
+      this.sql = sql;
+      this.statement = statement;
+      this.isCached = isCached;
+
+      this.connectionProxy = pooledConnection.connectionHandler.connectionProxy;
+    }
+
+    /**
+     * 
+     */
+    private void close() {
+      if (!isClosed) {
+        isClosed = true;
+        pooledConnection.releaseStatement(this);
+      }
+    }
+
+    /**
+     * 
+     */
+    @Override
+    public Object invoke(
+        Object proxy,
+        Method method,
+        Object[] args) throws Throwable {
+      String methodName = method.getName();
+
+      if ("close".equals(methodName)) {
+        close();
+        return null;
+      }
+
+      if ("isClosed".equals(methodName)) {
+        return isClosed;
+      }
+
+      if ("getConnection".equals(methodName)) {
+        return connectionProxy;
+      }
+
+      if ("equals".equals(methodName)) {
+        return proxy == args[0];
+      }
+
+      if ("hashCode".equals(methodName)) {
+        return System.identityHashCode(proxy);
+      }
+
+      if (isClosed) {
+        throw new SQLException("Statement is closed");
+      }
+
+      return invokeMethod(statement, method, args);
+    }
+  }
+
+  /**
+   * 
+   */
+  private static Object invokeMethod(
+      @Nonnull Object target,
+      @Nonnull Method method,
+      @Nullable Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+}
@@ -0,0 +1,173 @@
+package ch.dfx.transactionserver.database;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import ch.dfx.TransactionCheckerUtils;
+
+/**
+ * Wait time, utilisation, leak and statement cache counters of the H2DBManagerPoolImpl, readable at runtime.
+ * 
+ * The utilisation is the time the connections were borrowed, relative to the pool size and
+ * the time since the first borrow.
+ */
+public class H2DBPoolMetrics {
+  private static H2DBPoolMetrics instance = null;
+
+  // ...
+  private long startTime = 0;
+  private int poolSize = 0;
+
+  private int createdCount = 0;
+  private int inUseCount = 0;
+  private int maxInUseCount = 0;
+
+  // ...
+  private long borrowCount = 0;
+  private long timeoutCount = 0;
+  private long leakCount = 0;
+  private long invalidCount = 0;
+
+  private long totalWaitTime = 0;
+  private long maxWaitTime = 0;
+  private long totalUseTime = 0;
+
+  // ...
+  private long statementHitCount = 0;
+  private long statementMissCount = 0;
+
+  /**
+   * 
+   */
+  public static synchronized H2DBPoolMetrics getInstance() {
+    if (null == instance) {
+      instance = new H2DBPoolMetrics();
+    }
+
+    return instance;
+  }
+
+  /**
+   * 
+   */
+  private H2DBPoolMetrics() {
+  }
+
+  /**
+   * 
+   */
+  public synchronized void recordBorrow(
+      int poolSize,
+      int createdCount,
+      int inUseCount,
+      long waitTime) {
+    if (0 == startTime) {
+      startTime = System.currentTimeMillis();
+    }
+
+    this.poolSize = poolSize;
+    this.createdCount = createdCount;
+    this.inUseCount = inUseCount;
+    this.maxInUseCount = Math.max(maxInUseCount, inUseCount);
+
+    borrowCount++;
+    totalWaitTime += waitTime;
+    maxWaitTime = Math.max(maxWaitTime, waitTime);
+  }
+
+  /**
+   * 
+   */
+  public synchronized void recordRelease(
+      int createdCount,
+      int inUseCount,
+      long useTime) {
+    this.createdCount = createdCount;
+    this.inUseCount = inUseCount;
+
+    totalUseTime += useTime;
+  }
+
+  public synchronized void recordTimeout() {
+    timeoutCount++;
+  }
+
+  public synchronized void recordLeak() {
+    leakCount++;
+  }
+
+  public synchronized void recordInvalid() {
+    invalidCount++;
+  }
+
+  public synchronized void recordStatement(boolean isCacheHit) {
+    if (isCacheHit) {
+      statementHitCount++;
+    } else {
+      statementMissCount++;
+    }
+  }
+
+  public synchronized long getBorrowCount() {
+    return borrowCount;
+  }
+
+  public synchronized long getTimeoutCount() {
+    return timeoutCount;
+  }
+
+  public synchronized long getLeakCount() {
+    return leakCount;
+  }
+
+  /**
+   * Average wait time for a connection in milliseconds ...
+   */
+  public synchronized double getAverageWaitTime() {
+    return 0 == borrowCount ? 0 : (double) totalWaitTime / borrowCount;
+  }
+
+  /**
+   * Borrowed time / (pool size * elapsed time), 0 - 1 ...
+   */
+  public synchronized double getUtilisation() {
+    long elapsedTime = System.currentTimeMillis() - startTime;
+
+    if (0 == startTime || 0 == poolSize || 0 == elapsedTime) {
+      return 0;
+    }
+
+    return Math.min(1d, (double) totalUseTime / ((long) poolSize * elapsedTime));
+  }
+
+  /**
+   * 
+   */
+  public synchronized double getStatementHitRate() {
+    long statementCount = statementHitCount + statementMissCount;
+    return 0 == statementCount ? 0 : (double) statementHitCount / statementCount;
+  }
+
+  /**
+   * 
+   */
+  @Override
+  public synchronized String toString() {
+    Map<String, Object> metricMap = new LinkedHashMap<>();
+
+    metricMap.put("poolSize", poolSize);
+    metricMap.put("createdCount", createdCount);
+    metricMap.put("inUseCount", inUseCount);
+    metricMap.put("maxInUseCount", maxInUseCount);
+    metricMap.put("borrowCount", borrowCount);
+    metricMap.put("timeoutCount", timeoutCount);
+    metricMap.put("leakCount", leakCount);
+    metricMap.put("invalidCount", invalidCount);
+    metricMap.put("averageWaitTime", getAverageWaitTime());
+    metricMap.put("maxWaitTime", maxWaitTime);
+    metricMap.put("utilisation", getUtilisation());
+    metricMap.put("statementHitRate", getStatementHitRate());
+
+    return TransactionCheckerUtils.toJson(metricMap);
+  }
+}
@@ -37,9 +37,11 @@ public class DatabaseBalanceHelper {
   private PreparedStatement depositSelectStatement = null;
   private PreparedStatement depositByLiquidityAddressNumberSelectStatement = null;
 
+  private PreparedStatement balanceAllTokenSelectStatement = null;
   private PreparedStatement balanceSelectStatement = null;
   private PreparedStatement balanceByAddressNumberSelectStatement = null;
 
+  private PreparedStatement stakingAllTokenSelectStatement = null;
   private PreparedStatement stakingSelectStatement = null;
   private PreparedStatement stakingByLiquidityAddressNumberSelectStatement = null;
   private PreparedStatement stakingByLiquidityAddressNumberAndDepositAddressNumberSelectStatement = null;
@@ -110,13 +112,17 @@ public class DatabaseBalanceHelper {
           connection.prepareStatement(DatabaseUtils.replaceSchema(network, depositByLiquidityAddressNumberSelectSql));
 
       // Balance ...
-      String balanceSelectSql =
+      String balanceAllTokenSelectSql =
           "SELECT"
               + " b.*,"
               + " a.address"
               + " FROM " + dbSchema + ".balance b"
               + " JOIN " + TOKEN_PUBLIC_SCHEMA + ".address a ON"
-              + " b.address_number = a.number"
+              + " b.address_number = a.number";
+      balanceAllTokenSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, balanceAllTokenSelectSql));
+
+      String balanceSelectSql =
+          balanceAllTokenSelectSql
               + " WHERE b.token_number=?";
       balanceSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, balanceSelectSql));
 
@@ -126,7 +132,7 @@ public class DatabaseBalanceHelper {
       balanceByAddressNumberSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, balanceByAddressNumberSelectSql));
 
       // Staking ...
-      String stakingSelectSql =
+      String stakingAllTokenSelectSql =
           "SELECT"
               + " s.*,"
               + " a1.address AS liquidity_address,"
@@ -138,7 +144,11 @@ public class DatabaseBalanceHelper {
               + " JOIN " + TOKEN_PUBLIC_SCHEMA + ".address a2 ON"
               + " s.deposit_address_number = a2.number"
               + " JOIN " + TOKEN_PUBLIC_SCHEMA + ".address a3 ON"
-              + " s.customer_address_number = a3.number"
+              + " s.customer_address_number = a3.number";
+      stakingAllTokenSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, stakingAllTokenSelectSql));
+
+      String stakingSelectSql =
+          stakingAllTokenSelectSql
               + " WHERE s.token_number=?";
       stakingSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, stakingSelectSql));
 
@@ -190,9 +200,11 @@ public class DatabaseBalanceHelper {
       depositSelectStatement.close();
       depositByLiquidityAddressNumberSelectStatement.close();
 
+      balanceAllTokenSelectStatement.close();
       balanceSelectStatement.close();
       balanceByAddressNumberSelectStatement.close();
 
+      stakingAllTokenSelectStatement.close();
       stakingSelectStatement.close();
       stakingByLiquidityAddressNumberSelectStatement.close();
       stakingByLiquidityAddressNumberAndDepositAddressNumberSelectStatement.close();
@@ -351,6 +363,31 @@ public class DatabaseBalanceHelper {
     }
   }
 
+  /**
+   * Balances of all tokens ...
+   */
+  public @Nonnull List<BalanceDTO> getBalanceDTOList() throws DfxException {
+    LOGGER.trace("getBalanceDTOList()");
+
+    try {
+      List<BalanceDTO> balanceDTOList = new ArrayList<>();
+
+      ResultSet resultSet = balanceAllTokenSelectStatement.executeQuery();
+
+      while (resultSet.next()) {
+        balanceDTOList.add(createBalanceDTO(resultSet));
+      }
+
+      resultSet.close();
+
+      return balanceDTOList;
+    } catch (DfxException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new DfxException("getBalanceDTOList", e);
+    }
+  }
+
   /**
    * 
    */
@@ -435,6 +472,19 @@ public class DatabaseBalanceHelper {
     }
   }
 
+  /**
+   * Staking of all tokens ...
+   */
+  public @Nonnull List<StakingDTO> getStakingDTOList() throws DfxException {
+    LOGGER.trace("getStakingDTOList()");
+
+    try {
+      return getStakingDTOList(stakingAllTokenSelectStatement);
+    } catch (Exception e) {
+      throw new DfxException("getStakingDTOList", e);
+    }
+  }
+
   /**
    * 
    */
@@ -8,6 +8,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -76,11 +77,121 @@ public class DatabaseBlockHelper {
   // ...
   private final NetworkEnum network;
 
+  // ...
+  private int batchSize = 0;
+  private int batchRowCount = 0;
+
+  // addresses in the pending insert batch ...
+  private final Map<Integer, AddressDTO> pendingNumberToAddressDTOMap;
+  private final Map<String, AddressDTO> pendingAddressToAddressDTOMap;
+
   /**
    * 
    */
   public DatabaseBlockHelper(@Nonnull NetworkEnum network) {
     this.network = network;
+
+    this.pendingNumberToAddressDTOMap = new HashMap<>();
+    this.pendingAddressToAddressDTOMap = new HashMap<>();
+  }
+
+  /**
+   * Batch size 0: every insert is executed immediately.
+   * Otherwise the inserts are collected with addBatch() and executed together,
+   * as soon as batchSize rows are pending or on flushBatch().
+   */
+  public void setBatchSize(int batchSize) {
+    this.batchSize = Math.max(0, batchSize);
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Execute all pending inserts, in the order of the table dependencies.
+   * Must be called before a commit and before reading rows written in the same batch,
+   * except addresses: they are looked up in the pending batch first.
+   */
+  public void flushBatch() throws DfxException {
+    LOGGER.trace("flushBatch()");
+
+    if (0 < batchRowCount) {
+      try {
+        addressInsertStatement.executeBatch();
+        blockInsertStatement.executeBatch();
+        transactionInsertStatement.executeBatch();
+        addressTransactionOutInsertStatement.executeBatch();
+        addressTransactionInInsertStatement.executeBatch();
+        customTransactionAccountToAccountInInsertStatement.executeBatch();
+        customTransactionAccountToAccountOutInsertStatement.executeBatch();
+
+        batchRowCount = 0;
+        clearPendingAddress();
+      } catch (Exception e) {
+        throw new DfxException("flushBatch", e);
+      }
+    }
+  }
+
+  /**
+   * Drop all pending inserts, e.g. before a rollback.
+   */
+  public void clearBatch() {
+    LOGGER.trace("clearBatch()");
+
+    try {
+      addressInsertStatement.clearBatch();
+      blockInsertStatement.clearBatch();
+      transactionInsertStatement.clearBatch();
+      addressTransactionOutInsertStatement.clearBatch();
+      addressTransactionInInsertStatement.clearBatch();
+      customTransactionAccountToAccountInInsertStatement.clearBatch();
+      customTransactionAccountToAccountOutInsertStatement.clearBatch();
+
+    } catch (Exception e) {
+      LOGGER.error("clearBatch", e);
+    } finally {
+      batchRowCount = 0;
+      clearPendingAddress();
+    }
+  }
+
+  /**
+   * 
+   */
+  public int getPendingRowCount() {
+    return batchRowCount;
+  }
+
+  /**
+   * 
+   */
+  private void clearPendingAddress() {
+    pendingNumberToAddressDTOMap.clear();
+    pendingAddressToAddressDTOMap.clear();
+  }
+
+  /**
+   * 
+   */
+  private void executeInsert(@Nonnull PreparedStatement insertStatement) throws DfxException {
+    try {
+      if (0 == batchSize) {
+        insertStatement.execute();
+      } else {
+        insertStatement.addBatch();
+        batchRowCount++;
+
+        if (batchRowCount >= batchSize) {
+          flushBatch();
+        }
+      }
+    } catch (DfxException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new DfxException("executeInsert", e);
+    }
   }
 
   /**
@@ -211,6 +322,9 @@ public class DatabaseBlockHelper {
     LOGGER.trace("closeStatements()");
 
     try {
+      batchRowCount = 0;
+      clearPendingAddress();
+
       blockByNumberSelectStatement.close();
       blockByHashSelectStatement.close();
       blockInsertStatement.close();
@@ -563,6 +677,12 @@ public class DatabaseBlockHelper {
     LOGGER.trace("getAddressDTOByNumber()");
 
     try {
+      AddressDTO addressDTO = pendingNumberToAddressDTOMap.get(addressNumber);
+
+      if (null != addressDTO) {
+        return addressDTO;
+      }
+
       addressByNumberSelectStatement.setInt(1, addressNumber);
 
       return getAddressDTO(addressByNumberSelectStatement);
@@ -580,6 +700,12 @@ public class DatabaseBlockHelper {
     LOGGER.trace("getAddressDTOByAddress()");
 
     try {
+      AddressDTO addressDTO = pendingAddressToAddressDTOMap.get(address);
+
+      if (null != addressDTO) {
+        return addressDTO;
+      }
+
       addressByAddressSelectStatement.setString(1, address);
 
       return getAddressDTO(addressByAddressSelectStatement);
@@ -629,8 +755,15 @@ public class DatabaseBlockHelper {
         addressInsertStatement.setLong(1, addressDTO.getNumber());
         addressInsertStatement.setString(2, addressDTO.getAddress());
 
-        addressInsertStatement.execute();
+        if (0 < batchSize) {
+          pendingNumberToAddressDTOMap.put(addressDTO.getNumber(), addressDTO);
+          pendingAddressToAddressDTOMap.put(addressDTO.getAddress(), addressDTO);
+        }
+
+        executeInsert(addressInsertStatement);
       }
+    } catch (DfxException e) {
+      throw e;
     } catch (Exception e) {
       throw new DfxException("saveAddress", e);
     }
@@ -649,7 +782,7 @@ public class DatabaseBlockHelper {
       blockInsertStatement.setString(2, blockDTO.getHash());
       blockInsertStatement.setLong(3, blockDTO.getTimestamp());
 
-      blockInsertStatement.execute();
+      executeInsert(blockInsertStatement);
 
       for (TransactionDTO transactionDTO : blockDTO.getTransactionDTOList()) {
         saveTransaction(transactionDTO);
@@ -676,7 +809,7 @@ public class DatabaseBlockHelper {
       transactionInsertStatement.setString(3, transactionDTO.getTransactionId());
       transactionInsertStatement.setString(4, transactionDTO.getCustomTypeCode());
 
-      transactionInsertStatement.execute();
+      executeInsert(transactionInsertStatement);
 
       // ...
       for (AddressTransactionOutDTO addressTransactionOutDTO : transactionDTO.getAddressTransactionOutDTOList()) {
@@ -711,7 +844,9 @@ public class DatabaseBlockHelper {
       addressTransactionOutInsertStatement.setBigDecimal(5, addressTransactionOutDTO.getVout());
       addressTransactionOutInsertStatement.setString(6, addressTransactionOutDTO.getType());
 
-      addressTransactionOutInsertStatement.execute();
+      executeInsert(addressTransactionOutInsertStatement);
+    } catch (DfxException e) {
+      throw e;
     } catch (Exception e) {
       throw new DfxException("saveAddressTransactionOut", e);
     }
@@ -734,7 +869,9 @@ public class DatabaseBlockHelper {
 
       addressTransactionInInsertStatement.setBigDecimal(7, addressTransactionInDTO.getVin());
 
-      addressTransactionInInsertStatement.execute();
+      executeInsert(addressTransactionInInsertStatement);
+    } catch (DfxException e) {
+      throw e;
     } catch (Exception e) {
       throw new DfxException("saveAddressTransactionIn", e);
     }
@@ -770,7 +907,9 @@ public class DatabaseBlockHelper {
       customTransactionAccountToAccountInInsertStatement.setBigDecimal(5, transactionCustomAccountToAccountInDTO.getAmount());
       customTransactionAccountToAccountInInsertStatement.setInt(6, transactionCustomAccountToAccountInDTO.getTokenNumber());
 
-      customTransactionAccountToAccountInInsertStatement.execute();
+      executeInsert(customTransactionAccountToAccountInInsertStatement);
+    } catch (DfxException e) {
+      throw e;
     } catch (Exception e) {
       throw new DfxException("saveCustomTransactionAccountToAccountIn", e);
     }
@@ -791,7 +930,9 @@ public class DatabaseBlockHelper {
       customTransactionAccountToAccountOutInsertStatement.setBigDecimal(5, transactionCustomAccountToAccountOutDTO.getAmount());
       customTransactionAccountToAccountOutInsertStatement.setInt(6, transactionCustomAccountToAccountOutDTO.getTokenNumber());
 
-      customTransactionAccountToAccountOutInsertStatement.execute();
+      executeInsert(customTransactionAccountToAccountOutInsertStatement);
+    } catch (DfxException e) {
+      throw e;
     } catch (Exception e) {
       throw new DfxException("saveCustomTransactionAccountToAccountOut", e);
     }
@@ -1,14 +1,15 @@
 package ch.dfx.transactionserver.database.helper;
 
-import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_NETWORK_SCHEMA;
-
 import java.sql.Connection;
+import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -20,13 +21,18 @@ import ch.dfx.transactionserver.data.StatistikDTO;
 import ch.dfx.transactionserver.database.DatabaseUtils;
 
 /**
+ * Daily deposit statistik of the staking or the yieldmachine schema,
+ * one row per token and UTC day.
  * 
+ * The table is created by DatabaseTableCreator.createStatistikTable().
  */
 public class DatabaseStatistikHelper {
   private static final Logger LOGGER = LogManager.getLogger(DatabaseStatistikHelper.class);
 
   // ...
   private PreparedStatement statistikSelectByTokenStatement = null;
+  private PreparedStatement statistikMaxDaySelectStatement = null;
+  private PreparedStatement statistikMergeStatement = null;
 
   // ...
   private final NetworkEnum network;
@@ -41,14 +47,26 @@ public class DatabaseStatistikHelper {
   /**
    * 
    */
-  public void openStatements(@Nonnull Connection connection) throws DfxException {
+  public void openStatements(
+      @Nonnull Connection connection,
+      @Nonnull String dbSchema) throws DfxException {
     LOGGER.trace("openStatements()");
 
     try {
       String statistikSelectByTokenSql =
-          "SELECT * FROM " + TOKEN_NETWORK_SCHEMA + ".statistik WHERE token_number=?";
-
+          "SELECT * FROM " + dbSchema + ".statistik WHERE token_number=? ORDER BY utc_day";
       statistikSelectByTokenStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, statistikSelectByTokenSql));
+
+      String statistikMaxDaySelectSql =
+          "SELECT MAX(utc_day) AS max_day FROM " + dbSchema + ".statistik WHERE token_number=?";
+      statistikMaxDaySelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, statistikMaxDaySelectSql));
+
+      String statistikMergeSql =
+          "MERGE INTO " + dbSchema + ".statistik"
+              + " (token_number, utc_day, deposit_count, deposit_vin, deposit_vout)"
+              + " KEY (token_number, utc_day)"
+              + " VALUES(?, ?, ?, ?, ?)";
+      statistikMergeStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, statistikMergeSql));
     } catch (Exception e) {
       throw new DfxException("openStatements", e);
     }
@@ -62,6 +80,8 @@ public class DatabaseStatistikHelper {
 
     try {
       statistikSelectByTokenStatement.close();
+      statistikMaxDaySelectStatement.close();
+      statistikMergeStatement.close();
     } catch (Exception e) {
       throw new DfxException("closeStatements", e);
     }
@@ -83,7 +103,7 @@ public class DatabaseStatistikHelper {
       while (resultSet.next()) {
         StatistikDTO statistikDTO =
             new StatistikDTO(
-                resultSet.getDate("day").toLocalDate(),
+                resultSet.getDate("utc_day").toLocalDate(),
                 resultSet.getInt("token_number"));
 
         statistikDTO.setDepositCount(resultSet.getInt("deposit_count"));
@@ -100,4 +120,55 @@ public class DatabaseStatistikHelper {
       throw new DfxException("getStatistikDTOList", e);
     }
   }
+
+  /**
+   * 
+   */
+  public @Nullable LocalDate getMaxDay(@Nonnull TokenEnum token) throws DfxException {
+    LOGGER.trace("getMaxDay()");
+
+    try {
+      LocalDate maxDay = null;
+
+      statistikMaxDaySelectStatement.setInt(1, token.getNumber());
+
+      ResultSet resultSet = statistikMaxDaySelectStatement.executeQuery();
+
+      if (resultSet.next()) {
+        Date date = resultSet.getDate("max_day");
+
+        if (null != date) {
+          maxDay = date.toLocalDate();
+        }
+      }
+
+      resultSet.close();
+
+      return maxDay;
+    } catch (Exception e) {
+      throw new DfxException("getMaxDay", e);
+    }
+  }
+
+  /**
+   * 
+   */
+  public void saveStatistikDTOList(@Nonnull List<StatistikDTO> statistikDTOList) throws DfxException {
+    LOGGER.trace("saveStatistikDTOList()");
+
+    try {
+      for (StatistikDTO statistikDTO : statistikDTOList) {
+        statistikMergeStatement.setInt(1, statistikDTO.getTokenNumber());
+        statistikMergeStatement.setDate(2, Date.valueOf(statistikDTO.getDay()));
+        statistikMergeStatement.setInt(3, statistikDTO.getDepositCount());
+        statistikMergeStatement.setBigDecimal(4, statistikDTO.getDepositVin());
+        statistikMergeStatement.setBigDecimal(5, statistikDTO.getDepositVout());
+        statistikMergeStatement.addBatch();
+      }
+
+      statistikMergeStatement.executeBatch();
+    } catch (Exception e) {
+      throw new DfxException("saveStatistikDTOList", e);
+    }
+  }
 }
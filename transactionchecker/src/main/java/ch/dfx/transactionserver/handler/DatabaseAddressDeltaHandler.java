@@ -0,0 +1,139 @@
+package ch.dfx.transactionserver.handler;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import ch.dfx.common.config.ConfigProvider;
+import ch.dfx.common.config.TransactionCheckerConfigEnum;
+import ch.dfx.transactionserver.data.AddressTransactionInDTO;
+import ch.dfx.transactionserver.data.AddressTransactionOutDTO;
+import ch.dfx.transactionserver.data.BlockDTO;
+import ch.dfx.transactionserver.data.TransactionCustomAccountToAccountInDTO;
+import ch.dfx.transactionserver.data.TransactionCustomAccountToAccountOutDTO;
+import ch.dfx.transactionserver.data.TransactionDTO;
+
+/**
+ * Addresses touched since the last balance run, with the highest block number written for each of them.
+ * 
+ * The DatabaseBuilder adds every written block, the deposit, balance and staking builders
+ * then only recalculate the rows of the changed addresses.
+ * 
+ * As long as the handler is not valid (after startup, after a rollback or a database cleanup,
+ * after an error in one of the builders), the builders run a full recompute.
+ * Every "database.balance_verify_cycles" runs, a full recompute is done as verification,
+ * changes found there without a delta are reported.
+ */
+public class DatabaseAddressDeltaHandler {
+  private static final Logger LOGGER = LogManager.getLogger(DatabaseAddressDeltaHandler.class);
+
+  // ...
+  private final int verifyCycles;
+
+  private final Map<Integer, Integer> addressNumberToBlockNumberMap;
+
+  // ...
+  private boolean isValid = false;
+
+  private long cycleCounter = 0;
+
+  /**
+   * 
+   */
+  public DatabaseAddressDeltaHandler() {
+    this.verifyCycles = ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.H2_BALANCE_VERIFY_CYCLES, 120);
+
+    this.addressNumberToBlockNumberMap = new HashMap<>();
+  }
+
+  /**
+   * 
+   */
+  public void add(@Nonnull BlockDTO blockDTO) {
+    int blockNumber = blockDTO.getNumber();
+
+    for (TransactionDTO transactionDTO : blockDTO.getTransactionDTOList()) {
+      for (AddressTransactionOutDTO addressTransactionOutDTO : transactionDTO.getAddressTransactionOutDTOList()) {
+        add(addressTransactionOutDTO.getAddressNumber(), blockNumber);
+      }
+
+      for (AddressTransactionInDTO addressTransactionInDTO : transactionDTO.getAddressTransactionInDTOList()) {
+        add(addressTransactionInDTO.getAddressNumber(), blockNumber);
+      }
+
+      for (TransactionCustomAccountToAccountInDTO customAccountToAccountInDTO : transactionDTO.getCustomAccountToAccountInDTOList()) {
+        add(customAccountToAccountInDTO.getAddressNumber(), blockNumber);
+      }
+
+      for (TransactionCustomAccountToAccountOutDTO customAccountToAccountOutDTO : transactionDTO.getCustomAccountToAccountOutDTOList()) {
+        add(customAccountToAccountOutDTO.getAddressNumber(), blockNumber);
+      }
+    }
+  }
+
+  /**
+   * 
+   */
+  public void add(
+      int addressNumber,
+      int blockNumber) {
+    addressNumberToBlockNumberMap.merge(addressNumber, blockNumber, Math::max);
+  }
+
+  /**
+   * True: only the changed addresses must be recalculated ...
+   */
+  public boolean isIncremental() {
+    return isValid
+        && 0 < verifyCycles
+        && 0 != cycleCounter % verifyCycles;
+  }
+
+  /**
+   * True: full recompute, but all changes must have been announced by a delta ...
+   */
+  public boolean isVerification() {
+    return isValid && !isIncremental();
+  }
+
+  public boolean isChanged(int addressNumber) {
+    return addressNumberToBlockNumberMap.containsKey(addressNumber);
+  }
+
+  public Set<Integer> getChangedAddressNumberSet() {
+    return Collections.unmodifiableSet(addressNumberToBlockNumberMap.keySet());
+  }
+
+  public int size() {
+    return addressNumberToBlockNumberMap.size();
+  }
+
+  /**
+   * Called after all builders have processed the deltas successfully ...
+   */
+  public void reset() {
+    LOGGER.trace("reset()");
+
+    addressNumberToBlockNumberMap.clear();
+
+    isValid = true;
+    cycleCounter++;
+  }
+
+  /**
+   * 
+   */
+  public void invalidate() {
+    LOGGER.trace("invalidate()");
+
+    addressNumberToBlockNumberMap.clear();
+
+    isValid = false;
+  }
+}
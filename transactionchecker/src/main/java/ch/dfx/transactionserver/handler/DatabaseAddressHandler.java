@@ -5,10 +5,13 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import ch.dfx.common.config.ConfigProvider;
+import ch.dfx.common.config.TransactionCheckerConfigEnum;
 import ch.dfx.common.enumeration.NetworkEnum;
 import ch.dfx.common.errorhandling.DfxException;
 import ch.dfx.transactionserver.data.AddressDTO;
@@ -16,7 +19,11 @@ import ch.dfx.transactionserver.database.DatabaseUtils;
 import ch.dfx.transactionserver.database.helper.DatabaseBlockHelper;
 
 /**
+ * Address to number lookup for the DatabaseBuilder.
  * 
+ * Besides the new addresses of the current block, the last used addresses are kept in a bounded LRU cache.
+ * Only saved addresses go into the cache. After a rollback, the cache must be invalidated,
+ * because it can contain addresses of the rolled back transaction.
  */
 public class DatabaseAddressHandler {
   private static final Logger LOGGER = LogManager.getLogger(DatabaseAddressHandler.class);
@@ -25,10 +32,14 @@ public class DatabaseAddressHandler {
   private final NetworkEnum network;
 
   private final Map<String, AddressDTO> newAddressMap;
+  private final Map<String, AddressDTO> addressCacheMap;
 
   // ...
   private int nextAddressNumber = 0;
 
+  private long hitCounter = 0;
+  private long missCounter = 0;
+
   /**
    * 
    */
@@ -36,6 +47,17 @@ public class DatabaseAddressHandler {
     this.network = network;
 
     this.newAddressMap = new LinkedHashMap<>();
+
+    int cacheSize = ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.H2_ADDRESS_CACHE_SIZE, 100000);
+
+    this.addressCacheMap = new LinkedHashMap<>(1024, 0.75f, true) {
+      private static final long serialVersionUID = 3811295457930214625L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, AddressDTO> eldest) {
+        return size() > cacheSize;
+      }
+    };
   }
 
   /**
@@ -48,12 +70,23 @@ public class DatabaseAddressHandler {
   }
 
   /**
-   * 
+   * Called after the new addresses have been saved ...
    */
   public void reset() {
+    addressCacheMap.putAll(newAddressMap);
     newAddressMap.clear();
   }
 
+  /**
+   * 
+   */
+  public void invalidate() {
+    LOGGER.trace("invalidate()");
+
+    newAddressMap.clear();
+    addressCacheMap.clear();
+  }
+
   /**
    * 
    */
@@ -61,6 +94,18 @@ public class DatabaseAddressHandler {
     return newAddressMap;
   }
 
+  public int getCacheSize() {
+    return addressCacheMap.size();
+  }
+
+  public long getHitCounter() {
+    return hitCounter;
+  }
+
+  public long getMissCounter() {
+    return missCounter;
+  }
+
   /**
    * 
    */
@@ -72,7 +117,7 @@ public class DatabaseAddressHandler {
     AddressDTO addressDTO = newAddressMap.get(address);
 
     if (null == addressDTO) {
-      addressDTO = databaseBlockHelper.getAddressDTOByAddress(address);
+      addressDTO = getExistingAddressDTO(databaseBlockHelper, address);
     }
 
     if (null == addressDTO) {
@@ -82,4 +127,29 @@ public class DatabaseAddressHandler {
 
     return addressDTO;
   }
+
+  /**
+   * Saved address from the cache or from the database, null if the address is unknown ...
+   */
+  public @Nullable AddressDTO getExistingAddressDTO(
+      @Nonnull DatabaseBlockHelper databaseBlockHelper,
+      @Nonnull String address) throws DfxException {
+    LOGGER.trace("getExistingAddressDTO()");
+
+    AddressDTO addressDTO = addressCacheMap.get(address);
+
+    if (null != addressDTO) {
+      hitCounter++;
+    } else {
+      missCounter++;
+
+      addressDTO = databaseBlockHelper.getAddressDTOByAddress(address);
+
+      if (null != addressDTO) {
+        addressCacheMap.put(address, addressDTO);
+      }
+    }
+
+    return addressDTO;
+  }
 }
@@ -0,0 +1,201 @@
+package ch.dfx.transactionserver.handler;
+
+import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_PUBLIC_SCHEMA;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import ch.dfx.common.config.ConfigProvider;
+import ch.dfx.common.config.TransactionCheckerConfigEnum;
+import ch.dfx.common.enumeration.NetworkEnum;
+import ch.dfx.common.errorhandling.DfxException;
+import ch.dfx.transactionserver.data.AddressTransactionOutDTO;
+import ch.dfx.transactionserver.database.DatabaseUtils;
+
+/**
+ * Unspent outputs of the latest blocks, keyed by (txid, vout), for the vin lookup in the DatabaseBuilder.
+ * 
+ * The map is bounded, the oldest outputs are dropped first. A lookup miss is not an error,
+ * the caller then reads the output from the database.
+ * 
+ * After a rollback or a database cleanup, the index must be invalidated,
+ * it is then rebuilt from the H2 tables on the next setup.
+ * 
+ * A multisig output has one row per address with the same (txid, vout): like the lookups
+ * in the current block and in the database, the index always resolves to the first address.
+ */
+public class DatabaseUtxoHandler {
+  private static final Logger LOGGER = LogManager.getLogger(DatabaseUtxoHandler.class);
+
+  // ...
+  private final NetworkEnum network;
+
+  private final int maxSize;
+  private final int rebuildBlockCount;
+
+  private final Map<String, AddressTransactionOutDTO> utxoMap;
+
+  // ...
+  private boolean isValid = false;
+
+  private long hitCounter = 0;
+  private long missCounter = 0;
+
+  /**
+   * 
+   */
+  public DatabaseUtxoHandler(@Nonnull NetworkEnum network) {
+    this(network,
+        ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.H2_SYNC_UTXO_CACHE_SIZE, 500000),
+        ConfigProvider.getInstance().getValue(TransactionCheckerConfigEnum.H2_SYNC_UTXO_REBUILD_BLOCKS, 20000));
+  }
+
+  /**
+   * 
+   */
+  DatabaseUtxoHandler(
+      @Nonnull NetworkEnum network,
+      int maxSize,
+      int rebuildBlockCount) {
+    this.network = network;
+
+    this.maxSize = maxSize;
+    this.rebuildBlockCount = rebuildBlockCount;
+
+    this.utxoMap = new LinkedHashMap<>(1024, 0.75f, false) {
+      private static final long serialVersionUID = -2470283744406349651L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, AddressTransactionOutDTO> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * 
+   */
+  public void setup(@Nonnull Connection connection) throws DfxException {
+    LOGGER.trace("setup()");
+
+    if (!isValid) {
+      rebuild(connection);
+    }
+  }
+
+  /**
+   * 
+   */
+  public void invalidate() {
+    LOGGER.trace("invalidate()");
+
+    isValid = false;
+    utxoMap.clear();
+  }
+
+  /**
+   * Only the first address of an output is kept ...
+   */
+  public void add(
+      @Nonnull String transactionId,
+      @Nonnull AddressTransactionOutDTO addressTransactionOutDTO) {
+    utxoMap.putIfAbsent(createKey(transactionId, addressTransactionOutDTO.getVoutNumber()), addressTransactionOutDTO);
+  }
+
+  /**
+   * Remove the output from the index, it can only be spent once ...
+   */
+  public @Nullable AddressTransactionOutDTO spend(
+      @Nonnull String transactionId,
+      long voutNumber) {
+    AddressTransactionOutDTO addressTransactionOutDTO = utxoMap.remove(createKey(transactionId, voutNumber));
+
+    if (null == addressTransactionOutDTO) {
+      missCounter++;
+    } else {
+      hitCounter++;
+    }
+
+    return addressTransactionOutDTO;
+  }
+
+  public int size() {
+    return utxoMap.size();
+  }
+
+  public long getHitCounter() {
+    return hitCounter;
+  }
+
+  public long getMissCounter() {
+    return missCounter;
+  }
+
+  /**
+   * Load the outputs of the latest blocks. Already spent outputs cannot be detected here
+   * (address_transaction_in has no vout number), they are never looked up and leave the index by age.
+   */
+  private void rebuild(@Nonnull Connection connection) throws DfxException {
+    LOGGER.debug("rebuild()");
+
+    long startTime = System.currentTimeMillis();
+
+    utxoMap.clear();
+
+    String selectSql =
+        "SELECT t.txid, o.block_number, o.transaction_number, o.vout_number, o.address_number, o.vout"
+            + " FROM " + TOKEN_PUBLIC_SCHEMA + ".address_transaction_out o"
+            + " JOIN " + TOKEN_PUBLIC_SCHEMA + ".transaction t"
+            + " ON o.block_number = t.block_number AND o.transaction_number = t.number"
+            + " WHERE o.block_number >= ?"
+            + " ORDER BY o.block_number, o.transaction_number, o.vout_number, o._ROWID_";
+
+    try (PreparedStatement statement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, selectSql))) {
+      int nextBlockNumber = DatabaseUtils.getNextBlockNumber(network, connection);
+      statement.setInt(1, Math.max(0, nextBlockNumber - rebuildBlockCount));
+
+      ResultSet resultSet = statement.executeQuery();
+
+      while (resultSet.next()) {
+        AddressTransactionOutDTO addressTransactionOutDTO =
+            new AddressTransactionOutDTO(
+                resultSet.getInt(2),
+                resultSet.getInt(3),
+                resultSet.getInt(4),
+                resultSet.getInt(5));
+        addressTransactionOutDTO.setVout(resultSet.getBigDecimal(6));
+
+        add(resultSet.getString(1), addressTransactionOutDTO);
+      }
+
+      resultSet.close();
+
+      isValid = true;
+    } catch (DfxException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new DfxException("rebuild", e);
+    } finally {
+      LOGGER.debug("[DatabaseUtxoHandler] size: " + utxoMap.size());
+      LOGGER.debug("[DatabaseUtxoHandler] runtime: " + (System.currentTimeMillis() - startTime));
+    }
+  }
+
+  /**
+   * 
+   */
+  private String createKey(
+      @Nonnull String transactionId,
+      long voutNumber) {
+    return transactionId + ":" + voutNumber;
+  }
+}
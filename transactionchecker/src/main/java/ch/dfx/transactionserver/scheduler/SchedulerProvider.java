@@ -1,14 +1,20 @@
 package ch.dfx.transactionserver.scheduler;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -16,23 +22,37 @@ import javax.annotation.Nullable;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 /**
- *
+ * Fixed delay scheduler: the next run of a task is planned one period after the end of the previous run,
+ * a run is skipped if the task is still processing.
+ * 
+ * Tasks aligned to the clock (e.g. every full hour) are added with isFixedRate: the next run is planned
+ * one period after the planned start of the previous run, the slots missed by a long run are skipped.
+ * 
+ * One timer thread plans the runs, the runs are executed in a work stealing pool.
+ * Lag, duration, overruns and skips per task are recorded in the SchedulerProviderMetrics, keyed by the UUID of the task.
  */
 public class SchedulerProvider {
   private static final Logger LOGGER = LogManager.getLogger(SchedulerProvider.class);
 
+  // maximum wait time in seconds for a running task on remove ...
+  private static final int REMOVE_TIMEOUT = 15;
+
   private static SchedulerProvider instance = null;
 
-  private final ScheduledExecutorService executorService;
+  private final ScheduledExecutorService timerService;
+  private final ForkJoinPool workerPool;
 
-  private final Map<UUID, ScheduledFuture<?>> scheduledFutureMap;
-  private final Map<UUID, SchedulerProviderRunnable> schedulerProviderRunnableMap;
+  private final SchedulerProviderMetrics schedulerProviderMetrics;
+
+  private final Map<UUID, SchedulerTask> schedulerTaskMap;
 
   /**
-   *
+   * 
    */
-  public static SchedulerProvider getInstance() {
+  public static synchronized SchedulerProvider getInstance() {
     if (null == instance) {
       instance = new SchedulerProvider();
     }
@@ -41,96 +61,282 @@ public class SchedulerProvider {
   }
 
   /**
-   *
+   * 
    */
-  public synchronized @Nullable UUID add(
+  public @Nullable UUID add(
       @Nonnull SchedulerProviderRunnable runnable,
       int initialDelay,
       long period,
       @Nonnull TimeUnit timeUnit) {
+    return add(runnable, initialDelay, period, timeUnit, false);
+  }
+
+  /**
+   * 
+   */
+  public synchronized @Nullable UUID add(
+      @Nonnull SchedulerProviderRunnable runnable,
+      int initialDelay,
+      long period,
+      @Nonnull TimeUnit timeUnit,
+      boolean isFixedRate) {
     LOGGER.trace("add()");
 
     UUID uuid = UUID.randomUUID();
 
-    ScheduledFuture<?> scheduledFuture =
-        executorService.scheduleAtFixedRate(runnable, initialDelay, period, timeUnit);
+    SchedulerTask schedulerTask = new SchedulerTask(uuid, runnable, timeUnit.toMillis(period), isFixedRate);
+    schedulerTaskMap.put(uuid, schedulerTask);
 
-    scheduledFutureMap.put(uuid, scheduledFuture);
-    schedulerProviderRunnableMap.put(uuid, runnable);
+    schedule(schedulerTask, System.currentTimeMillis() + timeUnit.toMillis(initialDelay));
 
-    LOGGER.debug("Add Runnable: " + runnable.getClass().getSimpleName());
+    LOGGER.debug("Add Runnable: " + schedulerTask.name);
     LOGGER.debug("Add UUID:     " + uuid);
 
     return uuid;
   }
 
   /**
-   *
+   * 
    */
-  public synchronized void remove(@Nonnull UUID uuid) {
+  public void remove(@Nonnull UUID uuid) {
     LOGGER.debug("remove(): UUID = '" + uuid + "' ...");
 
-    ScheduledFuture<?> scheduledFuture = scheduledFutureMap.remove(uuid);
-    SchedulerProviderRunnable runnable = schedulerProviderRunnableMap.remove(uuid);
+    Set<UUID> uuidSet = new HashSet<>();
+    uuidSet.add(uuid);
 
-    if (null != scheduledFuture
-        && null != runnable) {
-      scheduledFuture.cancel(false);
+    remove(uuidSet);
+  }
 
-      int timeout = 0;
+  /**
+   * 
+   */
+  public void exit(int exitCode) {
+    LOGGER.debug("exit()");
 
-      while (runnable.isProcessing()
-          && 5 > timeout++) {
-        try {
-          Thread.sleep(timeout * 1000);
-        } catch (Exception e) {
-          // Intentionally left blank ...
+    try {
+      remove(getUuidSet());
+    } finally {
+      System.exit(exitCode);
+    }
+  }
+
+  /**
+   * 
+   */
+  public void shutdown() {
+    LOGGER.debug("shutdown()");
+
+    remove(getUuidSet());
+
+    timerService.shutdownNow();
+    workerPool.shutdown();
+  }
+
+  /**
+   * 
+   */
+  private synchronized Set<UUID> getUuidSet() {
+    return new HashSet<>(schedulerTaskMap.keySet());
+  }
+
+  /**
+   * Cancel the planned runs and wait for the end of the running ones (not for the own run,
+   * if called from a task), then shut the removed runnables down.
+   */
+  private void remove(@Nonnull Set<UUID> uuidSet) {
+    LOGGER.trace("remove()");
+
+    List<SchedulerTask> removedSchedulerTaskList = new ArrayList<>();
+    List<CompletableFuture<Void>> completableFutureList = new ArrayList<>();
+
+    synchronized (this) {
+      for (UUID uuid : uuidSet) {
+        SchedulerTask schedulerTask = schedulerTaskMap.remove(uuid);
+
+        if (null != schedulerTask) {
+          CompletableFuture<Void> completableFuture = schedulerTask.cancel();
+
+          if (null != completableFuture
+              && Thread.currentThread() != schedulerTask.thread) {
+            completableFutureList.add(completableFuture);
+          }
+
+          removedSchedulerTaskList.add(schedulerTask);
         }
       }
+    }
 
-      LOGGER.debug("Remove Runnable: " + runnable.getClass().getSimpleName());
-      LOGGER.debug("Remove UUID:     " + uuid);
+    try {
+      CompletableFuture.allOf(completableFutureList.toArray(new CompletableFuture[0])).get(REMOVE_TIMEOUT, TimeUnit.SECONDS);
+    } catch (TimeoutException e) {
+      LOGGER.warn("Running tasks not finished after " + REMOVE_TIMEOUT + " seconds");
+    } catch (Exception e) {
+      // Intentionally left blank ...
+    }
+
+    for (SchedulerTask schedulerTask : removedSchedulerTaskList) {
+      LOGGER.debug("Remove Runnable: " + schedulerTask.name);
+
+      try {
+        schedulerTask.runnable.shutdown();
+      } catch (Exception e) {
+        LOGGER.error("[SchedulerProvider] shutdown " + schedulerTask.name, e);
+      }
     }
   }
 
   /**
    * 
    */
-  public void exit(int exitCode) {
-    LOGGER.debug("exit()");
+  private void schedule(
+      @Nonnull SchedulerTask schedulerTask,
+      long plannedTime) {
+    synchronized (schedulerTask) {
+      if (!schedulerTask.isCancelled) {
+        long delay = Math.max(0, plannedTime - System.currentTimeMillis());
 
-    try {
-      Set<UUID> executorUuidSet = new HashSet<>(scheduledFutureMap.keySet());
+        schedulerTask.plannedTime = plannedTime;
+        schedulerTask.scheduledFuture = timerService.schedule(() -> start(schedulerTask), delay, TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+
+  /**
+   * Fixed delay: one period from now on.
+   * Fixed rate: one period after the previous planned time, the missed slots are skipped.
+   */
+  private void scheduleNext(@Nonnull SchedulerTask schedulerTask) {
+    long currentTime = System.currentTimeMillis();
+
+    if (!schedulerTask.isFixedRate) {
+      schedule(schedulerTask, currentTime + schedulerTask.period);
+    } else {
+      long nextPlannedTime = schedulerTask.plannedTime + schedulerTask.period;
+
+      if (nextPlannedTime < currentTime) {
+        long missedRunCount = (currentTime - nextPlannedTime) / schedulerTask.period + 1;
 
-      for (UUID uuid : executorUuidSet) {
-        remove(uuid);
+        LOGGER.debug("[SchedulerProvider] skip " + missedRunCount + " missed runs: " + schedulerTask.name);
+        schedulerProviderMetrics.recordSkip(schedulerTask.uuid, schedulerTask.name, missedRunCount);
+
+        nextPlannedTime += missedRunCount * schedulerTask.period;
       }
-    } finally {
-      System.exit(exitCode);
+
+      schedule(schedulerTask, nextPlannedTime);
     }
   }
 
   /**
-   *
+   * 
    */
-  public void shutdown() {
-    LOGGER.debug("shutdown()");
+  private void start(@Nonnull SchedulerTask schedulerTask) {
+    synchronized (schedulerTask) {
+      if (schedulerTask.isCancelled) {
+        return;
+      }
 
-    Set<UUID> executorUuidSet = new HashSet<>(scheduledFutureMap.keySet());
+      if (schedulerTask.runnable.isProcessing()
+          || (null != schedulerTask.completableFuture && !schedulerTask.completableFuture.isDone())) {
+        LOGGER.debug("[SchedulerProvider] skip run, still processing: " + schedulerTask.name);
+        schedulerProviderMetrics.recordSkip(schedulerTask.uuid, schedulerTask.name, 1);
 
-    for (UUID uuid : executorUuidSet) {
-      remove(uuid);
+        scheduleNext(schedulerTask);
+      } else {
+        schedulerTask.completableFuture =
+            CompletableFuture.runAsync(() -> execute(schedulerTask), workerPool)
+                .whenComplete((result, throwable) -> scheduleNext(schedulerTask));
+      }
     }
+  }
+
+  /**
+   * 
+   */
+  private void execute(@Nonnull SchedulerTask schedulerTask) {
+    long startTime = System.currentTimeMillis();
+    long lag = Math.max(0, startTime - schedulerTask.plannedTime);
+
+    boolean isError = false;
 
-    executorService.shutdown();
+    schedulerTask.thread = Thread.currentThread();
+
+    try {
+      schedulerTask.runnable.run();
+    } catch (Throwable t) {
+      isError = true;
+      LOGGER.error("[SchedulerProvider] " + schedulerTask.name, t);
+    } finally {
+      schedulerTask.thread = null;
+
+      long duration = System.currentTimeMillis() - startTime;
+      schedulerProviderMetrics.recordRun(schedulerTask.uuid, schedulerTask.name, lag, duration, duration > schedulerTask.period, isError);
+    }
   }
 
   /**
-   *
+   * 
    */
   private SchedulerProvider() {
-    this.executorService = Executors.newScheduledThreadPool(5);
-    this.scheduledFutureMap = new HashMap<>();
-    this.schedulerProviderRunnableMap = new HashMap<>();
+    this.timerService =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("scheduler-timer-%d").build());
+
+    this.workerPool =
+        new ForkJoinPool(
+            Math.max(5, Runtime.getRuntime().availableProcessors()),
+            pool -> {
+              ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+              thread.setName("scheduler-worker-" + thread.getPoolIndex());
+              return thread;
+            },
+            null, true);
+
+    this.schedulerProviderMetrics = SchedulerProviderMetrics.getInstance();
+
+    this.schedulerTaskMap = new HashMap<>();
+  }
+
+  /**
+   * 
+   */
+  private static class SchedulerTask {
+    private final UUID uuid;
+    private final SchedulerProviderRunnable runnable;
+    private final String name;
+    private final long period;
+    private final boolean isFixedRate;
+
+    private long plannedTime = 0;
+    private boolean isCancelled = false;
+
+    private ScheduledFuture<?> scheduledFuture = null;
+    private CompletableFuture<Void> completableFuture = null;
+
+    private volatile Thread thread = null;
+
+    private SchedulerTask(
+        @Nonnull UUID uuid,
+        @Nonnull SchedulerProviderRunnable runnable,
+        long period,
+        boolean isFixedRate) {
+      this.uuid = uuid;
+      this.runnable = runnable;
+      this.name = runnable.getClass().getSimpleName();
+      this.period = period;
+      this.isFixedRate = isFixedRate;
+    }
+
+    /**
+     * Cancel the planned run, returns the future of the current run ...
+     */
+    private synchronized @Nullable CompletableFuture<Void> cancel() {
+      isCancelled = true;
+
+      if (null != scheduledFuture) {
+        scheduledFuture.cancel(false);
+      }
+
+      return completableFuture;
+    }
   }
 }
@@ -0,0 +1,155 @@
+package ch.dfx.transactionserver.scheduler;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.annotation.Nonnull;
+
+import ch.dfx.TransactionCheckerUtils;
+
+/**
+ * Run, skip and overrun counters, lag and duration per task of the SchedulerProvider, readable at runtime.
+ * The tasks are identified by their UUID, several tasks can use the same runnable class.
+ * 
+ * Lag:     time between the planned and the real start of a run (waiting for a worker thread).
+ * Overrun: run with a duration longer than the period of the task.
+ * Skip:    planned run not started, because the task was still processing.
+ */
+public class SchedulerProviderMetrics {
+  private static SchedulerProviderMetrics instance = null;
+
+  // ...
+  private final Map<UUID, TaskMetrics> taskToMetricsMap;
+
+  /**
+   * 
+   */
+  public static synchronized SchedulerProviderMetrics getInstance() {
+    if (null == instance) {
+      instance = new SchedulerProviderMetrics();
+    }
+
+    return instance;
+  }
+
+  /**
+   * 
+   */
+  private SchedulerProviderMetrics() {
+    this.taskToMetricsMap = new LinkedHashMap<>();
+  }
+
+  /**
+   * 
+   */
+  public synchronized void recordRun(
+      @Nonnull UUID task,
+      @Nonnull String name,
+      long lag,
+      long duration,
+      boolean isOverrun,
+      boolean isError) {
+    TaskMetrics taskMetrics = getTaskMetrics(task, name);
+
+    taskMetrics.runCount++;
+
+    taskMetrics.lastLag = lag;
+    taskMetrics.maxLag = Math.max(taskMetrics.maxLag, lag);
+
+    taskMetrics.lastDuration = duration;
+    taskMetrics.maxDuration = Math.max(taskMetrics.maxDuration, duration);
+    taskMetrics.totalDuration += duration;
+
+    if (isOverrun) {
+      taskMetrics.overrunCount++;
+    }
+
+    if (isError) {
+      taskMetrics.errorCount++;
+    }
+  }
+
+  /**
+   * 
+   */
+  public synchronized void recordSkip(
+      @Nonnull UUID task,
+      @Nonnull String name,
+      long count) {
+    getTaskMetrics(task, name).skipCount += count;
+  }
+
+  public synchronized long getRunCount(@Nonnull UUID task) {
+    return findTaskMetrics(task).runCount;
+  }
+
+  public synchronized long getSkipCount(@Nonnull UUID task) {
+    return findTaskMetrics(task).skipCount;
+  }
+
+  public synchronized long getOverrunCount(@Nonnull UUID task) {
+    return findTaskMetrics(task).overrunCount;
+  }
+
+  public synchronized long getErrorCount(@Nonnull UUID task) {
+    return findTaskMetrics(task).errorCount;
+  }
+
+  public synchronized long getLastLag(@Nonnull UUID task) {
+    return findTaskMetrics(task).lastLag;
+  }
+
+  public synchronized long getLastDuration(@Nonnull UUID task) {
+    return findTaskMetrics(task).lastDuration;
+  }
+
+  /**
+   * Metrics of an unknown task are all zero, but not added.
+   */
+  private TaskMetrics findTaskMetrics(@Nonnull UUID task) {
+    TaskMetrics taskMetrics = taskToMetricsMap.get(task);
+
+    return null == taskMetrics ? new TaskMetrics("") : taskMetrics;
+  }
+
+  /**
+   * 
+   */
+  private TaskMetrics getTaskMetrics(
+      @Nonnull UUID task,
+      @Nonnull String name) {
+    return taskToMetricsMap.computeIfAbsent(task, t -> new TaskMetrics(name));
+  }
+
+  /**
+   * 
+   */
+  @Override
+  public synchronized String toString() {
+    return TransactionCheckerUtils.toJson(taskToMetricsMap);
+  }
+
+  /**
+   * 
+   */
+  private static class TaskMetrics {
+    private final String name;
+
+    private long runCount = 0;
+    private long skipCount = 0;
+    private long overrunCount = 0;
+    private long errorCount = 0;
+
+    private long lastLag = 0;
+    private long maxLag = 0;
+
+    private long lastDuration = 0;
+    private long maxDuration = 0;
+    private long totalDuration = 0;
+
+    private TaskMetrics(@Nonnull String name) {
+      this.name = name;
+    }
+  }
+}
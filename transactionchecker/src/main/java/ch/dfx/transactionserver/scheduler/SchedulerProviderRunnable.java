@@ -5,4 +5,10 @@ package ch.dfx.transactionserver.scheduler;
  */
 public interface SchedulerProviderRunnable extends Runnable {
   public boolean isProcessing();
+
+  /**
+   * Release the resources of the runnable, called once after its removal from the SchedulerProvider ...
+   */
+  public default void shutdown() {
+  }
 }
@@ -7,9 +7,9 @@ import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -21,6 +21,7 @@ import ch.dfx.TransactionCheckerUtils;
 import ch.dfx.common.enumeration.NetworkEnum;
 import ch.dfx.common.enumeration.TokenEnum;
 import ch.dfx.common.errorhandling.DfxException;
+import ch.dfx.transactionserver.builder.data.TokenAddressMap;
 import ch.dfx.transactionserver.data.BalanceDTO;
 import ch.dfx.transactionserver.data.DepositDTO;
 import ch.dfx.transactionserver.data.StakingAddressDTO;
@@ -28,11 +29,15 @@ import ch.dfx.transactionserver.database.DatabaseUtils;
 import ch.dfx.transactionserver.database.helper.DatabaseBalanceHelper;
 
 /**
- * 
+ * One pass per cycle for all tokens: the in / out sums and the existing balances of all tokens
+ * are read once into maps with a packed (token, address) key, the new and changed balances
+ * are written in batches.
  */
 public class YmBalanceBuilder {
   private static final Logger LOGGER = LogManager.getLogger(YmBalanceBuilder.class);
 
+  private static final int BATCH_SIZE = 1000;
+
   // ...
   private PreparedStatement inAmountSelectStatement = null;
   private PreparedStatement outAmountSelectStatement = null;
@@ -40,6 +45,8 @@ public class YmBalanceBuilder {
   private PreparedStatement balanceInsertStatement = null;
   private PreparedStatement balanceUpdateStatement = null;
 
+  private int batchRowCount = 0;
+
   // ...
   private final NetworkEnum network;
 
@@ -67,21 +74,51 @@ public class YmBalanceBuilder {
     try {
       openStatements(connection);
 
-      List<StakingAddressDTO> stakingAddressDTOList = databaseBalanceHelper.getStakingAddressDTOList();
+      // one grouped query per direction for all deposit addresses and tokens of the schema ...
+      long phaseStartTime = System.currentTimeMillis();
+      TokenAddressMap<BalanceData> inDepositAddressToBalanceDataMap = getDepositAddressToBalanceDataMap(inAmountSelectStatement);
+      LOGGER.debug("[YmBalanceBuilder] In runtime: " + (System.currentTimeMillis() - phaseStartTime));
+
+      phaseStartTime = System.currentTimeMillis();
+      TokenAddressMap<BalanceData> outDepositAddressToBalanceDataMap = getDepositAddressToBalanceDataMap(outAmountSelectStatement);
+      LOGGER.debug("[YmBalanceBuilder] Out runtime: " + (System.currentTimeMillis() - phaseStartTime));
+
+      // ...
+      phaseStartTime = System.currentTimeMillis();
 
-      for (StakingAddressDTO stakingAddressDTO : stakingAddressDTOList) {
+      TokenAddressMap<BalanceDTO> depositAddressToBalanceDTOMap = getDepositAddressToBalanceDTOMap();
+      int[] tokenNumbers = getTokenNumbers();
+
+      Set<Integer> liquidityAddressNumberSet = new HashSet<>();
+
+      for (StakingAddressDTO stakingAddressDTO : databaseBalanceHelper.getStakingAddressDTOList()) {
         if (-1 == stakingAddressDTO.getRewardAddressNumber()) {
-          int liquidityAddressNumber = stakingAddressDTO.getLiquidityAddressNumber();
+          liquidityAddressNumberSet.add(stakingAddressDTO.getLiquidityAddressNumber());
+        }
+      }
 
-          List<DepositDTO> depositDTOList = databaseBalanceHelper.getDepositDTOListByLiquidityAddressNumber(liquidityAddressNumber);
-          calcDepositBalance(depositDTOList);
+      Set<Integer> depositAddressNumberSet = new HashSet<>();
+
+      for (DepositDTO depositDTO : databaseBalanceHelper.getDepositDTOList()) {
+        int depositAddressNumber = depositDTO.getDepositAddressNumber();
+
+        if (liquidityAddressNumberSet.contains(depositDTO.getLiquidityAddressNumber())
+            && depositAddressNumberSet.add(depositAddressNumber)) {
+          calcDepositBalance(
+              depositAddressNumber, tokenNumbers,
+              inDepositAddressToBalanceDataMap, outDepositAddressToBalanceDataMap, depositAddressToBalanceDTOMap);
         }
       }
 
+      executeBatch();
+
+      LOGGER.debug("[YmBalanceBuilder] Balance runtime: " + (System.currentTimeMillis() - phaseStartTime));
+
       closeStatements();
 
       connection.commit();
     } catch (Exception e) {
+      batchRowCount = 0;
       DatabaseUtils.rollback(connection);
       throw new DfxException("build", e);
     } finally {
@@ -165,32 +202,27 @@ public class YmBalanceBuilder {
   /**
    * 
    */
-  private void calcDepositBalance(@Nonnull List<DepositDTO> depositDTOList) throws DfxException {
+  private void calcDepositBalance(
+      int depositAddressNumber,
+      @Nonnull int[] tokenNumbers,
+      @Nonnull TokenAddressMap<BalanceData> inDepositAddressToBalanceDataMap,
+      @Nonnull TokenAddressMap<BalanceData> outDepositAddressToBalanceDataMap,
+      @Nonnull TokenAddressMap<BalanceDTO> depositAddressToBalanceDTOMap) throws DfxException {
     LOGGER.trace("calcDepositBalance()");
 
-    Map<String, BalanceData> inDepositAddressToBalanceDataMap = getInDepositAddressToBalanceDataMap();
-    Map<String, BalanceData> outDepositAddressToBalanceDataMap = getOutDepositAddressToBalanceDataMap();
-
-    // ...
-    for (TokenEnum token : TokenEnum.values()) {
-      Map<Integer, BalanceDTO> depositAddressToBalanceDTOMap = getDepositAddressToBalanceDTOMap(token);
-
-      for (DepositDTO depositDTO : depositDTOList) {
-        int depositAddressNumber = depositDTO.getDepositAddressNumber();
-
-        String depositKey = createKey(token.getNumber(), depositAddressNumber);
-        BalanceData inBalanceData = inDepositAddressToBalanceDataMap.get(depositKey);
+    for (int tokenNumber : tokenNumbers) {
+      long depositKey = TokenAddressMap.createKey(tokenNumber, depositAddressNumber);
+      BalanceData inBalanceData = inDepositAddressToBalanceDataMap.get(depositKey);
 
-        if (null != inBalanceData) {
-          BalanceData outBalanceData = outDepositAddressToBalanceDataMap.get(depositKey);
+      if (null != inBalanceData) {
+        BalanceData outBalanceData = outDepositAddressToBalanceDataMap.get(depositKey);
 
-          BalanceDTO balanceDTO = depositAddressToBalanceDTOMap.get(depositAddressNumber);
+        BalanceDTO balanceDTO = depositAddressToBalanceDTOMap.get(depositKey);
 
-          if (null == balanceDTO) {
-            insert(token, depositAddressNumber, inBalanceData, outBalanceData);
-          } else {
-            update(balanceDTO, inBalanceData, outBalanceData);
-          }
+        if (null == balanceDTO) {
+          insert(tokenNumber, depositAddressNumber, inBalanceData, outBalanceData);
+        } else {
+          update(balanceDTO, inBalanceData, outBalanceData);
         }
       }
     }
@@ -199,13 +231,13 @@ public class YmBalanceBuilder {
   /**
    * 
    */
-  private Map<String, BalanceData> getInDepositAddressToBalanceDataMap() throws DfxException {
+  private TokenAddressMap<BalanceData> getDepositAddressToBalanceDataMap(@Nonnull PreparedStatement amountSelectStatement) throws DfxException {
     LOGGER.trace("getDepositAddressToBalanceDataMap()");
 
     try {
-      Map<String, BalanceData> depositAddressToBalanceDataMap = new HashMap<>();
+      TokenAddressMap<BalanceData> depositAddressToBalanceDataMap = new TokenAddressMap<>();
 
-      ResultSet resultSet = inAmountSelectStatement.executeQuery();
+      ResultSet resultSet = amountSelectStatement.executeQuery();
 
       while (resultSet.next()) {
         BalanceData balanceData = new BalanceData();
@@ -216,8 +248,7 @@ public class YmBalanceBuilder {
         balanceData.amount = resultSet.getBigDecimal("sum_amount");
         balanceData.count = resultSet.getInt("count");
 
-        String key = createKey(balanceData.tokenNumber, balanceData.addressNumber);
-        depositAddressToBalanceDataMap.put(key, balanceData);
+        depositAddressToBalanceDataMap.put(balanceData.tokenNumber, balanceData.addressNumber, balanceData);
       }
 
       resultSet.close();
@@ -231,65 +262,40 @@ public class YmBalanceBuilder {
   /**
    * 
    */
-  private Map<String, BalanceData> getOutDepositAddressToBalanceDataMap() throws DfxException {
-    LOGGER.trace("getDepositAddressToBalanceDataMap()");
-
-    try {
-      Map<String, BalanceData> depositAddressToBalanceDataMap = new HashMap<>();
-
-      ResultSet resultSet = outAmountSelectStatement.executeQuery();
-
-      while (resultSet.next()) {
-        BalanceData balanceData = new BalanceData();
-
-        balanceData.tokenNumber = resultSet.getInt("token_number");
-        balanceData.blockNumber = resultSet.getInt("block_number");
-        balanceData.addressNumber = resultSet.getInt("address_number");
-        balanceData.amount = resultSet.getBigDecimal("sum_amount");
-        balanceData.count = resultSet.getInt("count");
-
-        String key = createKey(balanceData.tokenNumber, balanceData.addressNumber);
-        depositAddressToBalanceDataMap.put(key, balanceData);
-      }
+  private TokenAddressMap<BalanceDTO> getDepositAddressToBalanceDTOMap() throws DfxException {
+    List<BalanceDTO> balanceDTOList = databaseBalanceHelper.getBalanceDTOList();
 
-      resultSet.close();
+    TokenAddressMap<BalanceDTO> depositAddressToBalanceDTOMap = new TokenAddressMap<>(balanceDTOList.size());
+    balanceDTOList.forEach(dto -> depositAddressToBalanceDTOMap.put(dto.getTokenNumber(), dto.getAddressNumber(), dto));
 
-      return depositAddressToBalanceDataMap;
-    } catch (Exception e) {
-      throw new DfxException("getDepositAddressToBalanceDataMap", e);
-    }
+    return depositAddressToBalanceDTOMap;
   }
 
   /**
    * 
    */
-  private Map<Integer, BalanceDTO> getDepositAddressToBalanceDTOMap(@Nonnull TokenEnum token) throws DfxException {
-    List<BalanceDTO> balanceDTOList = databaseBalanceHelper.getBalanceDTOList(token);
-
-    Map<Integer, BalanceDTO> depositAddressToBalanceDTOMap = new HashMap<>();
-    balanceDTOList.forEach(dto -> depositAddressToBalanceDTOMap.put(dto.getAddressNumber(), dto));
+  private int[] getTokenNumbers() throws DfxException {
+    TokenEnum[] tokens = TokenEnum.values();
+    int[] tokenNumbers = new int[tokens.length];
 
-    return depositAddressToBalanceDTOMap;
-  }
+    for (int i = 0; i < tokens.length; i++) {
+      tokenNumbers[i] = tokens[i].getNumber();
+    }
 
-  /**
-   * 
-   */
-  private String createKey(int tokenNumber, int addressNumber) {
-    return new StringBuilder().append(tokenNumber).append("/").append(addressNumber).toString();
+    return tokenNumbers;
   }
 
   /**
    * 
    */
   private void insert(
-      TokenEnum token,
+      int tokenNumber,
       int depositAddressNumber,
       @Nonnull BalanceData inBalanceData,
       @Nullable BalanceData outBalanceData) throws DfxException {
     LOGGER.trace("insert()");
 
-    BalanceDTO balanceBTO = new BalanceDTO(token.getNumber(), depositAddressNumber);
+    BalanceDTO balanceBTO = new BalanceDTO(tokenNumber, depositAddressNumber);
     balanceBTO.setBlockNumber(inBalanceData.blockNumber);
     balanceBTO.setVin(inBalanceData.amount);
 
@@ -354,7 +360,11 @@ public class YmBalanceBuilder {
       balanceInsertStatement.setInt(4, balanceDTO.getTransactionCount());
       balanceInsertStatement.setBigDecimal(5, balanceDTO.getVout());
       balanceInsertStatement.setBigDecimal(6, balanceDTO.getVin());
-      balanceInsertStatement.execute();
+      balanceInsertStatement.addBatch();
+
+      countBatchRow();
+    } catch (DfxException e) {
+      throw e;
     } catch (Exception e) {
       throw new DfxException("doInsert", e);
     }
@@ -382,12 +392,42 @@ public class YmBalanceBuilder {
 
       balanceUpdateStatement.setInt(5, tokenNumber);
       balanceUpdateStatement.setInt(6, addressNumber);
-      balanceUpdateStatement.execute();
+      balanceUpdateStatement.addBatch();
+
+      countBatchRow();
+    } catch (DfxException e) {
+      throw e;
     } catch (Exception e) {
       throw new DfxException("doUpdate", e);
     }
   }
 
+  /**
+   * 
+   */
+  private void countBatchRow() throws DfxException {
+    if (BATCH_SIZE <= ++batchRowCount) {
+      executeBatch();
+    }
+  }
+
+  /**
+   * 
+   */
+  private void executeBatch() throws DfxException {
+    LOGGER.trace("executeBatch()");
+
+    try {
+      if (0 < batchRowCount) {
+        balanceInsertStatement.executeBatch();
+        balanceUpdateStatement.executeBatch();
+        batchRowCount = 0;
+      }
+    } catch (Exception e) {
+      throw new DfxException("executeBatch", e);
+    }
+  }
+
   /**
    * 
    */
@@ -27,22 +27,30 @@ import ch.dfx.transactionserver.data.DatabaseDTO;
 import ch.dfx.transactionserver.data.DepositDTO;
 import ch.dfx.transactionserver.data.StakingAddressDTO;
 import ch.dfx.transactionserver.data.TransactionCustomAccountToAccountInDTO;
+import ch.dfx.transactionserver.database.DatabaseTableCreator;
 import ch.dfx.transactionserver.database.DatabaseUtils;
 import ch.dfx.transactionserver.database.helper.DatabaseBalanceHelper;
 
 /**
- * 
+ * New deposits are searched only in the blocks after the deposit watermark of the liquidity address,
+ * the watermark is stored with the new deposits in the same transaction.
  */
 public class YmDepositBuilder {
   private static final Logger LOGGER = LogManager.getLogger(YmDepositBuilder.class);
 
+  private PreparedStatement maxBlockNumberSelectStatement = null;
+
   private PreparedStatement customTransactionByAddressSelectStatement = null;
+  private PreparedStatement customTransactionByBlockAndAddressSelectStatement = null;
 
   private PreparedStatement addressTransactionInByBlockAndTransactionSelectStatement = null;
   private PreparedStatement customAccountToAccountInByBlockAndAddressSelectStatement = null;
 
   private PreparedStatement depositInsertStatement = null;
 
+  private PreparedStatement depositWatermarkSelectStatement = null;
+  private PreparedStatement depositWatermarkMergeStatement = null;
+
   // ...
   private final NetworkEnum network;
 
@@ -68,8 +76,12 @@ public class YmDepositBuilder {
     long startTime = System.currentTimeMillis();
 
     try {
+      DatabaseTableCreator.createDepositWatermarkTable(network, connection, TOKEN_YIELDMACHINE_SCHEMA);
+
       openStatements(connection);
 
+      int maxBlockNumber = getMaxBlockNumber();
+
       Set<Integer> depositAddressNumberSet =
           databaseBalanceHelper.getDepositDTOList()
               .stream().map(DepositDTO::getDepositAddressNumber).collect(Collectors.toSet());
@@ -84,8 +96,14 @@ public class YmDepositBuilder {
 
       for (StakingAddressDTO stakingAddressDTO : stakingAddressDTOList) {
         if (-1 == stakingAddressDTO.getRewardAddressNumber()) {
-          LOGGER.debug("[YmDepositBuilder] Liquidity Address: " + stakingAddressDTO.getLiquidityAddress());
-          List<DepositDTO> depositDTOList = getDepositDTOList(stakingAddressDTO, depositAddressNumberSet);
+          int watermarkBlockNumber = getDepositWatermark(stakingAddressDTO);
+
+          if (watermarkBlockNumber >= maxBlockNumber) {
+            continue;
+          }
+
+          LOGGER.debug("[YmDepositBuilder] Liquidity Address: " + stakingAddressDTO.getLiquidityAddress() + " / Watermark: " + watermarkBlockNumber);
+          List<DepositDTO> depositDTOList = getDepositDTOList(stakingAddressDTO, watermarkBlockNumber, maxBlockNumber, depositAddressNumberSet);
 
           for (DepositDTO depositDTO : depositDTOList) {
             int depositAddressNumber = depositDTO.getDepositAddressNumber();
@@ -99,6 +117,8 @@ public class YmDepositBuilder {
               insertDeposit(depositDTO);
             }
           }
+
+          mergeDepositWatermark(stakingAddressDTO, maxBlockNumber);
         }
       }
 
@@ -120,6 +140,10 @@ public class YmDepositBuilder {
     LOGGER.trace("openStatements()");
 
     try {
+      // Block ...
+      String maxBlockNumberSelectSql = "SELECT MAX(number) FROM " + TOKEN_PUBLIC_SCHEMA + ".block";
+      maxBlockNumberSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, maxBlockNumberSelectSql));
+
       // Custom Transaction ...
       String customTransactionByAddressSelectSql =
           "SELECT"
@@ -134,7 +158,8 @@ public class YmDepositBuilder {
               + " AND ata_out.address_number != ata_in.address_number"
               + " AND ata_out.token_number = ata_in.token_number"
               + " WHERE"
-              + " ata_out.block_number>=?"
+              + " ata_out.block_number>?"
+              + " AND ata_out.block_number<=?"
               + " AND ata_out.address_number=?"
               + " GROUP BY"
               + " ata_out.address_number,"
@@ -142,6 +167,23 @@ public class YmDepositBuilder {
       customTransactionByAddressSelectStatement =
           connection.prepareStatement(DatabaseUtils.replaceSchema(network, customTransactionByAddressSelectSql));
 
+      String customTransactionByBlockAndAddressSelectSql =
+          "SELECT ata_out.block_number"
+              + " FROM " + TOKEN_NETWORK_CUSTOM_SCHEMA + ".account_to_account_out ata_out"
+              + " JOIN " + TOKEN_NETWORK_CUSTOM_SCHEMA + ".account_to_account_in ata_in ON"
+              + " ata_out.block_number = ata_in.block_number"
+              + " AND ata_out.transaction_number = ata_in.transaction_number"
+              + " AND ata_out.type_number = ata_in.type_number"
+              + " AND ata_out.token_number = ata_in.token_number"
+              + " WHERE"
+              + " ata_out.block_number>=?"
+              + " AND ata_out.block_number<=?"
+              + " AND ata_out.address_number=?"
+              + " AND ata_in.address_number=?"
+              + " LIMIT 1";
+      customTransactionByBlockAndAddressSelectStatement =
+          connection.prepareStatement(DatabaseUtils.replaceSchema(network, customTransactionByBlockAndAddressSelectSql));
+
       // ...
       String addressTransactionInByBlockAndTransactionSelectSql =
           "SELECT * FROM " + TOKEN_PUBLIC_SCHEMA + ".address_transaction_in"
@@ -162,6 +204,19 @@ public class YmDepositBuilder {
               + " (token_number, liquidity_address_number, deposit_address_number, customer_address_number, start_block_number, start_transaction_number)"
               + " VALUES (?, ?, ?, ?, ?, ?)";
       depositInsertStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, depositInsertSql));
+
+      // Deposit Watermark ...
+      String depositWatermarkSelectSql =
+          "SELECT block_number FROM " + TOKEN_YIELDMACHINE_SCHEMA + ".deposit_watermark"
+              + " WHERE token_number=? AND liquidity_address_number=?";
+      depositWatermarkSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, depositWatermarkSelectSql));
+
+      String depositWatermarkMergeSql =
+          "MERGE INTO " + TOKEN_YIELDMACHINE_SCHEMA + ".deposit_watermark"
+              + " (token_number, liquidity_address_number, block_number)"
+              + " KEY (token_number, liquidity_address_number)"
+              + " VALUES(?, ?, ?)";
+      depositWatermarkMergeStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, depositWatermarkMergeSql));
     } catch (Exception e) {
       throw new DfxException("openStatements", e);
     }
@@ -174,22 +229,31 @@ public class YmDepositBuilder {
     LOGGER.trace("closeStatements()");
 
     try {
+      maxBlockNumberSelectStatement.close();
+
       customTransactionByAddressSelectStatement.close();
+      customTransactionByBlockAndAddressSelectStatement.close();
 
       addressTransactionInByBlockAndTransactionSelectStatement.close();
       customAccountToAccountInByBlockAndAddressSelectStatement.close();
 
       depositInsertStatement.close();
+
+      depositWatermarkSelectStatement.close();
+      depositWatermarkMergeStatement.close();
     } catch (Exception e) {
       throw new DfxException("closeStatements", e);
     }
   }
 
   /**
-   * 
+   * Only the transactions after the watermark up to the max block number are read. An address
+   * which has already received from the liquidity address up to the watermark has been checked before ...
    */
   private List<DepositDTO> getDepositDTOList(
       @Nonnull StakingAddressDTO stakingAddressDTO,
+      int watermarkBlockNumber,
+      int maxBlockNumber,
       @Nonnull Set<Integer> depositAddressNumberSet) throws DfxException {
     LOGGER.trace("getDepositDTOList()");
 
@@ -199,13 +263,18 @@ public class YmDepositBuilder {
     int liquidityStartBlockNumber = stakingAddressDTO.getStartBlockNumber();
     int liquidityAddressNumber = stakingAddressDTO.getLiquidityAddressNumber();
 
+    boolean isFirstScan = -1 == watermarkBlockNumber;
+    int fromBlockNumber = Math.max(liquidityStartBlockNumber - 1, watermarkBlockNumber);
+
     List<DepositFinderDTO> depositFinderDTOList =
-        getDepositFinderDTOList(liquidityStartBlockNumber, liquidityAddressNumber);
+        getDepositFinderDTOList(fromBlockNumber, maxBlockNumber, liquidityAddressNumber);
 
     for (DepositFinderDTO depositFinderDTO : depositFinderDTOList) {
       int depositAddressNumber = depositFinderDTO.getInAddressNumber();
 
-      if (!depositAddressNumberSet.contains(depositAddressNumber)) {
+      if (!depositAddressNumberSet.contains(depositAddressNumber)
+          && (isFirstScan
+              || !hasCustomTransaction(liquidityStartBlockNumber, fromBlockNumber, liquidityAddressNumber, depositAddressNumber))) {
         Integer tokenNumber = depositFinderDTO.getTokenNumber();
 
         DepositDTO depositDTO = null;
@@ -215,7 +284,7 @@ public class YmDepositBuilder {
               getDFIDeposit(liquidityAddressNumber, depositFinderDTO, unifierAddressSet);
         } else {
           depositDTO =
-              getTokenDepositDTO(liquidityAddressNumber, depositFinderDTO, unifierAddressSet);
+              getTokenDepositDTO(liquidityAddressNumber, depositFinderDTO, maxBlockNumber, unifierAddressSet);
         }
 
         if (null != depositDTO) {
@@ -341,6 +410,7 @@ public class YmDepositBuilder {
   private @Nullable DepositDTO getTokenDepositDTO(
       int liquidityAddressNumber,
       @Nonnull DepositFinderDTO depositFinderDTO,
+      int maxBlockNumber,
       @Nonnull Set<Integer> unifierAddressSet) throws DfxException {
     LOGGER.trace("getTokenDepositDTO()");
 
@@ -351,7 +421,7 @@ public class YmDepositBuilder {
     int depositAddressNumber = depositFinderDTO.getInAddressNumber();
 
     List<DepositFinderDTO> customerFinderDTOList =
-        getDepositFinderDTOList(-1, depositAddressNumber);
+        getDepositFinderDTOList(-1, maxBlockNumber, depositAddressNumber);
 
     for (DepositFinderDTO customerFinderDTO : customerFinderDTOList) {
       int customerAddressNumber = customerFinderDTO.getInAddressNumber();
@@ -378,15 +448,17 @@ public class YmDepositBuilder {
    * 
    */
   private List<DepositFinderDTO> getDepositFinderDTOList(
-      int startBlockNumber,
+      int fromBlockNumber,
+      int toBlockNumber,
       int addressNumber) throws DfxException {
     LOGGER.trace("getDepositFinderDTOList()");
 
     try {
       List<DepositFinderDTO> depositFinderDTOList = new ArrayList<>();
 
-      customTransactionByAddressSelectStatement.setInt(1, startBlockNumber);
-      customTransactionByAddressSelectStatement.setInt(2, addressNumber);
+      customTransactionByAddressSelectStatement.setInt(1, fromBlockNumber);
+      customTransactionByAddressSelectStatement.setInt(2, toBlockNumber);
+      customTransactionByAddressSelectStatement.setInt(3, addressNumber);
 
       ResultSet resultSet = customTransactionByAddressSelectStatement.executeQuery();
 
@@ -460,6 +532,101 @@ public class YmDepositBuilder {
     }
   }
 
+  /**
+   * 
+   */
+  private boolean hasCustomTransaction(
+      int fromBlockNumber,
+      int toBlockNumber,
+      int outAddressNumber,
+      int inAddressNumber) throws DfxException {
+    LOGGER.trace("hasCustomTransaction()");
+
+    try {
+      customTransactionByBlockAndAddressSelectStatement.setInt(1, fromBlockNumber);
+      customTransactionByBlockAndAddressSelectStatement.setInt(2, toBlockNumber);
+      customTransactionByBlockAndAddressSelectStatement.setInt(3, outAddressNumber);
+      customTransactionByBlockAndAddressSelectStatement.setInt(4, inAddressNumber);
+
+      ResultSet resultSet = customTransactionByBlockAndAddressSelectStatement.executeQuery();
+
+      boolean hasCustomTransaction = resultSet.next();
+
+      resultSet.close();
+
+      return hasCustomTransaction;
+    } catch (Exception e) {
+      throw new DfxException("hasCustomTransaction", e);
+    }
+  }
+
+  /**
+   * 
+   */
+  private int getMaxBlockNumber() throws DfxException {
+    LOGGER.trace("getMaxBlockNumber()");
+
+    try {
+      int maxBlockNumber = -1;
+
+      ResultSet resultSet = maxBlockNumberSelectStatement.executeQuery();
+
+      if (resultSet.next()) {
+        maxBlockNumber = resultSet.getInt(1);
+      }
+
+      resultSet.close();
+
+      return maxBlockNumber;
+    } catch (Exception e) {
+      throw new DfxException("getMaxBlockNumber", e);
+    }
+  }
+
+  /**
+   * Highest block number already searched for deposits, -1 if never searched ...
+   */
+  private int getDepositWatermark(@Nonnull StakingAddressDTO stakingAddressDTO) throws DfxException {
+    LOGGER.trace("getDepositWatermark()");
+
+    try {
+      int watermarkBlockNumber = -1;
+
+      depositWatermarkSelectStatement.setInt(1, stakingAddressDTO.getTokenNumber());
+      depositWatermarkSelectStatement.setInt(2, stakingAddressDTO.getLiquidityAddressNumber());
+
+      ResultSet resultSet = depositWatermarkSelectStatement.executeQuery();
+
+      if (resultSet.next()) {
+        watermarkBlockNumber = resultSet.getInt(1);
+      }
+
+      resultSet.close();
+
+      return watermarkBlockNumber;
+    } catch (Exception e) {
+      throw new DfxException("getDepositWatermark", e);
+    }
+  }
+
+  /**
+   * 
+   */
+  private void mergeDepositWatermark(
+      @Nonnull StakingAddressDTO stakingAddressDTO,
+      int blockNumber) throws DfxException {
+    LOGGER.trace("mergeDepositWatermark()");
+
+    try {
+      depositWatermarkMergeStatement.setInt(1, stakingAddressDTO.getTokenNumber());
+      depositWatermarkMergeStatement.setInt(2, stakingAddressDTO.getLiquidityAddressNumber());
+      depositWatermarkMergeStatement.setInt(3, blockNumber);
+      depositWatermarkMergeStatement.execute();
+    } catch (Exception e) {
+      throw new DfxException("mergeDepositWatermark", e);
+    }
+  }
+
   /**
    * 
    */
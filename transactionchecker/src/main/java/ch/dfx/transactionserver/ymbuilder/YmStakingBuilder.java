@@ -8,8 +8,10 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -21,6 +23,7 @@ import ch.dfx.TransactionCheckerUtils;
 import ch.dfx.common.enumeration.NetworkEnum;
 import ch.dfx.common.enumeration.TokenEnum;
 import ch.dfx.common.errorhandling.DfxException;
+import ch.dfx.transactionserver.builder.data.TokenAddressMap;
 import ch.dfx.transactionserver.data.DepositDTO;
 import ch.dfx.transactionserver.data.StakingAddressDTO;
 import ch.dfx.transactionserver.data.StakingDTO;
@@ -28,11 +31,15 @@ import ch.dfx.transactionserver.database.DatabaseUtils;
 import ch.dfx.transactionserver.database.helper.DatabaseBalanceHelper;
 
 /**
- * 
+ * One pass per cycle for all liquidity addresses and tokens: the deposit / withdrawal sums and
+ * the existing staking rows are read once into maps per liquidity address with a packed
+ * (token, address) key, the new and changed staking rows are written in batches.
  */
 public class YmStakingBuilder {
   private static final Logger LOGGER = LogManager.getLogger(YmStakingBuilder.class);
 
+  private static final int BATCH_SIZE = 1000;
+
   // ...
   private PreparedStatement stakingDepositSelectStatement = null;
   private PreparedStatement stakingWithdrawalSelectStatement = null;
@@ -40,6 +47,8 @@ public class YmStakingBuilder {
   private PreparedStatement stakingInsertStatement = null;
   private PreparedStatement stakingUpdateStatement = null;
 
+  private int batchRowCount = 0;
+
   // ...
   private final NetworkEnum network;
 
@@ -67,22 +76,50 @@ public class YmStakingBuilder {
     try {
       openStatements(connection);
 
+      // one grouped query per direction for all liquidity addresses and tokens of the schema ...
+      long phaseStartTime = System.currentTimeMillis();
+      Map<Integer, TokenAddressMap<StakingData>> depositAddressToStakingDataMap = getAddressToStakingDataMap(stakingDepositSelectStatement);
+      LOGGER.debug("[YmStakingBuilder] Deposit runtime: " + (System.currentTimeMillis() - phaseStartTime));
+
+      phaseStartTime = System.currentTimeMillis();
+      Map<Integer, TokenAddressMap<StakingData>> customerAddressToStakingDataMap = getAddressToStakingDataMap(stakingWithdrawalSelectStatement);
+      LOGGER.debug("[YmStakingBuilder] Withdrawal runtime: " + (System.currentTimeMillis() - phaseStartTime));
+
       // ...
-      List<StakingAddressDTO> stakingAddressDTOList = databaseBalanceHelper.getStakingAddressDTOList();
+      phaseStartTime = System.currentTimeMillis();
 
-      for (StakingAddressDTO stakingAddressDTO : stakingAddressDTOList) {
+      Map<Integer, TokenAddressMap<StakingDTO>> depositAddressToStakingDTOMap = getDepositAddressToStakingDTOMap();
+      int[] tokenNumbers = getTokenNumbers();
+
+      Set<Integer> liquidityAddressNumberSet = new HashSet<>();
+
+      for (StakingAddressDTO stakingAddressDTO : databaseBalanceHelper.getStakingAddressDTOList()) {
         if (-1 == stakingAddressDTO.getRewardAddressNumber()) {
-          int liquidityAddressNumber = stakingAddressDTO.getLiquidityAddressNumber();
+          liquidityAddressNumberSet.add(stakingAddressDTO.getLiquidityAddressNumber());
+        }
+      }
 
-          List<DepositDTO> depositDTOList = databaseBalanceHelper.getDepositDTOListByLiquidityAddressNumber(liquidityAddressNumber);
-          calcStakingBalance(liquidityAddressNumber, depositDTOList);
+      for (DepositDTO depositDTO : databaseBalanceHelper.getDepositDTOList()) {
+        int liquidityAddressNumber = depositDTO.getLiquidityAddressNumber();
+
+        if (liquidityAddressNumberSet.contains(liquidityAddressNumber)) {
+          calcStakingBalance(
+              depositDTO, tokenNumbers,
+              depositAddressToStakingDataMap.get(liquidityAddressNumber),
+              customerAddressToStakingDataMap.get(liquidityAddressNumber),
+              depositAddressToStakingDTOMap.get(liquidityAddressNumber));
         }
       }
 
+      executeBatch();
+
+      LOGGER.debug("[YmStakingBuilder] Staking runtime: " + (System.currentTimeMillis() - phaseStartTime));
+
       closeStatements();
 
       connection.commit();
     } catch (Exception e) {
+      batchRowCount = 0;
       DatabaseUtils.rollback(connection);
       throw new DfxException("build", e);
     } finally {
@@ -98,9 +135,13 @@ public class YmStakingBuilder {
 
     try {
       // ...
+      String liquidityAddressSelectSql =
+          "SELECT liquidity_address_number FROM " + TOKEN_YIELDMACHINE_SCHEMA + ".staking_address WHERE reward_address_number=-1";
+
       String stakingDepositSelectSql =
           "SELECT"
               + " ata_out.token_number,"
+              + " ata_out.address_number AS liquidity_address_number,"
               + " MAX(ata_out.block_number) AS block_number,"
               + " ata_in.address_number,"
               + " SUM(ata_in.amount) AS sum_amount"
@@ -111,16 +152,18 @@ public class YmStakingBuilder {
               + " AND ata_out.type_number= ata_in.type_number"
               + " AND ata_out.token_number = ata_in.token_number"
               + " WHERE"
-              + " ata_out.address_number=?"
+              + " ata_out.address_number IN (" + liquidityAddressSelectSql + ")"
               + " AND ata_in.address_number IN (SELECT deposit_address_number FROM " + TOKEN_YIELDMACHINE_SCHEMA + ".deposit)"
               + " GROUP BY"
               + " ata_out.token_number,"
+              + " ata_out.address_number,"
               + " ata_in.address_number";
       stakingDepositSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, stakingDepositSelectSql));
 
       String stakingWithdrawalSelectSql =
           "SELECT"
               + " ata_out.token_number,"
+              + " ata_in.address_number AS liquidity_address_number,"
               + " MAX(ata_out.block_number) AS block_number,"
               + " ata_out.address_number,"
               + " SUM(ata_in.amount) AS sum_amount"
@@ -132,9 +175,10 @@ public class YmStakingBuilder {
               + " AND ata_out.token_number = ata_in.token_number"
               + " WHERE"
               + " ata_out.address_number IN (SELECT customer_address_number FROM " + TOKEN_YIELDMACHINE_SCHEMA + ".deposit)"
-              + " AND ata_in.address_number=?"
+              + " AND ata_in.address_number IN (" + liquidityAddressSelectSql + ")"
               + " GROUP BY"
               + " ata_out.token_number,"
+              + " ata_in.address_number,"
               + " ata_out.address_number";
       stakingWithdrawalSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(network, stakingWithdrawalSelectSql));
 
@@ -182,53 +226,50 @@ public class YmStakingBuilder {
    * 
    */
   private void calcStakingBalance(
-      int liquidityAddressNumber,
-      @Nonnull List<DepositDTO> depositDTOList) throws DfxException {
+      @Nonnull DepositDTO depositDTO,
+      @Nonnull int[] tokenNumbers,
+      @Nullable TokenAddressMap<StakingData> depositAddressToStakingDataMap,
+      @Nullable TokenAddressMap<StakingData> customerAddressToStakingDataMap,
+      @Nullable TokenAddressMap<StakingDTO> depositAddressToStakingDTOMap) throws DfxException {
     LOGGER.trace("calcStakingBalance()");
 
-    // ...
-    Map<String, StakingData> depositAddressToStakingDataMap = getDepositAddressToStakingDataMap(liquidityAddressNumber);
-    Map<String, StakingData> customerAddressToStakingDataMap = getCustomerAddressToStakingDataMap(liquidityAddressNumber);
-
-    // ...
-    for (TokenEnum token : TokenEnum.values()) {
-      Map<Integer, StakingDTO> depositAddressToStakingDTOMap = getDepositAddressToStakingDTOMap(token, liquidityAddressNumber);
+    if (null == depositAddressToStakingDataMap) {
+      return;
+    }
 
-      for (DepositDTO depositDTO : depositDTOList) {
-        int depositAddressNumber = depositDTO.getDepositAddressNumber();
+    int liquidityAddressNumber = depositDTO.getLiquidityAddressNumber();
+    int depositAddressNumber = depositDTO.getDepositAddressNumber();
+    int customerAddressNumber = depositDTO.getCustomerAddressNumber();
 
-        String depositKey = createKey(token.getNumber(), depositAddressNumber);
-        StakingData depositStakingData = depositAddressToStakingDataMap.get(depositKey);
+    for (int tokenNumber : tokenNumbers) {
+      StakingData depositStakingData = depositAddressToStakingDataMap.get(tokenNumber, depositAddressNumber);
 
-        if (null != depositStakingData) {
-          int customerAddressNumber = depositDTO.getCustomerAddressNumber();
-          String customerKey = createKey(token.getNumber(), customerAddressNumber);
-          StakingData customerStakingData = customerAddressToStakingDataMap.get(customerKey);
+      if (null != depositStakingData) {
+        StakingData customerStakingData =
+            null == customerAddressToStakingDataMap ? null : customerAddressToStakingDataMap.get(tokenNumber, customerAddressNumber);
 
-          StakingDTO stakingDTO = depositAddressToStakingDTOMap.get(depositAddressNumber);
+        StakingDTO stakingDTO =
+            null == depositAddressToStakingDTOMap ? null : depositAddressToStakingDTOMap.get(tokenNumber, depositAddressNumber);
 
-          if (null == stakingDTO) {
-            insert(token, liquidityAddressNumber, depositAddressNumber, customerAddressNumber, depositStakingData, customerStakingData);
-          } else {
-            update(stakingDTO, depositStakingData, customerStakingData);
-          }
+        if (null == stakingDTO) {
+          insert(tokenNumber, liquidityAddressNumber, depositAddressNumber, customerAddressNumber, depositStakingData, customerStakingData);
+        } else {
+          update(stakingDTO, depositStakingData, customerStakingData);
         }
       }
     }
   }
 
   /**
-   * 
+   * Liquidity address number to the sums per token and address ...
    */
-  private Map<String, StakingData> getDepositAddressToStakingDataMap(int liquidityAddressNumber) throws DfxException {
-    LOGGER.trace("getDepositAddressToStakingDataMap()");
+  private Map<Integer, TokenAddressMap<StakingData>> getAddressToStakingDataMap(@Nonnull PreparedStatement stakingSelectStatement) throws DfxException {
+    LOGGER.trace("getAddressToStakingDataMap()");
 
     try {
-      Map<String, StakingData> depositAddressToStakingDataMap = new HashMap<>();
-
-      stakingDepositSelectStatement.setInt(1, liquidityAddressNumber);
+      Map<Integer, TokenAddressMap<StakingData>> liquidityAddressToStakingDataMap = new HashMap<>();
 
-      ResultSet resultSet = stakingDepositSelectStatement.executeQuery();
+      ResultSet resultSet = stakingSelectStatement.executeQuery();
 
       while (resultSet.next()) {
         StakingData stakingData = new StakingData();
@@ -238,77 +279,55 @@ public class YmStakingBuilder {
         stakingData.addressNumber = resultSet.getInt("address_number");
         stakingData.amount = resultSet.getBigDecimal("sum_amount");
 
-        String key = createKey(stakingData.tokenNumber, stakingData.addressNumber);
-        depositAddressToStakingDataMap.put(key, stakingData);
+        liquidityAddressToStakingDataMap
+            .computeIfAbsent(resultSet.getInt("liquidity_address_number"), k -> new TokenAddressMap<>())
+            .put(stakingData.tokenNumber, stakingData.addressNumber, stakingData);
       }
 
       resultSet.close();
 
-      return depositAddressToStakingDataMap;
+      return liquidityAddressToStakingDataMap;
     } catch (Exception e) {
-      throw new DfxException("getDepositAddressToStakingDataMap", e);
+      throw new DfxException("getAddressToStakingDataMap", e);
     }
   }
 
   /**
    * 
    */
-  private Map<String, StakingData> getCustomerAddressToStakingDataMap(int liquidityAddressNumber) throws DfxException {
-    LOGGER.trace("getCustomerAddressToStakingDataMap()");
-
-    try {
-      Map<String, StakingData> customerAddressToStakingDataMap = new HashMap<>();
-
-      stakingWithdrawalSelectStatement.setInt(1, liquidityAddressNumber);
-
-      ResultSet resultSet = stakingWithdrawalSelectStatement.executeQuery();
-
-      while (resultSet.next()) {
-        StakingData stakingData = new StakingData();
-
-        stakingData.tokenNumber = resultSet.getInt("token_number");
-        stakingData.blockNumber = resultSet.getInt("block_number");
-        stakingData.addressNumber = resultSet.getInt("address_number");
-        stakingData.amount = resultSet.getBigDecimal("sum_amount");
-
-        String key = createKey(stakingData.tokenNumber, stakingData.addressNumber);
-        customerAddressToStakingDataMap.put(key, stakingData);
-      }
+  private Map<Integer, TokenAddressMap<StakingDTO>> getDepositAddressToStakingDTOMap() throws DfxException {
+    List<StakingDTO> stakingDTOList = databaseBalanceHelper.getStakingDTOList();
 
-      resultSet.close();
+    Map<Integer, TokenAddressMap<StakingDTO>> liquidityAddressToStakingDTOMap = new HashMap<>();
 
-      return customerAddressToStakingDataMap;
-    } catch (Exception e) {
-      throw new DfxException("getCustomerAddressToStakingDataMap", e);
+    for (StakingDTO stakingDTO : stakingDTOList) {
+      liquidityAddressToStakingDTOMap
+          .computeIfAbsent(stakingDTO.getLiquidityAddressNumber(), k -> new TokenAddressMap<>())
+          .put(stakingDTO.getTokenNumber(), stakingDTO.getDepositAddressNumber(), stakingDTO);
     }
+
+    return liquidityAddressToStakingDTOMap;
   }
 
   /**
    * 
    */
-  private Map<Integer, StakingDTO> getDepositAddressToStakingDTOMap(
-      @Nonnull TokenEnum token,
-      int liquidityAddressNumber) throws DfxException {
-    List<StakingDTO> stakingDTOList = databaseBalanceHelper.getStakingDTOListByLiquidityAdressNumber(token, liquidityAddressNumber);
-
-    Map<Integer, StakingDTO> depositAddressToStakingDTOMap = new HashMap<>();
-    stakingDTOList.forEach(dto -> depositAddressToStakingDTOMap.put(dto.getDepositAddressNumber(), dto));
+  private int[] getTokenNumbers() throws DfxException {
+    TokenEnum[] tokens = TokenEnum.values();
+    int[] tokenNumbers = new int[tokens.length];
 
-    return depositAddressToStakingDTOMap;
-  }
+    for (int i = 0; i < tokens.length; i++) {
+      tokenNumbers[i] = tokens[i].getNumber();
+    }
 
-  /**
-   * 
-   */
-  private String createKey(int tokenNumber, int addressNumber) {
-    return new StringBuilder().append(tokenNumber).append("/").append(addressNumber).toString();
+    return tokenNumbers;
   }
 
   /**
    * 
    */
   private void insert(
-      TokenEnum token,
+      int tokenNumber,
       int liquidityAddressNumber,
       int depositAddressNumber,
       int customerAddressNumber,
@@ -316,7 +335,7 @@ public class YmStakingBuilder {
       @Nullable StakingData customerStakingData) throws DfxException {
     LOGGER.trace("insert()");
 
-    StakingDTO stakingDTO = new StakingDTO(token.getNumber(), liquidityAddressNumber, depositAddressNumber, customerAddressNumber);
+    StakingDTO stakingDTO = new StakingDTO(tokenNumber, liquidityAddressNumber, depositAddressNumber, customerAddressNumber);
     stakingDTO.setLastInBlockNumber(depositStakingData.blockNumber);
     stakingDTO.setVin(depositStakingData.amount);
 
@@ -364,8 +383,6 @@ public class YmStakingBuilder {
       int liquidityAddressNumber = stakingDTO.getLiquidityAddressNumber();
       int depositAddressNumber = stakingDTO.getDepositAddressNumber();
       int customerAddressNumber = stakingDTO.getCustomerAddressNumber();
-      int lastInBlockNumber = stakingDTO.getLastInBlockNumber();
-      int lastOutBlockNumber = stakingDTO.getLastOutBlockNumber();
 
       LOGGER.debug(
           "[INSERT] Token / Liquidity / Deposit / Customer: "
@@ -375,12 +392,15 @@ public class YmStakingBuilder {
       stakingInsertStatement.setInt(2, liquidityAddressNumber);
       stakingInsertStatement.setInt(3, depositAddressNumber);
       stakingInsertStatement.setInt(4, customerAddressNumber);
-      stakingInsertStatement.setInt(5, lastInBlockNumber);
+      stakingInsertStatement.setInt(5, stakingDTO.getLastInBlockNumber());
       stakingInsertStatement.setBigDecimal(6, stakingDTO.getVin());
-      stakingInsertStatement.setInt(7, lastOutBlockNumber);
+      stakingInsertStatement.setInt(7, stakingDTO.getLastOutBlockNumber());
       stakingInsertStatement.setBigDecimal(8, stakingDTO.getVout());
+      stakingInsertStatement.addBatch();
 
-      stakingInsertStatement.execute();
+      countBatchRow();
+    } catch (DfxException e) {
+      throw e;
     } catch (Exception e) {
       throw new DfxException("doInsert", e);
     }
@@ -397,29 +417,56 @@ public class YmStakingBuilder {
       int liquidityAddressNumber = stakingDTO.getLiquidityAddressNumber();
       int depositAddressNumber = stakingDTO.getDepositAddressNumber();
       int customerAddressNumber = stakingDTO.getCustomerAddressNumber();
-      int lastInBlockNumber = stakingDTO.getLastInBlockNumber();
-      int lastOutBlockNumber = stakingDTO.getLastOutBlockNumber();
 
       LOGGER.debug(
           "[UPDATE] Token / Liquidity / Deposit / Customer: "
               + tokenNumber + " / " + liquidityAddressNumber + " / " + depositAddressNumber + " / " + customerAddressNumber);
 
-      stakingUpdateStatement.setInt(1, lastInBlockNumber);
+      stakingUpdateStatement.setInt(1, stakingDTO.getLastInBlockNumber());
       stakingUpdateStatement.setBigDecimal(2, stakingDTO.getVin());
-      stakingUpdateStatement.setInt(3, lastOutBlockNumber);
+      stakingUpdateStatement.setInt(3, stakingDTO.getLastOutBlockNumber());
       stakingUpdateStatement.setBigDecimal(4, stakingDTO.getVout());
 
       stakingUpdateStatement.setInt(5, tokenNumber);
       stakingUpdateStatement.setInt(6, liquidityAddressNumber);
       stakingUpdateStatement.setInt(7, depositAddressNumber);
       stakingUpdateStatement.setInt(8, customerAddressNumber);
+      stakingUpdateStatement.addBatch();
 
-      stakingUpdateStatement.execute();
+      countBatchRow();
+    } catch (DfxException e) {
+      throw e;
     } catch (Exception e) {
       throw new DfxException("doUpdate", e);
     }
   }
 
+  /**
+   * 
+   */
+  private void countBatchRow() throws DfxException {
+    if (BATCH_SIZE <= ++batchRowCount) {
+      executeBatch();
+    }
+  }
+
+  /**
+   * 
+   */
+  private void executeBatch() throws DfxException {
+    LOGGER.trace("executeBatch()");
+
+    try {
+      if (0 < batchRowCount) {
+        stakingInsertStatement.executeBatch();
+        stakingUpdateStatement.executeBatch();
+        batchRowCount = 0;
+      }
+    } catch (Exception e) {
+      throw new DfxException("executeBatch", e);
+    }
+  }
+
   /**
    * 
    */
@@ -0,0 +1,130 @@
+package ch.dfx.transactionserver.ymbuilder;
+
+import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_NETWORK_CUSTOM_SCHEMA;
+import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_PUBLIC_SCHEMA;
+import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_YIELDMACHINE_SCHEMA;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import ch.dfx.common.enumeration.NetworkEnum;
+import ch.dfx.common.enumeration.TokenEnum;
+import ch.dfx.common.errorhandling.DfxException;
+import ch.dfx.transactionserver.builder.StatistikBuilder;
+import ch.dfx.transactionserver.data.StatistikDTO;
+import ch.dfx.transactionserver.database.DatabaseUtils;
+
+/**
+ * 
+ */
+public class YmStatistikBuilder extends StatistikBuilder {
+  private static final Logger LOGGER = LogManager.getLogger(YmStatistikBuilder.class);
+
+  /**
+   * 
+   */
+  public YmStatistikBuilder(@Nonnull NetworkEnum network) {
+    super(network, TOKEN_YIELDMACHINE_SCHEMA);
+  }
+
+  @Override
+  protected List<TokenEnum> getTokenList() {
+    return List.of(TokenEnum.values());
+  }
+
+  /**
+   * 
+   */
+  @Override
+  protected void fillDepositSum(
+      @Nonnull Connection connection,
+      @Nonnull TokenEnum token,
+      int liquidityAddressNumber,
+      long fromTimestamp,
+      long toTimestamp,
+      @Nonnull Map<Long, StatistikDTO> epochDayToStatistikDTOMap) throws DfxException {
+    LOGGER.trace("fillDepositSum()");
+
+    String depositSumVinSelectSql =
+        "SELECT"
+            + " b.timestamp / " + SECONDS_PER_DAY + " AS epoch_day,"
+            + " SUM(ata_in.amount) AS sum_vin"
+            + " FROM " + TOKEN_PUBLIC_SCHEMA + ".block b"
+            + " JOIN " + TOKEN_NETWORK_CUSTOM_SCHEMA + ".account_to_account_out ata_out ON"
+            + " b.number = ata_out.block_number"
+            + " JOIN " + TOKEN_NETWORK_CUSTOM_SCHEMA + ".account_to_account_in ata_in ON"
+            + " ata_out.block_number = ata_in.block_number"
+            + " AND ata_out.transaction_number = ata_in.transaction_number"
+            + " AND ata_out.type_number = ata_in.type_number"
+            + " AND ata_out.token_number = ata_in.token_number"
+            + " WHERE"
+            + " b.timestamp BETWEEN ? AND ?"
+            + " AND ata_out.token_number=?"
+            + " AND ata_out.address_number=?"
+            + " AND ata_in.address_number IN ("
+            + " SELECT deposit_address_number"
+            + " FROM " + TOKEN_YIELDMACHINE_SCHEMA + ".deposit"
+            + " WHERE token_number=?)"
+            + " GROUP BY epoch_day";
+
+    String depositSumVoutSelectSql =
+        "SELECT"
+            + " b.timestamp / " + SECONDS_PER_DAY + " AS epoch_day,"
+            + " SUM(ata_in.amount) AS sum_vout"
+            + " FROM " + TOKEN_PUBLIC_SCHEMA + ".block b"
+            + " JOIN " + TOKEN_NETWORK_CUSTOM_SCHEMA + ".account_to_account_out ata_out ON"
+            + " b.number = ata_out.block_number"
+            + " JOIN " + TOKEN_NETWORK_CUSTOM_SCHEMA + ".account_to_account_in ata_in ON"
+            + " ata_out.block_number = ata_in.block_number"
+            + " AND ata_out.transaction_number = ata_in.transaction_number"
+            + " AND ata_out.type_number = ata_in.type_number"
+            + " AND ata_out.token_number = ata_in.token_number"
+            + " WHERE"
+            + " b.timestamp BETWEEN ? AND ?"
+            + " AND ata_out.token_number=?"
+            + " AND ata_in.address_number=?"
+            + " AND ata_out.address_number IN ("
+            + " SELECT customer_address_number"
+            + " FROM " + TOKEN_YIELDMACHINE_SCHEMA + ".deposit"
+            + " WHERE token_number=?)"
+            + " GROUP BY epoch_day";
+
+    try (PreparedStatement depositSumVinSelectStatement =
+        connection.prepareStatement(DatabaseUtils.replaceSchema(network, depositSumVinSelectSql));
+        PreparedStatement depositSumVoutSelectStatement =
+            connection.prepareStatement(DatabaseUtils.replaceSchema(network, depositSumVoutSelectSql))) {
+      setParameter(depositSumVinSelectStatement, token, liquidityAddressNumber, fromTimestamp, toTimestamp);
+      addDepositVin(depositSumVinSelectStatement, epochDayToStatistikDTOMap);
+
+      setParameter(depositSumVoutSelectStatement, token, liquidityAddressNumber, fromTimestamp, toTimestamp);
+      addDepositVout(depositSumVoutSelectStatement, epochDayToStatistikDTOMap);
+    } catch (DfxException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new DfxException("fillDepositSum", e);
+    }
+  }
+
+  /**
+   * 
+   */
+  private void setParameter(
+      @Nonnull PreparedStatement statement,
+      @Nonnull TokenEnum token,
+      int liquidityAddressNumber,
+      long fromTimestamp,
+      long toTimestamp) throws Exception {
+    statement.setLong(1, fromTimestamp);
+    statement.setLong(2, toTimestamp);
+    statement.setInt(3, token.getNumber());
+    statement.setInt(4, liquidityAddressNumber);
+    statement.setInt(5, token.getNumber());
+  }
+}
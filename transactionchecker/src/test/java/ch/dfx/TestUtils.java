@@ -1,5 +1,6 @@
 package ch.dfx;
 
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -17,6 +18,7 @@ import java.sql.ResultSetMetaData;
 import java.sql.Statement;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,7 +27,6 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import org.apache.http.client.HttpClient;
-import org.apache.http.client.methods.HttpPost;
 import org.apache.http.impl.bootstrap.HttpServer;
 import org.apache.http.impl.bootstrap.ServerBootstrap;
 import org.apache.logging.log4j.LogManager;
@@ -215,10 +216,12 @@ public class TestUtils {
         gson.fromJson(Files.readString(jsonChainDataFile.toPath()), DefiTransactionData.class);
 
     when(dataProviderMock.decodeRawTransaction(anyString())).thenReturn(transactionData);
+    when(dataProviderMock.decodeRawTransactions(anyList())).thenAnswer(invocation -> nCopies(invocation, transactionData));
 
     // ...
     DefiCustomData customData = new DefiCustomData();
     when(dataProviderMock.decodeCustomTransaction(anyString())).thenReturn(customData);
+    when(dataProviderMock.decodeCustomTransactions(anyList())).thenAnswer(invocation -> nCopies(invocation, customData));
 
     return transactionData;
   }
@@ -236,10 +239,21 @@ public class TestUtils {
         gson.fromJson(Files.readString(jsonChainCustomDataFile.toPath()), DefiCustomData.class);
 
     when(dataProviderMock.decodeCustomTransaction(anyString())).thenReturn(customData);
+    when(dataProviderMock.decodeCustomTransactions(anyList())).thenAnswer(invocation -> nCopies(invocation, customData));
 
     return customData;
   }
 
+  /**
+   * Batch mock: the same data for every entry of the list argument ...
+   */
+  private static <T> List<T> nCopies(
+      @Nonnull InvocationOnMock invocation,
+      @Nonnull T data) {
+    List<?> argumentList = invocation.getArgument(0);
+    return new ArrayList<>(Collections.nCopies(argumentList.size(), data));
+  }
+
   /**
    * 
    */
@@ -369,8 +383,7 @@ public class TestUtils {
     LOGGER.debug("setupDataProvider()");
 
     HttpClient httpClient = mock(HttpClient.class);
-    HttpPost httpPost = mock(HttpPost.class);
-    DefiDataProvider dataProvider = new DefiDataProviderImpl(httpClient, httpPost);
+    DefiDataProvider dataProvider = new DefiDataProviderImpl(httpClient);
 
     Answer<Byte> getCustomTypeAnswer = new Answer<Byte>() {
       @Override
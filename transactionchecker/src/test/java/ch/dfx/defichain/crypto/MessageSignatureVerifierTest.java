@@ -0,0 +1,173 @@
+package ch.dfx.defichain.crypto;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import ch.dfx.common.enumeration.NetworkEnum;
+
+/**
+ * 
+ */
+public class MessageSignatureVerifierTest {
+
+  @Test
+  public void validSignature() {
+    assertTrue("Signature invalid", MessageSignatureVerifier.verify(
+        "Withdraw_5_DFI_from_tf1qwufuhfrkyhprnsylxcj566lax7ntnza305sna7_staking_id_1_withdrawal_id_2",
+        "tf1qwufuhfrkyhprnsylxcj566lax7ntnza305sna7",
+        "ILx68v+rjFWLZokF1qiatrvsLh6ADHhsp72QQInOgz9SW0upULZHoNiMJYOnJeOfngal6bUtxQAoliB6H4mdNDg="));
+
+    assertTrue("Signature invalid", MessageSignatureVerifier.verify(
+        "Withdraw_800_DFI_from_df1qek5mfpxxdz922rd0zpvkue4qtxj6r0qhdt6v7s_staking_id_1738_withdrawal_id_4297",
+        "df1qek5mfpxxdz922rd0zpvkue4qtxj6r0qhdt6v7s",
+        "IMX3F6H4vhb/wsbBMSA3P4utuACOvDxVdDditeYmEN7vHyp+ENYTQgZ7PdcBTtFMiBAeVDwDwqXL9U6E09YQqZ4="));
+
+    assertTrue("Signature invalid", MessageSignatureVerifier.verify(
+        "Withdraw_500_DUSD_from_df1qgz2xyzqwnsn5979syu6ng9wxlc4c2ac98m377f_staking_id_815_withdrawal_id_4298",
+        "df1qgz2xyzqwnsn5979syu6ng9wxlc4c2ac98m377f",
+        "H3AUkX8bQdgZG+ic9rog++5x1VRpopNsRe6cGK+oUQgbZ5XRdG1Ndq1tnVOlDDh/xfu3FkBtGNuWcxNp/pRYzYk="));
+  }
+
+  @Test
+  public void validLegacySignature() {
+    // P2PKH, uncompressed public key ...
+    assertTrue("Signature invalid", MessageSignatureVerifier.verify(
+        "Withdraw_5_DFI_from_8bx9EPNNaBhNmgqnZp2pCnmbQDJJYMf6yW_staking_id_1_withdrawal_id_2",
+        "8bx9EPNNaBhNmgqnZp2pCnmbQDJJYMf6yW",
+        "HBELm70irCgiY3veevcOd4JsRPRzvw+4Msnqky9G3JHBFaz0WY5ek8hbvenB+LFUNr8PkXOYoxkgnZitYm95GHA="));
+
+    // P2PKH, compressed public key ...
+    assertTrue("Signature invalid", MessageSignatureVerifier.verify(
+        "Withdraw_5_DFI_from_8Nf6pmui6TnJTKoPABskzMhuxaGAfy3tiJ_staking_id_1_withdrawal_id_2",
+        "8Nf6pmui6TnJTKoPABskzMhuxaGAfy3tiJ",
+        "H5sLFS6pJZC5ORfSQ3fp+4OUw9Uqtn5qe5yis+nWlBWtOhIdgz3KIsN2guPaYn3hLkhn1n37yfnCj8AujfJGNNs="));
+
+    // P2SH-P2WPKH ...
+    assertTrue("Signature invalid", MessageSignatureVerifier.verify(
+        "Withdraw_5_DFI_from_dPQVvak46Uo5RCndA9npEx9u21CcLQHpXh_staking_id_1_withdrawal_id_2",
+        "dPQVvak46Uo5RCndA9npEx9u21CcLQHpXh",
+        "I0KTtC6tYtFhzsmKnxDwXZxDg75kIF1WZ2vvBJf8On1qfYKq9liRxdwvzQyshqJ+HccG3BrcS9wpnYYxBlzV+qE="));
+  }
+
+  @Test
+  public void wrongHeader() {
+    // uncompressed key, header of a compressed key ...
+    assertFalse("Signature valid", MessageSignatureVerifier.verify(
+        "Withdraw_5_DFI_from_8bx9EPNNaBhNmgqnZp2pCnmbQDJJYMf6yW_staking_id_1_withdrawal_id_2",
+        "8bx9EPNNaBhNmgqnZp2pCnmbQDJJYMf6yW",
+        "IBELm70irCgiY3veevcOd4JsRPRzvw+4Msnqky9G3JHBFaz0WY5ek8hbvenB+LFUNr8PkXOYoxkgnZitYm95GHA="));
+
+    // compressed key, header of an uncompressed key ...
+    assertFalse("Signature valid", MessageSignatureVerifier.verify(
+        "Withdraw_5_DFI_from_8Nf6pmui6TnJTKoPABskzMhuxaGAfy3tiJ_staking_id_1_withdrawal_id_2",
+        "8Nf6pmui6TnJTKoPABskzMhuxaGAfy3tiJ",
+        "G5sLFS6pJZC5ORfSQ3fp+4OUw9Uqtn5qe5yis+nWlBWtOhIdgz3KIsN2guPaYn3hLkhn1n37yfnCj8AujfJGNNs="));
+
+    // header with another recovery id ...
+    assertFalse("Signature valid", MessageSignatureVerifier.verify(
+        "Withdraw_5_DFI_from_dPQVvak46Uo5RCndA9npEx9u21CcLQHpXh_staking_id_1_withdrawal_id_2",
+        "dPQVvak46Uo5RCndA9npEx9u21CcLQHpXh",
+        "JEKTtC6tYtFhzsmKnxDwXZxDg75kIF1WZ2vvBJf8On1qfYKq9liRxdwvzQyshqJ+HccG3BrcS9wpnYYxBlzV+qE="));
+
+    assertFalse("Signature valid", MessageSignatureVerifier.verify(
+        "Withdraw_5_DFI_from_tf1qwufuhfrkyhprnsylxcj566lax7ntnza305sna7_staking_id_1_withdrawal_id_2",
+        "tf1qwufuhfrkyhprnsylxcj566lax7ntnza305sna7",
+        "H7x68v+rjFWLZokF1qiatrvsLh6ADHhsp72QQInOgz9SW0upULZHoNiMJYOnJeOfngal6bUtxQAoliB6H4mdNDg="));
+  }
+
+  @Test
+  public void wrongSignature() {
+    assertFalse("Signature valid", MessageSignatureVerifier.verify(
+        "Withdraw_5_DFI_from_tf1qwufuhfrkyhprnsylxcj566lax7ntnza305sna7_staking_id_1_withdrawal_id_2",
+        "tf1qwufuhfrkyhprnsylxcj566lax7ntnza305sna7",
+        "ILx68v+rjFWLZokF1qiatrvsLh6ADHhsp2QQInOgz9SW0upULZHoNiMJYOnJeOfngal6bUtxQAoliB6H4mdNDg="));
+
+    assertFalse("Signature valid", MessageSignatureVerifier.verify(
+        "Withdraw_5_DFI_from_tf1qwufuhfrkyhprnsylxcj566lax7ntnza305sna7_staking_id_1_withdrawal_id_2",
+        "tf1qwufuhfrkyhprnsylxcj566lax7ntnza305sna7",
+        "no signature"));
+  }
+
+  @Test
+  public void wrongMessage() {
+    assertFalse("Signature valid", MessageSignatureVerifier.verify(
+        "Withdraw_6_DFI_from_tf1qwufuhfrkyhprnsylxcj566lax7ntnza305sna7_staking_id_1_withdrawal_id_2",
+        "tf1qwufuhfrkyhprnsylxcj566lax7ntnza305sna7",
+        "ILx68v+rjFWLZokF1qiatrvsLh6ADHhsp72QQInOgz9SW0upULZHoNiMJYOnJeOfngal6bUtxQAoliB6H4mdNDg="));
+  }
+
+  @Test
+  public void wrongAddress() {
+    assertFalse("Signature valid", MessageSignatureVerifier.verify(
+        "Withdraw_5_DFI_from_tf1qwufuhfrkyhprnsylxcj566lax7ntnza305sna7_staking_id_1_withdrawal_id_2",
+        "df1qek5mfpxxdz922rd0zpvkue4qtxj6r0qhdt6v7s",
+        "ILx68v+rjFWLZokF1qiatrvsLh6ADHhsp72QQInOgz9SW0upULZHoNiMJYOnJeOfngal6bUtxQAoliB6H4mdNDg="));
+
+    assertNull("Address valid", MessageSignatureVerifier.toAddressHash("tf1qwufuhfrkyhprnsylxcj566lax7ntnza305sna8"));
+  }
+
+  @Test
+  public void compactSignature() {
+    MessageSignatureVerifier.AddressHash addressHash =
+        MessageSignatureVerifier.toP2PKHAddressHash(NetworkEnum.MAINNET, "8Nf6pmui6TnJTKoPABskzMhuxaGAfy3tiJ");
+
+    String message = "Withdraw_5_DFI_from_8Nf6pmui6TnJTKoPABskzMhuxaGAfy3tiJ_staking_id_1_withdrawal_id_2";
+
+    assertTrue("Signature invalid", MessageSignatureVerifier.verifyCompact(
+        message, addressHash,
+        "H5sLFS6pJZC5ORfSQ3fp+4OUw9Uqtn5qe5yis+nWlBWtOhIdgz3KIsN2guPaYn3hLkhn1n37yfnCj8AujfJGNNs="));
+
+    // same signature, header with another recovery id ...
+    assertFalse("Signature valid", MessageSignatureVerifier.verifyCompact(
+        message, addressHash,
+        "IJsLFS6pJZC5ORfSQ3fp+4OUw9Uqtn5qe5yis+nWlBWtOhIdgz3KIsN2guPaYn3hLkhn1n37yfnCj8AujfJGNNs="));
+  }
+
+  @Test
+  public void compactSignatureBech32() {
+    String message = "Withdraw_5_DFI_from_tf1qwufuhfrkyhprnsylxcj566lax7ntnza305sna7_staking_id_1_withdrawal_id_2";
+    String signature = "ILx68v+rjFWLZokF1qiatrvsLh6ADHhsp72QQInOgz9SW0upULZHoNiMJYOnJeOfngal6bUtxQAoliB6H4mdNDg=";
+
+    // valid for the JavaScript rules, but the node only verifies P2PKH addresses ...
+    assertTrue("Signature invalid", MessageSignatureVerifier.verify(message, "tf1qwufuhfrkyhprnsylxcj566lax7ntnza305sna7", signature));
+
+    assertNull("Address valid", MessageSignatureVerifier.toP2PKHAddressHash(NetworkEnum.TESTNET, "tf1qwufuhfrkyhprnsylxcj566lax7ntnza305sna7"));
+    assertFalse("Signature valid", MessageSignatureVerifier.verifyCompact(
+        message, MessageSignatureVerifier.toAddressHash("tf1qwufuhfrkyhprnsylxcj566lax7ntnza305sna7"), signature));
+  }
+
+  @Test
+  public void p2pkhAddress() {
+    assertNotNull("Address invalid", MessageSignatureVerifier.toP2PKHAddressHash(NetworkEnum.MAINNET, "8bx9EPNNaBhNmgqnZp2pCnmbQDJJYMf6yW"));
+
+    // P2PKH of the other network ...
+    assertNull("Address valid", MessageSignatureVerifier.toP2PKHAddressHash(NetworkEnum.TESTNET, "8bx9EPNNaBhNmgqnZp2pCnmbQDJJYMf6yW"));
+
+    // P2SH-P2WPKH and bech32 ...
+    assertNull("Address valid", MessageSignatureVerifier.toP2PKHAddressHash(NetworkEnum.MAINNET, "dPQVvak46Uo5RCndA9npEx9u21CcLQHpXh"));
+    assertNull("Address valid", MessageSignatureVerifier.toP2PKHAddressHash(NetworkEnum.MAINNET, "df1qek5mfpxxdz922rd0zpvkue4qtxj6r0qhdt6v7s"));
+  }
+
+  @Test
+  public void ripemd160() {
+    assertEquals("9c1185a5c5e9fc54612808977ee8f548b2258d31", toHex(Ripemd160.digest(new byte[0])));
+    assertEquals("8eb208f7e05d987a9b044a8e98c6b087f15a0bfc", toHex(Ripemd160.digest("abc".getBytes(StandardCharsets.UTF_8))));
+  }
+
+  private String toHex(byte[] bytes) {
+    StringBuilder hexBuilder = new StringBuilder();
+
+    for (byte b : bytes) {
+      hexBuilder.append(String.format("%02x", b));
+    }
+
+    return hexBuilder.toString();
+  }
+}
@@ -0,0 +1,171 @@
+package ch.dfx.defichain.decoder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import ch.dfx.common.enumeration.NetworkEnum;
+import ch.dfx.defichain.data.custom.DefiCustomData;
+import ch.dfx.defichain.data.transaction.DefiTransactionData;
+
+/**
+ * Golden files: the raw transaction of the API must be decoded to the same data as delivered by the node.
+ */
+public class DefiTransactionDecoderTest {
+  private static final Gson GSON = new Gson();
+
+  // the addresses and vault ids of the yield machine fixtures have been replaced, only the raw transactions are original ...
+  private static final Set<String> YIELDMACHINE_MASK_KEY_SET =
+      Set.of("addresses", "ownerAddress", "from", "to", "shareaddress", "vaultId");
+
+  @Test
+  public void accountToAccount() throws Exception {
+    check(NetworkEnum.MAINNET, "json/accounttoaccount/good/01-API-AccountToAccount.json",
+        "json/accounttoaccount/good/01-DC-AccountToAccount.json", "json/accounttoaccount/good/01-DC-CustomAccountToAccount.json");
+  }
+
+  @Test
+  public void withdrawal() throws Exception {
+    check(NetworkEnum.TESTNET, "json/withdrawal/good/01-transaction.json",
+        "json/withdrawal/01-chaindata-transaction.json", null);
+    check(NetworkEnum.MAINNET, "json/withdrawal/good/02-transaction.json",
+        "json/withdrawal/02-chaindata-transaction.json", "json/withdrawal/02-chaindata-custom-transaction.json");
+    check(NetworkEnum.MAINNET, "json/withdrawal/good/03-transaction.json",
+        "json/withdrawal/03-chaindata-transaction.json", "json/withdrawal/03-chaindata-custom-transaction.json");
+  }
+
+  @Test
+  public void masternode() throws Exception {
+    check(NetworkEnum.TESTNET, "json/masternode/good/01-API-CreateMasternode.json",
+        "json/masternode/good/01-DC-Transaction.json", "json/masternode/good/01-DC-CustomTransaction.json");
+    check(NetworkEnum.TESTNET, "json/masternode/good/02-API-ResignMasternode.json",
+        "json/masternode/good/02-DC-Transaction.json", "json/masternode/good/02-DC-CustomTransaction.json");
+    check(NetworkEnum.TESTNET, "json/masternode/good/03-API-VoteMasternode.json",
+        "json/masternode/good/03-DC-Transaction.json", "json/masternode/good/03-DC-CustomTransaction.json");
+  }
+
+  @Test
+  public void utxo() throws Exception {
+    check(NetworkEnum.TESTNET, "json/utxo/good/01-API-UtxoMerge.json",
+        "json/utxo/good/01-DC-UtxoMerge.json", null);
+    check(NetworkEnum.TESTNET, "json/utxo/good/02-API-UtxoSplit.json",
+        "json/utxo/good/02-DC-UtxoSplit.json", null);
+  }
+
+  @Test
+  public void yieldmachine() throws Exception {
+    String[] apiNames = {
+        "02-API-CreateVault", "03-API-DepositToVault", "04-API-WithdrawFromVault", "05-API-TakeLoan",
+        "06-API-PaybackLoan", "07-API-PoolAddLiquidity", "08-API-PoolRemoveLiquidity" };
+
+    for (String apiName : apiNames) {
+      String number = apiName.substring(0, 2);
+
+      check(NetworkEnum.TESTNET, "json/yieldmaschine/good/" + apiName + ".json",
+          "json/yieldmaschine/good/" + number + "-DC-Transaction.json", "json/yieldmaschine/good/" + number + "-DC-CustomTransaction.json",
+          YIELDMACHINE_MASK_KEY_SET);
+    }
+  }
+
+  /**
+   * 
+   */
+  private void check(
+      @Nonnull NetworkEnum network,
+      @Nonnull String apiFileName,
+      @Nonnull String transactionFileName,
+      String customTransactionFileName) throws Exception {
+    check(network, apiFileName, transactionFileName, customTransactionFileName, Set.of());
+  }
+
+  /**
+   * 
+   */
+  private void check(
+      @Nonnull NetworkEnum network,
+      @Nonnull String apiFileName,
+      @Nonnull String transactionFileName,
+      String customTransactionFileName,
+      @Nonnull Set<String> maskKeySet) throws Exception {
+    DefiTransactionDecoder transactionDecoder = new DefiTransactionDecoder(network);
+
+    JsonArray apiJsonArray = JsonParser.parseString(read(apiFileName)).getAsJsonArray();
+    String hex = apiJsonArray.get(0).getAsJsonObject().getAsJsonObject("rawTx").get("hex").getAsString();
+
+    // ...
+    DefiTransactionData transactionData = transactionDecoder.decodeRawTransaction(hex);
+    DefiTransactionData expectedTransactionData = GSON.fromJson(read(transactionFileName), DefiTransactionData.class);
+
+    assertEquals(transactionFileName, normalize(expectedTransactionData, maskKeySet), normalize(transactionData, maskKeySet));
+
+    // ...
+    if (null != customTransactionFileName) {
+      DefiCustomData customData = transactionDecoder.decodeCustomTransaction(transactionData);
+      DefiCustomData expectedCustomData = GSON.fromJson(read(customTransactionFileName), DefiCustomData.class);
+
+      assertNotNull(customTransactionFileName, customData);
+      assertEquals(customTransactionFileName, normalize(expectedCustomData, maskKeySet), normalize(customData, maskKeySet));
+    }
+  }
+
+  /**
+   * Numbers of both sides as double (as read by Gson), the hex of the fixtures is not always set ...
+   */
+  private JsonElement normalize(
+      @Nonnull Object data,
+      @Nonnull Set<String> maskKeySet) {
+    JsonElement jsonElement = JsonParser.parseString(GSON.toJson(data));
+
+    if (jsonElement.getAsJsonObject().has("hex")) {
+      jsonElement.getAsJsonObject().remove("hex");
+    }
+
+    mask(jsonElement, maskKeySet);
+
+    return JsonParser.parseString(GSON.toJson(GSON.fromJson(jsonElement, Object.class)));
+  }
+
+  /**
+   * 
+   */
+  private void mask(
+      @Nonnull JsonElement jsonElement,
+      @Nonnull Set<String> maskKeySet) {
+    if (jsonElement.isJsonArray()) {
+      jsonElement.getAsJsonArray().forEach(element -> mask(element, maskKeySet));
+    } else if (jsonElement.isJsonObject()) {
+      JsonObject jsonObject = jsonElement.getAsJsonObject();
+
+      for (Entry<String, JsonElement> jsonObjectEntry : jsonObject.entrySet()) {
+        if (maskKeySet.contains(jsonObjectEntry.getKey())) {
+          jsonObjectEntry.setValue(new JsonPrimitive("*"));
+        } else {
+          mask(jsonObjectEntry.getValue(), maskKeySet);
+        }
+      }
+    }
+  }
+
+  /**
+   * 
+   */
+  private String read(@Nonnull String fileName) throws Exception {
+    ClassLoader classLoader = DefiTransactionDecoderTest.class.getClassLoader();
+    return Files.readString(new File(classLoader.getResource(fileName).getFile()).toPath());
+  }
+}
@@ -0,0 +1,112 @@
+package ch.dfx.defichain.provider;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import ch.dfx.common.errorhandling.DfxException;
+import ch.dfx.defichain.data.vault.DefiVaultData;
+
+/**
+ * 
+ */
+public class DefiDataProviderCacheTest {
+
+  private DefiDataProvider dataProvider = null;
+  private DefiDataProviderCache dataProviderCache = null;
+
+  @Before
+  public void before() {
+    dataProvider = mock(DefiDataProvider.class);
+    dataProviderCache = new DefiDataProviderCache(dataProvider);
+  }
+
+  @Test
+  public void cacheHitTest() throws DfxException {
+    DefiVaultData vaultData = new DefiVaultData();
+    when(dataProvider.getVault("vault1")).thenReturn(vaultData);
+
+    assertSame("Vault", vaultData, dataProviderCache.getVault("vault1"));
+    assertSame("Vault", vaultData, dataProviderCache.getVault("vault1"));
+
+    verify(dataProvider, times(1)).getVault("vault1");
+  }
+
+  @Test
+  public void blockCountInvalidationTest() throws DfxException {
+    when(dataProvider.getVault("vault1")).thenReturn(new DefiVaultData());
+    when(dataProvider.getBlockCount()).thenReturn(100L, 100L, 101L);
+
+    dataProviderCache.getBlockCount();
+    dataProviderCache.getVault("vault1");
+
+    // same block ...
+    dataProviderCache.getBlockCount();
+    dataProviderCache.getVault("vault1");
+    verify(dataProvider, times(1)).getVault("vault1");
+
+    // next block ...
+    dataProviderCache.getBlockCount();
+    dataProviderCache.getVault("vault1");
+    verify(dataProvider, times(2)).getVault("vault1");
+  }
+
+  @Test
+  public void errorNotCachedTest() throws DfxException {
+    DefiVaultData vaultData = new DefiVaultData();
+    DfxException exception = new DfxException("getVault");
+    when(dataProvider.getVault("vault1")).thenThrow(exception).thenReturn(vaultData);
+
+    try {
+      dataProviderCache.getVault("vault1");
+      fail("DfxException expected");
+    } catch (DfxException e) {
+      assertSame("Exception", exception, e);
+    }
+
+    assertSame("Vault", vaultData, dataProviderCache.getVault("vault1"));
+  }
+
+  @Test
+  public void coalescingTest() throws Exception {
+    DefiVaultData vaultData = new DefiVaultData();
+
+    CountDownLatch startedLatch = new CountDownLatch(1);
+    CountDownLatch releaseLatch = new CountDownLatch(1);
+
+    when(dataProvider.getVault("vault1")).thenAnswer(invocation -> {
+      startedLatch.countDown();
+      releaseLatch.await(10, TimeUnit.SECONDS);
+      return vaultData;
+    });
+
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+    try {
+      Future<DefiVaultData> future1 = executorService.submit(() -> dataProviderCache.getVault("vault1"));
+      startedLatch.await(10, TimeUnit.SECONDS);
+
+      Future<DefiVaultData> future2 = executorService.submit(() -> dataProviderCache.getVault("vault1"));
+      releaseLatch.countDown();
+
+      assertSame("Vault", vaultData, future1.get(10, TimeUnit.SECONDS));
+      assertSame("Vault", vaultData, future2.get(10, TimeUnit.SECONDS));
+    } finally {
+      executorService.shutdownNow();
+    }
+
+    verify(dataProvider, times(1)).getVault("vault1");
+  }
+}
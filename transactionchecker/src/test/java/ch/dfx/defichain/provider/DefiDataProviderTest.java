@@ -5,7 +5,6 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
 import org.apache.http.client.HttpClient;
-import org.apache.http.client.methods.HttpPost;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -24,9 +23,8 @@ public class DefiDataProviderTest {
   @BeforeClass
   public static void beforeClass() {
     HttpClient httpClient = mock(HttpClient.class);
-    HttpPost httpPost = mock(HttpPost.class);
 
-    dataProvider = new DefiDataProviderImpl(httpClient, httpPost);
+    dataProvider = new DefiDataProviderImpl(httpClient);
   }
 
   @Test
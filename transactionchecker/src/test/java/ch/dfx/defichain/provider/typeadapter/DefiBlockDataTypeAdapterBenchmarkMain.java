@@ -0,0 +1,235 @@
+package ch.dfx.defichain.provider.typeadapter;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+
+import ch.dfx.TransactionCheckerUtils;
+import ch.dfx.common.enumeration.NetworkEnum;
+import ch.dfx.defichain.data.block.DefiBlockData;
+import ch.dfx.defichain.data.block.DefiBlockResultData;
+import ch.dfx.defichain.data.transaction.DefiTransactionData;
+import ch.dfx.defichain.data.transaction.DefiTransactionVoutData;
+
+/**
+ * Only for testing purposes, compare the allocated bytes and the runtime of the deserialization
+ * of a large synthetic getblock response (verbosity 2): the response as string with the reflective
+ * Gson (the former behaviour) and the response as stream with the type adapters.
+ *
+ * Arguments: [transactions per block] [runs]
+ */
+public class DefiBlockDataTypeAdapterBenchmarkMain {
+  private static final Logger LOGGER = LogManager.getLogger(DefiBlockDataTypeAdapterBenchmarkMain.class);
+
+  private static final String IDENTIFIER = "defiblockdatatypeadapterbenchmark";
+
+  private static final NetworkEnum NETWORK = NetworkEnum.TESTNET;
+
+  /**
+   *
+   */
+  public static void main(String[] args) {
+    try {
+      // ...
+      System.setProperty("logFilename", TransactionCheckerUtils.getLog4jFilename(IDENTIFIER, NETWORK));
+      TransactionCheckerUtils.initLog4j("log4j2.xml");
+
+      // ...
+      int transactionCount = 0 < args.length ? Integer.parseInt(args[0]) : 5000;
+      int runCount = 1 < args.length ? Integer.parseInt(args[1]) : 20;
+
+      byte[] response = createBlockResponse(transactionCount).getBytes(StandardCharsets.UTF_8);
+
+      LOGGER.info("Transactions: " + transactionCount + " / Response: " + response.length / 1024 + " KB / Runs: " + runCount);
+
+      Gson reflectiveGson = new Gson();
+
+      Gson streamingGson =
+          new GsonBuilder()
+              .registerTypeAdapter(DefiBlockData.class, new DefiBlockDataTypeAdapter())
+              .registerTypeAdapter(DefiTransactionData.class, new DefiTransactionDataTypeAdapter())
+              .registerTypeAdapter(DefiTransactionVoutData.class, new DefiTransactionVoutDataTypeAdapter())
+              .create();
+
+      // warmup ...
+      for (int i = 0; i < runCount; i++) {
+        readAsString(reflectiveGson, response);
+        readAsStream(streamingGson, response);
+      }
+
+      // ...
+      run("string / reflective", runCount, () -> readAsString(reflectiveGson, response));
+      run("stream / type adapter", runCount, () -> readAsStream(streamingGson, response));
+    } catch (Exception e) {
+      LOGGER.error("Fatal Error", e);
+      System.exit(-1);
+    }
+  }
+
+  /**
+   *
+   */
+  private static void run(
+      @Nonnull String name,
+      int runCount,
+      @Nonnull BlockReader blockReader) throws Exception {
+    com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    long voutCount = 0;
+
+    long startAllocatedBytes = threadMXBean.getCurrentThreadAllocatedBytes();
+    long startTime = System.nanoTime();
+
+    for (int i = 0; i < runCount; i++) {
+      DefiBlockData blockData = blockReader.read();
+
+      for (DefiTransactionData transactionData : blockData.getTransactionDataList()) {
+        voutCount += transactionData.getVout().size();
+      }
+    }
+
+    double seconds = (System.nanoTime() - startTime) / 1_000_000_000d;
+    long allocatedBytes = threadMXBean.getCurrentThreadAllocatedBytes() - startAllocatedBytes;
+
+    LOGGER.info(
+        "[" + name + "] allocated/block=" + allocatedBytes / runCount / 1024 + " KB"
+            + " / blocks/second=" + String.format("%.1f", runCount / seconds)
+            + " (" + String.format("%.3f", seconds) + "s)"
+            + " / vouts=" + voutCount);
+  }
+
+  /**
+   *
+   */
+  private static DefiBlockData readAsString(
+      @Nonnull Gson gson,
+      @Nonnull byte[] response) throws Exception {
+    String jsonResponse = new String(response, StandardCharsets.UTF_8);
+
+    JsonObject resultObject = JsonParser.parseString(jsonResponse).getAsJsonObject().getAsJsonObject("result");
+    JsonArray transactionArray = resultObject.remove("tx").getAsJsonArray();
+
+    List<String> transactionIdList = new ArrayList<>();
+    List<DefiTransactionData> transactionDataList = new ArrayList<>();
+
+    for (JsonElement transactionElement : transactionArray) {
+      DefiTransactionData transactionData = gson.fromJson(transactionElement, DefiTransactionData.class);
+
+      transactionIdList.add(transactionData.getTxid());
+      transactionDataList.add(transactionData);
+    }
+
+    DefiBlockData blockData = gson.fromJson(resultObject, DefiBlockData.class);
+    blockData.setTx(transactionIdList);
+    blockData.setTransactionDataList(transactionDataList);
+
+    return blockData;
+  }
+
+  /**
+   *
+   */
+  private static DefiBlockData readAsStream(
+      @Nonnull Gson gson,
+      @Nonnull byte[] response) throws Exception {
+    try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(response), StandardCharsets.UTF_8))) {
+      DefiBlockResultData blockResultData = gson.fromJson(reader, DefiBlockResultData.class);
+      return blockResultData.getResult();
+    }
+  }
+
+  /**
+   *
+   */
+  private static String createBlockResponse(int transactionCount) {
+    StringBuilder responseBuilder =
+        new StringBuilder()
+            .append("{\"result\":{")
+            .append("\"hash\":\"").append(hex(64, 1)).append("\",")
+            .append("\"confirmations\":1,\"strippedsize\":123456,\"size\":234567,\"weight\":345678,")
+            .append("\"height\":2500000,\"version\":536870912,\"versionHex\":\"20000000\",")
+            .append("\"merkleroot\":\"").append(hex(64, 2)).append("\",")
+            .append("\"time\":1680000000,\"mediantime\":1679999000,\"bits\":\"1d00ffff\",\"difficulty\":12345.678,")
+            .append("\"chainwork\":\"").append(hex(64, 3)).append("\",")
+            .append("\"nTx\":").append(transactionCount).append(",")
+            .append("\"previousblockhash\":\"").append(hex(64, 4)).append("\",")
+            .append("\"tx\":[");
+
+    for (int i = 0; i < transactionCount; i++) {
+      if (0 < i) {
+        responseBuilder.append(",");
+      }
+
+      responseBuilder
+          .append("{\"txid\":\"").append(hex(64, i)).append("\",")
+          .append("\"hash\":\"").append(hex(64, i + 1)).append("\",")
+          .append("\"version\":4,\"size\":372,\"vsize\":210,\"weight\":837,\"locktime\":0,")
+          .append("\"vin\":[{\"txid\":\"").append(hex(64, i + 2)).append("\",\"vout\":1,")
+          .append("\"scriptSig\":{\"asm\":\"\",\"hex\":\"\"},")
+          .append("\"txinwitness\":[\"").append(hex(142, i)).append("\",\"").append(hex(66, i)).append("\"],")
+          .append("\"sequence\":4294967295}],")
+          .append("\"vout\":[");
+
+      for (int n = 0; n < 2; n++) {
+        if (0 < n) {
+          responseBuilder.append(",");
+        }
+
+        responseBuilder
+            .append("{\"value\":").append(n + 1).append(".12345678,\"n\":").append(n).append(",")
+            .append("\"scriptPubKey\":{\"asm\":\"0 ").append(hex(40, i + n)).append("\",")
+            .append("\"hex\":\"0014").append(hex(40, i + n)).append("\",")
+            .append("\"reqSigs\":1,\"type\":\"witness_v0_keyhash\",")
+            .append("\"addresses\":[\"tf1q").append(hex(38, i + n)).append("\"]},")
+            .append("\"tokenId\":0}");
+      }
+
+      responseBuilder
+          .append("],")
+          .append("\"hex\":\"").append(hex(744, i)).append("\"}");
+    }
+
+    responseBuilder.append("]},\"error\":null,\"id\":null}");
+
+    return responseBuilder.toString();
+  }
+
+  /**
+   *
+   */
+  private static String hex(
+      int length,
+      int seed) {
+    StringBuilder hexBuilder = new StringBuilder(length);
+
+    for (int i = 0; i < length; i++) {
+      hexBuilder.append(Character.forDigit((seed + i * 7) & 0xF, 16));
+    }
+
+    return hexBuilder.toString();
+  }
+
+  /**
+   *
+   */
+  @FunctionalInterface
+  private interface BlockReader {
+    DefiBlockData read() throws Exception;
+  }
+}
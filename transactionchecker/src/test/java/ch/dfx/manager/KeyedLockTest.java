@@ -0,0 +1,129 @@
+package ch.dfx.manager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * 
+ */
+public class KeyedLockTest {
+
+  private KeyedLock<String> keyedLock = null;
+  private ExecutorService executorService = null;
+
+  @Before
+  public void before() {
+    keyedLock = new KeyedLock<>();
+    executorService = Executors.newFixedThreadPool(8);
+  }
+
+  @After
+  public void after() {
+    executorService.shutdownNow();
+  }
+
+  @Test
+  public void sameKeyTest() throws Exception {
+    AtomicInteger concurrentCount = new AtomicInteger();
+    AtomicInteger maxConcurrentCount = new AtomicInteger();
+
+    List<Future<?>> futureList = new ArrayList<>();
+
+    for (int i = 0; i < 8; i++) {
+      futureList.add(executorService.submit(() -> {
+        keyedLock.lock("key");
+
+        try {
+          maxConcurrentCount.accumulateAndGet(concurrentCount.incrementAndGet(), Math::max);
+          Thread.sleep(20);
+          concurrentCount.decrementAndGet();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } finally {
+          keyedLock.unlock("key");
+        }
+      }));
+    }
+
+    for (Future<?> future : futureList) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+
+    assertEquals("Max. Concurrent", 1, maxConcurrentCount.get());
+    assertEquals("Size", 0, keyedLock.size());
+  }
+
+  @Test
+  public void differentKeyTest() throws Exception {
+    CountDownLatch bothLockedLatch = new CountDownLatch(2);
+
+    List<Future<?>> futureList = new ArrayList<>();
+
+    for (String key : List.of("key1", "key2")) {
+      futureList.add(executorService.submit(() -> {
+        keyedLock.lock(key);
+
+        try {
+          bothLockedLatch.countDown();
+
+          // only reached, if the other key is locked at the same time ...
+          assertTrue("Both Locked", bothLockedLatch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } finally {
+          keyedLock.unlock(key);
+        }
+
+        return null;
+      }));
+    }
+
+    for (Future<?> future : futureList) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+
+    assertEquals("Size", 0, keyedLock.size());
+  }
+
+  @Test
+  public void cleanupTest() throws Exception {
+    keyedLock.lock("key1");
+    keyedLock.lock("key2");
+    assertEquals("Size", 2, keyedLock.size());
+
+    // a waiting thread keeps the lock of the key ...
+    CountDownLatch lockedLatch = new CountDownLatch(1);
+
+    Future<?> future = executorService.submit(() -> {
+      keyedLock.lock("key1");
+      lockedLatch.countDown();
+      keyedLock.unlock("key1");
+    });
+
+    keyedLock.unlock("key2");
+    assertEquals("Size", 1, keyedLock.size());
+
+    Thread.sleep(50);
+    assertEquals("Waiting", 1, lockedLatch.getCount());
+
+    keyedLock.unlock("key1");
+
+    assertTrue("Locked", lockedLatch.await(10, TimeUnit.SECONDS));
+    future.get(10, TimeUnit.SECONDS);
+
+    assertEquals("Size", 0, keyedLock.size());
+  }
+}
@@ -0,0 +1,187 @@
+package ch.dfx.manager.checker.transaction;
+
+import java.io.File;
+import java.io.FileReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.h2.tools.RunScript;
+
+import ch.dfx.TransactionCheckerUtils;
+import ch.dfx.common.enumeration.NetworkEnum;
+import ch.dfx.common.errorhandling.DfxException;
+import ch.dfx.transactionserver.database.H2DBManager;
+
+/**
+ * Only for testing purposes, compare the checks/second of the address whitelist check
+ * with a whitelist load per check (the former behaviour) and with the shared snapshot,
+ * on synthetic whitelists in an in-memory database.
+ * 
+ * Arguments: [whitelist size] [checks]
+ */
+public class WhitelistCheckerBenchmarkMain {
+  private static final Logger LOGGER = LogManager.getLogger(WhitelistCheckerBenchmarkMain.class);
+
+  private static final String IDENTIFIER = "whitelistcheckerbenchmark";
+
+  private static final NetworkEnum NETWORK = NetworkEnum.TESTNET;
+
+  /**
+   * 
+   */
+  public static void main(String[] args) {
+    try {
+      Class.forName("org.h2.Driver");
+
+      // ...
+      System.setProperty("logFilename", TransactionCheckerUtils.getLog4jFilename(IDENTIFIER, NETWORK));
+      TransactionCheckerUtils.initLog4j("log4j2.xml");
+
+      // ...
+      int whitelistSize = 0 < args.length ? Integer.parseInt(args[0]) : 500;
+      int checkCount = 1 < args.length ? Integer.parseInt(args[1]) : 1_000_000;
+
+      Connection connection = DriverManager.getConnection("jdbc:h2:mem:" + IDENTIFIER, "sa", "");
+      setupWhitelist(connection, whitelistSize);
+
+      H2DBManager databaseManager = new BenchmarkDBManager(connection);
+
+      // ...
+      int loadCheckCount = Math.max(1, checkCount / 1000);
+
+      run("load per check", whitelistSize, loadCheckCount, () -> new WhitelistSnapshotProvider(NETWORK, databaseManager));
+
+      WhitelistSnapshotProvider whitelistSnapshotProvider = new WhitelistSnapshotProvider(NETWORK, databaseManager);
+      run("snapshot", whitelistSize, checkCount, () -> whitelistSnapshotProvider);
+
+      connection.close();
+    } catch (Exception e) {
+      LOGGER.error("Fatal Error", e);
+      System.exit(-1);
+    }
+  }
+
+  /**
+   * 
+   */
+  private static void run(
+      @Nonnull String name,
+      int whitelistSize,
+      int checkCount,
+      @Nonnull ProviderFactory providerFactory) {
+    int validCount = 0;
+
+    long startTime = System.nanoTime();
+
+    for (int i = 0; i < checkCount; i++) {
+      AddressWhitelistChecker addressWhitelistChecker = new AddressWhitelistChecker(providerFactory.get());
+
+      // every second address is not in the whitelist ...
+      if (addressWhitelistChecker.checkAddressWhitelist(createAddress("liquidity", i % (whitelistSize * 2)), false)) {
+        validCount++;
+      }
+    }
+
+    double seconds = (System.nanoTime() - startTime) / 1_000_000_000d;
+
+    LOGGER.info(
+        "[" + name + "] checks=" + checkCount
+            + " / valid=" + validCount
+            + " / runtime=" + String.format("%.3f", seconds) + "s"
+            + " / checks/second=" + String.format("%.0f", checkCount / seconds));
+  }
+
+  /**
+   * 
+   */
+  private static void setupWhitelist(
+      @Nonnull Connection connection,
+      int whitelistSize) throws Exception {
+    ClassLoader classLoader = WhitelistCheckerBenchmarkMain.class.getClassLoader();
+    File initialSetupSqlFile = new File(classLoader.getResource("sql/initialSetup.sql").getFile());
+    RunScript.execute(connection, new FileReader(initialSetupSqlFile));
+
+    PreparedStatement addressStatement =
+        connection.prepareStatement("INSERT INTO testnet.address_whitelist (type, address, remark) VALUES (?, ?, '')");
+    PreparedStatement vaultStatement =
+        connection.prepareStatement("INSERT INTO testnet.vault_whitelist (id, address, min_ratio, max_ratio) VALUES (?, ?, 150, 200)");
+    PreparedStatement masternodeStatement =
+        connection.prepareStatement("INSERT INTO testnet.masternode_whitelist (wallet_id, idx, owner_address) VALUES (1, ?, ?)");
+
+    for (int i = 0; i < whitelistSize; i++) {
+      addressStatement.setString(1, "liquidity");
+      addressStatement.setString(2, createAddress("liquidity", i));
+      addressStatement.addBatch();
+
+      addressStatement.setString(1, "reward");
+      addressStatement.setString(2, createAddress("reward", i));
+      addressStatement.addBatch();
+
+      vaultStatement.setString(1, String.format("%064x", i));
+      vaultStatement.setString(2, createAddress("vault", i));
+      vaultStatement.addBatch();
+
+      masternodeStatement.setInt(1, i);
+      masternodeStatement.setString(2, createAddress("masternode", i));
+      masternodeStatement.addBatch();
+    }
+
+    addressStatement.executeBatch();
+    vaultStatement.executeBatch();
+    masternodeStatement.executeBatch();
+
+    addressStatement.close();
+    vaultStatement.close();
+    masternodeStatement.close();
+  }
+
+  /**
+   * 
+   */
+  private static String createAddress(
+      @Nonnull String type,
+      int number) {
+    return "tf1q" + type + String.format("%030d", number);
+  }
+
+  /**
+   * 
+   */
+  private interface ProviderFactory {
+    WhitelistSnapshotProvider get();
+  }
+
+  /**
+   * One shared connection, never closed by the checkers ...
+   */
+  private static class BenchmarkDBManager implements H2DBManager {
+    private final Connection connection;
+
+    private BenchmarkDBManager(@Nonnull Connection connection) {
+      this.connection = connection;
+    }
+
+    @Override
+    public Connection openConnection() throws DfxException {
+      return connection;
+    }
+
+    @Override
+    public void closeConnection(@Nullable Connection connection) {
+    }
+
+    @Override
+    public void compact() throws DfxException {
+    }
+
+    @Override
+    public void shutdown() {
+    }
+  }
+}
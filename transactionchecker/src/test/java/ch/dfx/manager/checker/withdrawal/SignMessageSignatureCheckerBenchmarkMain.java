@@ -0,0 +1,138 @@
+package ch.dfx.manager.checker.withdrawal;
+
+import java.io.File;
+
+import javax.annotation.Nonnull;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import ch.dfx.TransactionCheckerUtils;
+import ch.dfx.common.enumeration.NetworkEnum;
+import ch.dfx.manager.data.SignedMessageCheckDTO;
+import ch.dfx.manager.data.SignedMessageCheckDTOList;
+
+/**
+ * Only for testing purposes, compare the signatures/second of the signature check in the JVM
+ * with the signature check in the JavaScript executable (only if the executable exists).
+ * 
+ * Arguments: [signatures] [rounds]
+ */
+public class SignMessageSignatureCheckerBenchmarkMain {
+  private static final Logger LOGGER = LogManager.getLogger(SignMessageSignatureCheckerBenchmarkMain.class);
+
+  private static final String IDENTIFIER = "signmessagesignaturecheckerbenchmark";
+
+  private static final NetworkEnum NETWORK = NetworkEnum.TESTNET;
+
+  // ...
+  private static final String[][] SIGNED_MESSAGES = {
+      {
+          "Withdraw_5_DFI_from_tf1qwufuhfrkyhprnsylxcj566lax7ntnza305sna7_staking_id_1_withdrawal_id_2",
+          "tf1qwufuhfrkyhprnsylxcj566lax7ntnza305sna7",
+          "ILx68v+rjFWLZokF1qiatrvsLh6ADHhsp72QQInOgz9SW0upULZHoNiMJYOnJeOfngal6bUtxQAoliB6H4mdNDg=" },
+      {
+          "Withdraw_800_DFI_from_df1qek5mfpxxdz922rd0zpvkue4qtxj6r0qhdt6v7s_staking_id_1738_withdrawal_id_4297",
+          "df1qek5mfpxxdz922rd0zpvkue4qtxj6r0qhdt6v7s",
+          "IMX3F6H4vhb/wsbBMSA3P4utuACOvDxVdDditeYmEN7vHyp+ENYTQgZ7PdcBTtFMiBAeVDwDwqXL9U6E09YQqZ4=" },
+      {
+          "Withdraw_500_DUSD_from_df1qgz2xyzqwnsn5979syu6ng9wxlc4c2ac98m377f_staking_id_815_withdrawal_id_4298",
+          "df1qgz2xyzqwnsn5979syu6ng9wxlc4c2ac98m377f",
+          "H3AUkX8bQdgZG+ic9rog++5x1VRpopNsRe6cGK+oUQgbZ5XRdG1Ndq1tnVOlDDh/xfu3FkBtGNuWcxNp/pRYzYk=" }
+  };
+
+  /**
+   * 
+   */
+  public static void main(String[] args) {
+    try {
+      // ...
+      System.setProperty("logFilename", TransactionCheckerUtils.getLog4jFilename(IDENTIFIER, NETWORK));
+      TransactionCheckerUtils.initLog4j("log4j2.xml");
+
+      // ...
+      int signatureCount = 0 < args.length ? Integer.parseInt(args[0]) : 300;
+      int roundCount = 1 < args.length ? Integer.parseInt(args[1]) : 5;
+
+      LOGGER.info("Signatures: " + signatureCount + " / Rounds: " + roundCount);
+
+      SignMessageSignatureChecker signatureChecker = new SignMessageSignatureChecker(NETWORK);
+
+      // warmup ...
+      signatureChecker.checkSignatureNative(createSignedMessageCheckDTOList(signatureCount));
+
+      // ...
+      run("native", signatureCount, roundCount, list -> signatureChecker.checkSignatureNative(list));
+
+      File javascriptExecutable =
+          new File("javascript", TransactionCheckerUtils.isWindows() ? "app-win.exe" : "app-macos");
+
+      if (javascriptExecutable.canExecute()) {
+        run("javascript", signatureCount, roundCount, list -> signatureChecker.checkSignatureJavascript(list));
+      } else {
+        LOGGER.info("[javascript] skipped, no executable: " + javascriptExecutable.getAbsolutePath());
+      }
+    } catch (Exception e) {
+      LOGGER.error("Fatal Error", e);
+      System.exit(-1);
+    }
+  }
+
+  /**
+   * 
+   */
+  private static void run(
+      @Nonnull String name,
+      int signatureCount,
+      int roundCount,
+      @Nonnull SignatureCheck signatureCheck) {
+    long totalRuntime = 0;
+    int validCount = 0;
+
+    for (int i = 0; i < roundCount; i++) {
+      SignedMessageCheckDTOList signedMessageCheckDTOList = createSignedMessageCheckDTOList(signatureCount);
+
+      long startTime = System.nanoTime();
+      SignedMessageCheckDTOList checkedSignedMessageCheckDTOList = signatureCheck.check(signedMessageCheckDTOList);
+      totalRuntime += System.nanoTime() - startTime;
+
+      validCount += (int) checkedSignedMessageCheckDTOList.stream().filter(SignedMessageCheckDTO::isValid).count();
+    }
+
+    double runtimeMillis = totalRuntime / 1_000_000d;
+    double signaturesPerSecond = signatureCount * roundCount * 1000d / runtimeMillis;
+
+    LOGGER.info(
+        String.format(
+            "[%s] runtime: %.1f ms / valid: %d of %d / signatures per second: %.0f",
+            name, runtimeMillis, validCount, signatureCount * roundCount, signaturesPerSecond));
+  }
+
+  /**
+   * 
+   */
+  private static SignedMessageCheckDTOList createSignedMessageCheckDTOList(int signatureCount) {
+    SignedMessageCheckDTOList signedMessageCheckDTOList = new SignedMessageCheckDTOList();
+
+    for (int i = 0; i < signatureCount; i++) {
+      String[] signedMessage = SIGNED_MESSAGES[i % SIGNED_MESSAGES.length];
+
+      SignedMessageCheckDTO signedMessageCheckDTO = new SignedMessageCheckDTO();
+      signedMessageCheckDTO.setId(i);
+      signedMessageCheckDTO.setMessage(signedMessage[0]);
+      signedMessageCheckDTO.setAddress(signedMessage[1]);
+      signedMessageCheckDTO.setSignature(signedMessage[2]);
+
+      signedMessageCheckDTOList.add(signedMessageCheckDTO);
+    }
+
+    return signedMessageCheckDTOList;
+  }
+
+  /**
+   * 
+   */
+  private interface SignatureCheck {
+    SignedMessageCheckDTOList check(@Nonnull SignedMessageCheckDTOList signedMessageCheckDTOList);
+  }
+}
@@ -0,0 +1,84 @@
+package ch.dfx.manager.filler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+
+import ch.dfx.api.ApiAccessHandler;
+import ch.dfx.common.enumeration.NetworkEnum;
+import ch.dfx.defichain.data.custom.DefiCustomData;
+import ch.dfx.defichain.data.transaction.DefiTransactionData;
+import ch.dfx.defichain.handler.DefiMessageHandler;
+import ch.dfx.defichain.provider.DefiDataProvider;
+
+/**
+ * 
+ */
+public class OpenTransactionDTOFillerTest {
+
+  @Test
+  public void decodeLocalFallbackTest() throws Exception {
+    DefiDataProvider dataProviderMock = mock(DefiDataProvider.class);
+
+    OpenTransactionDTOFiller openTransactionDTOFiller =
+        new OpenTransactionDTOFiller(NetworkEnum.MAINNET, mock(ApiAccessHandler.class), mock(DefiMessageHandler.class), dataProviderMock);
+
+    // unknown to the local decoder: the first one is known to the node, the second one not ...
+    List<String> nodeHexList = Arrays.asList("00", "0011");
+
+    DefiTransactionData nodeTransactionData = new DefiTransactionData();
+    DefiCustomData nodeCustomData = new DefiCustomData();
+
+    when(dataProviderMock.decodeRawTransactions(nodeHexList)).thenReturn(Arrays.asList(nodeTransactionData, null));
+    when(dataProviderMock.decodeCustomTransactions(nodeHexList)).thenReturn(Arrays.asList(nodeCustomData, null));
+
+    List<String> hexList = Arrays.asList(getHex("json/accounttoaccount/good/01-API-AccountToAccount.json"), "00", "0011");
+
+    List<DefiTransactionData> transactionDataList = new ArrayList<>();
+    List<DefiCustomData> customDataList = new ArrayList<>();
+
+    openTransactionDTOFiller.decodeLocal(hexList, transactionDataList, customDataList);
+
+    assertEquals("Transactions", 3, transactionDataList.size());
+    assertEquals("Custom Transactions", 3, customDataList.size());
+
+    // decoded locally ...
+    assertNotNull("Local Transaction", transactionDataList.get(0));
+    assertNotNull("Local Custom Transaction", customDataList.get(0));
+
+    // decoded by the node ...
+    assertSame("Node Transaction", nodeTransactionData, transactionDataList.get(1));
+    assertSame("Node Custom Transaction", nodeCustomData, customDataList.get(1));
+
+    // invalid for the node too ...
+    assertNull("Invalid Transaction", transactionDataList.get(2));
+    assertNull("Invalid Custom Transaction", customDataList.get(2));
+
+    verify(dataProviderMock).decodeRawTransactions(nodeHexList);
+    verify(dataProviderMock).decodeCustomTransactions(nodeHexList);
+  }
+
+  private String getHex(String apiTransactionFileName) throws Exception {
+    ClassLoader classLoader = OpenTransactionDTOFillerTest.class.getClassLoader();
+    File apiTransactionFile = new File(classLoader.getResource(apiTransactionFileName).getFile());
+
+    JsonArray apiTransactionArray = JsonParser.parseString(Files.readString(apiTransactionFile.toPath())).getAsJsonArray();
+
+    return apiTransactionArray.get(0).getAsJsonObject().getAsJsonObject("rawTx").get("hex").getAsString();
+  }
+}
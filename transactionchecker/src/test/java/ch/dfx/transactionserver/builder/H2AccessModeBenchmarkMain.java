@@ -0,0 +1,206 @@
+package ch.dfx.transactionserver.builder;
+
+import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_PUBLIC_SCHEMA;
+
+import java.io.File;
+import java.io.FileReader;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.h2.tools.RunScript;
+import org.h2.tools.Server;
+
+import ch.dfx.TransactionCheckerUtils;
+import ch.dfx.common.enumeration.NetworkEnum;
+import ch.dfx.transactionserver.data.AddressDTO;
+import ch.dfx.transactionserver.data.BlockDTO;
+import ch.dfx.transactionserver.database.DatabaseUtils;
+import ch.dfx.transactionserver.database.helper.DatabaseBlockHelper;
+import ch.dfx.transactionserver.database.helper.DatabaseBlockHelperBenchmarkMain;
+
+/**
+ * Only for testing purposes, compare the database work of the DatabaseBuilder (block persistence)
+ * and of the BalanceBuilder (vin / vout per address) over the loopback TCP server and embedded,
+ * on a file database served by an in-process H2 TCP server like in the TransactionServerMain.
+ * 
+ * The builders themselves need a DeFiChain node, the benchmark drives their database statements
+ * with a synthetic chain.
+ * 
+ * Arguments: [blocks] [transactions per block] [sync commit] [batch size]
+ */
+public class H2AccessModeBenchmarkMain {
+  private static final Logger LOGGER = LogManager.getLogger(H2AccessModeBenchmarkMain.class);
+
+  private static final String IDENTIFIER = "h2accessmodebenchmark";
+
+  private static final NetworkEnum NETWORK = NetworkEnum.TESTNET;
+
+  /**
+   * 
+   */
+  public static void main(String[] args) {
+    Server server = null;
+    File baseDir = null;
+
+    try {
+      Class.forName("org.h2.Driver");
+
+      // ...
+      System.setProperty("logFilename", TransactionCheckerUtils.getLog4jFilename(IDENTIFIER, NETWORK));
+      TransactionCheckerUtils.initLog4j("log4j2.xml");
+
+      // ...
+      int blockCount = 0 < args.length ? Integer.parseInt(args[0]) : 1000;
+      int transactionCount = 1 < args.length ? Integer.parseInt(args[1]) : 20;
+      int syncCommit = 2 < args.length ? Integer.parseInt(args[2]) : 100;
+      int batchSize = 3 < args.length ? Integer.parseInt(args[3]) : 1000;
+
+      LOGGER.info("Blocks: " + blockCount + " / Transactions: " + transactionCount + " / Commit: " + syncCommit);
+
+      // ...
+      baseDir = Files.createTempDirectory(IDENTIFIER).toFile();
+      server = Server.createTcpServer("-tcpPort", "0", "-baseDir", baseDir.getAbsolutePath(), "-ifNotExists").start();
+
+      String tcpUrlPrefix = "jdbc:h2:tcp://localhost:" + server.getPort() + "/";
+      String embeddedUrlPrefix = "jdbc:h2:" + baseDir.getAbsolutePath() + "/";
+
+      // warmup ...
+      run("warmup", embeddedUrlPrefix + "warmup", Math.max(1, blockCount / 10), transactionCount, syncCommit, batchSize);
+
+      // ...
+      run("tcp", tcpUrlPrefix + "tcp", blockCount, transactionCount, syncCommit, batchSize);
+      run("embedded", embeddedUrlPrefix + "embedded", blockCount, transactionCount, syncCommit, batchSize);
+
+      // the blocks written embedded are visible over TCP (one database instance) ...
+      try (Connection tcpConnection = DriverManager.getConnection(tcpUrlPrefix + "embedded", "sa", "");
+          ResultSet resultSet = tcpConnection.createStatement().executeQuery(DatabaseUtils.replaceSchema(NETWORK, "SELECT COUNT(*) FROM " + TOKEN_PUBLIC_SCHEMA + ".block"))) {
+        resultSet.next();
+        LOGGER.info("[embedded] blocks visible over TCP: " + resultSet.getInt(1));
+      }
+    } catch (Exception e) {
+      LOGGER.error("Fatal Error", e);
+      System.exit(-1);
+    } finally {
+      if (null != server) {
+        server.stop();
+      }
+
+      FileUtils.deleteQuietly(baseDir);
+    }
+  }
+
+  /**
+   * 
+   */
+  private static void run(
+      @Nonnull String name,
+      @Nonnull String jdbcUrl,
+      int blockCount,
+      int transactionCount,
+      int syncCommit,
+      int batchSize) throws Exception {
+    Connection connection = DriverManager.getConnection(jdbcUrl, "sa", "");
+    connection.setAutoCommit(false);
+
+    ClassLoader classLoader = H2AccessModeBenchmarkMain.class.getClassLoader();
+    File initialSetupSqlFile = new File(classLoader.getResource("sql/initialSetup.sql").getFile());
+    RunScript.execute(connection, new FileReader(initialSetupSqlFile));
+    connection.commit();
+
+    // DatabaseBuilder: blocks ...
+    DatabaseBlockHelper databaseBlockHelper = new DatabaseBlockHelper(NETWORK);
+    databaseBlockHelper.openStatements(connection);
+    databaseBlockHelper.setBatchSize(batchSize);
+
+    int addressCount = 0;
+
+    long startTime = System.nanoTime();
+
+    for (int blockNumber = 0; blockNumber < blockCount; blockNumber++) {
+      Map<String, AddressDTO> newAddressMap = DatabaseBlockHelperBenchmarkMain.createNewAddressMap(blockNumber, transactionCount);
+      BlockDTO blockDTO = DatabaseBlockHelperBenchmarkMain.createBlockDTO(blockNumber, transactionCount);
+
+      databaseBlockHelper.saveAddress(newAddressMap);
+      databaseBlockHelper.saveBlock(blockDTO);
+
+      addressCount += newAddressMap.size();
+
+      if (0 == blockNumber % syncCommit) {
+        databaseBlockHelper.flushBatch();
+        connection.commit();
+      }
+    }
+
+    databaseBlockHelper.flushBatch();
+    connection.commit();
+
+    double blockSeconds = (System.nanoTime() - startTime) / 1_000_000_000d;
+
+    databaseBlockHelper.closeStatements();
+
+    // BalanceBuilder: vout / vin per address ...
+    String voutSelectSql =
+        "SELECT block_number, vout"
+            + " FROM " + TOKEN_PUBLIC_SCHEMA + ".address_transaction_out"
+            + " WHERE block_number>? AND address_number=?";
+    PreparedStatement voutSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(NETWORK, voutSelectSql));
+
+    String vinSelectSql =
+        "SELECT block_number, vin"
+            + " FROM " + TOKEN_PUBLIC_SCHEMA + ".address_transaction_in"
+            + " WHERE block_number>? AND address_number=?";
+    PreparedStatement vinSelectStatement = connection.prepareStatement(DatabaseUtils.replaceSchema(NETWORK, vinSelectSql));
+
+    BigDecimal balance = BigDecimal.ZERO;
+
+    startTime = System.nanoTime();
+
+    for (int addressNumber = 0; addressNumber < addressCount; addressNumber++) {
+      balance = balance.add(sum(voutSelectStatement, addressNumber)).subtract(sum(vinSelectStatement, addressNumber));
+    }
+
+    double balanceSeconds = (System.nanoTime() - startTime) / 1_000_000_000d;
+
+    voutSelectStatement.close();
+    vinSelectStatement.close();
+    connection.close();
+
+    // ...
+    LOGGER.info(
+        "[" + name + "] blocks/second=" + String.format("%.0f", blockCount / blockSeconds)
+            + " (" + String.format("%.3f", blockSeconds) + "s)"
+            + " / balance addresses/second=" + String.format("%.0f", addressCount / balanceSeconds)
+            + " (" + String.format("%.3f", balanceSeconds) + "s)"
+            + " / balance=" + balance);
+  }
+
+  /**
+   * 
+   */
+  private static BigDecimal sum(
+      @Nonnull PreparedStatement statement,
+      int addressNumber) throws Exception {
+    BigDecimal sum = BigDecimal.ZERO;
+
+    statement.setInt(1, -1);
+    statement.setInt(2, addressNumber);
+
+    try (ResultSet resultSet = statement.executeQuery()) {
+      while (resultSet.next()) {
+        sum = sum.add(resultSet.getBigDecimal(2));
+      }
+    }
+
+    return sum;
+  }
+}
@@ -0,0 +1,321 @@
+package ch.dfx.transactionserver.builder;
+
+import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_STAKING_SCHEMA;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileReader;
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.h2.tools.RunScript;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import ch.dfx.common.enumeration.NetworkEnum;
+import ch.dfx.common.enumeration.TokenEnum;
+import ch.dfx.common.errorhandling.DfxException;
+import ch.dfx.common.provider.TokenProvider;
+import ch.dfx.transactionserver.data.StatistikDTO;
+import ch.dfx.transactionserver.database.H2DBManager;
+import ch.dfx.transactionserver.database.helper.DatabaseStatistikHelper;
+
+/**
+ * 
+ */
+public class StatistikBuilderTest {
+  private static final String DB_URL = "jdbc:h2:mem:statistikbuilder";
+
+  private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+
+  private static final LocalDate FIRST_DAY = LocalDate.of(2022, 11, 1);
+
+  private static boolean isTokenProviderSetup = false;
+
+  private Connection connection = null;
+  private TestStatistikBuilder statistikBuilder = null;
+
+  @BeforeClass
+  public static void globalSetup() throws Exception {
+    if (null == TokenProvider.getInstance()) {
+      TokenProvider.setup(NetworkEnum.TESTNET);
+      isTokenProviderSetup = true;
+    }
+  }
+
+  @AfterClass
+  public static void globalCleanup() throws Exception {
+    // TestUtils.globalSetup() can only setup the token provider once ...
+    if (isTokenProviderSetup) {
+      Field instanceField = TokenProvider.class.getDeclaredField("instance");
+      instanceField.setAccessible(true);
+      instanceField.set(null, null);
+    }
+  }
+
+  @Before
+  public void before() throws Exception {
+    connection = createDatabase(DB_URL);
+    statistikBuilder = new TestStatistikBuilder();
+  }
+
+  @After
+  public void after() throws Exception {
+    dropDatabase(connection);
+  }
+
+  @Test
+  public void lastCompleteDayToleranceTest() throws Exception {
+    // 30 minutes into the third day: the second day is not yet complete ...
+    addBlock(1, timestamp(FIRST_DAY.plusDays(2)) + 30 * 60);
+    statistikBuilder.build(connection);
+
+    assertEquals("Max. Day", FIRST_DAY, getMaxDay());
+
+    // ... but one hour into the third day ...
+    addBlock(2, timestamp(FIRST_DAY.plusDays(2)) + 60 * 60);
+    statistikBuilder.build(connection);
+
+    assertEquals("Max. Day", FIRST_DAY.plusDays(1), getMaxDay());
+  }
+
+  @Test
+  public void noCompleteDayTest() throws Exception {
+    statistikBuilder.build(connection);
+
+    assertNull("Max. Day", getMaxDay());
+    assertEquals("Ranges", 0, statistikBuilder.rangeList.size());
+  }
+
+  @Test
+  public void buildRangeTest() throws Exception {
+    addBlock(1, timestamp(FIRST_DAY.plusDays(5)) + 100);
+    addBlock(2, timestamp(FIRST_DAY.plusDays(40)) + 2 * 60 * 60);
+
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("INSERT INTO testnet_staking.deposit"
+          + " (token_number, liquidity_address_number, deposit_address_number, customer_address_number, start_block_number, start_transaction_number)"
+          + " VALUES (0, 1, 2, 3, 1, 0)");
+    }
+
+    connection.commit();
+
+    // at most 31 days per build ...
+    statistikBuilder.build(connection);
+    assertEquals("Max. Day", FIRST_DAY.plusDays(30), getMaxDay());
+
+    statistikBuilder.build(connection);
+    assertEquals("Max. Day", FIRST_DAY.plusDays(39), getMaxDay());
+
+    // ... and nothing left to do ...
+    statistikBuilder.build(connection);
+
+    assertEquals("Ranges", List.of("0-30", "31-39"), statistikBuilder.getRangeList());
+
+    List<StatistikDTO> statistikDTOList = getStatistikDTOList();
+    assertEquals("Days", 40, statistikDTOList.size());
+
+    for (StatistikDTO statistikDTO : statistikDTOList) {
+      int expectedDepositCount = FIRST_DAY.plusDays(5).equals(statistikDTO.getDay()) ? 1 : 0;
+      assertEquals("Deposit Count " + statistikDTO.getDay(), expectedDepositCount, statistikDTO.getDepositCount());
+    }
+  }
+
+  @Test
+  public void backfillRangeTest() throws Exception {
+    addBlock(1, timestamp(FIRST_DAY.plusDays(70)) + 2 * 60 * 60);
+
+    statistikBuilder.backfill(new TestH2DBManager(DB_URL), null, null, 2);
+
+    // 70 complete days in ranges of 31 days ...
+    assertEquals("Ranges", List.of("0-30", "31-61", "62-69"), statistikBuilder.getRangeList());
+
+    assertEquals("Max. Day", FIRST_DAY.plusDays(69), getMaxDay());
+    assertEquals("Days", 70, getStatistikDTOList().size());
+  }
+
+  @Test
+  public void createTableTest() throws Exception {
+    String dbUrl = DB_URL + "_create";
+    Connection createConnection = createDatabase(dbUrl);
+
+    try {
+      try (Statement statement = createConnection.createStatement()) {
+        statement.execute("DROP TABLE testnet_staking.statistik");
+        statement.execute("INSERT INTO public.block VALUES (1, 'hash1', " + (timestamp(FIRST_DAY.plusDays(200)) + 2 * 60 * 60) + ")");
+      }
+
+      createConnection.commit();
+
+      // the table is created once, before the tasks run in parallel ...
+      statistikBuilder.backfill(new TestH2DBManager(dbUrl), null, null, 8);
+
+      assertEquals("Ranges", 7, statistikBuilder.getRangeList().size());
+
+      try (Statement statement = createConnection.createStatement();
+          ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM testnet_staking.statistik")) {
+        resultSet.next();
+        assertEquals("Days", 200, resultSet.getInt(1));
+      }
+    } finally {
+      dropDatabase(createConnection);
+    }
+  }
+
+  private Connection createDatabase(@Nonnull String dbUrl) throws Exception {
+    Connection dbConnection = DriverManager.getConnection(dbUrl, "sa", "");
+    dbConnection.setAutoCommit(false);
+
+    ClassLoader classLoader = StatistikBuilderTest.class.getClassLoader();
+    File initialSetupSqlFile = new File(classLoader.getResource("sql/initialSetup.sql").getFile());
+    RunScript.execute(dbConnection, new FileReader(initialSetupSqlFile));
+
+    try (Statement statement = dbConnection.createStatement()) {
+      statement.execute("INSERT INTO public.block VALUES (0, 'hash0', " + (timestamp(FIRST_DAY) + 100) + ")");
+      statement.execute("INSERT INTO testnet_staking.staking_address"
+          + " (token_number, liquidity_address_number, reward_address_number, start_block_number, start_transaction_number)"
+          + " VALUES (0, 1, -1, 0, 0)");
+    }
+
+    dbConnection.commit();
+
+    return dbConnection;
+  }
+
+  private void dropDatabase(@Nonnull Connection dbConnection) throws Exception {
+    try (Statement statement = dbConnection.createStatement()) {
+      statement.execute("DROP ALL OBJECTS");
+    }
+
+    dbConnection.close();
+  }
+
+  private long timestamp(@Nonnull LocalDate day) {
+    return day.toEpochDay() * SECONDS_PER_DAY;
+  }
+
+  private void addBlock(int number, long timestamp) throws Exception {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("INSERT INTO public.block VALUES (" + number + ", 'hash" + number + "', " + timestamp + ")");
+    }
+
+    connection.commit();
+  }
+
+  private @Nullable LocalDate getMaxDay() throws DfxException {
+    DatabaseStatistikHelper databaseStatistikHelper = new DatabaseStatistikHelper(NetworkEnum.TESTNET);
+    databaseStatistikHelper.openStatements(connection, TOKEN_STAKING_SCHEMA);
+
+    LocalDate maxDay = databaseStatistikHelper.getMaxDay(TokenEnum.DFI);
+
+    databaseStatistikHelper.closeStatements();
+
+    return maxDay;
+  }
+
+  private List<StatistikDTO> getStatistikDTOList() throws DfxException {
+    DatabaseStatistikHelper databaseStatistikHelper = new DatabaseStatistikHelper(NetworkEnum.TESTNET);
+    databaseStatistikHelper.openStatements(connection, TOKEN_STAKING_SCHEMA);
+
+    List<StatistikDTO> statistikDTOList = databaseStatistikHelper.getStatistikDTOList(TokenEnum.DFI);
+
+    databaseStatistikHelper.closeStatements();
+
+    return statistikDTOList;
+  }
+
+  /**
+   * Records the day ranges (relative to the first day) instead of summing up the deposits.
+   */
+  private static class TestStatistikBuilder extends StatistikBuilder {
+    private final List<String> rangeList = Collections.synchronizedList(new ArrayList<>());
+
+    private TestStatistikBuilder() {
+      super(NetworkEnum.TESTNET, TOKEN_STAKING_SCHEMA);
+    }
+
+    @Override
+    protected List<TokenEnum> getTokenList() {
+      return List.of(TokenEnum.DFI);
+    }
+
+    @Override
+    protected void fillDepositSum(
+        @Nonnull Connection connection,
+        @Nonnull TokenEnum token,
+        int liquidityAddressNumber,
+        long fromTimestamp,
+        long toTimestamp,
+        @Nonnull Map<Long, StatistikDTO> epochDayToStatistikDTOMap) {
+      long fromDay = fromTimestamp / SECONDS_PER_DAY - FIRST_DAY.toEpochDay();
+      long toDay = toTimestamp / SECONDS_PER_DAY - FIRST_DAY.toEpochDay();
+
+      rangeList.add(fromDay + "-" + toDay);
+    }
+
+    private List<String> getRangeList() {
+      List<String> sortedRangeList = new ArrayList<>(rangeList);
+      sortedRangeList.sort((range1, range2) -> Integer.compare(
+          Integer.parseInt(range1.split("-")[0]), Integer.parseInt(range2.split("-")[0])));
+
+      return sortedRangeList;
+    }
+  }
+
+  /**
+   * 
+   */
+  private static class TestH2DBManager implements H2DBManager {
+    private final String dbUrl;
+
+    private TestH2DBManager(@Nonnull String dbUrl) {
+      this.dbUrl = dbUrl;
+    }
+
+    @Override
+    public Connection openConnection() throws DfxException {
+      try {
+        Connection connection = DriverManager.getConnection(dbUrl, "sa", "");
+        connection.setAutoCommit(false);
+
+        return connection;
+      } catch (Exception e) {
+        throw new DfxException("openConnection", e);
+      }
+    }
+
+    @Override
+    public void closeConnection(@Nullable Connection connection) {
+      try {
+        if (null != connection) {
+          connection.close();
+        }
+      } catch (Exception e) {
+        // intentionally left blank ...
+      }
+    }
+
+    @Override
+    public void compact() {
+    }
+
+    @Override
+    public void shutdown() {
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package ch.dfx.transactionserver.builder.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * 
+ */
+public class TokenAddressMapTest {
+
+  @Test
+  public void collisionTest() {
+    TokenAddressMap<String> tokenAddressMap = new TokenAddressMap<>();
+
+    // three keys with the same start index ...
+    List<Integer> addressNumberList = new ArrayList<>();
+    int startIndex = tokenAddressMap.indexOf(TokenAddressMap.createKey(0, 0));
+
+    for (int addressNumber = 0; 3 > addressNumberList.size(); addressNumber++) {
+      if (startIndex == tokenAddressMap.indexOf(TokenAddressMap.createKey(0, addressNumber))) {
+        addressNumberList.add(addressNumber);
+      }
+    }
+
+    for (int addressNumber : addressNumberList) {
+      assertNull("Put", tokenAddressMap.put(0, addressNumber, "value" + addressNumber));
+    }
+
+    assertEquals("Size", 3, tokenAddressMap.size());
+
+    for (int addressNumber : addressNumberList) {
+      assertEquals("Get", "value" + addressNumber, tokenAddressMap.get(0, addressNumber));
+    }
+
+    // replace the value in the middle of the probe sequence ...
+    int middleAddressNumber = addressNumberList.get(1);
+    assertEquals("Previous", "value" + middleAddressNumber, tokenAddressMap.put(0, middleAddressNumber, "new"));
+    assertEquals("Get", "new", tokenAddressMap.get(0, middleAddressNumber));
+    assertEquals("Size", 3, tokenAddressMap.size());
+
+    // absent key with the same start index ...
+    for (int addressNumber = addressNumberList.get(2) + 1;; addressNumber++) {
+      if (startIndex == tokenAddressMap.indexOf(TokenAddressMap.createKey(0, addressNumber))) {
+        assertNull("Absent", tokenAddressMap.get(0, addressNumber));
+        break;
+      }
+    }
+  }
+
+  @Test
+  public void growthTest() {
+    TokenAddressMap<Integer> tokenAddressMap = new TokenAddressMap<>();
+
+    int count = 10000;
+
+    for (int i = 0; i < count; i++) {
+      assertNull("Put", tokenAddressMap.put(i % 7, i, i));
+    }
+
+    assertEquals("Size", count, tokenAddressMap.size());
+
+    for (int i = 0; i < count; i++) {
+      assertEquals("Get", Integer.valueOf(i), tokenAddressMap.get(i % 7, i));
+      assertNull("Absent", tokenAddressMap.get(i % 7 + 7, i));
+    }
+  }
+
+  @Test
+  public void expectedSizeTest() {
+    TokenAddressMap<Integer> tokenAddressMap = new TokenAddressMap<>(100);
+
+    // the load factor is reached after 3/4 of the capacity ...
+    for (int i = 0; i < 1000; i++) {
+      tokenAddressMap.put(1, i, i);
+      assertEquals("Size", i + 1, tokenAddressMap.size());
+    }
+
+    for (int i = 0; i < 1000; i++) {
+      assertEquals("Get", Integer.valueOf(i), tokenAddressMap.get(1, i));
+    }
+  }
+
+  @Test
+  public void negativeAndLargeNumberTest() {
+    TokenAddressMap<String> tokenAddressMap = new TokenAddressMap<>();
+
+    int[] numbers = { 0, 1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE - 1, Integer.MIN_VALUE + 1 };
+
+    assertNull("Empty", tokenAddressMap.get(0, 0));
+
+    for (int tokenNumber : numbers) {
+      for (int addressNumber : numbers) {
+        assertNull("Put", tokenAddressMap.put(tokenNumber, addressNumber, tokenNumber + "/" + addressNumber));
+      }
+    }
+
+    assertEquals("Size", numbers.length * numbers.length, tokenAddressMap.size());
+
+    for (int tokenNumber : numbers) {
+      for (int addressNumber : numbers) {
+        assertEquals("Get", tokenNumber + "/" + addressNumber, tokenAddressMap.get(tokenNumber, addressNumber));
+      }
+    }
+
+    // the sign of the address number does not leak into the token number ...
+    assertTrue("Key", TokenAddressMap.createKey(0, -1) != TokenAddressMap.createKey(-1, -1));
+    assertEquals("Key", 0xFFFFFFFFL, TokenAddressMap.createKey(0, -1));
+    assertEquals("Key", 0xFFFFFFFF00000000L, TokenAddressMap.createKey(-1, 0));
+  }
+}
@@ -0,0 +1,92 @@
+package ch.dfx.transactionserver.database;
+
+import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_STAKING_SCHEMA;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.io.FileReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.h2.tools.RunScript;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import ch.dfx.common.enumeration.NetworkEnum;
+
+/**
+ * 
+ */
+public class DatabaseTableCreatorTest {
+
+  private Connection connection = null;
+
+  @Before
+  public void before() throws Exception {
+    connection = DriverManager.getConnection("jdbc:h2:mem:databasetablecreator", "sa", "");
+    connection.setAutoCommit(false);
+
+    ClassLoader classLoader = DatabaseTableCreatorTest.class.getClassLoader();
+    File initialSetupSqlFile = new File(classLoader.getResource("sql/initialSetup.sql").getFile());
+    RunScript.execute(connection, new FileReader(initialSetupSqlFile));
+
+    // existing database without the tables added after the initial setup ...
+    try (Statement statement = connection.createStatement()) {
+      for (String schema : new String[] { "testnet_staking", "testnet_yieldmachine" }) {
+        statement.execute("DROP TABLE " + schema + ".deposit_watermark");
+        statement.execute("DROP TABLE " + schema + ".statistik");
+      }
+    }
+
+    connection.commit();
+  }
+
+  @After
+  public void after() throws Exception {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("DROP ALL OBJECTS");
+    }
+
+    connection.close();
+  }
+
+  @Test
+  public void createTablesTest() throws Exception {
+    DatabaseTableCreator.createTables(NetworkEnum.TESTNET, connection);
+
+    assertEquals("Tables", 4, countTables());
+
+    // the second call does nothing ...
+    DatabaseTableCreator.createTables(NetworkEnum.TESTNET, connection);
+    DatabaseTableCreator.createDepositWatermarkTable(NetworkEnum.TESTNET, connection, TOKEN_STAKING_SCHEMA);
+
+    assertEquals("Tables", 4, countTables());
+
+    // the key of the merge statements is unique ...
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("MERGE INTO testnet_staking.deposit_watermark (token_number, liquidity_address_number, block_number) KEY (token_number, liquidity_address_number) VALUES (0, 1, 10)");
+      statement.execute("MERGE INTO testnet_staking.deposit_watermark (token_number, liquidity_address_number, block_number) KEY (token_number, liquidity_address_number) VALUES (0, 1, 20)");
+
+      try (ResultSet resultSet = statement.executeQuery("SELECT block_number FROM testnet_staking.deposit_watermark")) {
+        resultSet.next();
+        assertEquals("Block Number", 20, resultSet.getInt(1));
+        assertFalse("Rows", resultSet.next());
+      }
+    }
+  }
+
+  private int countTables() throws Exception {
+    try (Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(
+            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES"
+                + " WHERE TABLE_SCHEMA IN ('TESTNET_STAKING', 'TESTNET_YIELDMACHINE')"
+                + " AND TABLE_NAME IN ('DEPOSIT_WATERMARK', 'STATISTIK')")) {
+      resultSet.next();
+      return resultSet.getInt(1);
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package ch.dfx.transactionserver.database;
+
+import java.io.File;
+import java.io.FileReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.h2.tools.RunScript;
+import org.h2.tools.Server;
+
+import ch.dfx.TransactionCheckerUtils;
+import ch.dfx.common.enumeration.NetworkEnum;
+import ch.dfx.common.errorhandling.DfxException;
+import ch.dfx.transactionserver.database.helper.DatabaseBlockHelper;
+
+/**
+ * Only for testing purposes, compare the uses/second of the typical pattern
+ * "open connection, open helper statements, one query, close" with a new TCP connection per use
+ * and with the connection pool, against a local H2 TCP server.
+ * 
+ * Arguments: [uses] [pool size]
+ */
+public class H2DBManagerPoolBenchmarkMain {
+  private static final Logger LOGGER = LogManager.getLogger(H2DBManagerPoolBenchmarkMain.class);
+
+  private static final String IDENTIFIER = "h2dbmanagerpoolbenchmark";
+
+  private static final NetworkEnum NETWORK = NetworkEnum.TESTNET;
+
+  /**
+   * 
+   */
+  public static void main(String[] args) {
+    Server server = null;
+
+    try {
+      Class.forName("org.h2.Driver");
+
+      // ...
+      System.setProperty("logFilename", TransactionCheckerUtils.getLog4jFilename(IDENTIFIER, NETWORK));
+      TransactionCheckerUtils.initLog4j("log4j2.xml");
+
+      // ...
+      int useCount = 0 < args.length ? Integer.parseInt(args[0]) : 500;
+      int poolSize = 1 < args.length ? Integer.parseInt(args[1]) : 4;
+
+      server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+      String jdbcUrl = "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:" + IDENTIFIER + ";DB_CLOSE_DELAY=-1";
+
+      // ...
+      H2DBManager tcpDBManager = new TcpDBManager(jdbcUrl);
+
+      Connection setupConnection = tcpDBManager.openConnection();
+      ClassLoader classLoader = H2DBManagerPoolBenchmarkMain.class.getClassLoader();
+      File initialSetupSqlFile = new File(classLoader.getResource("sql/initialSetup.sql").getFile());
+      RunScript.execute(setupConnection, new FileReader(initialSetupSqlFile));
+      setupConnection.commit();
+
+      // warmup ...
+      run("warmup", tcpDBManager, Math.max(1, useCount / 10));
+
+      // ...
+      run("connection per use", tcpDBManager, useCount);
+
+      H2DBManager poolDBManager = new H2DBManagerPoolImpl(tcpDBManager, poolSize, 30, 600, 256);
+      run("pool", poolDBManager, useCount);
+      poolDBManager.shutdown();
+
+      LOGGER.info("[H2DBPoolMetrics] " + H2DBPoolMetrics.getInstance());
+
+      tcpDBManager.closeConnection(setupConnection);
+    } catch (Exception e) {
+      LOGGER.error("Fatal Error", e);
+      System.exit(-1);
+    } finally {
+      if (null != server) {
+        server.stop();
+      }
+    }
+  }
+
+  /**
+   * 
+   */
+  private static void run(
+      @Nonnull String name,
+      @Nonnull H2DBManager databaseManager,
+      int useCount) throws Exception {
+    long startTime = System.nanoTime();
+
+    for (int i = 0; i < useCount; i++) {
+      Connection connection = databaseManager.openConnection();
+
+      DatabaseBlockHelper databaseBlockHelper = new DatabaseBlockHelper(NETWORK);
+      databaseBlockHelper.openStatements(connection);
+
+      databaseBlockHelper.getAddressWhitelistDTOList();
+
+      databaseBlockHelper.closeStatements();
+      databaseManager.closeConnection(connection);
+    }
+
+    double seconds = (System.nanoTime() - startTime) / 1_000_000_000d;
+
+    LOGGER.info(
+        "[" + name + "] uses=" + useCount
+            + " / runtime=" + String.format("%.3f", seconds) + "s"
+            + " / uses/second=" + String.format("%.0f", useCount / seconds));
+  }
+
+  /**
+   * New TCP connection per openConnection(), like H2DBManagerImpl ...
+   */
+  private static class TcpDBManager implements H2DBManager {
+    private final String jdbcUrl;
+
+    private TcpDBManager(@Nonnull String jdbcUrl) {
+      this.jdbcUrl = jdbcUrl;
+    }
+
+    @Override
+    public Connection openConnection() throws DfxException {
+      try {
+        Connection connection = DriverManager.getConnection(jdbcUrl, "sa", "");
+        connection.setAutoCommit(false);
+        return connection;
+      } catch (Exception e) {
+        throw new DfxException("openConnection", e);
+      }
+    }
+
+    @Override
+    public void closeConnection(@Nullable Connection connection) {
+      try {
+        if (null != connection) {
+          connection.close();
+        }
+      } catch (Exception e) {
+        LOGGER.error("closeConnection", e);
+      }
+    }
+
+    @Override
+    public void compact() throws DfxException {
+    }
+
+    @Override
+    public void shutdown() {
+    }
+  }
+}
@@ -0,0 +1,211 @@
+package ch.dfx.transactionserver.database.helper;
+
+import java.io.File;
+import java.io.FileReader;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.h2.tools.RunScript;
+
+import ch.dfx.TransactionCheckerUtils;
+import ch.dfx.common.enumeration.NetworkEnum;
+import ch.dfx.transactionserver.data.AddressDTO;
+import ch.dfx.transactionserver.data.AddressTransactionInDTO;
+import ch.dfx.transactionserver.data.AddressTransactionOutDTO;
+import ch.dfx.transactionserver.data.BlockDTO;
+import ch.dfx.transactionserver.data.TransactionCustomAccountToAccountInDTO;
+import ch.dfx.transactionserver.data.TransactionCustomAccountToAccountOutDTO;
+import ch.dfx.transactionserver.data.TransactionDTO;
+
+/**
+ * Only for testing purposes, compare the rows/second of the block persistence
+ * with single inserts and with batched inserts, on a synthetic chain in an in-memory database.
+ * 
+ * Arguments: [blocks] [transactions per block] [sync commit] [batch size]
+ */
+public class DatabaseBlockHelperBenchmarkMain {
+  private static final Logger LOGGER = LogManager.getLogger(DatabaseBlockHelperBenchmarkMain.class);
+
+  private static final String IDENTIFIER = "databaseblockhelperbenchmark";
+
+  private static final NetworkEnum NETWORK = NetworkEnum.TESTNET;
+
+  private static final int ADDRESSES_PER_TRANSACTION = 2;
+  private static final int VOUTS_PER_TRANSACTION = 2;
+
+  /**
+   * 
+   */
+  public static void main(String[] args) {
+    try {
+      Class.forName("org.h2.Driver");
+
+      // ...
+      System.setProperty("logFilename", TransactionCheckerUtils.getLog4jFilename(IDENTIFIER, NETWORK));
+      TransactionCheckerUtils.initLog4j("log4j2.xml");
+
+      // ...
+      int blockCount = 0 < args.length ? Integer.parseInt(args[0]) : 2000;
+      int transactionCount = 1 < args.length ? Integer.parseInt(args[1]) : 50;
+      int syncCommit = 2 < args.length ? Integer.parseInt(args[2]) : 100;
+      int batchSize = 3 < args.length ? Integer.parseInt(args[3]) : 1000;
+
+      LOGGER.info("Blocks: " + blockCount + " / Transactions: " + transactionCount + " / Commit: " + syncCommit);
+
+      // warmup ...
+      run("warmup", Math.max(1, blockCount / 10), transactionCount, syncCommit, batchSize);
+
+      // ...
+      run("single", blockCount, transactionCount, syncCommit, 0);
+      run("batch", blockCount, transactionCount, syncCommit, batchSize);
+    } catch (Exception e) {
+      LOGGER.error("Fatal Error", e);
+      System.exit(-1);
+    }
+  }
+
+  /**
+   * 
+   */
+  private static void run(
+      @Nonnull String name,
+      int blockCount,
+      int transactionCount,
+      int syncCommit,
+      int batchSize) throws Exception {
+    Connection connection = DriverManager.getConnection("jdbc:h2:mem:" + name, "sa", "");
+    connection.setAutoCommit(false);
+
+    ClassLoader classLoader = DatabaseBlockHelperBenchmarkMain.class.getClassLoader();
+    File initialSetupSqlFile = new File(classLoader.getResource("sql/initialSetup.sql").getFile());
+    RunScript.execute(connection, new FileReader(initialSetupSqlFile));
+    connection.commit();
+
+    DatabaseBlockHelper databaseBlockHelper = new DatabaseBlockHelper(NETWORK);
+    databaseBlockHelper.openStatements(connection);
+    databaseBlockHelper.setBatchSize(batchSize);
+
+    // ...
+    long rowCount = 0;
+    long runtime = 0;
+
+    for (int blockNumber = 0; blockNumber < blockCount; blockNumber++) {
+      Map<String, AddressDTO> newAddressMap = createNewAddressMap(blockNumber, transactionCount);
+      BlockDTO blockDTO = createBlockDTO(blockNumber, transactionCount);
+
+      long startTime = System.nanoTime();
+
+      databaseBlockHelper.saveAddress(newAddressMap);
+      databaseBlockHelper.saveBlock(blockDTO);
+
+      if (0 == blockNumber % syncCommit) {
+        databaseBlockHelper.flushBatch();
+        connection.commit();
+      }
+
+      runtime += System.nanoTime() - startTime;
+
+      rowCount += newAddressMap.size() + 1 + (long) transactionCount * (1 + VOUTS_PER_TRANSACTION + 1 + 2);
+    }
+
+    long startTime = System.nanoTime();
+    databaseBlockHelper.flushBatch();
+    connection.commit();
+    runtime += System.nanoTime() - startTime;
+
+    databaseBlockHelper.closeStatements();
+    connection.close();
+
+    // ...
+    double seconds = runtime / 1_000_000_000d;
+
+    LOGGER.info(
+        "[" + name + "] batch size=" + batchSize
+            + " / rows=" + rowCount
+            + " / runtime=" + String.format("%.3f", seconds) + "s"
+            + " / rows/second=" + String.format("%.0f", rowCount / seconds));
+  }
+
+  /**
+   * 
+   */
+  public static Map<String, AddressDTO> createNewAddressMap(
+      int blockNumber,
+      int transactionCount) {
+    Map<String, AddressDTO> newAddressMap = new LinkedHashMap<>();
+
+    for (int i = 0; i < transactionCount * ADDRESSES_PER_TRANSACTION; i++) {
+      int addressNumber = getAddressNumber(blockNumber, transactionCount, i);
+      String address = "tf1q" + String.format("%038d", addressNumber);
+
+      newAddressMap.put(address, new AddressDTO(addressNumber, address));
+    }
+
+    return newAddressMap;
+  }
+
+  /**
+   * Every transaction: two outputs, one input spending an output of the previous block
+   * and one account to account transfer.
+   */
+  public static BlockDTO createBlockDTO(
+      int blockNumber,
+      int transactionCount) {
+    BlockDTO blockDTO = new BlockDTO(blockNumber, String.format("%064x", blockNumber), 1_600_000_000L + blockNumber * 30L);
+
+    for (int transactionNumber = 0; transactionNumber < transactionCount; transactionNumber++) {
+      String transactionId = String.format("%032x%032x", blockNumber, transactionNumber);
+
+      TransactionDTO transactionDTO = new TransactionDTO(blockNumber, transactionNumber, transactionId);
+      transactionDTO.setCustomTypeCode(0 == transactionNumber ? "0" : "B");
+
+      int addressNumber1 = getAddressNumber(blockNumber, transactionCount, transactionNumber * ADDRESSES_PER_TRANSACTION);
+      int addressNumber2 = addressNumber1 + 1;
+
+      for (int voutNumber = 0; voutNumber < VOUTS_PER_TRANSACTION; voutNumber++) {
+        AddressTransactionOutDTO addressTransactionOutDTO =
+            new AddressTransactionOutDTO(blockNumber, transactionNumber, voutNumber, 0 == voutNumber ? addressNumber1 : addressNumber2);
+        addressTransactionOutDTO.setVout(new BigDecimal("1.5"));
+        transactionDTO.addAddressTransactionOutDTO(addressTransactionOutDTO);
+      }
+
+      int inBlockNumber = Math.max(0, blockNumber - 1);
+
+      AddressTransactionInDTO addressTransactionInDTO =
+          new AddressTransactionInDTO(blockNumber, transactionNumber, 0, addressNumber1, inBlockNumber, transactionNumber);
+      addressTransactionInDTO.setVin(new BigDecimal("1.5"));
+      transactionDTO.addAddressTransactionInDTO(addressTransactionInDTO);
+
+      TransactionCustomAccountToAccountInDTO accountToAccountInDTO =
+          new TransactionCustomAccountToAccountInDTO(blockNumber, transactionNumber, 0, addressNumber1, 0);
+      accountToAccountInDTO.setAmount(BigDecimal.TEN);
+      transactionDTO.addCustomAccountToAccountInDTO(accountToAccountInDTO);
+
+      TransactionCustomAccountToAccountOutDTO accountToAccountOutDTO =
+          new TransactionCustomAccountToAccountOutDTO(blockNumber, transactionNumber, 0, addressNumber2, 0);
+      accountToAccountOutDTO.setAmount(BigDecimal.TEN);
+      transactionDTO.addCustomAccountToAccountOutDTO(accountToAccountOutDTO);
+
+      blockDTO.addTransactionDTO(transactionDTO);
+    }
+
+    return blockDTO;
+  }
+
+  /**
+   * 
+   */
+  private static int getAddressNumber(
+      int blockNumber,
+      int transactionCount,
+      int index) {
+    return blockNumber * transactionCount * ADDRESSES_PER_TRANSACTION + index;
+  }
+}
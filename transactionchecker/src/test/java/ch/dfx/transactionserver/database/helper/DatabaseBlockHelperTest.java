@@ -0,0 +1,108 @@
+package ch.dfx.transactionserver.database.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.h2.tools.RunScript;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import ch.dfx.common.enumeration.NetworkEnum;
+import ch.dfx.transactionserver.data.AddressDTO;
+import ch.dfx.transactionserver.data.BlockDTO;
+
+/**
+ * 
+ */
+public class DatabaseBlockHelperTest {
+
+  private Connection connection = null;
+  private DatabaseBlockHelper databaseBlockHelper = null;
+
+  @Before
+  public void before() throws Exception {
+    connection = DriverManager.getConnection("jdbc:h2:mem:databaseblockhelper", "sa", "");
+    connection.setAutoCommit(false);
+
+    ClassLoader classLoader = DatabaseBlockHelperTest.class.getClassLoader();
+    File initialSetupSqlFile = new File(classLoader.getResource("sql/initialSetup.sql").getFile());
+    RunScript.execute(connection, new FileReader(initialSetupSqlFile));
+    connection.commit();
+
+    databaseBlockHelper = new DatabaseBlockHelper(NetworkEnum.TESTNET);
+    databaseBlockHelper.openStatements(connection);
+    databaseBlockHelper.setBatchSize(1000);
+  }
+
+  @After
+  public void after() throws Exception {
+    databaseBlockHelper.closeStatements();
+
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("DROP ALL OBJECTS");
+    }
+
+    connection.close();
+  }
+
+  @Test
+  public void pendingAcrossBlocksTest() throws Exception {
+    for (int blockNumber = 0; blockNumber < 3; blockNumber++) {
+      databaseBlockHelper.saveAddress(createNewAddressMap(blockNumber));
+      databaseBlockHelper.saveBlock(new BlockDTO(blockNumber, "hash" + blockNumber, 1000L + blockNumber));
+
+      // new addresses are found in the pending batch ...
+      AddressDTO addressDTO = databaseBlockHelper.getAddressDTOByAddress("address" + blockNumber);
+      assertNotNull("Pending Address", addressDTO);
+      assertEquals("Pending Address Number", Integer.valueOf(blockNumber), addressDTO.getNumber());
+
+      assertNotNull("Pending Address By Number", databaseBlockHelper.getAddressDTOByNumber(blockNumber));
+
+      // ... and unknown addresses in the database, both without a flush ...
+      assertNull("Unknown Address", databaseBlockHelper.getAddressDTOByAddress("unknown"));
+      assertNull("Unknown Address By Number", databaseBlockHelper.getAddressDTOByNumber(4711));
+
+      assertEquals("Pending Rows", 2 * (blockNumber + 1), databaseBlockHelper.getPendingRowCount());
+      assertEquals("Blocks", 0, count("block"));
+      assertEquals("Addresses", 0, count("address"));
+    }
+
+    databaseBlockHelper.flushBatch();
+
+    assertEquals("Pending Rows", 0, databaseBlockHelper.getPendingRowCount());
+    assertEquals("Blocks", 3, count("block"));
+    assertEquals("Addresses", 3, count("address"));
+
+    AddressDTO addressDTO = databaseBlockHelper.getAddressDTOByAddress("address1");
+    assertNotNull("Address", addressDTO);
+    assertEquals("Address Number", Integer.valueOf(1), addressDTO.getNumber());
+  }
+
+  private Map<String, AddressDTO> createNewAddressMap(int addressNumber) {
+    Map<String, AddressDTO> newAddressMap = new LinkedHashMap<>();
+
+    String address = "address" + addressNumber;
+    newAddressMap.put(address, new AddressDTO(addressNumber, address));
+
+    return newAddressMap;
+  }
+
+  private int count(String table) throws Exception {
+    try (Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM public." + table)) {
+      resultSet.next();
+      return resultSet.getInt(1);
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package ch.dfx.transactionserver.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import ch.dfx.common.enumeration.NetworkEnum;
+import ch.dfx.transactionserver.data.AddressTransactionOutDTO;
+
+/**
+ * 
+ */
+public class DatabaseUtxoHandlerTest {
+  private static final String TXID = "a1b2c3";
+
+  private Connection connection = null;
+  private DatabaseUtxoHandler databaseUtxoHandler = null;
+
+  @Before
+  public void before() throws Exception {
+    connection = DriverManager.getConnection("jdbc:h2:mem:utxohandler", "sa", "");
+
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE public.block (number BIGINT NOT NULL, hash VARCHAR(64) NOT NULL)");
+      statement.execute("CREATE TABLE public.transaction (block_number BIGINT NOT NULL, number BIGINT NOT NULL, txid VARCHAR(64) NOT NULL)");
+      statement.execute(
+          "CREATE TABLE public.address_transaction_out ("
+              + " block_number BIGINT NOT NULL, transaction_number BIGINT NOT NULL, vout_number BIGINT NOT NULL,"
+              + " address_number BIGINT NOT NULL, vout DECIMAL(20,8) NOT NULL, type VARCHAR(20) NULL)");
+    }
+
+    databaseUtxoHandler = new DatabaseUtxoHandler(NetworkEnum.TESTNET, 1000, 100);
+  }
+
+  @After
+  public void after() throws Exception {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("DROP ALL OBJECTS");
+    }
+
+    connection.close();
+  }
+
+  @Test
+  public void multiAddressVoutTest() {
+    databaseUtxoHandler.add(TXID, createAddressTransactionOutDTO(7));
+    databaseUtxoHandler.add(TXID, createAddressTransactionOutDTO(3));
+
+    assertEquals("Size", 1, databaseUtxoHandler.size());
+
+    AddressTransactionOutDTO addressTransactionOutDTO = databaseUtxoHandler.spend(TXID, 1);
+    assertNotNull("Output", addressTransactionOutDTO);
+    assertEquals("Address Number", 7, addressTransactionOutDTO.getAddressNumber());
+
+    // spent only once ...
+    assertNull("Spent Output", databaseUtxoHandler.spend(TXID, 1));
+  }
+
+  @Test
+  public void multiAddressVoutRebuildTest() throws Exception {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("INSERT INTO public.block VALUES (10, 'hash10')");
+      statement.execute("INSERT INTO public.transaction VALUES (10, 0, '" + TXID + "')");
+
+      // insert order of the addresses, not their number, decides ...
+      statement.execute("INSERT INTO public.address_transaction_out VALUES (10, 0, 1, 7, 1.5, NULL)");
+      statement.execute("INSERT INTO public.address_transaction_out VALUES (10, 0, 1, 3, 1.5, NULL)");
+    }
+
+    databaseUtxoHandler.setup(connection);
+
+    assertEquals("Size", 1, databaseUtxoHandler.size());
+
+    AddressTransactionOutDTO addressTransactionOutDTO = databaseUtxoHandler.spend(TXID, 1);
+    assertNotNull("Output", addressTransactionOutDTO);
+    assertEquals("Address Number", 7, addressTransactionOutDTO.getAddressNumber());
+    assertEquals("Vout", new BigDecimal("1.50000000"), addressTransactionOutDTO.getVout());
+  }
+
+  private AddressTransactionOutDTO createAddressTransactionOutDTO(int addressNumber) {
+    AddressTransactionOutDTO addressTransactionOutDTO = new AddressTransactionOutDTO(10, 0, 1, addressNumber);
+    addressTransactionOutDTO.setVout(new BigDecimal("1.5"));
+
+    return addressTransactionOutDTO;
+  }
+}
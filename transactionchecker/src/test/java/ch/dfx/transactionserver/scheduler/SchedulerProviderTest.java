@@ -0,0 +1,183 @@
+package ch.dfx.transactionserver.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * 
+ */
+public class SchedulerProviderTest {
+
+  @Test
+  public void fixedDelayTest() throws Exception {
+    SlowRunnable slowRunnable = new SlowRunnable(200);
+
+    UUID uuid = SchedulerProvider.getInstance().add(slowRunnable, 0, 50, TimeUnit.MILLISECONDS);
+    slowRunnable.awaitRuns();
+    SchedulerProvider.getInstance().remove(uuid);
+
+    SchedulerProviderMetrics schedulerProviderMetrics = SchedulerProviderMetrics.getInstance();
+
+    assertEquals("Max. Concurrent Runs", 1, slowRunnable.maxConcurrentRunCount.get());
+    assertTrue("Overruns", 3 <= schedulerProviderMetrics.getOverrunCount(uuid));
+    assertEquals("Runs", schedulerProviderMetrics.getRunCount(uuid), slowRunnable.runCount.get());
+  }
+
+  @Test
+  public void fixedRateTest() throws Exception {
+    SlowRunnable slowRunnable = new SlowRunnable(50);
+
+    UUID uuid = SchedulerProvider.getInstance().add(slowRunnable, 0, 200, TimeUnit.MILLISECONDS, true);
+    slowRunnable.awaitRuns();
+    SchedulerProvider.getInstance().remove(uuid);
+
+    // the duration of the runs does not shift the start time (fixed delay: 2 * 250 ms) ...
+    long startTimeDiff = slowRunnable.startTimeList.get(2) - slowRunnable.startTimeList.get(0);
+    assertTrue("Start Time Diff " + startTimeDiff, 50 > Math.abs(startTimeDiff - 400));
+
+    assertEquals("Skips", 0, SchedulerProviderMetrics.getInstance().getSkipCount(uuid));
+  }
+
+  @Test
+  public void fixedRateOverrunTest() throws Exception {
+    SlowRunnable slowRunnable = new SlowRunnable(250);
+
+    UUID uuid = SchedulerProvider.getInstance().add(slowRunnable, 0, 200, TimeUnit.MILLISECONDS, true);
+    slowRunnable.awaitRuns();
+    SchedulerProvider.getInstance().remove(uuid);
+
+    // the missed slot after every run is skipped, the runs stay on the 200 ms grid ...
+    long startTimeDiff = slowRunnable.startTimeList.get(2) - slowRunnable.startTimeList.get(0);
+    assertTrue("Start Time Diff " + startTimeDiff, 50 > Math.abs(startTimeDiff - 800));
+
+    assertEquals("Max. Concurrent Runs", 1, slowRunnable.maxConcurrentRunCount.get());
+    assertTrue("Skips", 2 <= SchedulerProviderMetrics.getInstance().getSkipCount(uuid));
+  }
+
+  @Test
+  public void metricsPerTaskTest() throws Exception {
+    SlowRunnable slowRunnable1 = new SlowRunnable(10);
+    SlowRunnable slowRunnable2 = new SlowRunnable(10);
+
+    UUID uuid1 = SchedulerProvider.getInstance().add(slowRunnable1, 0, 50, TimeUnit.MILLISECONDS);
+    UUID uuid2 = SchedulerProvider.getInstance().add(slowRunnable2, 5000, 50, TimeUnit.MILLISECONDS);
+
+    slowRunnable1.awaitRuns();
+    SchedulerProvider.getInstance().remove(uuid1);
+    SchedulerProvider.getInstance().remove(uuid2);
+
+    // same runnable class, but separate metrics ...
+    SchedulerProviderMetrics schedulerProviderMetrics = SchedulerProviderMetrics.getInstance();
+
+    assertEquals("Runs 1", slowRunnable1.runCount.get(), schedulerProviderMetrics.getRunCount(uuid1));
+    assertEquals("Runs 2", 0, schedulerProviderMetrics.getRunCount(uuid2));
+  }
+
+  @Test
+  public void removeTest() throws Exception {
+    BlockingRunnable blockingRunnable = new BlockingRunnable();
+
+    UUID uuid = SchedulerProvider.getInstance().add(blockingRunnable, 0, 1, TimeUnit.SECONDS);
+    assertTrue("Started", blockingRunnable.startedLatch.await(10, TimeUnit.SECONDS));
+
+    SchedulerProvider.getInstance().remove(uuid);
+
+    // remove waits for the end of the running task ...
+    assertFalse("Processing", blockingRunnable.isProcessing());
+    assertEquals("Runs", 1, blockingRunnable.runCount.get());
+    assertEquals("Shutdowns", 1, blockingRunnable.shutdownCount.get());
+
+    Thread.sleep(1500);
+    assertEquals("Runs after remove", 1, blockingRunnable.runCount.get());
+  }
+
+  /**
+   * 
+   */
+  private static class SlowRunnable implements SchedulerProviderRunnable {
+    private final long duration;
+
+    private final AtomicInteger concurrentRunCount = new AtomicInteger();
+    private final AtomicInteger maxConcurrentRunCount = new AtomicInteger();
+    private final AtomicInteger runCount = new AtomicInteger();
+
+    private final List<Long> startTimeList = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch runLatch = new CountDownLatch(3);
+
+    private SlowRunnable(long duration) {
+      this.duration = duration;
+    }
+
+    private void awaitRuns() throws InterruptedException {
+      runLatch.await(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public boolean isProcessing() {
+      return 0 < concurrentRunCount.get();
+    }
+
+    @Override
+    public void run() {
+      startTimeList.add(System.currentTimeMillis());
+      maxConcurrentRunCount.accumulateAndGet(concurrentRunCount.incrementAndGet(), Math::max);
+
+      try {
+        Thread.sleep(duration);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        concurrentRunCount.decrementAndGet();
+        runCount.incrementAndGet();
+        runLatch.countDown();
+      }
+    }
+  }
+
+  /**
+   * 
+   */
+  private static class BlockingRunnable implements SchedulerProviderRunnable {
+    private final CountDownLatch startedLatch = new CountDownLatch(1);
+    private final AtomicInteger runCount = new AtomicInteger();
+    private final AtomicInteger shutdownCount = new AtomicInteger();
+
+    private volatile boolean isProcessing = false;
+
+    @Override
+    public boolean isProcessing() {
+      return isProcessing;
+    }
+
+    @Override
+    public void shutdown() {
+      shutdownCount.incrementAndGet();
+    }
+
+    @Override
+    public void run() {
+      isProcessing = true;
+      startedLatch.countDown();
+
+      try {
+        Thread.sleep(500);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        runCount.incrementAndGet();
+        isProcessing = false;
+      }
+    }
+  }
+}
@@ -0,0 +1,415 @@
+package ch.dfx.transactionserver.ymbuilder;
+
+import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_NETWORK_CUSTOM_SCHEMA;
+import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_PUBLIC_SCHEMA;
+import static ch.dfx.transactionserver.database.DatabaseUtils.TOKEN_YIELDMACHINE_SCHEMA;
+
+import java.io.File;
+import java.io.FileReader;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.h2.tools.RunScript;
+
+import ch.dfx.TransactionCheckerUtils;
+import ch.dfx.common.enumeration.NetworkEnum;
+import ch.dfx.common.provider.TokenProvider;
+import ch.dfx.transactionserver.builder.data.TokenAddressMap;
+import ch.dfx.transactionserver.database.DatabaseUtils;
+import ch.dfx.transactionserver.database.helper.DatabaseBalanceHelper;
+
+/**
+ * Only for testing purposes, measure the runtime and the allocated bytes of one YmBalanceBuilder
+ * and one YmStakingBuilder cycle on a synthetic yieldmachine with several liquidity addresses,
+ * deposits and tokens: the first cycle (all rows new), a cycle without changes and a cycle
+ * after new transactions on every tenth deposit address.
+ * 
+ * The row count and the sums of the balance and staking tables are logged to compare the results.
+ * 
+ * In addition the map with the packed (token, address) key is compared with the former String key map.
+ * 
+ * Arguments: [liquidity addresses] [deposits] [transactions per deposit] [runs]
+ */
+public class YmBuilderBenchmarkMain {
+  private static final Logger LOGGER = LogManager.getLogger(YmBuilderBenchmarkMain.class);
+
+  private static final String IDENTIFIER = "ymbuilderbenchmark";
+
+  private static final NetworkEnum NETWORK = NetworkEnum.TESTNET;
+
+  // Testnet token numbers ...
+  private static final int[] TOKEN_NUMBERS = { 0, 11, 1, 2, 5, 22, 25 };
+
+  private static final int DEPOSIT_ADDRESS_OFFSET = 1_000_000;
+  private static final int CUSTOMER_ADDRESS_OFFSET = 2_000_000;
+  private static final int OTHER_ADDRESS_NUMBER = 999_999;
+
+  private static int blockNumber = 0;
+
+  /**
+   * 
+   */
+  public static void main(String[] args) {
+    try {
+      Class.forName("org.h2.Driver");
+
+      // ...
+      System.setProperty("logFilename", TransactionCheckerUtils.getLog4jFilename(IDENTIFIER, NETWORK));
+      TransactionCheckerUtils.initLog4j("log4j2.xml");
+      Configurator.setLevel("ch.dfx.transactionserver", Level.INFO);
+
+      TokenProvider.setup(NETWORK);
+
+      // ...
+      int liquidityCount = 0 < args.length ? Integer.parseInt(args[0]) : 3;
+      int depositCount = 1 < args.length ? Integer.parseInt(args[1]) : 3000;
+      int transactionCount = 2 < args.length ? Integer.parseInt(args[2]) : 10;
+      int runCount = 3 < args.length ? Integer.parseInt(args[3]) : 5;
+
+      LOGGER.info(
+          "Liquidity: " + liquidityCount + " / Deposits: " + depositCount
+              + " / Transactions: " + transactionCount + " / Tokens: " + TOKEN_NUMBERS.length + " / Runs: " + runCount);
+
+      // warmup ...
+      run("warmup", Math.max(1, liquidityCount), Math.max(1, depositCount / 10), transactionCount, runCount);
+
+      // ...
+      run("ym", liquidityCount, depositCount, transactionCount, runCount);
+
+      // map only ...
+      for (int i = 0; i < runCount; i++) {
+        runMap(depositCount * TOKEN_NUMBERS.length);
+      }
+    } catch (Exception e) {
+      LOGGER.error("Fatal Error", e);
+      System.exit(-1);
+    }
+  }
+
+  /**
+   * 
+   */
+  private static void run(
+      @Nonnull String name,
+      int liquidityCount,
+      int depositCount,
+      int transactionCount,
+      int runCount) throws Exception {
+    blockNumber = 0;
+
+    try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:" + IDENTIFIER + name, "sa", "")) {
+      connection.setAutoCommit(false);
+
+      ClassLoader classLoader = YmBuilderBenchmarkMain.class.getClassLoader();
+      File initialSetupSqlFile = new File(classLoader.getResource("sql/initialSetup.sql").getFile());
+      RunScript.execute(connection, new FileReader(initialSetupSqlFile));
+
+      // the yieldmachine staking has one row per token and deposit address ...
+      connection.createStatement().execute(DatabaseUtils.replaceSchema(NETWORK, "DROP INDEX " + TOKEN_YIELDMACHINE_SCHEMA + ".idx2_staking"));
+
+      setupData(connection, liquidityCount, depositCount, transactionCount);
+      connection.commit();
+
+      DatabaseBalanceHelper databaseBalanceHelper = new DatabaseBalanceHelper(NETWORK);
+      databaseBalanceHelper.openStatements(connection, TOKEN_YIELDMACHINE_SCHEMA);
+
+      YmBalanceBuilder ymBalanceBuilder = new YmBalanceBuilder(NETWORK, databaseBalanceHelper);
+      YmStakingBuilder ymStakingBuilder = new YmStakingBuilder(NETWORK, databaseBalanceHelper);
+
+      // first cycle: all rows are new ...
+      measure(name, "initial", 1, ymBalanceBuilder, ymStakingBuilder, connection);
+
+      // no changes ...
+      measure(name, "unchanged", runCount, ymBalanceBuilder, ymStakingBuilder, connection);
+
+      // new transactions on every tenth deposit address ...
+      addTransactions(connection, depositCount, liquidityCount, 10);
+      connection.commit();
+
+      measure(name, "changed", 1, ymBalanceBuilder, ymStakingBuilder, connection);
+
+      logChecksum(name, connection);
+
+      databaseBalanceHelper.closeStatements();
+    }
+  }
+
+  /**
+   * 
+   */
+  private static void measure(
+      @Nonnull String name,
+      @Nonnull String cycle,
+      int runCount,
+      @Nonnull YmBalanceBuilder ymBalanceBuilder,
+      @Nonnull YmStakingBuilder ymStakingBuilder,
+      @Nonnull Connection connection) throws Exception {
+    com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    long balanceNanos = 0;
+    long balanceAllocatedBytes = 0;
+    long stakingNanos = 0;
+    long stakingAllocatedBytes = 0;
+
+    for (int i = 0; i < runCount; i++) {
+      long startAllocatedBytes = threadMXBean.getCurrentThreadAllocatedBytes();
+      long startTime = System.nanoTime();
+
+      ymBalanceBuilder.build(connection);
+
+      balanceNanos += System.nanoTime() - startTime;
+      balanceAllocatedBytes += threadMXBean.getCurrentThreadAllocatedBytes() - startAllocatedBytes;
+
+      startAllocatedBytes = threadMXBean.getCurrentThreadAllocatedBytes();
+      startTime = System.nanoTime();
+
+      ymStakingBuilder.build(connection);
+
+      stakingNanos += System.nanoTime() - startTime;
+      stakingAllocatedBytes += threadMXBean.getCurrentThreadAllocatedBytes() - startAllocatedBytes;
+    }
+
+    LOGGER.info(
+        "[" + name + "] [" + cycle + "]"
+            + " balance: " + String.format("%.1f", balanceNanos / runCount / 1_000_000d) + " ms"
+            + " / " + balanceAllocatedBytes / runCount / 1024 + " KB"
+            + " | staking: " + String.format("%.1f", stakingNanos / runCount / 1_000_000d) + " ms"
+            + " / " + stakingAllocatedBytes / runCount / 1024 + " KB");
+  }
+
+  /**
+   * Fill and read a map per key type with the same (token, address) pairs ...
+   */
+  private static void runMap(int entryCount) {
+    com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    Object value = new Object();
+    int hitCount = 0;
+
+    // String key ...
+    long startAllocatedBytes = threadMXBean.getCurrentThreadAllocatedBytes();
+    long startTime = System.nanoTime();
+
+    Map<String, Object> stringKeyMap = new HashMap<>();
+
+    for (int i = 0; i < entryCount; i++) {
+      stringKeyMap.put(createKey(TOKEN_NUMBERS[i % TOKEN_NUMBERS.length], DEPOSIT_ADDRESS_OFFSET + i), value);
+    }
+
+    for (int i = 0; i < entryCount; i++) {
+      hitCount += null == stringKeyMap.get(createKey(TOKEN_NUMBERS[i % TOKEN_NUMBERS.length], DEPOSIT_ADDRESS_OFFSET + i)) ? 0 : 1;
+    }
+
+    long stringKeyNanos = System.nanoTime() - startTime;
+    long stringKeyAllocatedBytes = threadMXBean.getCurrentThreadAllocatedBytes() - startAllocatedBytes;
+
+    // packed key ...
+    startAllocatedBytes = threadMXBean.getCurrentThreadAllocatedBytes();
+    startTime = System.nanoTime();
+
+    TokenAddressMap<Object> packedKeyMap = new TokenAddressMap<>();
+
+    for (int i = 0; i < entryCount; i++) {
+      packedKeyMap.put(TOKEN_NUMBERS[i % TOKEN_NUMBERS.length], DEPOSIT_ADDRESS_OFFSET + i, value);
+    }
+
+    for (int i = 0; i < entryCount; i++) {
+      hitCount += null == packedKeyMap.get(TOKEN_NUMBERS[i % TOKEN_NUMBERS.length], DEPOSIT_ADDRESS_OFFSET + i) ? 0 : 1;
+    }
+
+    long packedKeyNanos = System.nanoTime() - startTime;
+    long packedKeyAllocatedBytes = threadMXBean.getCurrentThreadAllocatedBytes() - startAllocatedBytes;
+
+    LOGGER.info(
+        "[map] entries=" + entryCount
+            + " | String key: " + String.format("%.1f", stringKeyNanos / 1_000_000d) + " ms / " + stringKeyAllocatedBytes / 1024 + " KB"
+            + " | packed key: " + String.format("%.1f", packedKeyNanos / 1_000_000d) + " ms / " + packedKeyAllocatedBytes / 1024 + " KB"
+            + " / hits=" + hitCount);
+  }
+
+  /**
+   * 
+   */
+  private static String createKey(
+      int tokenNumber,
+      int addressNumber) {
+    return new StringBuilder().append(tokenNumber).append("/").append(addressNumber).toString();
+  }
+
+  /**
+   * 
+   */
+  private static void setupData(
+      @Nonnull Connection connection,
+      int liquidityCount,
+      int depositCount,
+      int transactionCount) throws Exception {
+    try (PreparedStatement addressStatement = prepare(connection, "INSERT INTO " + TOKEN_PUBLIC_SCHEMA + ".address (number, address) VALUES(?, ?)");
+        PreparedStatement stakingAddressStatement =
+            prepare(connection,
+                "INSERT INTO " + TOKEN_YIELDMACHINE_SCHEMA + ".staking_address"
+                    + " (token_number, liquidity_address_number, reward_address_number, start_block_number, start_transaction_number)"
+                    + " VALUES(0, ?, -1, 0, 0)");
+        PreparedStatement depositStatement =
+            prepare(connection,
+                "INSERT INTO " + TOKEN_YIELDMACHINE_SCHEMA + ".deposit"
+                    + " (token_number, liquidity_address_number, deposit_address_number, customer_address_number, start_block_number, start_transaction_number)"
+                    + " VALUES(0, ?, ?, ?, 0, 0)")) {
+      addAddress(addressStatement, OTHER_ADDRESS_NUMBER);
+
+      for (int liquidityAddressNumber = 1; liquidityAddressNumber <= liquidityCount; liquidityAddressNumber++) {
+        addAddress(addressStatement, liquidityAddressNumber);
+
+        stakingAddressStatement.setInt(1, liquidityAddressNumber);
+        stakingAddressStatement.addBatch();
+      }
+
+      for (int i = 0; i < depositCount; i++) {
+        addAddress(addressStatement, DEPOSIT_ADDRESS_OFFSET + i);
+        addAddress(addressStatement, CUSTOMER_ADDRESS_OFFSET + i);
+
+        depositStatement.setInt(1, 1 + i % liquidityCount);
+        depositStatement.setInt(2, DEPOSIT_ADDRESS_OFFSET + i);
+        depositStatement.setInt(3, CUSTOMER_ADDRESS_OFFSET + i);
+        depositStatement.addBatch();
+      }
+
+      addressStatement.executeBatch();
+      stakingAddressStatement.executeBatch();
+      depositStatement.executeBatch();
+    }
+
+    for (int t = 0; t < transactionCount; t++) {
+      addTransactions(connection, depositCount, liquidityCount, 1);
+    }
+  }
+
+  /**
+   * Per deposit address: liquidity to deposit, deposit to other, customer to liquidity ...
+   */
+  private static void addTransactions(
+      @Nonnull Connection connection,
+      int depositCount,
+      int liquidityCount,
+      int depositStep) throws Exception {
+    try (PreparedStatement outStatement =
+        prepare(connection,
+            "INSERT INTO " + TOKEN_NETWORK_CUSTOM_SCHEMA + ".account_to_account_out"
+                + " (block_number, transaction_number, type_number, address_number, amount, token_number)"
+                + " VALUES(?, ?, 0, ?, ?, ?)");
+        PreparedStatement inStatement =
+            prepare(connection,
+                "INSERT INTO " + TOKEN_NETWORK_CUSTOM_SCHEMA + ".account_to_account_in"
+                    + " (block_number, transaction_number, type_number, address_number, amount, token_number)"
+                    + " VALUES(?, ?, 0, ?, ?, ?)")) {
+      blockNumber++;
+
+      for (int i = 0; i < depositCount; i += depositStep) {
+        int liquidityAddressNumber = 1 + i % liquidityCount;
+        int depositAddressNumber = DEPOSIT_ADDRESS_OFFSET + i;
+        int customerAddressNumber = CUSTOMER_ADDRESS_OFFSET + i;
+        int tokenNumber = TOKEN_NUMBERS[(i + blockNumber) % TOKEN_NUMBERS.length];
+        BigDecimal amount = new BigDecimal(blockNumber + i % 100).movePointLeft(2);
+
+        int transactionNumber = 3 * i;
+
+        addTransfer(outStatement, inStatement, transactionNumber, liquidityAddressNumber, depositAddressNumber, amount, tokenNumber);
+        addTransfer(outStatement, inStatement, transactionNumber + 1, depositAddressNumber, OTHER_ADDRESS_NUMBER, amount, tokenNumber);
+
+        if (0 == i % 2) {
+          addTransfer(outStatement, inStatement, transactionNumber + 2, customerAddressNumber, liquidityAddressNumber, amount, tokenNumber);
+        }
+      }
+
+      outStatement.executeBatch();
+      inStatement.executeBatch();
+    }
+  }
+
+  /**
+   * 
+   */
+  private static void addTransfer(
+      @Nonnull PreparedStatement outStatement,
+      @Nonnull PreparedStatement inStatement,
+      int transactionNumber,
+      int fromAddressNumber,
+      int toAddressNumber,
+      @Nonnull BigDecimal amount,
+      int tokenNumber) throws Exception {
+    outStatement.setInt(1, blockNumber);
+    outStatement.setInt(2, transactionNumber);
+    outStatement.setInt(3, fromAddressNumber);
+    outStatement.setBigDecimal(4, amount);
+    outStatement.setInt(5, tokenNumber);
+    outStatement.addBatch();
+
+    inStatement.setInt(1, blockNumber);
+    inStatement.setInt(2, transactionNumber);
+    inStatement.setInt(3, toAddressNumber);
+    inStatement.setBigDecimal(4, amount);
+    inStatement.setInt(5, tokenNumber);
+    inStatement.addBatch();
+  }
+
+  /**
+   * 
+   */
+  private static void addAddress(
+      @Nonnull PreparedStatement addressStatement,
+      int addressNumber) throws Exception {
+    addressStatement.setInt(1, addressNumber);
+    addressStatement.setString(2, "address" + addressNumber);
+    addressStatement.addBatch();
+  }
+
+  /**
+   * 
+   */
+  private static void logChecksum(
+      @Nonnull String name,
+      @Nonnull Connection connection) throws Exception {
+    String balanceSql =
+        "SELECT COUNT(*), SUM(vin), SUM(vout), SUM(transaction_count), SUM(block_number) FROM " + TOKEN_YIELDMACHINE_SCHEMA + ".balance";
+    String stakingSql =
+        "SELECT COUNT(*), SUM(vin), SUM(vout), SUM(last_in_block_number), SUM(last_out_block_number) FROM " + TOKEN_YIELDMACHINE_SCHEMA + ".staking";
+
+    LOGGER.info("[" + name + "] balance: " + checksum(connection, balanceSql) + " | staking: " + checksum(connection, stakingSql));
+  }
+
+  /**
+   * 
+   */
+  private static String checksum(
+      @Nonnull Connection connection,
+      @Nonnull String sql) throws Exception {
+    try (PreparedStatement statement = prepare(connection, sql);
+        ResultSet resultSet = statement.executeQuery()) {
+      resultSet.next();
+
+      return resultSet.getString(1) + " / " + resultSet.getString(2) + " / " + resultSet.getString(3)
+          + " / " + resultSet.getString(4) + " / " + resultSet.getString(5);
+    }
+  }
+
+  /**
+   * 
+   */
+  private static PreparedStatement prepare(
+      @Nonnull Connection connection,
+      @Nonnull String sql) throws Exception {
+    return connection.prepareStatement(DatabaseUtils.replaceSchema(NETWORK, sql));
+  }
+}
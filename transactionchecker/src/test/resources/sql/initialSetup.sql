@@ -191,6 +191,19 @@ CREATE UNIQUE INDEX idx1_deposit ON testnet_staking.deposit(token_number, liquid
 CREATE UNIQUE INDEX idx2_deposit ON testnet_staking.deposit(liquidity_address_number, customer_address_number, deposit_address_number);
 CREATE INDEX idx3_deposit ON testnet_staking.deposit(token_number);
 
+-- =================================
+-- TESTNET_STAKING.DEPOSIT_WATERMARK
+-- =================================
+CREATE TABLE IF NOT EXISTS testnet_staking.deposit_watermark (
+  token_number             INT    NOT NULL,
+  liquidity_address_number BIGINT NOT NULL,
+  block_number             BIGINT NOT NULL,
+  change_time              TIMESTAMP WITH TIME ZONE
+                           GENERATED ALWAYS AS CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX idx1_deposit_watermark ON testnet_staking.deposit_watermark(token_number, liquidity_address_number);
+
 -- =======================
 -- TESTNET_STAKING.BALANCE
 -- =======================
@@ -246,6 +259,21 @@ CREATE UNIQUE INDEX idx1_staking_withdrawal_reserved ON testnet_staking.staking_
 CREATE UNIQUE INDEX idx2_staking_withdrawal_reserved ON testnet_staking.staking_withdrawal_reserved(transaction_id);
 CREATE INDEX idx3_staking_withdrawal_reserved ON testnet_staking.staking_withdrawal_reserved(token_number);
 
+-- =========================
+-- TESTNET_STAKING.STATISTIK
+-- =========================
+CREATE TABLE IF NOT EXISTS testnet_staking.statistik (
+  token_number  INT           NOT NULL,
+  utc_day       DATE          NOT NULL,
+  deposit_count INT           NOT NULL,
+  deposit_vin   DECIMAL(20,8) NOT NULL,
+  deposit_vout  DECIMAL(20,8) NOT NULL,
+  change_time   TIMESTAMP WITH TIME ZONE
+                GENERATED ALWAYS AS CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX idx1_statistik ON testnet_staking.statistik(token_number, utc_day);
+
 -- ============================================================================
 -- SCHEMA: TESTNET_CUSTOM
 -- ============================================================================
@@ -352,6 +380,19 @@ CREATE UNIQUE INDEX idx1_deposit ON testnet_yieldmachine.deposit(token_number, l
 CREATE UNIQUE INDEX idx2_deposit ON testnet_yieldmachine.deposit(liquidity_address_number, customer_address_number, deposit_address_number);
 CREATE INDEX idx3_deposit ON testnet_yieldmachine.deposit(token_number);
 
+-- ======================================
+-- TESTNET_YIELDMACHINE.DEPOSIT_WATERMARK
+-- ======================================
+CREATE TABLE IF NOT EXISTS testnet_yieldmachine.deposit_watermark (
+  token_number             INT    NOT NULL,
+  liquidity_address_number BIGINT NOT NULL,
+  block_number             BIGINT NOT NULL,
+  change_time              TIMESTAMP WITH TIME ZONE
+                           GENERATED ALWAYS AS CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX idx1_deposit_watermark ON testnet_yieldmachine.deposit_watermark(token_number, liquidity_address_number);
+
 -- ============================
 -- TESTNET_YIELDMACHINE.BALANCE
 -- ============================
@@ -406,3 +447,18 @@ CREATE TABLE IF NOT EXISTS testnet_yieldmachine.staking_withdrawal_reserved (
 CREATE UNIQUE INDEX idx1_staking_withdrawal_reserved ON testnet_yieldmachine.staking_withdrawal_reserved(withdrawal_id);
 CREATE UNIQUE INDEX idx2_staking_withdrawal_reserved ON testnet_yieldmachine.staking_withdrawal_reserved(transaction_id);
 CREATE INDEX idx3_staking_withdrawal_reserved ON testnet_yieldmachine.staking_withdrawal_reserved(token_number);
+
+-- ==============================
+-- TESTNET_YIELDMACHINE.STATISTIK
+-- ==============================
+CREATE TABLE IF NOT EXISTS testnet_yieldmachine.statistik (
+  token_number  INT           NOT NULL,
+  utc_day       DATE          NOT NULL,
+  deposit_count INT           NOT NULL,
+  deposit_vin   DECIMAL(20,8) NOT NULL,
+  deposit_vout  DECIMAL(20,8) NOT NULL,
+  change_time   TIMESTAMP WITH TIME ZONE
+                GENERATED ALWAYS AS CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX idx1_statistik ON testnet_yieldmachine.statistik(token_number, utc_day);